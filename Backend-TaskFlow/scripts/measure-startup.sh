@@ -0,0 +1,28 @@
+#!/bin/sh
+# Measures the time from process start to the first successful /actuator/health response.
+#
+# Usage: scripts/measure-startup.sh <command to start the backend...>
+#   scripts/measure-startup.sh java -jar target/taskflow-0.0.1-SNAPSHOT.jar
+#   scripts/measure-startup.sh docker run --rm --network taskflow-network -p 8080:8080 taskflow-backend
+#
+# HEALTH_URL overrides the probed endpoint (default http://localhost:8080/actuator/health).
+
+HEALTH_URL=${HEALTH_URL:-http://localhost:8080/actuator/health}
+
+start=$(date +%s%N)
+"$@" > /tmp/measure-startup.log 2>&1 &
+pid=$!
+
+until wget -q -O /dev/null "$HEALTH_URL" 2>/dev/null; do
+  if ! kill -0 "$pid" 2>/dev/null; then
+    echo "Backend exited before becoming healthy; see /tmp/measure-startup.log" >&2
+    exit 1
+  fi
+  sleep 0.05
+done
+
+end=$(date +%s%N)
+echo "Healthy after $(( (end - start) / 1000000 )) ms"
+
+kill "$pid"
+wait "$pid" 2>/dev/null
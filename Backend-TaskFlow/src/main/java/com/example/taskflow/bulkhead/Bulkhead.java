@@ -0,0 +1,114 @@
+package com.example.taskflow.bulkhead;
+
+import com.example.taskflow.exception.BulkheadFullException;
+import com.example.taskflow.sharding.ShardContext;
+import com.example.taskflow.tracing.Tracer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool for one class of endpoints. Work runs with the caller's shard, security context and trace.
+ * A full queue rejects the request immediately ({@link BulkheadFullException}); a request not finished
+ * within the timeout fails with a {@link TimeoutException}. Timed-out work still queued is skipped;
+ * work already running is left to finish, since interrupting a JDBC call is not reliable. Pools without
+ * {@code timeout-running} (writes) time out queued work only, so a started write always gets its own answer.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final boolean timeoutRunning;
+    private final Tracer tracer;
+    private final Counter rejected;
+    private final Counter timeouts;
+    private final Timer queueWait;
+    private final Timer execution;
+
+    public Bulkhead(String name, BulkheadProperties.Pool pool, Tracer tracer, MeterRegistry registry) {
+        this.name = name;
+        this.timeout = pool.getTimeout();
+        this.timeoutRunning = pool.isTimeoutRunning();
+        this.tracer = tracer;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(pool.getThreads(), pool.getThreads(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(pool.getQueueCapacity()),
+                runnable -> new Thread(runnable, "bulkhead-" + name + "-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("bulkhead", name).register(registry);
+        Gauge.builder("bulkhead.queued", executor, e -> e.getQueue().size())
+                .tag("bulkhead", name).register(registry);
+        this.rejected = Counter.builder("bulkhead.rejected").tag("bulkhead", name).register(registry);
+        this.timeouts = Counter.builder("bulkhead.timeouts").tag("bulkhead", name).register(registry);
+        this.queueWait = Timer.builder("bulkhead.queue.wait").tag("bulkhead", name).register(registry);
+        this.execution = Timer.builder("bulkhead.execution").tag("bulkhead", name).register(registry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean started = new AtomicBoolean();
+        Integer shard = ShardContext.current();
+        long submitted = System.nanoTime();
+
+        Runnable task = () -> {
+            queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            if (!started.compareAndSet(false, true) || result.isDone()) {
+                return;
+            }
+            long startedAt = System.nanoTime();
+            try (ShardContext.Scope ignored = shard == null ? () -> { } : ShardContext.enter(shard)) {
+                result.complete(work.get());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            } finally {
+                execution.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+
+        try {
+            executor.execute(tracer.propagate(DelegatingSecurityContextRunnable.create(task,
+                    SecurityContextHolder.getContext())));
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new BulkheadFullException("Too many concurrent " + name + " requests, retry shortly");
+        }
+
+        if (!timeoutRunning) {
+            CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                if (started.compareAndSet(false, true)) {
+                    timeouts.increment();
+                    result.completeExceptionally(new TimeoutException());
+                }
+            });
+            return result;
+        }
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, ex) -> {
+                    if (ex instanceof TimeoutException) {
+                        timeouts.increment();
+                    }
+                });
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.taskflow.bulkhead;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * {@code bulkheads.*} settings: one bounded pool per class of endpoint.
+ */
+@Data
+@ConfigurationProperties(prefix = "bulkheads")
+public class BulkheadProperties {
+
+    /**
+     * Reads whose cost grows with the project: task lists, subtrees, project lists.
+     */
+    private Pool heavyReads = new Pool(8, 50, Duration.ofSeconds(10));
+
+    /**
+     * Single-row and counter reads.
+     */
+    private Pool lightReads = new Pool(16, 200, Duration.ofSeconds(3));
+
+    /**
+     * Writes time out only while queued: one that started is left to commit and answer, since a 503 for a
+     * write that may have committed would invite a retry that repeats it.
+     */
+    private Pool writes = new Pool(16, 200, Duration.ofSeconds(5), false);
+
+    private Pool auth = new Pool(4, 100, Duration.ofSeconds(5));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private int threads;
+
+        /**
+         * Requests waiting for a thread; beyond this they are rejected with 503.
+         */
+        private int queueCapacity;
+
+        /**
+         * Time from submission to result, queueing included, before the request fails with 503.
+         */
+        private Duration timeout;
+
+        /**
+         * Whether the timeout also fails requests whose work has started; if not, it only drops queued work.
+         */
+        private boolean timeoutRunning = true;
+
+        public Pool(int threads, int queueCapacity, Duration timeout) {
+            this(threads, queueCapacity, timeout, true);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.taskflow.bulkhead;
+
+import com.example.taskflow.tracing.Tracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The bulkheads controllers run their work on, so that a slow class of endpoints (say, task lists of huge
+ * projects) exhausts only its own pool and queue, while login and small reads keep their threads.
+ * Metrics: {@code bulkhead.active}, {@code bulkhead.queued}, {@code bulkhead.rejected},
+ * {@code bulkhead.timeouts}, {@code bulkhead.queue.wait} and {@code bulkhead.execution}, tagged by bulkhead.
+ */
+@Component
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class Bulkheads {
+
+    private final Bulkhead heavyReads;
+    private final Bulkhead lightReads;
+    private final Bulkhead writes;
+    private final Bulkhead auth;
+
+    public Bulkheads(BulkheadProperties properties, Tracer tracer, MeterRegistry registry) {
+        this.heavyReads = new Bulkhead("heavy-reads", properties.getHeavyReads(), tracer, registry);
+        this.lightReads = new Bulkhead("light-reads", properties.getLightReads(), tracer, registry);
+        this.writes = new Bulkhead("writes", properties.getWrites(), tracer, registry);
+        this.auth = new Bulkhead("auth", properties.getAuth(), tracer, registry);
+    }
+
+    public Bulkhead heavyReads() {
+        return heavyReads;
+    }
+
+    public Bulkhead lightReads() {
+        return lightReads;
+    }
+
+    public Bulkhead writes() {
+        return writes;
+    }
+
+    public Bulkhead auth() {
+        return auth;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heavyReads.shutdown();
+        lightReads.shutdown();
+        writes.shutdown();
+        auth.shutdown();
+    }
+}
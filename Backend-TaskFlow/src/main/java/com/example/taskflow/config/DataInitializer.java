@@ -2,23 +2,32 @@ package com.example.taskflow.config;
 
 import com.example.taskflow.model.User;
 import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+/**
+ * Seeds demo users on empty databases. Not registered in prod, which also
+ * saves the count query on every startup.
+ */
 @Component
+@Profile("!prod")
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ShardRouter shardRouter;
 
     @Override
     public void run(String... args) {
-        if (userRepository.count() == 0) {
+        long users = shardRouter.onEachShard(userRepository::count).stream().mapToLong(Long::longValue).sum();
+        if (users == 0) {
             // Create test users
             createUser("taha@inpt.com", "password123", "Taha BENMALEK");
             createUser("test@helala.com", "password123", "Vamos HB07)");
@@ -34,6 +43,6 @@ public class DataInitializer implements CommandLineRunner {
         user.setEmail(email);
         user.setPassword(passwordEncoder.encode(password));
         user.setFullName(fullName);
-        userRepository.save(user);
+        shardRouter.createUser(email, () -> userRepository.save(user));
     }
 }
\ No newline at end of file
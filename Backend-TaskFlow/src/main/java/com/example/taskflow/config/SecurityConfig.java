@@ -1,6 +1,7 @@
 package com.example.taskflow.config;
 
 import com.example.taskflow.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -51,6 +52,10 @@ public class SecurityConfig {
 
                 // Configure endpoint access rules
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches only write the result of a request that was authorized when it started
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Logging out needs the token being revoked
+                        .requestMatchers("/api/auth/logout", "/api/auth/logout-all").authenticated()
                         // Public endpoints: authentication, Swagger UI documentation
                         .requestMatchers(
                                 "/api/auth/**",
@@ -0,0 +1,103 @@
+package com.example.taskflow.config;
+
+import com.example.taskflow.embedded.EmbeddedStore;
+import com.example.taskflow.sharding.ShardDataSources;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Startup tuning used by the fast-startup build and the prod profile.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Background jobs register their schedules when their bean is created,
+     * so they must stay eager even with {@code spring.main.lazy-initialization=true}.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> hasScheduledMethods(beanType);
+    }
+
+    /**
+     * The AppCDS training run in the Dockerfile refreshes the context with
+     * {@code -Dspring.context.exit=onRefresh} and no database; migrations are skipped there.
+     * With sharding enabled every shard is migrated, not just the routing DataSource's default.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${spring.context.exit:}") String contextExit,
+                                                           ObjectProvider<ShardDataSources> shards) {
+        return flyway -> {
+            if ("onRefresh".equals(contextExit)) {
+                return;
+            }
+            ShardDataSources sharded = shards.getIfAvailable();
+            if (sharded != null) {
+                sharded.migrate(flyway);
+            } else {
+                flyway.migrate();
+            }
+        };
+    }
+
+    /**
+     * An AOT-processed build fixed its {@code @Profile} and {@code @ConditionalOnProperty} choices at build
+     * time (the fast-startup build uses the {@code prod} profile without sharding). Refuses to start when the
+     * runtime settings ask for a different choice, instead of silently ignoring them.
+     */
+    @Bean
+    public SmartInitializingSingleton aotBuildCheck(ConfigurableListableBeanFactory beanFactory, Environment environment) {
+        return () -> {
+            if (!AotDetector.useGeneratedArtifacts()) {
+                return;
+            }
+            List<String> mismatches = new ArrayList<>();
+            check(mismatches, "sharding.enabled=true", environment.getProperty("sharding.enabled", Boolean.class, false),
+                    hasBean(beanFactory, ShardDataSources.class));
+            check(mismatches, "profile prod", environment.acceptsProfiles(Profiles.of("prod")),
+                    !hasBean(beanFactory, DataInitializer.class));
+            check(mismatches, "profile embedded", environment.acceptsProfiles(Profiles.of("embedded")),
+                    hasBean(beanFactory, EmbeddedStore.class));
+            if (!mismatches.isEmpty()) {
+                throw new IllegalStateException("This AOT build does not match the runtime settings: "
+                        + String.join(", ", mismatches) + ". Rebuild with process-aot using the same profiles "
+                        + "and sharding.enabled, or start without -Dspring.aot.enabled=true");
+            }
+        };
+    }
+
+    private static void check(List<String> mismatches, String setting, boolean atRuntime, boolean atBuild) {
+        if (atRuntime != atBuild) {
+            mismatches.add(setting + (atRuntime ? " is set but was not at build time" : " was set at build time but is not now"));
+        }
+    }
+
+    private static boolean hasBean(ConfigurableListableBeanFactory beanFactory, Class<?> type) {
+        return beanFactory.getBeanNamesForType(type, true, false).length > 0;
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType,
+                method -> found.set(true),
+                method -> AnnotationUtils.findAnnotation(method, Scheduled.class) != null);
+        return found.get();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.bulkhead.Bulkheads;
+import com.example.taskflow.dto.AgendaResponse;
+import com.example.taskflow.model.User;
+import com.example.taskflow.service.AgendaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@Profile("!embedded")
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Agenda", description = "Tasks due soon across all projects")
+public class AgendaController {
+
+    private final AgendaService agendaService;
+    private final Bulkheads bulkheads;
+
+    @GetMapping("/agenda")
+    @Operation(summary = "Get agenda",
+            description = "Open tasks of all own and shared projects due between from and to " +
+                    "(default: the next 7 days), by due date; call again with after=next while hasMore")
+    public CompletableFuture<ResponseEntity<AgendaResponse>> getAgenda(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit,
+            @AuthenticationPrincipal User user) {
+        return bulkheads.heavyReads().submit(() ->
+                ResponseEntity.ok(agendaService.getAgenda(user.getId(), from, to, after, limit)));
+    }
+}
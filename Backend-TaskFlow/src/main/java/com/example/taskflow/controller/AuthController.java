@@ -1,15 +1,22 @@
 package com.example.taskflow.controller;
 
+import com.example.taskflow.bulkhead.Bulkheads;
 import com.example.taskflow.dto.AuthResponse;
 import com.example.taskflow.dto.LoginRequest;
+import com.example.taskflow.model.User;
 import com.example.taskflow.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -17,10 +24,32 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final Bulkheads bulkheads;
 
     @PostMapping("/login")
     @Operation(summary = "Login", description = "Authenticate user and return JWT token")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        return ResponseEntity.ok(authService.login(request));
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return bulkheads.auth().submit(() -> ResponseEntity.ok(authService.login(request)));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the JWT token of this request")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public CompletableFuture<ResponseEntity<Void>> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        String token = authorization.substring("Bearer ".length());
+        return bulkheads.auth().submit(() -> {
+            authService.logout(token);
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    @PostMapping("/logout-all")
+    @Operation(summary = "Logout everywhere", description = "Revoke every JWT token issued to the user so far")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public CompletableFuture<ResponseEntity<Void>> logoutEverywhere(@AuthenticationPrincipal User user) {
+        return bulkheads.auth().submit(() -> {
+            authService.logoutEverywhere(user.getId());
+            return ResponseEntity.noContent().build();
+        });
     }
 }
\ No newline at end of file
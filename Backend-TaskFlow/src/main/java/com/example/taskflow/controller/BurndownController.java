@@ -0,0 +1,47 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.bulkhead.Bulkheads;
+import com.example.taskflow.dto.BurndownResponse;
+import com.example.taskflow.model.User;
+import com.example.taskflow.service.BurndownService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@Profile("!embedded")
+@RequestMapping("/api/projects/{projectId}/burndown")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Burndown", description = "Daily task totals and activity of a project")
+public class BurndownController {
+
+    private final BurndownService burndownService;
+    private final Bulkheads bulkheads;
+
+    @GetMapping
+    @Operation(summary = "Get burndown",
+            description = "Task totals at the end of each day between from and to (default: the last 30 days), " +
+                    "with the tasks created, completed and deleted that day")
+    public CompletableFuture<ResponseEntity<BurndownResponse>> getBurndown(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal User user) {
+        return bulkheads.lightReads().submit(() ->
+                ResponseEntity.ok(burndownService.getBurndown(projectId, from, to, user.getId())));
+    }
+}
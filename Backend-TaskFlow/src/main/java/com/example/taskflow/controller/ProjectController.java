@@ -1,20 +1,37 @@
 package com.example.taskflow.controller;
 
+import com.example.taskflow.bulkhead.Bulkheads;
+import com.example.taskflow.config.JacksonConfig;
+import com.example.taskflow.dto.ProjectDeletionResponse;
 import com.example.taskflow.dto.ProjectRequest;
 import com.example.taskflow.dto.ProjectResponse;
+import com.example.taskflow.dto.ProjectWithTasksResponse;
 import com.example.taskflow.model.User;
-import com.example.taskflow.service.ProjectService;
+import com.example.taskflow.resilience.LastKnownGood;
+import com.example.taskflow.service.ProjectOperations;
+import com.example.taskflow.sharding.ShardContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -23,46 +40,173 @@ import java.util.List;
 @Tag(name = "Projects", description = "Project management endpoints")
 public class ProjectController {
 
-    private final ProjectService projectService;
+    /** Projects read, and written to the response, at a time by {@link #getUserProjectsWithTasks}. */
+    static final int TASKS_BATCH_PROJECTS = 100;
+
+    private static final List<MediaType> WIRE_FORMATS = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, JacksonConfig.APPLICATION_SMILE);
+
+    private final ProjectOperations projectService;
+    private final Bulkheads bulkheads;
+    private final LastKnownGood lastKnownGood;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
 
     @PostMapping
     @Operation(summary = "Create project", description = "Create a new project")
-    public ResponseEntity<ProjectResponse> createProject(
+    public CompletableFuture<ResponseEntity<ProjectResponse>> createProject(
             @Valid @RequestBody ProjectRequest request,
             @AuthenticationPrincipal User user) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(projectService.createProject(request, user));
+        return bulkheads.writes().submit(() -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(projectService.createProject(request, user)));
     }
 
-    @GetMapping
-    @Operation(summary = "Get all projects", description = "Get all projects for authenticated user")
-    public ResponseEntity<List<ProjectResponse>> getUserProjects(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(projectService.getUserProjects(user.getId()));
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
+    @Operation(summary = "Get all projects",
+            description = "Get all projects for authenticated user; fields=id,title,... returns only those " +
+                    "properties (JSON, CBOR or Smile)")
+    public CompletableFuture<ResponseEntity<MappingJacksonValue>> getUserProjects(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) Integer taskLimit,
+            @AuthenticationPrincipal User user) {
+        Set<String> selected = SparseFields.parse(fields, ProjectResponse.FIELDS);
+        if (taskLimit != null) {
+            throw new IllegalArgumentException("taskLimit requires include=tasks");
+        }
+        return bulkheads.heavyReads().submit(() -> lastKnownGood.respond(user.getId(), "projects",
+                () -> SparseFields.shape(projectService.getUserProjects(user.getId(), selected),
+                        ProjectResponse.FILTER, selected),
+                selected));
+    }
+
+    /**
+     * Streams the projects with their tasks: each batch of {@link #TASKS_BATCH_PROJECTS} projects is read on
+     * the heavy-reads bulkhead and written before the next is read, so neither the whole response nor a
+     * database connection is held while a slow client reads. The first batch is read before the response
+     * starts, so its failures still get an error status; a later failure ends the response early.
+     * No stale copy is kept for this read.
+     */
+    @GetMapping(params = "include",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
+    @Operation(summary = "Get all projects with their tasks",
+            description = "include=tasks embeds each project's tasks (at most taskLimit each), streamed in " +
+                    "batches of projects; fields=id,title,... selects the project properties (JSON, CBOR or Smile)")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getUserProjectsWithTasks(
+            @RequestParam(required = false) String fields,
+            @RequestParam String include,
+            @RequestParam(required = false) Integer taskLimit,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @AuthenticationPrincipal User user) {
+        Set<String> selected = SparseFields.parse(fields, ProjectResponse.FIELDS);
+        if (!include.equals("tasks")) {
+            throw new IllegalArgumentException("include supports only 'tasks'");
+        }
+        if (taskLimit != null && taskLimit < 1) {
+            throw new IllegalArgumentException("taskLimit must be at least 1");
+        }
+        MediaType format = wireFormat(accept);
+        ObjectWriter writer = objectMapper(format).writer(SparseFields.filters(ProjectResponse.FILTER, selected))
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Integer shard = ShardContext.current();
+
+        return bulkheads.heavyReads().submit(() -> {
+            List<Long> projectIds = projectService.getUserProjectIds(user.getId());
+            List<ProjectWithTasksResponse> first = projectService.getProjectsWithTasks(
+                    batch(projectIds, 0), user.getId(), selected, taskLimit);
+            StreamingResponseBody body = out -> {
+                try (JsonGenerator generator = writer.createGenerator(out)) {
+                    generator.writeStartArray();
+                    List<ProjectWithTasksResponse> projects = first;
+                    for (int from = TASKS_BATCH_PROJECTS; ; from += TASKS_BATCH_PROJECTS) {
+                        for (ProjectWithTasksResponse project : projects) {
+                            writer.writeValue(generator, project);
+                        }
+                        generator.flush();
+                        if (from >= projectIds.size()) {
+                            break;
+                        }
+                        List<Long> next = batch(projectIds, from);
+                        // Written on an MVC async thread: route the read to the user's shard again
+                        try (ShardContext.Scope ignored = shard == null ? () -> { } : ShardContext.enter(shard)) {
+                            projects = bulkheads.heavyReads().submit(() -> projectService.getProjectsWithTasks(
+                                    next, user.getId(), selected, taskLimit)).join();
+                        }
+                    }
+                    generator.writeEndArray();
+                }
+            };
+            return ResponseEntity.ok().contentType(format).body(body);
+        });
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get project", description = "Get project by ID with progress")
-    public ResponseEntity<ProjectResponse> getProject(
+    public CompletableFuture<ResponseEntity<ProjectResponse>> getProject(
             @PathVariable Long id,
             @AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(projectService.getProjectById(id, user.getId()));
+        return bulkheads.lightReads().submit(() -> lastKnownGood.respond(user.getId(), "project",
+                () -> projectService.getProjectById(id, user.getId()), id));
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete project", description = "Delete project and all its tasks")
-    public ResponseEntity<Void> deleteProject(
+    @Operation(summary = "Delete project", description = "Delete project immediately; its tasks are purged in the background")
+    public CompletableFuture<ResponseEntity<Void>> deleteProject(
             @PathVariable Long id,
             @AuthenticationPrincipal User user) {
-        projectService.deleteProject(id, user.getId());
-        return ResponseEntity.noContent().build();
+        return bulkheads.writes().submit(() -> {
+            projectService.deleteProject(id, user.getId());
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    @GetMapping("/{id}/deletion")
+    @Operation(summary = "Get deletion progress", description = "Progress of the background purge of a deleted project")
+    public CompletableFuture<ResponseEntity<ProjectDeletionResponse>> getDeletionStatus(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User user) {
+        return bulkheads.lightReads().submit(() ->
+                ResponseEntity.ok(projectService.getDeletionStatus(id, user.getId())));
     }
 
     @GetMapping("/{id}/progress")
     @Operation(summary = "Get progress", description = "Calculate and return project progress")
-    public ResponseEntity<ProjectResponse> getProgress(
+    public CompletableFuture<ResponseEntity<ProjectResponse>> getProgress(
             @PathVariable Long id,
             @AuthenticationPrincipal User user) {
-        ProjectResponse project = projectService.getProjectById(id, user.getId());
-        return ResponseEntity.ok(projectService.calculateProgress(id));
+        return bulkheads.lightReads().submit(() -> {
+            ProjectResponse project = projectService.getProjectById(id, user.getId());
+            return ResponseEntity.ok(projectService.calculateProgress(id));
+        });
+    }
+
+    private static List<Long> batch(List<Long> projectIds, int from) {
+        return projectIds.subList(from, Math.min(from + TASKS_BATCH_PROJECTS, projectIds.size()));
+    }
+
+    /**
+     * The first of JSON, CBOR and Smile the Accept header takes, in the order the client lists its types.
+     */
+    private static MediaType wireFormat(String accept) {
+        if (accept != null) {
+            for (MediaType accepted : MediaType.parseMediaTypes(accept)) {
+                for (MediaType format : WIRE_FORMATS) {
+                    if (accepted.includes(format)) {
+                        return format;
+                    }
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private ObjectMapper objectMapper(MediaType format) {
+        if (format.equals(MediaType.APPLICATION_CBOR)) {
+            return cborConverter.getObjectMapper();
+        }
+        if (format.equals(JacksonConfig.APPLICATION_SMILE)) {
+            return smileConverter.getObjectMapper();
+        }
+        return objectMapper;
     }
 }
\ No newline at end of file
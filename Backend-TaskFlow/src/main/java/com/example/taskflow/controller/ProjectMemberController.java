@@ -0,0 +1,64 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.bulkhead.Bulkheads;
+import com.example.taskflow.dto.ProjectMemberResponse;
+import com.example.taskflow.dto.ProjectShareRequest;
+import com.example.taskflow.model.User;
+import com.example.taskflow.service.ProjectMemberService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@Profile("!embedded")
+@RequestMapping("/api/projects/{projectId}/members")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Project sharing", description = "Collaborators of a project and their roles")
+public class ProjectMemberController {
+
+    private final ProjectMemberService projectMemberService;
+    private final Bulkheads bulkheads;
+
+    @GetMapping
+    @Operation(summary = "Get collaborators", description = "Users the project is shared with and their roles")
+    public CompletableFuture<ResponseEntity<List<ProjectMemberResponse>>> getMembers(
+            @PathVariable Long projectId,
+            @AuthenticationPrincipal User user) {
+        return bulkheads.lightReads().submit(() ->
+                ResponseEntity.ok(projectMemberService.getMembers(projectId, user.getId())));
+    }
+
+    @PutMapping
+    @Operation(summary = "Share project",
+            description = "Share the project with a user as VIEWER or EDITOR, or change their role (owner only)")
+    public CompletableFuture<ResponseEntity<ProjectMemberResponse>> share(
+            @PathVariable Long projectId,
+            @Valid @RequestBody ProjectShareRequest request,
+            @AuthenticationPrincipal User user) {
+        return bulkheads.writes().submit(() ->
+                ResponseEntity.ok(projectMemberService.share(projectId, request, user)));
+    }
+
+    @DeleteMapping("/{userId}")
+    @Operation(summary = "Unshare project",
+            description = "Remove a collaborator (owner), or leave the project (the collaborator)")
+    public CompletableFuture<ResponseEntity<Void>> unshare(
+            @PathVariable Long projectId,
+            @PathVariable Long userId,
+            @AuthenticationPrincipal User user) {
+        return bulkheads.writes().submit(() -> {
+            projectMemberService.unshare(projectId, userId, user.getId());
+            return ResponseEntity.noContent().build();
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.dto.OccurrenceRequest;
+import com.example.taskflow.dto.RecurrenceRequest;
+import com.example.taskflow.dto.RecurrenceResponse;
+import com.example.taskflow.dto.TaskResponse;
+import com.example.taskflow.model.User;
+import com.example.taskflow.service.RecurrenceService;
+import com.example.taskflow.service.TaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@Profile("!embedded")
+@RequestMapping("/api/projects/{projectId}/recurrences")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Recurring tasks", description = "Recurring task rules and their occurrences")
+public class RecurrenceController {
+
+    private final RecurrenceService recurrenceService;
+    private final TaskService taskService;
+
+    @PostMapping
+    @Operation(summary = "Create recurring task", description = "Create a task repeating daily, weekly or monthly")
+    public ResponseEntity<RecurrenceResponse> createRecurrence(
+            @PathVariable Long projectId,
+            @Valid @RequestBody RecurrenceRequest request,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(recurrenceService.createRecurrence(projectId, request, user.getId()));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get recurring tasks", description = "Get the recurrence rules of a project")
+    public ResponseEntity<List<RecurrenceResponse>> getRecurrences(
+            @PathVariable Long projectId,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(recurrenceService.getRecurrences(projectId, user.getId()));
+    }
+
+    @DeleteMapping("/{recurrenceId}")
+    @Operation(summary = "Delete recurring task", description = "Stop a recurrence; completed or edited occurrences are kept")
+    public ResponseEntity<Void> deleteRecurrence(
+            @PathVariable Long projectId,
+            @PathVariable Long recurrenceId,
+            @AuthenticationPrincipal User user) {
+        recurrenceService.deleteRecurrence(projectId, recurrenceId, user.getId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PatchMapping("/{recurrenceId}/occurrences/{date}/toggle")
+    @Operation(summary = "Toggle occurrence", description = "Toggle completion of one occurrence")
+    public ResponseEntity<TaskResponse> toggleOccurrence(
+            @PathVariable Long projectId,
+            @PathVariable Long recurrenceId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(taskService.toggleOccurrence(projectId, recurrenceId, date, user.getId()));
+    }
+
+    @PutMapping("/{recurrenceId}/occurrences/{date}")
+    @Operation(summary = "Edit occurrence", description = "Change title, description or due date of one occurrence")
+    public ResponseEntity<TaskResponse> editOccurrence(
+            @PathVariable Long projectId,
+            @PathVariable Long recurrenceId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid @RequestBody OccurrenceRequest request,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(taskService.editOccurrence(projectId, recurrenceId, date, request, user.getId()));
+    }
+}
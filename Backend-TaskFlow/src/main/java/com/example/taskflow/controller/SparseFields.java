@@ -0,0 +1,64 @@
+package com.example.taskflow.controller;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The {@code fields} query parameter of list endpoints: a comma-separated subset of the response properties.
+ * The service selects only the columns behind them; {@link #shape} drops the other properties from the body.
+ */
+final class SparseFields {
+
+    private SparseFields() {
+    }
+
+    /**
+     * The requested properties, or null when {@code fields} is absent (every property).
+     */
+    static Set<String> parse(String fields, Set<String> allowed) {
+        if (fields == null) {
+            return null;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected any of " + new TreeSet<>(allowed));
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one of " + new TreeSet<>(allowed));
+        }
+        return requested;
+    }
+
+    /**
+     * Wraps the body so that objects of the {@code filter} type serialize only the requested properties.
+     */
+    static MappingJacksonValue shape(Object body, String filter, Set<String> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filters(filter, fields));
+        return value;
+    }
+
+    /**
+     * The filters of {@link #shape}, for bodies written without a message converter.
+     */
+    static FilterProvider filters(String filter, Set<String> fields) {
+        SimpleFilterProvider filters = new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+        if (fields != null) {
+            filters.addFilter(filter, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+        }
+        return filters;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.dto.UserStatsResponse;
+import com.example.taskflow.model.User;
+import com.example.taskflow.service.UserStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!embedded")
+@RequestMapping("/api/me")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Statistics", description = "Per-user dashboard statistics")
+public class StatsController {
+
+    private final UserStatsService userStatsService;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get dashboard statistics",
+            description = "Totals, completion rate, overdue and due-this-week counts, and completions per day for the last 90 days")
+    public ResponseEntity<UserStatsResponse> getStats(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(userStatsService.getStats(user.getId()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.bulkhead.Bulkheads;
+import com.example.taskflow.dto.ProjectResponse;
+import com.example.taskflow.dto.SyncResponse;
+import com.example.taskflow.model.User;
+import com.example.taskflow.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@Profile("!embedded")
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Sync", description = "Delta sync for offline clients")
+public class SyncController {
+
+    private final SyncService syncService;
+    private final Bulkheads bulkheads;
+
+    @GetMapping
+    @Operation(summary = "Get changes",
+            description = "Projects, tasks and deletions written after the since cursor, oldest first, " +
+                    "for own projects and those shared with the user; a revoked share is a project deletion; " +
+                    "call again with next while hasMore. 410 means the cursor is too old: sync again from 0. " +
+                    "Changes show once they are sync.settle-window old (5 s); a write transaction that commits later " +
+                    "than that after its first change may be missed by a cursor that passed it")
+    public CompletableFuture<ResponseEntity<MappingJacksonValue>> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit,
+            @AuthenticationPrincipal User user) {
+        return bulkheads.heavyReads().submit(() -> ResponseEntity.ok(SparseFields.shape(
+                syncService.getChanges(user.getId(), since, limit),
+                ProjectResponse.FILTER, SyncResponse.PROJECT_FIELDS)));
+    }
+}
@@ -1,20 +1,32 @@
 package com.example.taskflow.controller;
 
+import com.example.taskflow.bulkhead.Bulkheads;
+import com.example.taskflow.config.JacksonConfig;
+import com.example.taskflow.dto.TaskParentRequest;
+import com.example.taskflow.dto.TaskPositionRequest;
+import com.example.taskflow.dto.TaskProgressResponse;
 import com.example.taskflow.dto.TaskRequest;
 import com.example.taskflow.dto.TaskResponse;
 import com.example.taskflow.model.User;
-import com.example.taskflow.service.TaskService;
+import com.example.taskflow.resilience.LastKnownGood;
+import com.example.taskflow.service.TaskOperations;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/projects/{projectId}/tasks")
@@ -23,40 +35,99 @@ import java.util.List;
 @Tag(name = "Tasks", description = "Task management endpoints")
 public class TaskController {
 
-    private final TaskService taskService;
+    private final TaskOperations taskService;
+    private final Bulkheads bulkheads;
+    private final LastKnownGood lastKnownGood;
 
     @PostMapping
     @Operation(summary = "Create task", description = "Create a new task in a project")
-    public ResponseEntity<TaskResponse> createTask(
+    public CompletableFuture<ResponseEntity<TaskResponse>> createTask(
             @PathVariable Long projectId,
             @Valid @RequestBody TaskRequest request,
             @AuthenticationPrincipal User user) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(taskService.createTask(projectId, request, user.getId()));
+        return bulkheads.writes().submit(() -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(taskService.createTask(projectId, request, user.getId())));
     }
 
-    @GetMapping
-    @Operation(summary = "Get all tasks", description = "Get all tasks for a project")
-    public ResponseEntity<List<TaskResponse>> getProjectTasks(
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
+    @Operation(summary = "Get all tasks",
+            description = "Get all tasks for a project, plus occurrences of recurring tasks between from and to " +
+                    "(default: the next 14 days); includeArchived adds old completed tasks; fields=id,title,... " +
+                    "returns only those properties (JSON, CBOR or Smile)")
+    public CompletableFuture<ResponseEntity<MappingJacksonValue>> getProjectTasks(
             @PathVariable Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String fields,
             @AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(taskService.getProjectTasks(projectId, user.getId()));
+        Set<String> selected = SparseFields.parse(fields, TaskResponse.FIELDS);
+        return bulkheads.heavyReads().submit(() -> lastKnownGood.respond(user.getId(), "project-tasks",
+                () -> SparseFields.shape(
+                        taskService.getProjectTasks(projectId, from, to, includeArchived, selected, user.getId()),
+                        TaskResponse.FILTER, selected),
+                projectId, from, to, includeArchived, selected));
     }
 
     @PatchMapping("/{taskId}/toggle")
     @Operation(summary = "Toggle completion", description = "Toggle task completion status")
-    public ResponseEntity<TaskResponse> toggleTaskCompletion(
+    public CompletableFuture<ResponseEntity<TaskResponse>> toggleTaskCompletion(
             @PathVariable Long taskId,
             @AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(taskService.toggleTaskCompletion(taskId, user.getId()));
+        return bulkheads.writes().submit(() ->
+                ResponseEntity.ok(taskService.toggleTaskCompletion(taskId, user.getId())));
+    }
+
+    @PatchMapping("/{taskId}/position")
+    @Operation(summary = "Move task", description = "Place a task between two other tasks of the project")
+    public CompletableFuture<ResponseEntity<TaskResponse>> moveTask(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @RequestBody TaskPositionRequest request,
+            @AuthenticationPrincipal User user) {
+        return bulkheads.writes().submit(() ->
+                ResponseEntity.ok(taskService.moveTask(projectId, taskId, request, user.getId())));
+    }
+
+    @GetMapping("/{taskId}/subtree")
+    @Operation(summary = "Get subtree", description = "Get a task and all of its subtasks")
+    public CompletableFuture<ResponseEntity<List<TaskResponse>>> getSubtree(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @AuthenticationPrincipal User user) {
+        return bulkheads.heavyReads().submit(() ->
+                ResponseEntity.ok(taskService.getSubtree(projectId, taskId, user.getId())));
+    }
+
+    @GetMapping("/{taskId}/progress")
+    @Operation(summary = "Get subtree progress", description = "Calculate progress of a task and its subtasks")
+    public CompletableFuture<ResponseEntity<TaskProgressResponse>> getSubtreeProgress(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @AuthenticationPrincipal User user) {
+        return bulkheads.lightReads().submit(() ->
+                ResponseEntity.ok(taskService.getSubtreeProgress(projectId, taskId, user.getId())));
+    }
+
+    @PatchMapping("/{taskId}/parent")
+    @Operation(summary = "Move subtree", description = "Move a task and its subtasks under another task")
+    public CompletableFuture<ResponseEntity<TaskResponse>> moveSubtree(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @RequestBody TaskParentRequest request,
+            @AuthenticationPrincipal User user) {
+        return bulkheads.writes().submit(() ->
+                ResponseEntity.ok(taskService.moveSubtree(projectId, taskId, request, user.getId())));
     }
 
     @DeleteMapping("/{taskId}")
-    @Operation(summary = "Delete task", description = "Delete a task")
-    public ResponseEntity<Void> deleteTask(
+    @Operation(summary = "Delete task", description = "Delete a task and its subtasks")
+    public CompletableFuture<ResponseEntity<Void>> deleteTask(
             @PathVariable Long taskId,
             @AuthenticationPrincipal User user) {
-        taskService.deleteTask(taskId, user.getId());
-        return ResponseEntity.noContent().build();
+        return bulkheads.writes().submit(() -> {
+            taskService.deleteTask(taskId, user.getId());
+            return ResponseEntity.noContent().build();
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.dto.TaskImportResponse;
+import com.example.taskflow.model.ImportFormat;
+import com.example.taskflow.model.User;
+import com.example.taskflow.service.TaskImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+@RestController
+@Profile("!embedded")
+@RequestMapping("/api/projects/{projectId}/imports")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Task imports", description = "Bulk task import from CSV or NDJSON")
+public class TaskImportController {
+
+    private final TaskImportService taskImportService;
+
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Import tasks",
+            description = "Stream CSV (header: title,description,dueDate,completed,completedAt) or NDJSON rows " +
+                    "into the project. Small uploads return the report; large ones return 202 and run in the background")
+    public ResponseEntity<TaskImportResponse> importTasks(
+            @PathVariable Long projectId,
+            HttpServletRequest request,
+            @AuthenticationPrincipal User user) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        TaskImportResponse response = taskImportService.startImport(
+                projectId, format, request.getInputStream(), request.getContentLengthLong(), user.getId());
+
+        if ("PENDING".equals(response.getStatus())) {
+            URI location = URI.create("/api/projects/" + projectId + "/imports/" + response.getId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).location(location).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{importId}")
+    @Operation(summary = "Get import report", description = "Progress, counts and the first rejected records of an import")
+    public ResponseEntity<TaskImportResponse> getImport(
+            @PathVariable Long projectId,
+            @PathVariable Long importId,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(taskImportService.getImport(projectId, importId, user.getId()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.taskflow.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the user's agenda: open tasks of all live projects, by due date. Pass {@code next} as
+ * {@code after} to continue; {@code hasMore} tells whether another page is waiting.
+ */
+@Data
+@AllArgsConstructor
+public class AgendaResponse {
+
+    private List<Item> tasks;
+    private String next;
+    private boolean hasMore;
+
+    /**
+     * A task with the project it belongs to.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+        private Long projectId;
+        @JsonUnwrapped
+        private TaskResponse task;
+    }
+}
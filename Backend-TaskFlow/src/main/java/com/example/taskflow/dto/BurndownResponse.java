@@ -0,0 +1,34 @@
+package com.example.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A project's burndown: one entry per day of {@code [from, to]}, with the totals at the end of the day
+ * and that day's activity.
+ */
+@Data
+@AllArgsConstructor
+public class BurndownResponse {
+
+    private Long projectId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<Day> days;
+
+    @Data
+    @AllArgsConstructor
+    public static class Day {
+        private LocalDate date;
+        private int totalTasks;
+        private int completedTasks;
+        private int remainingTasks;
+        private int created;
+        /** Completed that day, less reopened that day: the velocity. */
+        private int completed;
+        private int deleted;
+    }
+}
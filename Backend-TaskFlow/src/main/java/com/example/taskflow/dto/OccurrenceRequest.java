@@ -0,0 +1,22 @@
+package com.example.taskflow.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Edits a single occurrence of a recurring task; the rule and its other occurrences are unchanged.
+ */
+@Data
+public class OccurrenceRequest {
+
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    private String description;
+
+    @NotNull(message = "Due date is required")
+    private LocalDate dueDate;
+}
@@ -0,0 +1,17 @@
+package com.example.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ProjectDeletionResponse {
+    private Long projectId;
+    private String status;
+    private long totalTasks;
+    private long purgedTasks;
+    private LocalDateTime requestedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,17 @@
+package com.example.taskflow.dto;
+
+import com.example.taskflow.model.ProjectRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ProjectMemberResponse {
+    private Long userId;
+    private String email;
+    private String fullName;
+    private ProjectRole role;
+    private LocalDateTime createdAt;
+}
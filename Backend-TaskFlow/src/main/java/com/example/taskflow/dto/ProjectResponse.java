@@ -1,13 +1,25 @@
 package com.example.taskflow.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
+/**
+ * A project with its progress. The project list can return a subset of the properties ({@code ?fields=})
+ * through {@link #FILTER}; the progress figures are only computed when one of them is requested.
+ */
 @Data
 @AllArgsConstructor
+@JsonFilter(ProjectResponse.FILTER)
 public class ProjectResponse {
+    public static final String FILTER = "projectFields";
+    public static final Set<String> FIELDS = Set.of("id", "title", "description", "createdAt",
+            "totalTasks", "completedTasks", "progressPercentage");
+    public static final Set<String> PROGRESS_FIELDS = Set.of("totalTasks", "completedTasks", "progressPercentage");
+
     private Long id;
     private String title;
     private String description;
@@ -0,0 +1,22 @@
+package com.example.taskflow.dto;
+
+import com.example.taskflow.model.ProjectRole;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Shares a project with the user registered under {@code email}, or changes their role.
+ */
+@Data
+public class ProjectShareRequest {
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email must be valid")
+    private String email;
+
+    /** {@code VIEWER} or {@code EDITOR}. */
+    @NotNull(message = "Role is required")
+    private ProjectRole role;
+}
@@ -0,0 +1,18 @@
+package com.example.taskflow.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A project of {@code GET /api/projects?include=tasks}: the project's properties followed by its tasks.
+ */
+@Data
+@AllArgsConstructor
+public class ProjectWithTasksResponse {
+    @JsonUnwrapped
+    private ProjectResponse project;
+    private List<TaskResponse> tasks;
+}
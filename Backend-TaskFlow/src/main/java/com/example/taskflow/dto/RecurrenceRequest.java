@@ -0,0 +1,37 @@
+package com.example.taskflow.dto;
+
+import com.example.taskflow.model.RecurrenceFrequency;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * A task repeating every {@code interval} days, weeks or months from {@code startDate}.
+ * Weekly rules fall on {@code daysOfWeek}, or on the weekday of {@code startDate} when empty.
+ */
+@Data
+public class RecurrenceRequest {
+
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    private String description;
+
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequency frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    private int interval = 1;
+
+    private Set<DayOfWeek> daysOfWeek = Set.of();
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+}
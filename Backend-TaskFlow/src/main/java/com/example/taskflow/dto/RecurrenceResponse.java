@@ -0,0 +1,24 @@
+package com.example.taskflow.dto;
+
+import com.example.taskflow.model.RecurrenceFrequency;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+public class RecurrenceResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private RecurrenceFrequency frequency;
+    private int interval;
+    private Set<DayOfWeek> daysOfWeek;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,32 @@
+package com.example.taskflow.dto;
+
+import com.example.taskflow.model.SyncEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One page of changes after the client's cursor. Projects carry no progress figures; clients derive them
+ * from the synced tasks. A deleted project stands for its tasks too. Pass {@code next} as {@code since}
+ * to continue; {@code hasMore} tells whether another page is waiting.
+ */
+@Data
+@AllArgsConstructor
+public class SyncResponse {
+    public static final Set<String> PROJECT_FIELDS = Set.of("id", "title", "description", "createdAt");
+
+    private List<ProjectResponse> projects;
+    private List<TaskResponse> tasks;
+    private List<Deletion> deleted;
+    private long next;
+    private boolean hasMore;
+
+    @Data
+    @AllArgsConstructor
+    public static class Deletion {
+        private SyncEntityType type;
+        private Long id;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Import report. {@code errors} lists the first rejected records; {@code rowsFailed} counts all of them.
+ */
+@Data
+@AllArgsConstructor
+public class TaskImportResponse {
+    private Long id;
+    private Long projectId;
+    private String format;
+    private String status;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long record;
+        private String message;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.taskflow.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One record of a bulk import (a CSV row or an NDJSON line). Title, description and due date
+ * follow the {@link TaskRequest} rules, except that past due dates are allowed for historical data.
+ */
+@Data
+public class TaskImportRow {
+
+    private String title;
+
+    private String description;
+
+    private LocalDate dueDate;
+
+    private boolean completed;
+
+    /**
+     * When a completed task was finished; defaults to the start of its due date.
+     */
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,12 @@
+package com.example.taskflow.dto;
+
+import lombok.Data;
+
+/**
+ * New parent of a task; its whole subtree moves along. A null {@code parentTaskId} makes it a top-level task.
+ */
+@Data
+public class TaskParentRequest {
+
+    private Long parentTaskId;
+}
@@ -0,0 +1,15 @@
+package com.example.taskflow.dto;
+
+import lombok.Data;
+
+/**
+ * New position of a task, given by the tasks that should surround it.
+ * A null {@code previousTaskId} moves the task to the top; a null {@code nextTaskId} to the bottom.
+ */
+@Data
+public class TaskPositionRequest {
+
+    private Long previousTaskId;
+
+    private Long nextTaskId;
+}
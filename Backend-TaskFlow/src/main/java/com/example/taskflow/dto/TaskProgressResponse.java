@@ -0,0 +1,16 @@
+package com.example.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Progress of a task and all of its subtasks, counted like {@link ProjectResponse}.
+ */
+@Data
+@AllArgsConstructor
+public class TaskProgressResponse {
+    private Long taskId;
+    private long totalTasks;
+    private long completedTasks;
+    private double progressPercentage;
+}
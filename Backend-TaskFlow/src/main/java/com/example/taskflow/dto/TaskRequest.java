@@ -18,4 +18,9 @@ public class TaskRequest {
     @NotNull(message = "Due date is required")
     @Future(message = "Due date must be in the future")
     private LocalDate dueDate;
+
+    /**
+     * Optional parent task in the same project; null creates a top-level task.
+     */
+    private Long parentTaskId;
 }
\ No newline at end of file
@@ -1,18 +1,34 @@
 package com.example.taskflow.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 
+/**
+ * A task row, or a virtual occurrence of a recurring task ({@code id} null, identified by
+ * {@code recurrenceId} and {@code occurrenceDate}). Archived tasks are completed and read-only.
+ * List endpoints can return a subset of the properties ({@code ?fields=}) through {@link #FILTER}.
+ */
 @Data
 @AllArgsConstructor
+@JsonFilter(TaskResponse.FILTER)
 public class TaskResponse {
+    public static final String FILTER = "taskFields";
+    public static final Set<String> FIELDS = Set.of("id", "title", "description", "dueDate", "completed",
+            "createdAt", "parentId", "recurrenceId", "occurrenceDate", "archived");
+
     private Long id;
     private String title;
     private String description;
     private LocalDate dueDate;
     private boolean completed;
     private LocalDateTime createdAt;
+    private Long parentId;
+    private Long recurrenceId;
+    private LocalDate occurrenceDate;
+    private boolean archived;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class UserStatsResponse {
+    private long totalTasks;
+    private long completedTasks;
+    private double completionRate;
+    private long overdueTasks;
+    private long dueThisWeek;
+    private List<DailyCompletions> completionsPerDay;
+
+    @Data
+    @AllArgsConstructor
+    public static class DailyCompletions {
+        private LocalDate date;
+        private long completed;
+    }
+}
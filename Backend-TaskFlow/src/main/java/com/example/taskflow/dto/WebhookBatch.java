@@ -0,0 +1,32 @@
+package com.example.taskflow.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The body of a webhook request: events for one endpoint, oldest first. Delivery is at least once;
+ * receivers drop events whose {@code id} they have already processed.
+ */
+@Data
+@AllArgsConstructor
+public class WebhookBatch {
+
+    private String endpoint;
+    private List<Event> events;
+
+    @Data
+    @AllArgsConstructor
+    public static class Event {
+        private Long id;
+        /** Such as {@code task.created}; see {@code WebhookOutbox}. */
+        private String type;
+        private Long projectId;
+        private LocalDateTime occurredAt;
+        @JsonRawValue
+        private String data;
+    }
+}
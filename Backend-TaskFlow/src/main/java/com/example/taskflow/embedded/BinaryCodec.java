@@ -0,0 +1,110 @@
+package com.example.taskflow.embedded;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary encoding of the stored records, shared by the write-ahead log and the snapshots.
+ * Strings are length-prefixed UTF-8 (length -1 for null), dates are epoch days and timestamps epoch
+ * seconds plus nanos, both taken in UTC so that the encoding does not depend on the time zone.
+ */
+final class BinaryCodec {
+
+    private BinaryCodec() {
+    }
+
+    static void writeProject(DataOutput out, StoredProject project) throws IOException {
+        out.writeLong(project.id());
+        out.writeLong(project.userId());
+        writeString(out, project.title());
+        writeString(out, project.description());
+        writeDateTime(out, project.createdAt());
+    }
+
+    static StoredProject readProject(DataInput in) throws IOException {
+        return new StoredProject(in.readLong(), in.readLong(), readString(in), readString(in), readDateTime(in));
+    }
+
+    static void writeTask(DataOutput out, StoredTask task) throws IOException {
+        out.writeLong(task.id());
+        out.writeLong(task.projectId());
+        writeId(out, task.parentId());
+        writeString(out, task.title());
+        writeString(out, task.description());
+        out.writeLong(task.dueDate() == null ? Long.MIN_VALUE : task.dueDate().toEpochDay());
+        out.writeBoolean(task.completed());
+        writeDateTime(out, task.createdAt());
+        writeString(out, task.sortRank());
+    }
+
+    static StoredTask readTask(DataInput in) throws IOException {
+        long id = in.readLong();
+        long projectId = in.readLong();
+        Long parentId = readId(in);
+        String title = readString(in);
+        String description = readString(in);
+        long dueDay = in.readLong();
+        boolean completed = in.readBoolean();
+        LocalDateTime createdAt = readDateTime(in);
+        String sortRank = readString(in);
+        return new StoredTask(id, projectId, parentId, title, description,
+                dueDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(dueDay), completed, createdAt, sortRank);
+    }
+
+    static void writeDeletion(DataOutput out, StoredDeletion deletion) throws IOException {
+        out.writeLong(deletion.projectId());
+        out.writeLong(deletion.userId());
+        out.writeLong(deletion.totalTasks());
+        writeDateTime(out, deletion.deletedAt());
+    }
+
+    static StoredDeletion readDeletion(DataInput in) throws IOException {
+        return new StoredDeletion(in.readLong(), in.readLong(), in.readLong(), readDateTime(in));
+    }
+
+    /**
+     * A nullable id; ids are positive, so 0 stands for null.
+     */
+    static void writeId(DataOutput out, Long id) throws IOException {
+        out.writeLong(id == null ? 0 : id);
+    }
+
+    static Long readId(DataInput in) throws IOException {
+        long id = in.readLong();
+        return id == 0 ? null : id;
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    static LocalDateTime readDateTime(DataInput in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,694 @@
+package com.example.taskflow.embedded;
+
+import com.example.taskflow.embedded.Mutation.ProjectCreated;
+import com.example.taskflow.embedded.Mutation.ProjectDeleted;
+import com.example.taskflow.embedded.Mutation.ProjectReranked;
+import com.example.taskflow.embedded.Mutation.TaskCompleted;
+import com.example.taskflow.embedded.Mutation.TaskCreated;
+import com.example.taskflow.embedded.Mutation.TaskDeleted;
+import com.example.taskflow.embedded.Mutation.TaskRanked;
+import com.example.taskflow.embedded.Mutation.TaskReparented;
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.service.RankGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * In-memory storage engine for projects and tasks ({@code embedded} profile), made durable by a
+ * {@link WriteAheadLog} and periodic {@link Snapshot}s in {@code embedded.data-dir}.
+ * <p>
+ * The state is split into {@value #STRIPES} stripes, each guarded by its own read-write lock and holding
+ * {@link LongObjectMap}s of projects and tasks plus the secondary indexes: a user's projects, and per
+ * project its tasks in rank order, the subtasks of each task and the completed count. A project lives in
+ * its user's stripe and a task in its project's: ids carry the stripe number in their low bits, so every
+ * operation, even one given only a task id, takes exactly one lock, and users never contend with each other
+ * unless they share a stripe.
+ * <p>
+ * A write validates under the stripe's write lock, appends its mutations to the log, applies them and
+ * releases the lock; it returns once the log has flushed them. Recovery applies the same mutations through
+ * the same code, so a replayed log rebuilds exactly the state that was acknowledged.
+ */
+@Component
+@Profile("embedded")
+@Slf4j
+public class EmbeddedStore implements SmartLifecycle {
+
+    static final int STRIPE_BITS = 6;
+    static final int STRIPES = 1 << STRIPE_BITS;
+    private static final long STRIPE_MASK = STRIPES - 1;
+    private static final Comparator<StoredTask> RANK_ORDER =
+            Comparator.comparing(StoredTask::sortRank).thenComparingLong(StoredTask::id);
+
+    private final Path directory;
+    private final int maxRankLength;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicLong projectSequence = new AtomicLong();
+    private final AtomicLong taskSequence = new AtomicLong();
+    private final Object snapshotMonitor = new Object();
+    private volatile WriteAheadLog wal;
+    private long snapshotAppended;
+
+    public EmbeddedStore(@Value("${embedded.data-dir}") String directory,
+                         @Value("${tasks.rank.max-length:32}") int maxRankLength) {
+        this.directory = Path.of(directory);
+        this.maxRankLength = maxRankLength;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // Projects
+
+    public StoredProject createProject(long userId, String title, String description) {
+        return write(userId, (stripe, change) -> {
+            long id = nextId(projectSequence, userId);
+            StoredProject project = new StoredProject(id, userId, title, description, LocalDateTime.now());
+            change.apply(new ProjectCreated(project));
+            return project;
+        });
+    }
+
+    /**
+     * The user's projects with their task counts, oldest first.
+     */
+    public List<ProjectState> projectsOf(long userId) {
+        return read(userId, stripe -> {
+            LongList ids = stripe.projectsByUser.get(userId);
+            List<ProjectState> projects = new ArrayList<>(ids == null ? 0 : ids.size());
+            for (int i = 0; ids != null && i < ids.size(); i++) {
+                projects.add(state(stripe, stripe.projects.get(ids.get(i))));
+            }
+            projects.sort(Comparator.comparingLong(project -> project.project().id()));
+            return projects;
+        });
+    }
+
+    public ProjectState project(long projectId, long userId) {
+        return read(projectId, stripe -> state(stripe, ownedProject(stripe, projectId, userId)));
+    }
+
+    /**
+     * The project with its task counts, whoever owns it.
+     */
+    public ProjectState progress(long projectId) {
+        return read(projectId, stripe -> {
+            StoredProject project = stripe.projects.get(projectId);
+            if (project == null) {
+                throw new ResourceNotFoundException("Project not found");
+            }
+            return state(stripe, project);
+        });
+    }
+
+    /**
+     * Deletes the project with all of its tasks at once; the deletion stays readable.
+     */
+    public void deleteProject(long projectId, long userId) {
+        write(projectId, (stripe, change) -> {
+            ownedProject(stripe, projectId, userId);
+            change.apply(new ProjectDeleted(projectId, LocalDateTime.now()));
+            return null;
+        });
+    }
+
+    public StoredDeletion deletion(long projectId, long userId) {
+        return read(projectId, stripe -> Optional.ofNullable(stripe.deletions.get(projectId))
+                .filter(deletion -> deletion.userId() == userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project deletion not found")));
+    }
+
+    // Tasks
+
+    /**
+     * Appends a task at the end of its project, optionally under a parent task of the same project.
+     */
+    public StoredTask createTask(long projectId, long userId, String title, String description,
+                                 LocalDate dueDate, Long parentId) {
+        return write(projectId, (stripe, change) -> {
+            ownedProject(stripe, projectId, userId);
+            if (parentId != null) {
+                taskInProject(stripe, parentId, projectId);
+            }
+            ProjectIndex index = stripe.indexes.get(projectId);
+            String rank = RankGenerator.after(index.byRank.isEmpty() ? null : index.byRank.last().sortRank());
+            long id = nextId(taskSequence, projectId);
+            change.apply(new TaskCreated(new StoredTask(id, projectId, parentId, title, description, dueDate,
+                    false, LocalDateTime.now(), rank)));
+            rerankIfLong(change, projectId, rank);
+            return stripe.tasks.get(id);
+        });
+    }
+
+    /**
+     * The project's tasks in rank order.
+     */
+    public List<StoredTask> tasks(long projectId, long userId) {
+        return read(projectId, stripe -> {
+            ownedProject(stripe, projectId, userId);
+            return new ArrayList<>(stripe.indexes.get(projectId).byRank);
+        });
+    }
+
+    /**
+     * The tasks of several projects in rank order, at most {@code limit} per project ({@code null}: all).
+     * The caller has checked that the projects belong to the user.
+     */
+    public Map<Long, List<StoredTask>> tasksOf(Collection<Long> projectIds, Integer limit) {
+        Map<Long, List<StoredTask>> tasksByProject = new HashMap<>();
+        for (Long projectId : projectIds) {
+            List<StoredTask> tasks = read(projectId, stripe -> {
+                ProjectIndex index = stripe.indexes.get(projectId);
+                if (index == null) {
+                    return List.<StoredTask>of();
+                }
+                return index.byRank.stream().limit(limit == null ? Long.MAX_VALUE : limit).toList();
+            });
+            if (!tasks.isEmpty()) {
+                tasksByProject.put(projectId, tasks);
+            }
+        }
+        return tasksByProject;
+    }
+
+    public StoredTask toggle(long taskId, long userId) {
+        return write(taskId, (stripe, change) -> {
+            StoredTask task = ownedTask(stripe, taskId, userId);
+            change.apply(new TaskCompleted(taskId, !task.completed()));
+            return stripe.tasks.get(taskId);
+        });
+    }
+
+    /**
+     * Moves a task between two others of its project; null neighbours are open ends, both null moves it last.
+     */
+    public StoredTask move(long projectId, long taskId, Long previousId, Long nextId, long userId) {
+        return write(projectId, (stripe, change) -> {
+            StoredTask task = ownedTask(stripe, projectId, taskId, userId);
+            StoredTask previous = neighbour(stripe, previousId, task);
+            StoredTask next = neighbour(stripe, nextId, task);
+
+            String rank;
+            if (previous == null && next == null) {
+                rank = RankGenerator.after(stripe.indexes.get(projectId).byRank.last().sortRank());
+            } else {
+                if (previous != null && next != null && RANK_ORDER.compare(previous, next) >= 0) {
+                    throw new IllegalArgumentException("previousTaskId must come before nextTaskId");
+                }
+                rank = RankGenerator.between(
+                        previous != null ? previous.sortRank() : null,
+                        next != null ? next.sortRank() : null);
+            }
+            change.apply(new TaskRanked(taskId, rank));
+            rerankIfLong(change, projectId, rank);
+            return stripe.tasks.get(taskId);
+        });
+    }
+
+    /**
+     * The task and all of its subtasks in rank order.
+     */
+    public List<StoredTask> subtree(long projectId, long taskId, long userId) {
+        return read(projectId, stripe -> {
+            ownedTask(stripe, projectId, taskId, userId);
+            List<StoredTask> subtree = new ArrayList<>();
+            for (long id : subtreeIds(stripe, taskId)) {
+                subtree.add(stripe.tasks.get(id));
+            }
+            subtree.sort(RANK_ORDER);
+            return subtree;
+        });
+    }
+
+    public SubtreeCounts subtreeCounts(long projectId, long taskId, long userId) {
+        return read(projectId, stripe -> {
+            ownedTask(stripe, projectId, taskId, userId);
+            long total = 0;
+            long completed = 0;
+            for (long id : subtreeIds(stripe, taskId)) {
+                total++;
+                completed += stripe.tasks.get(id).completed() ? 1 : 0;
+            }
+            return new SubtreeCounts(total, completed);
+        });
+    }
+
+    /**
+     * Moves a task with its subtree under another task of the project, or to the top level.
+     */
+    public StoredTask moveSubtree(long projectId, long taskId, Long parentId, long userId) {
+        return write(projectId, (stripe, change) -> {
+            StoredTask task = ownedTask(stripe, projectId, taskId, userId);
+            if (Objects.equals(task.parentId(), parentId)) {
+                return task;
+            }
+            if (parentId != null) {
+                // Walking up from the new parent is shorter than scanning the subtree
+                for (Long ancestor = taskInProject(stripe, parentId, projectId).id(); ancestor != null;
+                     ancestor = stripe.tasks.get(ancestor).parentId()) {
+                    if (ancestor == taskId) {
+                        throw new IllegalArgumentException("A task cannot be moved under itself or one of its subtasks");
+                    }
+                }
+            }
+            change.apply(new TaskReparented(taskId, parentId));
+            return stripe.tasks.get(taskId);
+        });
+    }
+
+    /**
+     * Deletes a task together with its subtasks.
+     */
+    public void deleteTask(long taskId, long userId) {
+        write(taskId, (stripe, change) -> {
+            ownedTask(stripe, taskId, userId);
+            change.apply(new TaskDeleted(taskId));
+            return null;
+        });
+    }
+
+    // Snapshots and recovery
+
+    /**
+     * Writes a snapshot if anything changed since the last one, then deletes the log segments it covers.
+     * Writers are held back only while the log rotates and the stripe maps are copied; the copies share the
+     * immutable records, so the file is written without any lock.
+     */
+    @Scheduled(fixedDelayString = "${embedded.snapshot.interval-ms:60000}")
+    public void snapshot() {
+        synchronized (snapshotMonitor) {
+            WriteAheadLog current = wal;
+            if (current == null || current.appended() == snapshotAppended) {
+                return;
+            }
+            List<LongObjectMap<StoredProject>> projects = new ArrayList<>(STRIPES);
+            List<LongObjectMap<StoredTask>> tasks = new ArrayList<>(STRIPES);
+            List<LongObjectMap<StoredDeletion>> deletions = new ArrayList<>(STRIPES);
+            long segment;
+            long projectIds;
+            long taskIds;
+            for (Stripe stripe : stripes) {
+                stripe.lock.readLock().lock();
+            }
+            try {
+                segment = current.rotate();
+                snapshotAppended = current.appended();
+                projectIds = projectSequence.get();
+                taskIds = taskSequence.get();
+                for (Stripe stripe : stripes) {
+                    projects.add(stripe.projects.copy());
+                    tasks.add(stripe.tasks.copy());
+                    deletions.add(stripe.deletions.copy());
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not rotate the write-ahead log", ex);
+            } finally {
+                for (Stripe stripe : stripes) {
+                    stripe.lock.readLock().unlock();
+                }
+            }
+
+            Snapshot snapshot = new Snapshot(segment, projectIds, taskIds, flatten(projects), flatten(tasks),
+                    flatten(deletions));
+            try {
+                snapshot.write(directory);
+                WriteAheadLog.deleteSegmentsBefore(directory, segment);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not write a snapshot", ex);
+            }
+            log.info("Embedded store snapshot at segment {}: {} projects, {} tasks",
+                    segment, snapshot.projects().size(), snapshot.tasks().size());
+        }
+    }
+
+    /**
+     * Loads the latest snapshot, replays the log written after it and opens a new log segment.
+     */
+    void recover() throws IOException {
+        Files.createDirectories(directory);
+        long fromSegment = 0;
+        Optional<Snapshot> snapshot = Snapshot.readLatest(directory);
+        if (snapshot.isPresent()) {
+            Snapshot loaded = snapshot.get();
+            projectSequence.set(loaded.projectSequence());
+            taskSequence.set(loaded.taskSequence());
+            loaded.projects().forEach(project -> apply(new ProjectCreated(project)));
+            loaded.tasks().forEach(task -> apply(new TaskCreated(task)));
+            loaded.deletions().forEach(deletion -> stripe(deletion.projectId()).deletions.put(deletion.projectId(), deletion));
+            fromSegment = loaded.segment();
+        }
+        long[] replayed = {0};
+        long lastSegment = WriteAheadLog.replay(directory, fromSegment, mutation -> {
+            apply(mutation);
+            replayed[0]++;
+        });
+        wal = new WriteAheadLog(directory, Math.max(fromSegment, lastSegment + 1));
+        // A replayed log is worth folding into a snapshot even before the next write
+        snapshotAppended = replayed[0] > 0 ? -1 : 0;
+        log.info("Embedded store recovered from {}: {} log records replayed{}", directory, replayed[0],
+                snapshot.map(loaded -> " after snapshot " + loaded.segment()).orElse(""));
+    }
+
+    /**
+     * Stops logging without a final snapshot, as a crash would; recovery then replays the log.
+     */
+    void closeWithoutSnapshot() throws IOException {
+        WriteAheadLog current = wal;
+        wal = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            recover();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not recover the embedded store from " + directory, ex);
+        }
+    }
+
+    @Override
+    public void stop() {
+        snapshot();
+        try {
+            closeWithoutSnapshot();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not close the write-ahead log", ex);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return wal != null;
+    }
+
+    /**
+     * Before the web server, which starts in a later phase, takes its first request, and stopped after it.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    // Internals
+
+    private <T> T read(long key, Function<Stripe, T> query) {
+        Stripe stripe = stripe(key);
+        stripe.lock.readLock().lock();
+        try {
+            return query.apply(stripe);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(long key, BiFunction<Stripe, Change, T> operation) {
+        WriteAheadLog current = wal;
+        if (current == null) {
+            throw new IllegalStateException("Embedded store is not running");
+        }
+        Stripe stripe = stripe(key);
+        Change change = new Change(current);
+        T result;
+        stripe.lock.writeLock().lock();
+        try {
+            result = operation.apply(stripe, change);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        // Readers may see the change before it is durable, but the writer is answered only afterwards
+        if (change.lsn > 0) {
+            current.awaitDurable(change.lsn);
+        }
+        return result;
+    }
+
+    private Stripe stripe(long id) {
+        return stripes[(int) (id & STRIPE_MASK)];
+    }
+
+    /**
+     * A new id in the stripe of {@code owner}: the next sequence value above the stripe bits.
+     */
+    private static long nextId(AtomicLong sequence, long owner) {
+        return (sequence.incrementAndGet() << STRIPE_BITS) | (owner & STRIPE_MASK);
+    }
+
+    private void rerankIfLong(Change change, long projectId, String rank) {
+        if (rank.length() > maxRankLength) {
+            change.apply(new ProjectReranked(projectId));
+        }
+    }
+
+    private void apply(Mutation mutation) {
+        apply(stripe(mutation.key()), mutation);
+    }
+
+    /**
+     * Applies a validated mutation to the maps and indexes of its stripe; used both live and on recovery.
+     */
+    private void apply(Stripe stripe, Mutation mutation) {
+        if (mutation instanceof ProjectCreated created) {
+            StoredProject project = created.project();
+            stripe.projects.put(project.id(), project);
+            stripe.indexes.put(project.id(), new ProjectIndex());
+            LongList owned = stripe.projectsByUser.get(project.userId());
+            if (owned == null) {
+                owned = new LongList();
+                stripe.projectsByUser.put(project.userId(), owned);
+            }
+            owned.add(project.id());
+            projectSequence.accumulateAndGet(project.id() >>> STRIPE_BITS, Math::max);
+        } else if (mutation instanceof ProjectDeleted deleted) {
+            StoredProject project = stripe.projects.remove(deleted.projectId());
+            ProjectIndex index = stripe.indexes.remove(deleted.projectId());
+            for (StoredTask task : index.byRank) {
+                stripe.tasks.remove(task.id());
+            }
+            LongList owned = stripe.projectsByUser.get(project.userId());
+            owned.remove(project.id());
+            if (owned.isEmpty()) {
+                stripe.projectsByUser.remove(project.userId());
+            }
+            stripe.deletions.put(project.id(), new StoredDeletion(project.id(), project.userId(),
+                    index.byRank.size(), deleted.deletedAt()));
+        } else if (mutation instanceof ProjectReranked reranked) {
+            ProjectIndex index = stripe.indexes.get(reranked.projectId());
+            List<StoredTask> ordered = new ArrayList<>(index.byRank);
+            String[] ranks = RankGenerator.spread(ordered.size());
+            index.byRank.clear();
+            for (int i = 0; i < ordered.size(); i++) {
+                StoredTask task = ordered.get(i).withSortRank(ranks[i]);
+                stripe.tasks.put(task.id(), task);
+                index.byRank.add(task);
+            }
+        } else if (mutation instanceof TaskCreated created) {
+            StoredTask task = created.task();
+            ProjectIndex index = stripe.indexes.get(task.projectId());
+            stripe.tasks.put(task.id(), task);
+            index.byRank.add(task);
+            index.completed += task.completed() ? 1 : 0;
+            if (task.parentId() != null) {
+                index.childrenOf(task.parentId()).add(task.id());
+            }
+            taskSequence.accumulateAndGet(task.id() >>> STRIPE_BITS, Math::max);
+        } else if (mutation instanceof TaskCompleted completed) {
+            StoredTask task = stripe.tasks.get(completed.taskId());
+            replace(stripe, task, task.withCompleted(completed.completed()));
+        } else if (mutation instanceof TaskRanked ranked) {
+            StoredTask task = stripe.tasks.get(ranked.taskId());
+            replace(stripe, task, task.withSortRank(ranked.sortRank()));
+        } else if (mutation instanceof TaskReparented reparented) {
+            StoredTask task = stripe.tasks.get(reparented.taskId());
+            ProjectIndex index = stripe.indexes.get(task.projectId());
+            if (task.parentId() != null) {
+                index.removeChild(task.parentId(), task.id());
+            }
+            if (reparented.parentId() != null) {
+                index.childrenOf(reparented.parentId()).add(task.id());
+            }
+            replace(stripe, task, task.withParentId(reparented.parentId()));
+        } else if (mutation instanceof TaskDeleted deleted) {
+            StoredTask root = stripe.tasks.get(deleted.taskId());
+            ProjectIndex index = stripe.indexes.get(root.projectId());
+            for (long id : subtreeIds(stripe, root.id())) {
+                StoredTask task = stripe.tasks.remove(id);
+                index.byRank.remove(task);
+                index.completed -= task.completed() ? 1 : 0;
+                index.children.remove(id);
+            }
+            if (root.parentId() != null) {
+                index.removeChild(root.parentId(), root.id());
+            }
+        }
+    }
+
+    private static void replace(Stripe stripe, StoredTask current, StoredTask updated) {
+        ProjectIndex index = stripe.indexes.get(current.projectId());
+        stripe.tasks.put(updated.id(), updated);
+        index.byRank.remove(current);
+        index.byRank.add(updated);
+        index.completed += (updated.completed() ? 1 : 0) - (current.completed() ? 1 : 0);
+    }
+
+    /**
+     * The task and all of its descendants, breadth first.
+     */
+    private static List<Long> subtreeIds(Stripe stripe, long taskId) {
+        ProjectIndex index = stripe.indexes.get(stripe.tasks.get(taskId).projectId());
+        List<Long> ids = new ArrayList<>();
+        Deque<Long> queue = new ArrayDeque<>();
+        queue.add(taskId);
+        while (!queue.isEmpty()) {
+            long id = queue.poll();
+            ids.add(id);
+            LongList children = index.children.get(id);
+            for (int i = 0; children != null && i < children.size(); i++) {
+                queue.add(children.get(i));
+            }
+        }
+        return ids;
+    }
+
+    private static ProjectState state(Stripe stripe, StoredProject project) {
+        ProjectIndex index = stripe.indexes.get(project.id());
+        return new ProjectState(project, index.byRank.size(), index.completed);
+    }
+
+    private static StoredProject ownedProject(Stripe stripe, long projectId, long userId) {
+        StoredProject project = stripe.projects.get(projectId);
+        if (project == null || project.userId() != userId) {
+            throw new ResourceNotFoundException("Project not found");
+        }
+        return project;
+    }
+
+    private static StoredTask ownedTask(Stripe stripe, long taskId, long userId) {
+        StoredTask task = stripe.tasks.get(taskId);
+        if (task == null || stripe.projects.get(task.projectId()).userId() != userId) {
+            throw new ResourceNotFoundException("Task not found");
+        }
+        return task;
+    }
+
+    private static StoredTask ownedTask(Stripe stripe, long projectId, long taskId, long userId) {
+        StoredTask task = ownedTask(stripe, taskId, userId);
+        if (task.projectId() != projectId) {
+            throw new ResourceNotFoundException("Task not found");
+        }
+        return task;
+    }
+
+    private static StoredTask taskInProject(Stripe stripe, long taskId, long projectId) {
+        StoredTask task = stripe.tasks.get(taskId);
+        if (task == null || task.projectId() != projectId) {
+            throw new ResourceNotFoundException("Task not found");
+        }
+        return task;
+    }
+
+    private static StoredTask neighbour(Stripe stripe, Long neighbourId, StoredTask task) {
+        if (neighbourId == null) {
+            return null;
+        }
+        if (neighbourId == task.id()) {
+            throw new IllegalArgumentException("A task cannot be positioned relative to itself");
+        }
+        return taskInProject(stripe, neighbourId, task.projectId());
+    }
+
+    private static <V> List<V> flatten(List<LongObjectMap<V>> maps) {
+        List<V> values = new ArrayList<>();
+        for (LongObjectMap<V> map : maps) {
+            values.addAll(map.values());
+        }
+        return values;
+    }
+
+    /**
+     * A project with its task counts, read under one lock.
+     */
+    public record ProjectState(StoredProject project, int totalTasks, int completedTasks) {
+    }
+
+    public record SubtreeCounts(long total, long completed) {
+    }
+
+    /**
+     * The mutations of one write: each is logged and then applied, under the stripe's write lock.
+     */
+    private final class Change {
+        private final WriteAheadLog wal;
+        private long lsn;
+
+        private Change(WriteAheadLog wal) {
+            this.wal = wal;
+        }
+
+        void apply(Mutation mutation) {
+            lsn = wal.append(mutation);
+            EmbeddedStore.this.apply(stripe(mutation.key()), mutation);
+        }
+    }
+
+    private static final class Stripe {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final LongObjectMap<StoredProject> projects = new LongObjectMap<>();
+        final LongObjectMap<StoredTask> tasks = new LongObjectMap<>();
+        final LongObjectMap<StoredDeletion> deletions = new LongObjectMap<>();
+        final LongObjectMap<LongList> projectsByUser = new LongObjectMap<>();
+        final LongObjectMap<ProjectIndex> indexes = new LongObjectMap<>();
+    }
+
+    /**
+     * Secondary indexes of one project.
+     */
+    private static final class ProjectIndex {
+        final TreeSet<StoredTask> byRank = new TreeSet<>(RANK_ORDER);
+        final LongObjectMap<LongList> children = new LongObjectMap<>(4);
+        int completed;
+
+        LongList childrenOf(long parentId) {
+            LongList list = children.get(parentId);
+            if (list == null) {
+                list = new LongList();
+                children.put(parentId, list);
+            }
+            return list;
+        }
+
+        void removeChild(long parentId, long childId) {
+            LongList list = children.get(parentId);
+            if (list != null && list.remove(childId) && list.isEmpty()) {
+                children.remove(parentId);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.taskflow.embedded;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive {@code long}s, used for the id lists of the secondary indexes
+ * (a user's projects, a task's subtasks). Not thread-safe.
+ */
+final class LongList {
+
+    private long[] elements = new long[4];
+    private int size;
+
+    void add(long value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size << 1);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Removes one occurrence of {@code value}; the last element takes its place, so order is not kept.
+     */
+    boolean remove(long value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                elements[i] = elements[--size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return elements[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
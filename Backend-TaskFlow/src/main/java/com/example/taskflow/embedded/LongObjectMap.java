@@ -0,0 +1,184 @@
+package com.example.taskflow.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hash map from primitive {@code long} keys to non-null values: open addressing with linear probing over
+ * two parallel arrays, so lookups neither box the key nor chase entry objects. Removal shifts the
+ * following entries of the probe run back instead of leaving tombstones. Not thread-safe; the store
+ * guards every map with the lock of its stripe.
+ */
+final class LongObjectMap<V> {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int resizeAt;
+
+    LongObjectMap() {
+        this(16);
+    }
+
+    LongObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private LongObjectMap(LongObjectMap<V> source) {
+        this.keys = source.keys.clone();
+        this.values = source.values.clone();
+        this.size = source.size;
+        this.resizeAt = source.resizeAt;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps {@code key} to {@code value} and returns the value it replaced, or null.
+     */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("null values are not supported");
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping of {@code key} and returns its value, or null if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                shiftBack(slot, mask);
+                size--;
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * The values in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (Object value : values) {
+            if (value != null) {
+                result.add((V) value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * An independent map with the same entries; copies the two arrays, so it is cheap even for large maps.
+     */
+    LongObjectMap<V> copy() {
+        return new LongObjectMap<>(this);
+    }
+
+    /**
+     * Closes the gap left at {@code gap} by moving back each later entry of the probe run that would
+     * otherwise no longer be reachable from its home slot.
+     */
+    private void shiftBack(int gap, int mask) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null) {
+                break;
+            }
+            int home = slot(keys[slot], mask);
+            // The entry may fill the gap unless its home lies cyclically in (gap, slot]
+            boolean reachable = gap <= slot ? (gap < home && home <= slot) : (gap < home || home <= slot);
+            if (!reachable) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i], mask);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Home slot of a key. Ids share their low bits within a stripe, so they are mixed (SplitMix64 finalizer)
+     * before masking.
+     */
+    private static int slot(long key, int mask) {
+        long z = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (int) (z ^ (z >>> 31)) & mask;
+    }
+
+    @Override
+    public String toString() {
+        return "LongObjectMap{size=" + size + ", capacity=" + keys.length + "}";
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.taskflow.embedded;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * A change to the store, as written to the write-ahead log. Mutations carry every value they set
+ * (ids, timestamps, ranks), so replaying them rebuilds exactly the state they produced.
+ * {@link #key()} is the project or task id the mutation applies to, which also names its stripe.
+ */
+sealed interface Mutation {
+
+    long key();
+
+    void write(DataOutput out) throws IOException;
+
+    static Mutation read(DataInput in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case 1 -> new ProjectCreated(BinaryCodec.readProject(in));
+            case 2 -> new ProjectDeleted(in.readLong(), BinaryCodec.readDateTime(in));
+            case 3 -> new ProjectReranked(in.readLong());
+            case 4 -> new TaskCreated(BinaryCodec.readTask(in));
+            case 5 -> new TaskCompleted(in.readLong(), in.readBoolean());
+            case 6 -> new TaskRanked(in.readLong(), BinaryCodec.readString(in));
+            case 7 -> new TaskReparented(in.readLong(), BinaryCodec.readId(in));
+            case 8 -> new TaskDeleted(in.readLong());
+            default -> throw new IOException("Unknown mutation type " + type);
+        };
+    }
+
+    record ProjectCreated(StoredProject project) implements Mutation {
+        public long key() {
+            return project.id();
+        }
+
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(1);
+            BinaryCodec.writeProject(out, project);
+        }
+    }
+
+    /**
+     * Deletes the project with all of its tasks.
+     */
+    record ProjectDeleted(long projectId, LocalDateTime deletedAt) implements Mutation {
+        public long key() {
+            return projectId;
+        }
+
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(2);
+            out.writeLong(projectId);
+            BinaryCodec.writeDateTime(out, deletedAt);
+        }
+    }
+
+    /**
+     * Gives the project's tasks evenly spaced ranks of minimal length, keeping their order.
+     */
+    record ProjectReranked(long projectId) implements Mutation {
+        public long key() {
+            return projectId;
+        }
+
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(3);
+            out.writeLong(projectId);
+        }
+    }
+
+    record TaskCreated(StoredTask task) implements Mutation {
+        public long key() {
+            return task.id();
+        }
+
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(4);
+            BinaryCodec.writeTask(out, task);
+        }
+    }
+
+    record TaskCompleted(long taskId, boolean completed) implements Mutation {
+        public long key() {
+            return taskId;
+        }
+
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(5);
+            out.writeLong(taskId);
+            out.writeBoolean(completed);
+        }
+    }
+
+    record TaskRanked(long taskId, String sortRank) implements Mutation {
+        public long key() {
+            return taskId;
+        }
+
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(6);
+            out.writeLong(taskId);
+            BinaryCodec.writeString(out, sortRank);
+        }
+    }
+
+    /**
+     * Moves the task with its subtree under {@code parentId}, or to the top level when null.
+     */
+    record TaskReparented(long taskId, Long parentId) implements Mutation {
+        public long key() {
+            return taskId;
+        }
+
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(7);
+            out.writeLong(taskId);
+            BinaryCodec.writeId(out, parentId);
+        }
+    }
+
+    /**
+     * Deletes the task with its subtree.
+     */
+    record TaskDeleted(long taskId) implements Mutation {
+        public long key() {
+            return taskId;
+        }
+
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(8);
+            out.writeLong(taskId);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.taskflow.embedded;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Full copy of the store as of the start of log segment {@link #segment}: recovery loads it and replays
+ * that segment and the later ones. Written to a temporary file, forced to disk and renamed into place,
+ * so a crash leaves either the previous snapshot or the new one; a CRC-32 over the file guards the rest.
+ */
+record Snapshot(long segment, long projectSequence, long taskSequence, List<StoredProject> projects,
+                List<StoredTask> tasks, List<StoredDeletion> deletions) {
+
+    private static final int MAGIC = 0x5446534e;
+    private static final int VERSION = 1;
+    private static final Pattern FILE_NAME = Pattern.compile("snapshot-(\\d+)\\.dat");
+
+    /**
+     * Writes the snapshot and deletes the older ones.
+     */
+    void write(Path directory) throws IOException {
+        Path target = path(directory, segment);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(segment);
+            out.writeLong(projectSequence);
+            out.writeLong(taskSequence);
+            out.writeInt(projects.size());
+            for (StoredProject project : projects) {
+                BinaryCodec.writeProject(out, project);
+            }
+            out.writeInt(tasks.size());
+            for (StoredTask task : tasks) {
+                BinaryCodec.writeTask(out, task);
+            }
+            out.writeInt(deletions.size());
+            for (StoredDeletion deletion : deletions) {
+                BinaryCodec.writeDeletion(out, deletion);
+            }
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+
+        for (long older : numbers(directory)) {
+            if (older < segment) {
+                Files.deleteIfExists(path(directory, older));
+            }
+        }
+    }
+
+    /**
+     * The most recent snapshot, if any; a damaged one fails recovery rather than losing its contents silently.
+     */
+    static Optional<Snapshot> readLatest(Path directory) throws IOException {
+        List<Long> numbers = numbers(directory);
+        if (numbers.isEmpty()) {
+            return Optional.empty();
+        }
+        Path file = path(directory, numbers.get(numbers.size() - 1));
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 64 * 1024), new CRC32())) {
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a snapshot of a supported version: " + file);
+            }
+            long segment = in.readLong();
+            long projectSequence = in.readLong();
+            long taskSequence = in.readLong();
+            int projectCount = in.readInt();
+            List<StoredProject> projects = new ArrayList<>(projectCount);
+            for (int i = 0; i < projectCount; i++) {
+                projects.add(BinaryCodec.readProject(in));
+            }
+            int taskCount = in.readInt();
+            List<StoredTask> tasks = new ArrayList<>(taskCount);
+            for (int i = 0; i < taskCount; i++) {
+                tasks.add(BinaryCodec.readTask(in));
+            }
+            int deletionCount = in.readInt();
+            List<StoredDeletion> deletions = new ArrayList<>(deletionCount);
+            for (int i = 0; i < deletionCount; i++) {
+                deletions.add(BinaryCodec.readDeletion(in));
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Snapshot checksum mismatch: " + file);
+            }
+            return Optional.of(new Snapshot(segment, projectSequence, taskSequence, projects, tasks, deletions));
+        }
+    }
+
+    /**
+     * Makes the rename durable where the platform supports forcing a directory.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // Not supported on every platform (e.g. Windows)
+        }
+    }
+
+    private static List<Long> numbers(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(file -> FILE_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Path path(Path directory, long segment) {
+        return directory.resolve(String.format("snapshot-%016d.dat", segment));
+    }
+}
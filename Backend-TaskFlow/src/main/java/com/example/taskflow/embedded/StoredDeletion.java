@@ -0,0 +1,10 @@
+package com.example.taskflow.embedded;
+
+import java.time.LocalDateTime;
+
+/**
+ * A deleted project, kept so that its deletion status can still be read. The embedded store drops the
+ * tasks at once, so a deletion is complete when it is recorded.
+ */
+public record StoredDeletion(long projectId, long userId, long totalTasks, LocalDateTime deletedAt) {
+}
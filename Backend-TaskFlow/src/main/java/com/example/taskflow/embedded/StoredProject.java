@@ -0,0 +1,9 @@
+package com.example.taskflow.embedded;
+
+import java.time.LocalDateTime;
+
+/**
+ * A project held by the {@link EmbeddedStore}. Immutable, so snapshots can share it with the live state.
+ */
+public record StoredProject(long id, long userId, String title, String description, LocalDateTime createdAt) {
+}
@@ -0,0 +1,24 @@
+package com.example.taskflow.embedded;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A task held by the {@link EmbeddedStore}. Immutable: a change replaces the record, so snapshots can
+ * share it with the live state.
+ */
+public record StoredTask(long id, long projectId, Long parentId, String title, String description,
+                         LocalDate dueDate, boolean completed, LocalDateTime createdAt, String sortRank) {
+
+    StoredTask withCompleted(boolean completed) {
+        return new StoredTask(id, projectId, parentId, title, description, dueDate, completed, createdAt, sortRank);
+    }
+
+    StoredTask withSortRank(String sortRank) {
+        return new StoredTask(id, projectId, parentId, title, description, dueDate, completed, createdAt, sortRank);
+    }
+
+    StoredTask withParentId(Long parentId) {
+        return new StoredTask(id, projectId, parentId, title, description, dueDate, completed, createdAt, sortRank);
+    }
+}
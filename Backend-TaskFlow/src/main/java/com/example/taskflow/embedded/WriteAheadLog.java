@@ -0,0 +1,310 @@
+package com.example.taskflow.embedded;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of {@link Mutation}s, split into numbered segment files ({@code wal-<segment>.log}).
+ * <p>
+ * Each record is framed as its length, a CRC-32 of its bytes and the bytes. {@link #append} only copies the
+ * frame into a buffer; a single writer thread writes whatever has accumulated and forces it to disk with one
+ * fsync (group commit), so concurrent writers share the cost of a flush. {@link #awaitDurable} returns once
+ * a record is on disk. A snapshot {@link #rotate rotates} to a new segment, after which the older ones can be
+ * deleted. On recovery a torn record at the end of a segment, left by a crash during a write, is cut off.
+ */
+@Slf4j
+final class WriteAheadLog implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d+)\\.log");
+
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition work = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(64 * 1024);
+    private final Thread writer;
+    private FileChannel channel;
+    private long segment;
+    private long appended;
+    private long durable;
+    private boolean flushing;
+    private boolean closed;
+    private IOException failure;
+
+    WriteAheadLog(Path directory, long segment) throws IOException {
+        this.directory = directory;
+        open(segment);
+        this.writer = new Thread(this::writeLoop, "wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Buffers the mutation and returns its log sequence number, to be passed to {@link #awaitDurable}.
+     * Mutations are written in the order of their calls.
+     */
+    long append(Mutation mutation) {
+        byte[] frame = frame(mutation);
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log failed", failure);
+            }
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+            pending.writeBytes(frame);
+            work.signal();
+            return ++appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the mutation with log sequence number {@code lsn} and all before it are on disk.
+     */
+    void awaitDurable(long lsn) {
+        lock.lock();
+        try {
+            while (durable < lsn && failure == null) {
+                flushed.awaitUninterruptibly();
+            }
+            if (durable < lsn) {
+                throw new UncheckedIOException("Write-ahead log failed", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of mutations appended since the log was opened.
+     */
+    long appended() {
+        lock.lock();
+        try {
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes the current segment and continues in a new one, whose number is returned. The caller must keep
+     * {@link #append} from being called meanwhile, so that the new segment holds exactly the later mutations.
+     */
+    long rotate() throws IOException {
+        lock.lock();
+        try {
+            awaitIdle();
+            channel.close();
+            open(segment + 1);
+            return segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes out what is buffered and stops the writer thread.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            work.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            byte[] batch;
+            FileChannel target;
+            long batchEnd;
+            lock.lock();
+            try {
+                while (pending.size() == 0 && !closed) {
+                    work.awaitUninterruptibly();
+                }
+                if (pending.size() == 0) {
+                    return;
+                }
+                batch = pending.toByteArray();
+                pending.reset();
+                target = channel;
+                batchEnd = appended;
+                flushing = true;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch);
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                target.force(false);
+            } catch (IOException ex) {
+                log.error("Write-ahead log write failed, refusing further writes", ex);
+                error = ex;
+            }
+
+            lock.lock();
+            try {
+                flushing = false;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durable = batchEnd;
+                }
+                flushed.signalAll();
+                if (error != null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void awaitIdle() throws IOException {
+        while ((pending.size() > 0 || flushing) && failure == null) {
+            flushed.awaitUninterruptibly();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void open(long segment) throws IOException {
+        this.channel = FileChannel.open(segmentPath(directory, segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.segment = segment;
+    }
+
+    private static byte[] frame(Mutation mutation) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(128);
+            mutation.write(new DataOutputStream(payload));
+            CRC32 crc = new CRC32();
+            crc.update(payload.toByteArray());
+
+            ByteArrayOutputStream frame = new ByteArrayOutputStream(payload.size() + 8);
+            DataOutputStream out = new DataOutputStream(frame);
+            out.writeInt(payload.size());
+            out.writeInt((int) crc.getValue());
+            payload.writeTo(out);
+            return frame.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Replays the segments numbered {@code fromSegment} and up, in order, and returns the number of the
+     * last one (or {@code fromSegment - 1} when there is none). A torn or corrupt record ends its segment
+     * and is truncated away.
+     */
+    static long replay(Path directory, long fromSegment, Consumer<Mutation> apply) throws IOException {
+        long last = fromSegment - 1;
+        for (long segment : segments(directory)) {
+            if (segment < fromSegment) {
+                continue;
+            }
+            replaySegment(segmentPath(directory, segment), apply);
+            last = segment;
+        }
+        return last;
+    }
+
+    private static void replaySegment(Path path, Consumer<Mutation> apply) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long position = 0;
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            while (size - position >= 8) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < 0 || length > size - position - 8) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                apply.accept(Mutation.read(new DataInputStream(new ByteArrayInputStream(payload))));
+                position += 8 + length;
+            }
+            if (position < size) {
+                log.warn("Truncating {} bytes of an incomplete record at the end of {}", size - position, path);
+                channel.truncate(position);
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Deletes the segments numbered below {@code segment}, whose mutations a snapshot now covers.
+     */
+    static void deleteSegmentsBefore(Path directory, long segment) throws IOException {
+        for (long existing : segments(directory)) {
+            if (existing < segment) {
+                Files.deleteIfExists(segmentPath(directory, existing));
+            }
+        }
+    }
+
+    static List<Long> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("wal-%016d.log", segment));
+    }
+}
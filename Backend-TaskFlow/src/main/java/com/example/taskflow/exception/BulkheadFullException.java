@@ -0,0 +1,7 @@
+package com.example.taskflow.exception;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
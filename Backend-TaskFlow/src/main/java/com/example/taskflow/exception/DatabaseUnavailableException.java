@@ -0,0 +1,17 @@
+package com.example.taskflow.exception;
+
+import java.time.Duration;
+
+public class DatabaseUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public DatabaseUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
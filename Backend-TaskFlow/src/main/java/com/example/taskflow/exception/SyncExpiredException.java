@@ -0,0 +1,7 @@
+package com.example.taskflow.exception;
+
+public class SyncExpiredException extends RuntimeException {
+    public SyncExpiredException(String message) {
+        super(message);
+    }
+}
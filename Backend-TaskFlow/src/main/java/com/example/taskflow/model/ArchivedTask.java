@@ -0,0 +1,48 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A completed task moved out of {@code tasks} by {@code TaskArchiveJob}. It keeps its id and rank,
+ * so it sorts back into place when listed with the hot tasks. Archived tasks are read-only.
+ */
+@Entity
+@Table(name = "tasks_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 2000)
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    @Column(nullable = false)
+    private LocalDateTime completedAt;
+
+    @Column(name = "sort_rank", nullable = false, length = 64)
+    private String sortRank;
+
+    @Column(nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,33 @@
+package com.example.taskflow.model;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Upload formats of a bulk task import, selected by the request's Content-Type.
+ */
+public enum ImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    ImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType type = MediaType.parseMediaType(contentType);
+            for (ImportFormat format : values()) {
+                if (MediaType.parseMediaType(format.mediaType).equalsTypeAndSubtype(type)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + contentType);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.taskflow.model;
+
+public enum ImportStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
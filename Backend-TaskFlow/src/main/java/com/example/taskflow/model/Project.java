@@ -1,5 +1,7 @@
 package com.example.taskflow.model;
 
+import com.example.taskflow.sync.ChangeStampListener;
+import com.example.taskflow.sync.ChangeStamped;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,7 +15,8 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Project {
+@EntityListeners(ChangeStampListener.class)
+public class Project implements ChangeStamped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,4 +37,26 @@ public class Project {
 
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    /**
+     * Set when the owner deletes the project; tombstoned projects are hidden from every read
+     * path while {@link ProjectDeletion} tracks the background purge of their tasks.
+     */
+    private LocalDateTime deletedAt;
+
+    /**
+     * Completed tasks moved to {@link ArchivedTask}. Written only by {@code TaskArchiveJob} through
+     * a bulk update, never through this entity, so a concurrent save cannot overwrite it.
+     */
+    @Column(insertable = false, updatable = false)
+    private long archivedTasks;
+
+    /**
+     * Position of the last insert or update in the change sequence, set by {@link ChangeStampListener}.
+     */
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
 }
\ No newline at end of file
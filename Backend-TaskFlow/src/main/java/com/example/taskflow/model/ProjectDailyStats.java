@@ -0,0 +1,54 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Per-project, per-day burndown row: totals at the end of the day and that day's activity.
+ * Only days with activity have a row; the others carry the totals of the previous one.
+ */
+@Entity
+@Table(name = "project_daily_stats")
+@IdClass(ProjectDailyStats.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectDailyStats {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Column(nullable = false)
+    private int totalTasks;
+
+    @Column(nullable = false)
+    private int completedTasks;
+
+    @Column(nullable = false)
+    private int created;
+
+    /** Tasks completed that day, less those reopened that day. */
+    @Column(nullable = false)
+    private int completed;
+
+    @Column(nullable = false)
+    private int deleted;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long projectId;
+        private LocalDate statDate;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable work item for purging a tombstoned project.
+ * Progress is committed together with each deleted chunk, so a restarted worker resumes where it stopped.
+ */
+@Entity
+@Table(name = "project_deletions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectDeletion {
+
+    @Id
+    private Long projectId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private long totalTasks;
+
+    @Column(nullable = false)
+    private long purgedTasks;
+
+    @Column(nullable = false)
+    private LocalDateTime requestedAt = LocalDateTime.now();
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,45 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A collaborator a project is shared with. Rows go away with the project (ON DELETE CASCADE).
+ */
+@Entity
+@Table(name = "project_members")
+@IdClass(ProjectMember.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectMember {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /** {@code VIEWER} or {@code EDITOR}. */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ProjectRole role;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long projectId;
+        private Long userId;
+    }
+}
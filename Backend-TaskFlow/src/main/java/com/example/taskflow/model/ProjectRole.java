@@ -0,0 +1,28 @@
+package com.example.taskflow.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * What a user may do with a project, each role including the ones before it. Collaborators are
+ * {@link ProjectMember}s with {@code VIEWER} or {@code EDITOR}; {@code OWNER} is the project's user.
+ */
+public enum ProjectRole {
+    /** Read the project and its tasks. */
+    VIEWER,
+    /** Also create, change and delete tasks. */
+    EDITOR,
+    /** Also share and delete the project. */
+    OWNER;
+
+    public boolean includes(ProjectRole role) {
+        return compareTo(role) >= 0;
+    }
+
+    /**
+     * The collaborator roles that include this one, for queries checking a grant; none for {@code OWNER}.
+     */
+    public List<ProjectRole> memberRoles() {
+        return Arrays.stream(values()).filter(role -> role != OWNER && role.includes(this)).toList();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.taskflow.model;
+
+/**
+ * Period of a {@link TaskRecurrence}; the rule repeats every {@code interval} periods.
+ */
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY
+}
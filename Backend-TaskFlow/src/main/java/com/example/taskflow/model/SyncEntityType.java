@@ -0,0 +1,6 @@
+package com.example.taskflow.model;
+
+public enum SyncEntityType {
+    PROJECT,
+    TASK
+}
@@ -0,0 +1,40 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records a deleted project or task for delta sync, at its position in the change sequence.
+ * Kept for {@code sync.tombstones.retention-days}, then compacted away. A task tombstone names its
+ * project, so the project's collaborators receive it too; a project tombstone is written per user.
+ */
+@Entity
+@Table(name = "sync_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    @Id
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SyncEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    private Long projectId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -1,5 +1,7 @@
 package com.example.taskflow.model;
 
+import com.example.taskflow.sync.ChangeStampListener;
+import com.example.taskflow.sync.ChangeStamped;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,7 +15,8 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Task {
+@EntityListeners(ChangeStampListener.class)
+public class Task implements ChangeStamped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,10 +34,47 @@ public class Task {
     @Column(nullable = false)
     private boolean completed = false;
 
+    private LocalDateTime completedAt;
+
+    /**
+     * Manual order within the project, see {@code RankGenerator}.
+     */
+    @Column(name = "sort_rank", nullable = false, length = 64)
+    private String sortRank;
+
+    /**
+     * Direct parent for subtasks, null for top-level tasks. The full hierarchy lives in {@link TaskClosure}.
+     */
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    /**
+     * Set on a materialized occurrence of a {@link TaskRecurrence}, together with the occurrence it stands for.
+     */
+    @Column(name = "recurrence_id")
+    private Long recurrenceId;
+
+    private LocalDate occurrenceDate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
+    /**
+     * Owner of the project, copied onto the task so that a user's tasks are indexed across projects.
+     */
+    @Column(name = "owner_id", nullable = false, updatable = false)
+    private Long ownerId;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    /**
+     * Position of the last insert or update in the change sequence, set by {@link ChangeStampListener}.
+     */
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One ancestor/descendant pair of the task hierarchy; every task is also its own ancestor at depth 0.
+ * Rows are maintained with set-based statements in {@code TaskClosureRepository}.
+ */
+@Entity
+@Table(name = "task_closure")
+@IdClass(TaskClosure.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskClosure {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private int depth;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
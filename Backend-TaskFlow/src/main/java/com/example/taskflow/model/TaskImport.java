@@ -0,0 +1,59 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable work item for a bulk task import.
+ * {@code rowsRead} is committed together with each inserted batch, so a restarted import skips exactly
+ * the records already handled. Large uploads are kept in {@code spoolFile} until the import finishes.
+ */
+@Entity
+@Table(name = "task_imports")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ImportStatus status = ImportStatus.PENDING;
+
+    @Column(length = 1000)
+    private String spoolFile;
+
+    @Column(nullable = false)
+    private long rowsRead;
+
+    @Column(nullable = false)
+    private long rowsImported;
+
+    @Column(nullable = false)
+    private long rowsFailed;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,39 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * A rejected record of a {@link TaskImport}; {@code recordNumber} counts data records from 1.
+ */
+@Entity
+@Table(name = "task_import_errors")
+@IdClass(TaskImportError.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportError {
+
+    @Id
+    @Column(name = "import_id")
+    private Long importId;
+
+    @Id
+    @Column(name = "record_number")
+    private Long recordNumber;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long importId;
+        private Long recordNumber;
+    }
+}
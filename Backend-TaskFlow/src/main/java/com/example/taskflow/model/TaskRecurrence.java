@@ -0,0 +1,56 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A recurring task, stored once. Its occurrences are computed by {@code RecurrenceSchedule};
+ * an occurrence only gets a {@link Task} row once it is completed or edited.
+ */
+@Entity
+@Table(name = "task_recurrences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRecurrence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 2000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "repeat_interval", nullable = false)
+    private int interval = 1;
+
+    /**
+     * Days of a weekly rule as a bit mask, bit 0 = Monday; 0 means the weekday of {@code startDate}.
+     */
+    @Column(nullable = false)
+    private int weekdays;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -33,6 +34,26 @@ public class User implements UserDetails {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     private List<Project> projects;
 
+    /**
+     * Highest change sequence value whose tombstone was compacted away; written only by
+     * {@code SyncTombstoneCompactionJob} through a bulk update.
+     */
+    @Column(insertable = false, updatable = false)
+    private long syncHorizon;
+
+    /**
+     * Carried by every token issued to the user; logging out everywhere raises it, through a bulk update,
+     * and revokes the tokens carrying a lower value.
+     */
+    @Column(insertable = false, updatable = false)
+    private int tokenGeneration;
+
+    /**
+     * When the token generation was last raised, so other instances pick the revocation up.
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime tokensRevokedAt;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of();
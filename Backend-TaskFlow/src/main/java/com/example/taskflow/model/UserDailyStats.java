@@ -0,0 +1,36 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Per-user, per-day counters: open tasks due on that day and tasks completed on that day.
+ */
+@Entity
+@Table(name = "user_daily_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_daily_stats_user_date", columnNames = {"user_id", "stat_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false)
+    private long openDue;
+
+    @Column(nullable = false)
+    private long completed;
+}
@@ -0,0 +1,26 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running task totals for one user, maintained incrementally by task mutations.
+ */
+@Entity
+@Table(name = "user_task_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTaskStats {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private long totalTasks;
+
+    @Column(nullable = false)
+    private long completedTasks;
+}
@@ -0,0 +1,47 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A {@link WebhookOutboxEvent} given up on, under its outbox id: out of attempts, refused by its endpoint,
+ * or addressed to an endpoint no longer configured.
+ */
+@Entity
+@Table(name = "webhook_dead_letters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookDeadLetter {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String endpoint;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false, length = 16000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime failedAt;
+}
@@ -0,0 +1,52 @@
+package com.example.taskflow.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event waiting for delivery to one webhook endpoint, written in the transaction of the change it describes.
+ * {@code nextAttemptAt} is when it is next due: pushed back while a delivery holds it, and by the retry backoff
+ * after a failed attempt.
+ */
+@Entity
+@Table(name = "webhook_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String endpoint;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(nullable = false)
+    private Long projectId;
+
+    /**
+     * The event data, as JSON.
+     */
+    @Column(nullable = false, length = 16000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
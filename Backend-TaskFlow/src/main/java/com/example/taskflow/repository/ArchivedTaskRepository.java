@@ -0,0 +1,56 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+    List<ArchivedTask> findByProjectIdOrderBySortRankAscIdAsc(Long projectId);
+
+    /**
+     * Locks up to {@code limit} tasks eligible for the archive, oldest completion first: completed before
+     * {@code cutoff}, top-level without subtasks, not an occurrence of a recurring task, in a live project.
+     * Locked rows cannot be reopened or edited until the move commits; rows locked elsewhere are skipped.
+     */
+    @Query(value = "SELECT t.id AS id, t.project_id AS projectId FROM tasks t " +
+            "WHERE t.completed_at < :cutoff AND t.completed = TRUE " +
+            "AND t.parent_id IS NULL AND t.recurrence_id IS NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM tasks c WHERE c.parent_id = t.id) " +
+            "AND EXISTS (SELECT 1 FROM projects p WHERE p.id = t.project_id AND p.deleted_at IS NULL) " +
+            "ORDER BY t.completed_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Archivable> lockArchivable(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Copies the given tasks into the archive; the caller deletes them from {@code tasks} in the same transaction.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tasks_archive " +
+            "(id, title, description, due_date, completed_at, sort_rank, project_id, created_at, archived_at) " +
+            "SELECT id, title, description, due_date, completed_at, sort_rank, project_id, created_at, :archivedAt " +
+            "FROM tasks WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyFromTasks(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Deletes up to {@code limit} archived tasks of a project in one set-based statement.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tasks_archive WHERE id IN " +
+            "(SELECT id FROM tasks_archive WHERE project_id = :projectId LIMIT :limit)",
+            nativeQuery = true)
+    int deleteChunkByProjectId(@Param("projectId") Long projectId, @Param("limit") int limit);
+
+    interface Archivable {
+        Long getId();
+        Long getProjectId();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.ProjectDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProjectDailyStatsRepository extends JpaRepository<ProjectDailyStats, ProjectDailyStats.Key> {
+
+    @Modifying
+    @Query("update ProjectDailyStats d set d.totalTasks = d.totalTasks + :total, " +
+            "d.completedTasks = d.completedTasks + :completedTotal, d.created = d.created + :created, " +
+            "d.completed = d.completed + :completed, d.deleted = d.deleted + :deleted " +
+            "where d.projectId = :projectId and d.statDate = :statDate")
+    int increment(@Param("projectId") Long projectId, @Param("statDate") LocalDate statDate,
+                  @Param("total") int total, @Param("completedTotal") int completedTotal,
+                  @Param("created") int created, @Param("completed") int completed, @Param("deleted") int deleted);
+
+    /**
+     * Starts the day's row from the totals of the project's latest earlier row, unless the row exists or the
+     * project has no earlier row.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO project_daily_stats " +
+            "(project_id, stat_date, total_tasks, completed_tasks, created, completed, deleted) " +
+            "SELECT s.project_id, :statDate, s.total_tasks, s.completed_tasks, 0, 0, 0 FROM project_daily_stats s " +
+            "WHERE s.project_id = :projectId AND s.stat_date = (SELECT MAX(p.stat_date) FROM project_daily_stats p " +
+            "WHERE p.project_id = :projectId AND p.stat_date < :statDate) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertCarriedOver(@Param("projectId") Long projectId, @Param("statDate") LocalDate statDate);
+
+    /**
+     * Creates the project's first row with the given totals unless it exists;
+     * see {@link UserTaskStatsRepository#insertIfAbsent}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO project_daily_stats " +
+            "(project_id, stat_date, total_tasks, completed_tasks, created, completed, deleted) " +
+            "VALUES (:projectId, :statDate, :total, :completedTotal, 0, 0, 0) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("projectId") Long projectId, @Param("statDate") LocalDate statDate,
+                       @Param("total") int total, @Param("completedTotal") int completedTotal);
+
+    /**
+     * Rows of {@code [from, to]} preceded by the latest earlier row, whose totals the first days carry.
+     */
+    @Query("select d from ProjectDailyStats d where d.projectId = :projectId and d.statDate <= :to " +
+            "and d.statDate >= coalesce((select max(p.statDate) from ProjectDailyStats p " +
+            "where p.projectId = :projectId and p.statDate < :from), :from) order by d.statDate")
+    List<ProjectDailyStats> findRange(@Param("projectId") Long projectId, @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+}
@@ -0,0 +1,26 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.ProjectDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProjectDeletionRepository extends JpaRepository<ProjectDeletion, Long> {
+    List<ProjectDeletion> findByCompletedAtIsNullOrderByRequestedAt();
+    Optional<ProjectDeletion> findByProjectIdAndUserId(Long projectId, Long userId);
+
+    @Modifying
+    @Query("update ProjectDeletion d set d.purgedTasks = d.purgedTasks + :purged where d.projectId = :projectId")
+    int addPurged(@Param("projectId") Long projectId, @Param("purged") long purged);
+
+    @Modifying
+    @Query("update ProjectDeletion d set d.completedAt = :completedAt where d.projectId = :projectId")
+    int markCompleted(@Param("projectId") Long projectId, @Param("completedAt") LocalDateTime completedAt);
+}
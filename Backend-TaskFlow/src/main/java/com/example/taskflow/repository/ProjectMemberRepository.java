@@ -0,0 +1,56 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.ProjectMember;
+import com.example.taskflow.model.ProjectRole;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProjectMemberRepository extends JpaRepository<ProjectMember, ProjectMember.Key> {
+
+    /**
+     * Every live project a user may access, with its owner and the user's role: the projects the user
+     * owns and those shared with them. Each branch reads one index.
+     */
+    @Query(value = "SELECT p.id AS project_id, p.user_id AS owner_id, 'OWNER' AS role FROM projects p " +
+            "WHERE p.user_id = :userId AND p.deleted_at IS NULL " +
+            "UNION ALL " +
+            "SELECT p.id, p.user_id, m.role FROM project_members m JOIN projects p ON p.id = m.project_id " +
+            "WHERE m.user_id = :userId AND p.deleted_at IS NULL",
+            nativeQuery = true)
+    List<Object[]> findGrants(@Param("userId") Long userId);
+
+    /**
+     * A collaborator of a live project that {@code userId} owns or holds one of {@code roles} on: the lookup
+     * of an unshare, which confirms the remover's grant in the same query.
+     */
+    @Query("select m from ProjectMember m where m.projectId = :projectId and m.userId = :memberUserId " +
+            "and exists (select p.id from Project p where p.id = m.projectId and p.deletedAt is null " +
+            "and (p.user.id = :userId or exists (select g.userId from ProjectMember g " +
+            "where g.projectId = p.id and g.userId = :userId and g.role in :roles)))")
+    Optional<ProjectMember> findForWrite(@Param("projectId") Long projectId, @Param("memberUserId") Long memberUserId,
+                                         @Param("userId") Long userId, @Param("roles") Collection<ProjectRole> roles);
+
+    @Query("select m.userId as userId, u.email as email, u.fullName as fullName, m.role as role, " +
+            "m.createdAt as createdAt from ProjectMember m join User u on u.id = m.userId " +
+            "where m.projectId = :projectId order by m.createdAt, m.userId")
+    List<MemberView> findMembers(@Param("projectId") Long projectId);
+
+    @Query("select m.userId from ProjectMember m where m.projectId = :projectId")
+    List<Long> findUserIds(@Param("projectId") Long projectId);
+
+    interface MemberView {
+        Long getUserId();
+        String getEmail();
+        String getFullName();
+        ProjectRole getRole();
+        LocalDateTime getCreatedAt();
+    }
+}
@@ -1,11 +1,81 @@
 package com.example.taskflow.repository;
 
 import com.example.taskflow.model.Project;
+import com.example.taskflow.model.ProjectRole;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
-    List<Project> findByUserId(Long userId);
+    /**
+     * The live projects among {@code ids}, by id; the ids come from the user's cached permissions.
+     */
+    @Query("select p from Project p where p.id in :ids and p.deletedAt is null order by p.id")
+    List<Project> findLiveByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * The live project, found only if {@code userId} owns it or holds one of {@code roles}: the lookup of a
+     * write that confirms the user's grant in the same query.
+     */
+    @Query("select p from Project p where p.id = :id and p.deletedAt is null " +
+            "and (p.user.id = :userId or exists (select m.userId from ProjectMember m " +
+            "where m.projectId = p.id and m.userId = :userId and m.role in :roles))")
+    Optional<Project> findForWrite(@Param("id") Long id, @Param("userId") Long userId,
+                                   @Param("roles") Collection<ProjectRole> roles);
+
+    /**
+     * Locks the project row to serialize changes that span several of its tasks, such as subtree moves.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Project p where p.id = :id")
+    Optional<Project> lockById(@Param("id") Long id);
+
+    /**
+     * Live projects of a user written after {@code since} and before {@code settledBefore}, in change order.
+     */
+    @Query("select p from Project p where p.user.id = :userId and p.deletedAt is null " +
+            "and p.changeSeq > :since and p.changedAt < :settledBefore order by p.changeSeq")
+    List<Project> findChangedSince(@Param("userId") Long userId, @Param("since") long since,
+                                   @Param("settledBefore") LocalDateTime settledBefore, Pageable page);
+
+    /**
+     * Like {@link #findChangedSince}, for the live projects shared with the user.
+     */
+    @Query("select p from Project p where p.id in (select m.projectId from ProjectMember m where m.userId = :userId) " +
+            "and p.deletedAt is null and p.changeSeq > :since and p.changedAt < :settledBefore order by p.changeSeq")
+    List<Project> findSharedChangedSince(@Param("userId") Long userId, @Param("since") long since,
+                                         @Param("settledBefore") LocalDateTime settledBefore, Pageable page);
+
+    /**
+     * Gives the project a new change sequence value, so that users syncing it receive it again.
+     */
+    @Modifying
+    @Query(value = "UPDATE projects SET change_seq = nextval('change_seq'), changed_at = :now WHERE id = :id",
+            nativeQuery = true)
+    int restamp(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Project p set p.archivedTasks = p.archivedTasks + :count where p.id = :id")
+    int addArchivedTasks(@Param("id") Long id, @Param("count") long count);
+
+    @Query("select coalesce(sum(p.archivedTasks), 0) from Project p where p.user.id = :userId and p.deletedAt is null")
+    long sumArchivedTasksByUserId(@Param("userId") Long userId);
+
+    /**
+     * Removes a tombstoned project row once its tasks are gone, without cascading through the entity graph.
+     */
+    @Modifying
+    @Query("delete from Project p where p.id = :id and p.deletedAt is not null")
+    int deleteTombstoned(@Param("id") Long id);
 }
\ No newline at end of file
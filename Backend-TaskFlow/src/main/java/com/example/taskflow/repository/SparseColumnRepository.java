@@ -0,0 +1,94 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.ArchivedTask;
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * List queries that read only some columns, for sparse fieldsets. The generated SQL selects just the
+ * given attributes, so other columns (such as a 2,000-character description) are neither read nor sent.
+ * Rows come back as new, unmanaged entity instances with only those attributes set; the rest keep their
+ * defaults, so the results must not be saved or handed to code that reads other attributes.
+ */
+@Repository
+public class SparseColumnRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Tasks of a project in rank order, like {@link TaskRepository#findByProjectIdOrderBySortRankAscIdAsc}.
+     */
+    public List<Task> findTasks(Long projectId, Collection<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        query.multiselect(select(task, attributes))
+                .where(cb.equal(task.get("project").get("id"), projectId))
+                .orderBy(cb.asc(task.get("sortRank")), cb.asc(task.get("id")));
+        return load(query, Task.class, attributes);
+    }
+
+    /**
+     * Archived tasks of a project in rank order, like {@link ArchivedTaskRepository#findByProjectIdOrderBySortRankAscIdAsc}.
+     */
+    public List<ArchivedTask> findArchivedTasks(Long projectId, Collection<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ArchivedTask> task = query.from(ArchivedTask.class);
+        query.multiselect(select(task, attributes))
+                .where(cb.equal(task.get("projectId"), projectId))
+                .orderBy(cb.asc(task.get("sortRank")), cb.asc(task.get("id")));
+        return load(query, ArchivedTask.class, attributes);
+    }
+
+    /**
+     * The live projects among {@code projectIds}, like {@link ProjectRepository#findLiveByIds}.
+     */
+    public List<Project> findProjects(Collection<Long> projectIds, Collection<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Project> project = query.from(Project.class);
+        query.multiselect(select(project, attributes))
+                .where(project.get("id").in(projectIds), cb.isNull(project.get("deletedAt")))
+                .orderBy(cb.asc(project.get("id")));
+        return load(query, Project.class, attributes);
+    }
+
+    private static List<Selection<?>> select(Root<?> root, Collection<String> attributes) {
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        return selections;
+    }
+
+    private <E> List<E> load(CriteriaQuery<Tuple> query, Class<E> type, Collection<String> attributes) {
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<E> entities = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            E entity = BeanUtils.instantiateClass(type);
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+            for (String attribute : attributes) {
+                wrapper.setPropertyValue(attribute, row.get(attribute));
+            }
+            entities.add(entity);
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.SyncTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("select t from SyncTombstone t where t.userId = :userId " +
+            "and t.changeSeq > :since and t.deletedAt < :settledBefore order by t.changeSeq")
+    List<SyncTombstone> findChangedSince(@Param("userId") Long userId, @Param("since") long since,
+                                         @Param("settledBefore") LocalDateTime settledBefore, Pageable page);
+
+    /**
+     * Task tombstones of the projects shared with the user, in change order.
+     */
+    @Query("select t from SyncTombstone t where t.projectId in " +
+            "(select m.projectId from ProjectMember m where m.userId = :userId) " +
+            "and t.changeSeq > :since and t.deletedAt < :settledBefore order by t.changeSeq")
+    List<SyncTombstone> findSharedChangedSince(@Param("userId") Long userId, @Param("since") long since,
+                                               @Param("settledBefore") LocalDateTime settledBefore, Pageable page);
+
+    /**
+     * Records a tombstone for a task and each of its subtasks; run before the subtree is deleted.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sync_tombstones (change_seq, user_id, entity_type, entity_id, project_id, deleted_at) " +
+            "SELECT nextval('change_seq'), :userId, 'TASK', descendant_id, :projectId, :deletedAt " +
+            "FROM task_closure WHERE ancestor_id = :taskId",
+            nativeQuery = true)
+    int recordSubtree(@Param("userId") Long userId, @Param("projectId") Long projectId, @Param("taskId") Long taskId,
+                      @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Locks up to {@code limit} tombstones recorded before {@code cutoff}, oldest first; rows locked elsewhere are skipped.
+     */
+    @Query(value = "SELECT change_seq AS changeSeq, user_id AS userId, project_id AS projectId FROM sync_tombstones " +
+            "WHERE deleted_at < :cutoff ORDER BY deleted_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Expired> lockExpired(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM sync_tombstones WHERE change_seq IN (:seqs)", nativeQuery = true)
+    int deleteBySeqs(@Param("seqs") Collection<Long> seqs);
+
+    interface Expired {
+        Long getChangeSeq();
+        Long getUserId();
+        Long getProjectId();
+    }
+}
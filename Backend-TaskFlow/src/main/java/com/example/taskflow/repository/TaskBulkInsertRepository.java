@@ -0,0 +1,106 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.TaskImportError;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Set-based inserts for bulk imports, bypassing the persistence context.
+ * On PostgreSQL tasks are streamed with {@code COPY}; other databases get one JDBC batch per call.
+ * Runs on the connection of the caller's transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskBulkInsertRepository {
+
+    private static final String TASK_COLUMNS =
+            "title, description, due_date, completed, completed_at, project_id, owner_id, created_at, sort_rank";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertTasks(Long projectId, Long ownerId, List<NewTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((Connection connection) -> {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                copyTasks(connection.unwrap(PGConnection.class), projectId, ownerId, tasks);
+            } else {
+                batchInsertTasks(projectId, ownerId, tasks);
+            }
+            return null;
+        });
+    }
+
+    public void insertImportErrors(List<TaskImportError> errors) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO task_import_errors (import_id, record_number, message) VALUES (?, ?, ?)",
+                errors, errors.size(), (statement, error) -> {
+                    statement.setLong(1, error.getImportId());
+                    statement.setLong(2, error.getRecordNumber());
+                    statement.setString(3, error.getMessage());
+                });
+    }
+
+    private void copyTasks(PGConnection connection, Long projectId, Long ownerId, List<NewTask> tasks)
+            throws SQLException {
+        String createdAt = LocalDateTime.now().toString();
+        StringBuilder csv = new StringBuilder(tasks.size() * 96);
+        for (NewTask task : tasks) {
+            csv.append(quote(task.title())).append(',')
+                    .append(task.description() == null ? "" : quote(task.description())).append(',')
+                    .append(task.dueDate()).append(',')
+                    .append(task.completed()).append(',')
+                    .append(task.completedAt() == null ? "" : task.completedAt().toString()).append(',')
+                    .append(projectId).append(',')
+                    .append(ownerId).append(',')
+                    .append(createdAt).append(',')
+                    .append(task.sortRank()).append('\n');
+        }
+        try {
+            connection.getCopyAPI().copyIn(
+                    "COPY tasks (" + TASK_COLUMNS + ") FROM STDIN WITH (FORMAT csv)", new StringReader(csv.toString()));
+        } catch (java.io.IOException ex) {
+            throw new SQLException("COPY into tasks failed", ex);
+        }
+    }
+
+    private void batchInsertTasks(Long projectId, Long ownerId, List<NewTask> tasks) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tasks (" + TASK_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                tasks, tasks.size(), (statement, task) -> {
+                    statement.setString(1, task.title());
+                    statement.setString(2, task.description());
+                    statement.setDate(3, Date.valueOf(task.dueDate()));
+                    statement.setBoolean(4, task.completed());
+                    statement.setTimestamp(5, task.completedAt() == null ? null : Timestamp.valueOf(task.completedAt()));
+                    statement.setLong(6, projectId);
+                    statement.setLong(7, ownerId);
+                    statement.setTimestamp(8, createdAt);
+                    statement.setString(9, task.sortRank());
+                });
+    }
+
+    /**
+     * CSV-quotes a value; in COPY's CSV format an unquoted empty field is NULL and a quoted one is ''.
+     */
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    public record NewTask(String title, String description, LocalDate dueDate, boolean completed,
+                          LocalDateTime completedAt, String sortRank) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.TaskClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskClosureRepository extends JpaRepository<TaskClosure, TaskClosure.Key> {
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    @Modifying
+    @Query(value = "INSERT INTO task_closure (ancestor_id, descendant_id, depth) VALUES (:taskId, :taskId, 0)",
+            nativeQuery = true)
+    int insertSelfLink(@Param("taskId") Long taskId);
+
+    /**
+     * Adds the self links of tasks inserted in bulk, identified by the rank range they were given.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT t.id, t.id, 0 FROM tasks t " +
+            "WHERE t.project_id = :projectId AND t.sort_rank BETWEEN :firstRank AND :lastRank " +
+            "AND NOT EXISTS (SELECT 1 FROM task_closure c WHERE c.ancestor_id = t.id AND c.descendant_id = t.id)",
+            nativeQuery = true)
+    int insertSelfLinksInRankRange(@Param("projectId") Long projectId,
+                                   @Param("firstRank") String firstRank,
+                                   @Param("lastRank") String lastRank);
+
+    /**
+     * Links a new leaf task to its parent and every ancestor of the parent.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT ancestor_id, :taskId, depth + 1 FROM task_closure WHERE descendant_id = :parentId",
+            nativeQuery = true)
+    int insertAncestorLinks(@Param("taskId") Long taskId, @Param("parentId") Long parentId);
+
+    /**
+     * Cuts a subtree loose from everything above its root; links inside the subtree stay.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM task_closure " +
+            "WHERE descendant_id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = :taskId) " +
+            "AND ancestor_id IN (SELECT ancestor_id FROM task_closure WHERE descendant_id = :taskId " +
+            "AND ancestor_id <> :taskId)",
+            nativeQuery = true)
+    int detachSubtree(@Param("taskId") Long taskId);
+
+    /**
+     * Links every task of a detached subtree to the new parent and all of its ancestors.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+            "FROM task_closure a CROSS JOIN task_closure d " +
+            "WHERE a.descendant_id = :parentId AND d.ancestor_id = :taskId",
+            nativeQuery = true)
+    int attachSubtree(@Param("taskId") Long taskId, @Param("parentId") Long parentId);
+}
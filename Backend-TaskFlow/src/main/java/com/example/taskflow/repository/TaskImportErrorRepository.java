@@ -0,0 +1,12 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.TaskImportError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskImportErrorRepository extends JpaRepository<TaskImportError, TaskImportError.Key> {
+    List<TaskImportError> findTop100ByImportIdOrderByRecordNumber(Long importId);
+}
@@ -0,0 +1,34 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.ImportStatus;
+import com.example.taskflow.model.TaskImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Progress and status are written with bulk updates; they clear the persistence context so that a request
+ * reading the import afterwards (open-in-view) sees the new values.
+ */
+@Repository
+public interface TaskImportRepository extends JpaRepository<TaskImport, Long> {
+    List<TaskImport> findByStatusInOrderById(Collection<ImportStatus> statuses);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update TaskImport i set i.rowsRead = i.rowsRead + :read, i.rowsImported = i.rowsImported + :imported, " +
+            "i.rowsFailed = i.rowsFailed + :failed where i.id = :id")
+    int addProgress(@Param("id") Long id, @Param("read") long read,
+                    @Param("imported") long imported, @Param("failed") long failed);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update TaskImport i set i.status = :status, i.message = :message, i.completedAt = :completedAt " +
+            "where i.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") ImportStatus status,
+                     @Param("message") String message, @Param("completedAt") LocalDateTime completedAt);
+}
@@ -0,0 +1,47 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.ProjectRole;
+import com.example.taskflow.model.TaskRecurrence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskRecurrenceRepository extends JpaRepository<TaskRecurrence, Long> {
+    List<TaskRecurrence> findByProjectIdOrderById(Long projectId);
+
+    /**
+     * A rule of the project, found only if the project is live and {@code userId} owns it or holds one of
+     * {@code roles}, so a write confirms its grant with the lookup it makes anyway.
+     */
+    @Query("select r from TaskRecurrence r where r.id = :id and r.project.id = :projectId " +
+            "and exists (select p.id from Project p where p.id = r.project.id and p.deletedAt is null " +
+            "and (p.user.id = :userId or exists (select m.userId from ProjectMember m " +
+            "where m.projectId = p.id and m.userId = :userId and m.role in :roles)))")
+    Optional<TaskRecurrence> findForWrite(@Param("id") Long id, @Param("projectId") Long projectId,
+                                          @Param("userId") Long userId, @Param("roles") Collection<ProjectRole> roles);
+
+    /**
+     * {@link #findForWrite} locking the rule while one of its occurrences is materialized, so two requests
+     * cannot both create the row.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from TaskRecurrence r where r.id = :id and r.project.id = :projectId " +
+            "and exists (select p.id from Project p where p.id = r.project.id and p.deletedAt is null " +
+            "and (p.user.id = :userId or exists (select m.userId from ProjectMember m " +
+            "where m.projectId = p.id and m.userId = :userId and m.role in :roles)))")
+    Optional<TaskRecurrence> lockForWrite(@Param("id") Long id, @Param("projectId") Long projectId,
+                                          @Param("userId") Long userId, @Param("roles") Collection<ProjectRole> roles);
+
+    @Modifying
+    @Query("delete from TaskRecurrence r where r.project.id = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -1,12 +1,220 @@
 package com.example.taskflow.repository;
 
+import com.example.taskflow.model.ProjectRole;
 import com.example.taskflow.model.Task;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByProjectId(Long projectId);
+    List<Task> findByProjectIdOrderBySortRankAscIdAsc(Long projectId);
     int countByProjectIdAndCompleted(Long projectId, boolean completed);
+    long countByProjectId(Long projectId);
+    boolean existsByParentId(Long parentId);
+    Optional<Task> findByRecurrenceIdAndOccurrenceDate(Long recurrenceId, LocalDate occurrenceDate);
+
+    /**
+     * Locks the task row, so that concurrent toggles and deletes of one task apply one after the other. Finds
+     * nothing unless the project is live and {@code userId} owns it or holds one of {@code roles}, so the write's
+     * grant is confirmed by the same query; only the task row is locked.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id = :id " +
+            "and exists (select p.id from Project p where p.id = t.project.id and p.deletedAt is null " +
+            "and (p.user.id = :userId or exists (select m.userId from ProjectMember m " +
+            "where m.projectId = p.id and m.userId = :userId and m.role in :roles)))")
+    Optional<Task> lockForWrite(@Param("id") Long id, @Param("userId") Long userId,
+                                @Param("roles") Collection<ProjectRole> roles);
+
+    /**
+     * A task of the project, found only if the project is live and {@code userId} owns it or holds one of
+     * {@code roles} (see {@link #lockForWrite}).
+     */
+    @Query("select t from Task t where t.id = :id and t.project.id = :projectId " +
+            "and exists (select p.id from Project p where p.id = t.project.id and p.deletedAt is null " +
+            "and (p.user.id = :userId or exists (select m.userId from ProjectMember m " +
+            "where m.projectId = p.id and m.userId = :userId and m.role in :roles)))")
+    Optional<Task> findForWrite(@Param("id") Long id, @Param("projectId") Long projectId,
+                                @Param("userId") Long userId, @Param("roles") Collection<ProjectRole> roles);
+
+    /**
+     * Task counts of a project and its archive counter, read by one statement so that they agree with each other.
+     */
+    @Query("select count(t) as total, coalesce(sum(case when t.completed = true then 1 else 0 end), 0) as completed, " +
+            "(select p.archivedTasks from Project p where p.id = :projectId) as archived " +
+            "from Task t where t.project.id = :projectId")
+    ProgressCounts countProgress(@Param("projectId") Long projectId);
+
+    @Query("select count(t) from Task t where t.project.user.id = :userId and t.project.deletedAt is null")
+    long countActiveByUserId(@Param("userId") Long userId);
+
+    @Query("select count(t) from Task t where t.project.user.id = :userId and t.project.deletedAt is null " +
+            "and t.completed = :completed")
+    long countActiveByUserIdAndCompleted(@Param("userId") Long userId, @Param("completed") boolean completed);
+
+    @Query("select t.dueDate as dueDate, count(t) as count from Task t " +
+            "where t.project.id = :projectId and t.completed = false group by t.dueDate")
+    List<DueDateCount> countOpenByDueDateForProject(@Param("projectId") Long projectId);
+
+    @Query("select t.dueDate as dueDate, count(t) as count from Task t " +
+            "where t.project.user.id = :userId and t.project.deletedAt is null and t.completed = false " +
+            "group by t.dueDate")
+    List<DueDateCount> countOpenByDueDateForUser(@Param("userId") Long userId);
+
+    /**
+     * Tasks of several projects in one query, grouped by project and in rank order within each.
+     */
+    @Query("select t from Task t where t.project.id in :projectIds order by t.project.id, t.sortRank, t.id")
+    List<Task> findByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Like {@link #findByProjectIds}, but at most the first {@code limit} tasks of each project.
+     */
+    @Query(value = "SELECT id, title, description, due_date, completed, completed_at, sort_rank, parent_id, " +
+            "recurrence_id, occurrence_date, project_id, owner_id, created_at, change_seq, changed_at FROM (" +
+            "SELECT t.*, ROW_NUMBER() OVER (PARTITION BY t.project_id ORDER BY t.sort_rank, t.id) AS position " +
+            "FROM tasks t WHERE t.project_id IN (:projectIds)) ranked " +
+            "WHERE position <= :limit ORDER BY project_id, sort_rank, id",
+            nativeQuery = true)
+    List<Task> findFirstByProjectIds(@Param("projectIds") Collection<Long> projectIds, @Param("limit") int limit);
+
+    /**
+     * Tasks in the user's live projects written after {@code since} and before {@code settledBefore}, in change order:
+     * one range of the (owner, sequence) index. Ordering on the owner too lets every database read the range in order.
+     */
+    @Query("select t from Task t where t.ownerId = :userId and t.project.deletedAt is null " +
+            "and t.changeSeq > :since and t.changedAt < :settledBefore order by t.ownerId, t.changeSeq")
+    List<Task> findChangedSince(@Param("userId") Long userId, @Param("since") long since,
+                                @Param("settledBefore") LocalDateTime settledBefore, Pageable page);
+
+    /**
+     * Like {@link #findChangedSince}, for the live projects shared with the user: one (project, sequence)
+     * range per shared project.
+     */
+    @Query("select t from Task t where t.project.id in " +
+            "(select m.projectId from ProjectMember m where m.userId = :userId) and t.project.deletedAt is null " +
+            "and t.changeSeq > :since and t.changedAt < :settledBefore order by t.changeSeq")
+    List<Task> findSharedChangedSince(@Param("userId") Long userId, @Param("since") long since,
+                                      @Param("settledBefore") LocalDateTime settledBefore, Pageable page);
+
+    /**
+     * Gives every task of the project a new change sequence value, so that users syncing it receive them again.
+     */
+    @Modifying
+    @Query(value = "UPDATE tasks SET change_seq = nextval('change_seq'), changed_at = :now " +
+            "WHERE project_id = :projectId", nativeQuery = true)
+    int restampByProjectId(@Param("projectId") Long projectId, @Param("now") LocalDateTime now);
+
+    /**
+     * The user's open tasks in live projects due up to {@code to}, after the keyset position
+     * ({@code afterDueDate}, {@code afterId}), in (due date, id) order: one range scan of the owner index.
+     */
+    @Query("select t from Task t join t.project p where t.ownerId = :ownerId and t.completed = false " +
+            "and p.deletedAt is null and t.dueDate <= :to " +
+            "and (t.dueDate > :afterDueDate or (t.dueDate = :afterDueDate and t.id > :afterId)) " +
+            "order by t.dueDate, t.id")
+    List<Task> findAgenda(@Param("ownerId") Long ownerId, @Param("afterDueDate") LocalDate afterDueDate,
+                          @Param("afterId") long afterId, @Param("to") LocalDate to, Pageable page);
+
+    /**
+     * Like {@link #findAgenda}, for the live projects shared with the user: one range of the
+     * (project, completed, due date, id) index per shared project.
+     */
+    @Query("select t from Task t join t.project p where p.id in " +
+            "(select m.projectId from ProjectMember m where m.userId = :userId) and t.completed = false " +
+            "and p.deletedAt is null and t.dueDate <= :to " +
+            "and (t.dueDate > :afterDueDate or (t.dueDate = :afterDueDate and t.id > :afterId)) " +
+            "order by t.dueDate, t.id")
+    List<Task> findSharedAgenda(@Param("userId") Long userId, @Param("afterDueDate") LocalDate afterDueDate,
+                                @Param("afterId") long afterId, @Param("to") LocalDate to, Pageable page);
+
+    @Query("select max(t.sortRank) from Task t where t.project.id = :projectId")
+    String findMaxSortRank(@Param("projectId") Long projectId);
+
+    /**
+     * Materialized occurrences per recurrence of a project, up to and including {@code date}.
+     */
+    @Query("select t.recurrenceId as recurrenceId, count(t) as count from Task t " +
+            "where t.project.id = :projectId and t.recurrenceId is not null and t.occurrenceDate <= :date " +
+            "group by t.recurrenceId")
+    List<RecurrenceCount> countMaterializedThrough(@Param("projectId") Long projectId, @Param("date") LocalDate date);
+
+    /**
+     * Locks every task of the project, in rank order, for rewriting their ranks.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.project.id = :projectId order by t.sortRank, t.id")
+    List<Task> lockByProjectIdInRankOrder(@Param("projectId") Long projectId);
+
+    /**
+     * Deletes up to {@code limit} tasks of a project in one set-based statement.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE id IN (SELECT id FROM tasks WHERE project_id = :projectId LIMIT :limit)",
+            nativeQuery = true)
+    int deleteChunkByProjectId(@Param("projectId") Long projectId, @Param("limit") int limit);
+
+    /**
+     * Deletes the given tasks in one statement; used after copying them to the archive.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * A task and all of its subtasks, in rank order, through one closure-table lookup.
+     */
+    @Query("select t from TaskClosure c join Task t on t.id = c.descendantId " +
+            "where c.ancestorId = :taskId order by t.sortRank, t.id")
+    List<Task> findSubtree(@Param("taskId") Long taskId);
+
+    @Query("select count(t) as total, coalesce(sum(case when t.completed = true then 1 else 0 end), 0) as completed " +
+            "from TaskClosure c join Task t on t.id = c.descendantId where c.ancestorId = :taskId")
+    SubtreeCounts countSubtree(@Param("taskId") Long taskId);
+
+    @Query("select t.dueDate as dueDate, count(t) as count from TaskClosure c join Task t on t.id = c.descendantId " +
+            "where c.ancestorId = :taskId and t.completed = false group by t.dueDate")
+    List<DueDateCount> countOpenByDueDateForSubtree(@Param("taskId") Long taskId);
+
+    /**
+     * Deletes a task and all of its subtasks in one statement; closure rows go with them (ON DELETE CASCADE).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = :taskId)",
+            nativeQuery = true)
+    int deleteSubtree(@Param("taskId") Long taskId);
+
+    interface ProgressCounts {
+        long getTotal();
+        long getCompleted();
+        Long getArchived();
+    }
+
+    interface SubtreeCounts {
+        long getTotal();
+        long getCompleted();
+    }
+
+    interface RecurrenceCount {
+        Long getRecurrenceId();
+        long getCount();
+    }
+
+    interface DueDateCount {
+        LocalDate getDueDate();
+        long getCount();
+    }
 }
\ No newline at end of file
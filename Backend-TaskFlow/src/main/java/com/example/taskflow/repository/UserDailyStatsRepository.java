@@ -0,0 +1,40 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.UserDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface UserDailyStatsRepository extends JpaRepository<UserDailyStats, Long> {
+
+    @Modifying
+    @Query("update UserDailyStats d set d.openDue = d.openDue + :openDue, d.completed = d.completed + :completed " +
+            "where d.userId = :userId and d.statDate = :statDate")
+    int increment(@Param("userId") Long userId, @Param("statDate") LocalDate statDate,
+                  @Param("openDue") long openDue, @Param("completed") long completed);
+
+    /**
+     * Creates the zeroed counter row of a day unless it exists; see {@link UserTaskStatsRepository#insertIfAbsent}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_daily_stats (user_id, stat_date, open_due, completed) " +
+            "VALUES (:userId, :statDate, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("statDate") LocalDate statDate);
+
+    @Modifying
+    @Query("update UserDailyStats d set d.openDue = 0 where d.userId = :userId and d.openDue <> 0")
+    int resetOpenDue(@Param("userId") Long userId);
+
+    /**
+     * Rows needed by the dashboard: recent completion history plus every day that still has open tasks due.
+     */
+    @Query("select d from UserDailyStats d where d.userId = :userId and (d.statDate >= :since or d.openDue > 0) " +
+            "order by d.statDate")
+    List<UserDailyStats> findDashboardRows(@Param("userId") Long userId, @Param("since") LocalDate since);
+}
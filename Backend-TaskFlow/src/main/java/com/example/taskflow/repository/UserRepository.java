@@ -2,11 +2,51 @@ package com.example.taskflow.repository;
 
 import com.example.taskflow.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("select u.id from User u order by u.id")
+    List<Long> findAllIds();
+
+    @Query("select u.syncHorizon from User u where u.id = :id")
+    Optional<Long> findSyncHorizon(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.syncHorizon = :horizon where u.id = :id and u.syncHorizon < :horizon")
+    int raiseSyncHorizon(@Param("id") Long id, @Param("horizon") long horizon);
+
+    @Modifying
+    @Query("update User u set u.syncHorizon = :horizon where u.syncHorizon < :horizon and u.id in " +
+            "(select m.userId from ProjectMember m where m.projectId = :projectId)")
+    int raiseSyncHorizonOfMembers(@Param("projectId") Long projectId, @Param("horizon") long horizon);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.tokenGeneration = u.tokenGeneration + 1, u.tokensRevokedAt = :now where u.id = :id")
+    int raiseTokenGeneration(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("select u.tokenGeneration from User u where u.id = :id")
+    Optional<Integer> findTokenGeneration(@Param("id") Long id);
+
+    /**
+     * Users whose token generation was raised at or after {@code since}.
+     */
+    @Query("select u.id as id, u.tokenGeneration as generation, u.tokensRevokedAt as revokedAt " +
+            "from User u where u.tokensRevokedAt >= :since")
+    List<TokenGeneration> findTokenGenerationsRaisedSince(@Param("since") LocalDateTime since);
+
+    interface TokenGeneration {
+        Long getId();
+        int getGeneration();
+        LocalDateTime getRevokedAt();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.UserTaskStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserTaskStatsRepository extends JpaRepository<UserTaskStats, Long> {
+
+    @Modifying
+    @Query("update UserTaskStats s set s.totalTasks = s.totalTasks + :total, " +
+            "s.completedTasks = s.completedTasks + :completed where s.userId = :userId")
+    int increment(@Param("userId") Long userId, @Param("total") long total, @Param("completed") long completed);
+
+    /**
+     * Creates the user's zeroed counter row unless it exists. A concurrent insert of the same row makes this
+     * a no-op instead of an error, so it runs in the caller's transaction without a second connection.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_task_stats (user_id, total_tasks, completed_tasks) VALUES (:userId, 0, 0) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update UserTaskStats s set s.totalTasks = :total, s.completedTasks = :completed where s.userId = :userId")
+    int overwrite(@Param("userId") Long userId, @Param("total") long total, @Param("completed") long completed);
+}
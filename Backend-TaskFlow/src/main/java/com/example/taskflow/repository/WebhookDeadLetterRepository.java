@@ -0,0 +1,9 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.WebhookDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WebhookDeadLetterRepository extends JpaRepository<WebhookDeadLetter, Long> {
+}
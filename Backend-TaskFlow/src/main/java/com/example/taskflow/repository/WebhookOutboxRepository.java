@@ -0,0 +1,43 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.WebhookOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WebhookOutboxRepository extends JpaRepository<WebhookOutboxEvent, Long> {
+
+    /**
+     * Locks up to {@code limit} events due at {@code now}, oldest first; rows locked elsewhere are skipped,
+     * so concurrent pollers claim disjoint batches.
+     */
+    @Query(value = "SELECT * FROM webhook_outbox WHERE next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<WebhookOutboxEvent> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Keeps claimed events from being due again until {@code until}, while their delivery is in flight.
+     */
+    @Modifying
+    @Query(value = "UPDATE webhook_outbox SET next_attempt_at = :until WHERE id IN (:ids)", nativeQuery = true)
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query(value = "UPDATE webhook_outbox SET attempts = :attempts, next_attempt_at = :nextAttemptAt, " +
+            "last_error = :error WHERE id = :id",
+            nativeQuery = true)
+    int scheduleRetry(@Param("id") Long id, @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query(value = "DELETE FROM webhook_outbox WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,157 @@
+package com.example.taskflow.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * A count-based circuit breaker. Closed, it records whether each of the last {@code windowSize} calls
+ * failed and opens when the failure rate reaches the threshold. Open, it refuses every call for
+ * {@code openDuration}, then lets {@code halfOpenCalls} trial calls through: the breaker closes if all
+ * succeed and opens again on the first failure.
+ * Metrics: {@code circuit.breaker.state} (0 closed, 1 half open, 2 open), {@code circuit.breaker.transitions}
+ * (tag {@code state}: the state entered) and {@code circuit.breaker.rejected}, tagged by breaker.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final String name;
+    private final CircuitBreakerProperties properties;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private final boolean[] failed;
+    private final Map<State, Counter> transitions = new EnumMap<>(State.class);
+    private final Counter rejected;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    public CircuitBreaker(String name, CircuitBreakerProperties properties, MeterRegistry registry) {
+        this(name, properties, registry, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, CircuitBreakerProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.name = name;
+        this.properties = properties;
+        this.openNanos = properties.getOpenDuration().toNanos();
+        this.clock = clock;
+        this.failed = new boolean[properties.getWindowSize()];
+
+        Gauge.builder("circuit.breaker.state", this, breaker -> breaker.state().ordinal())
+                .tag("breaker", name).register(registry);
+        for (State to : State.values()) {
+            transitions.put(to, Counter.builder("circuit.breaker.transitions")
+                    .tag("breaker", name).tag("state", to.name()).register(registry));
+        }
+        this.rejected = Counter.builder("circuit.breaker.rejected").tag("breaker", name).register(registry);
+    }
+
+    /**
+     * Whether a call may proceed; a permitted call must report its outcome to {@link #onResult}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                rejected.increment();
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= properties.getHalfOpenCalls()) {
+                rejected.increment();
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onResult(boolean success) {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (!success) {
+                    transition(State.OPEN);
+                } else if (++trialsSucceeded >= properties.getHalfOpenCalls()) {
+                    transition(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                if (recorded == failed.length) {
+                    failures -= failed[next] ? 1 : 0;
+                } else {
+                    recorded++;
+                }
+                failed[next] = !success;
+                failures += success ? 0 : 1;
+                next = (next + 1) % failed.length;
+                if (recorded >= properties.getMinimumCalls()
+                        && failures * 100 >= properties.getFailureRateThreshold() * recorded) {
+                    transition(State.OPEN);
+                }
+            }
+            case OPEN -> {
+                // A call let through before the breaker opened
+            }
+        }
+    }
+
+    /**
+     * Whether calls are currently refused, without taking a trial call.
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && clock.getAsLong() - openedAt < openNanos;
+    }
+
+    /**
+     * Time left until trial calls are let through; zero unless open.
+     */
+    public synchronized Duration retryAfter() {
+        return state == State.OPEN
+                ? Duration.ofNanos(Math.max(0, openNanos - (clock.getAsLong() - openedAt)))
+                : Duration.ZERO;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Closes the breaker and forgets the recorded calls.
+     */
+    public synchronized void reset() {
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+
+    private void transition(State to) {
+        log.warn("Circuit breaker {}: {} -> {}", name, state, to);
+        state = to;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        trialsStarted = 0;
+        trialsSucceeded = 0;
+        if (to == State.OPEN) {
+            openedAt = clock.getAsLong();
+        }
+        transitions.get(to).increment();
+    }
+}
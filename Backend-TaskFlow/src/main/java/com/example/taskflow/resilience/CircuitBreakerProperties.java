@@ -0,0 +1,44 @@
+package com.example.taskflow.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * {@code database.circuit-breaker.*} settings of the breaker around the persistence layer.
+ */
+@Data
+@ConfigurationProperties(prefix = "database.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    /**
+     * Number of most recent calls the failure rate is computed over.
+     */
+    private int windowSize = 20;
+
+    /**
+     * Calls needed in the window before the breaker may open.
+     */
+    private int minimumCalls = 10;
+
+    /**
+     * Percentage of failed calls in the window that opens the breaker.
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * A call slower than this counts as failed, even if it succeeds.
+     */
+    private Duration slowCallDuration = Duration.ofSeconds(3);
+
+    /**
+     * Time calls are refused once open, before a few trial calls are let through.
+     */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /**
+     * Trial calls let through when half open; all must succeed to close the breaker.
+     */
+    private int halfOpenCalls = 3;
+}
@@ -0,0 +1,162 @@
+package com.example.taskflow.resilience;
+
+import com.example.taskflow.exception.DatabaseUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * The circuit breaker around the persistence layer. Every repository call takes a permit and reports
+ * whether the database failed it (connection, timeout or recovery errors, or a call slower than
+ * {@code slow-call-duration}); business errors such as constraint violations count as successes.
+ * Service calls report the database failures no repository call saw, such as a transaction that
+ * could not obtain a connection when it began, or a commit that failed.
+ * While open, service calls are refused on entry, before their transaction takes a connection, so
+ * writes fail fast with 503 ({@link DatabaseUnavailableException}) and reads fall back to
+ * {@link LastKnownGood}. Ordered ahead of the transaction interceptor.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(CircuitBreakerProperties.class)
+public class DatabaseCircuitBreaker {
+
+    private final CircuitBreaker breaker;
+    private final long slowCallNanos;
+    private final ThreadLocal<ServiceCall> serviceCalls = new ThreadLocal<>();
+
+    public DatabaseCircuitBreaker(CircuitBreakerProperties properties, MeterRegistry registry) {
+        this.breaker = new CircuitBreaker("database", properties, registry);
+        this.slowCallNanos = properties.getSlowCallDuration().toNanos();
+    }
+
+    @Around("within(com.example.taskflow.service..*)")
+    public Object guardService(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (breaker.isOpen()) {
+            throw unavailable();
+        }
+        ServiceCall call = serviceCalls.get();
+        if (call == null) {
+            call = new ServiceCall();
+            serviceCalls.set(call);
+        }
+        call.depth++;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            if (isDatabaseFailure(ex) && !isRefusal(ex) && !call.hasCounted(ex)) {
+                breaker.onResult(false);
+                call.counted = ex;
+            }
+            throw ex;
+        } finally {
+            if (--call.depth == 0) {
+                serviceCalls.remove();
+            }
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) " +
+            "|| within(com.example.taskflow.repository..*)")
+    public Object guardRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!breaker.tryAcquire()) {
+            throw unavailable();
+        }
+        long started = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } catch (Throwable ex) {
+            success = !isDatabaseFailure(ex);
+            ServiceCall call = serviceCalls.get();
+            if (!success && call != null) {
+                call.counted = ex;
+            }
+            throw ex;
+        } finally {
+            breaker.onResult(success && System.nanoTime() - started < slowCallNanos);
+        }
+    }
+
+    public CircuitBreaker breaker() {
+        return breaker;
+    }
+
+    /**
+     * Whether the exception, or one of its causes, means the database could not serve the call.
+     */
+    public static boolean isDatabaseFailure(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DatabaseUnavailableException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessResourceException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof TransactionSystemException
+                    || cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLTimeoutException
+                    || cause instanceof SQLRecoverableException
+                    || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRefusal(Throwable ex) {
+        for (Throwable cause = ex; cause != null && cause.getCause() != cause; cause = cause.getCause()) {
+            if (cause instanceof DatabaseUnavailableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private DatabaseUnavailableException unavailable() {
+        return new DatabaseUnavailableException("The database is unavailable; try again later", breaker.retryAfter());
+    }
+
+    /**
+     * The service calls in progress on a thread and the failure last reported from them, so that a failure
+     * propagating through nested service calls, or already reported by a repository call, counts once.
+     */
+    private static final class ServiceCall {
+
+        private int depth;
+        private Throwable counted;
+
+        boolean hasCounted(Throwable ex) {
+            for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+                if (cause == counted) {
+                    return true;
+                }
+                if (cause.getCause() == cause) {
+                    break;
+                }
+            }
+            return false;
+        }
+    }
+}
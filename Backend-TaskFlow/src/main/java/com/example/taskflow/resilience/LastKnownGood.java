@@ -0,0 +1,168 @@
+package com.example.taskflow.resilience;
+
+import com.example.taskflow.model.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-user, last-known-good copies of project and task read results, served while the database is
+ * unavailable (the {@link DatabaseCircuitBreaker} is open or the read failed on the database). A stale
+ * answer carries {@code Age} (seconds since it was read) and {@code Warning: 110}. Copies are kept per user,
+ * so a user only gets back what they were served before; access changed since is not seen until recovery.
+ * <p>
+ * At most {@code database.stale-reads.max-users} users are held, each with their
+ * {@code max-entries-per-user} most recently read results; when full, the least recently active of a few
+ * sampled users makes room. Copies older than {@code max-age} are not served. The authenticated users are
+ * remembered too, so that requests can still be authenticated ({@link #user}).
+ * Metrics: {@code reads.stale.served} (tag {@code operation}) and {@code reads.stale.users}.
+ */
+@Component
+public class LastKnownGood {
+
+    private static final int EVICTION_SAMPLE = 8;
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private final int maxUsers;
+    private final int maxEntriesPerUser;
+    private final long maxAgeMillis;
+    private final MeterRegistry registry;
+    private final Map<Long, Snapshots> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Snapshot> users = new ConcurrentHashMap<>();
+
+    public LastKnownGood(@Value("${database.stale-reads.max-users:10000}") int maxUsers,
+                         @Value("${database.stale-reads.max-entries-per-user:16}") int maxEntriesPerUser,
+                         @Value("${database.stale-reads.max-age:1h}") Duration maxAge,
+                         MeterRegistry registry) {
+        this.maxUsers = maxUsers;
+        this.maxEntriesPerUser = maxEntriesPerUser;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.registry = registry;
+
+        Gauge.builder("reads.stale.users", snapshots, Map::size).register(registry);
+    }
+
+    /**
+     * {@code 200} with the result of {@code load}, remembered for the user; if the database cannot serve it,
+     * the user's last copy of the same read, marked stale. Without a copy the failure is thrown.
+     */
+    public <T> ResponseEntity<T> respond(Long userId, String operation, Supplier<T> load, Object... parameters) {
+        Key key = new Key(operation, Arrays.asList(parameters));
+        T value;
+        try {
+            value = load.get();
+        } catch (RuntimeException ex) {
+            Snapshot stale = DatabaseCircuitBreaker.isDatabaseFailure(ex) ? find(userId, key) : null;
+            if (stale == null) {
+                throw ex;
+            }
+            registry.counter("reads.stale.served", "operation", operation).increment();
+            @SuppressWarnings("unchecked")
+            T body = (T) stale.value();
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.AGE, Long.toString((System.currentTimeMillis() - stale.storedAt()) / 1000))
+                    .header(HttpHeaders.WARNING, STALE_WARNING)
+                    .body(body);
+        }
+
+        Snapshots entries = snapshots.get(userId);
+        if (entries == null) {
+            if (snapshots.size() >= maxUsers) {
+                evictOne();
+            }
+            entries = snapshots.computeIfAbsent(userId, id -> new Snapshots(maxEntriesPerUser));
+        }
+        entries.put(key, new Snapshot(value, System.currentTimeMillis()));
+        return ResponseEntity.ok(value);
+    }
+
+    /**
+     * Remembers a user loaded for authentication.
+     */
+    public void rememberUser(User user) {
+        if (users.size() >= maxUsers && !users.containsKey(user.getUsername())) {
+            Iterator<String> emails = users.keySet().iterator();
+            if (emails.hasNext()) {
+                users.remove(emails.next());
+            }
+        }
+        users.put(user.getUsername(), new Snapshot(user, System.currentTimeMillis()));
+    }
+
+    /**
+     * The user last loaded for authentication with this email, unless unknown or too old.
+     */
+    public User user(String email) {
+        Snapshot snapshot = users.get(email);
+        return snapshot != null && fresh(snapshot) ? (User) snapshot.value() : null;
+    }
+
+    private Snapshot find(Long userId, Key key) {
+        Snapshots entries = snapshots.get(userId);
+        Snapshot snapshot = entries == null ? null : entries.get(key);
+        return snapshot != null && fresh(snapshot) ? snapshot : null;
+    }
+
+    private boolean fresh(Snapshot snapshot) {
+        return System.currentTimeMillis() - snapshot.storedAt() <= maxAgeMillis;
+    }
+
+    private void evictOne() {
+        Map.Entry<Long, Snapshots> oldest = null;
+        Iterator<Map.Entry<Long, Snapshots>> entries = snapshots.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE && entries.hasNext(); i++) {
+            Map.Entry<Long, Snapshots> entry = entries.next();
+            if (oldest == null || entry.getValue().touchedAt < oldest.getValue().touchedAt) {
+                oldest = entry;
+            }
+        }
+        if (oldest != null) {
+            snapshots.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private record Key(String operation, List<Object> parameters) {
+    }
+
+    private record Snapshot(Object value, long storedAt) {
+    }
+
+    /**
+     * One user's most recently read results.
+     */
+    private static final class Snapshots {
+
+        private final Map<Key, Snapshot> entries;
+        private volatile long touchedAt = System.currentTimeMillis();
+
+        private Snapshots(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Snapshot> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        private synchronized void put(Key key, Snapshot snapshot) {
+            entries.put(key, snapshot);
+            touchedAt = snapshot.storedAt();
+        }
+
+        private synchronized Snapshot get(Key key) {
+            return entries.get(key);
+        }
+    }
+}
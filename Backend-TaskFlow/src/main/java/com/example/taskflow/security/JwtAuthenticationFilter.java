@@ -1,9 +1,20 @@
 package com.example.taskflow.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.example.taskflow.exception.DatabaseUnavailableException;
+import com.example.taskflow.exception.ShardUnavailableException;
+import com.example.taskflow.model.User;
+import com.example.taskflow.resilience.DatabaseCircuitBreaker;
+import com.example.taskflow.resilience.LastKnownGood;
+import com.example.taskflow.sharding.ShardContext;
+import com.example.taskflow.sharding.ShardRouter;
+import com.example.taskflow.tracing.TraceLayer;
+import com.example.taskflow.tracing.TraceScope;
+import com.example.taskflow.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,20 +25,25 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList revocationList;
     private final UserDetailsService userDetailsService;
+    private final Tracer tracer;
+    private final ShardRouter shardRouter;
+    private final LastKnownGood lastKnownGood;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
+        final Claims claims;
         final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -35,19 +51,88 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtUtil.extractUsername(jwt);
+        try (TraceScope ignored = tracer.open(TraceLayer.JWT, "JwtAuthenticationFilter.extractUsername")) {
+            claims = jwtUtil.extractAllClaims(authHeader.substring(7));
+            userEmail = claims.getSubject();
+        }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+        if (userEmail == null || isRevoked(claims)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // The user's shard stays selected for the rest of the request, so every transaction lands there
+        final int shard;
+        try {
+            shard = shardRouter.shardOf(userEmail);
+        } catch (ShardUnavailableException ex) {
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, ex.getMessage());
+            return;
+        }
+
+        try (ShardContext.Scope ignored = ShardContext.enter(shard)) {
+            try {
+                authenticate(request, claims, userEmail);
+            } catch (DatabaseUnavailableException ex) {
+                response.setHeader("Retry-After", Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())));
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, ex.getMessage());
+                return;
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+    /**
+     * Checked in memory before the user is loaded. Tokens without a {@code jti} predate revocation and
+     * could not be revoked, so they are refused as well.
+     */
+    private boolean isRevoked(Claims claims) {
+        Number userId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+        Number generation = claims.get(JwtUtil.GENERATION_CLAIM, Number.class);
+        if (claims.getId() == null || userId == null || generation == null) {
+            return true;
+        }
+        return revocationList.isRevoked(claims.getId(), userId.longValue(), generation.intValue());
+    }
+
+    private void authenticate(HttpServletRequest request, Claims claims, String userEmail) {
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+        try (TraceScope ignored = tracer.open(TraceLayer.JWT, "JwtAuthenticationFilter.authenticate")) {
+            UserDetails userDetails = loadUser(userEmail);
+
+            if (jwtUtil.validateToken(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
-        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * While the database is unavailable, the user last loaded for this email stands in, so that stale reads
+     * can still be served; without one the request is refused with 503.
+     */
+    private UserDetails loadUser(String userEmail) {
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+            if (userDetails instanceof User user) {
+                lastKnownGood.rememberUser(user);
+            }
+            return userDetails;
+        } catch (RuntimeException ex) {
+            if (!DatabaseCircuitBreaker.isDatabaseFailure(ex)) {
+                throw ex;
+            }
+            User known = lastKnownGood.user(userEmail);
+            if (known != null) {
+                return known;
+            }
+            throw ex instanceof DatabaseUnavailableException unavailable ? unavailable
+                    : new DatabaseUnavailableException("The database is unavailable; try again later", Duration.ofSeconds(1));
+        }
     }
 }
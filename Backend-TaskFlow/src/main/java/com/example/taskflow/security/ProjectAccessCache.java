@@ -0,0 +1,156 @@
+package com.example.taskflow.security;
+
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.model.ProjectRole;
+import com.example.taskflow.repository.ProjectMemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-node cache of {@link ProjectPermissions}, so that checking access to a project costs no query
+ * and loads neither the project nor its owner. A user's set is read with one query on a miss.
+ * <p>
+ * At most {@code projects.acl.cache.max-users} users are held; when full, the oldest of a few sampled
+ * entries makes room. Sharing, unsharing, creating and deleting a project drop the sets of the users
+ * concerned once the transaction commits. A load that overlaps such a drop is served but not kept, so a
+ * set read before the commit cannot outlive it. Changes made on other nodes show after at most
+ * {@code projects.acl.cache.ttl}; writes therefore go through {@link #requireCurrent}, whose lookup confirms the
+ * cached grant against the database.
+ */
+@Component
+public class ProjectAccessCache {
+
+    private static final int EVICTION_SAMPLE = 8;
+
+    private final ProjectMemberRepository projectMemberRepository;
+    private final int maxUsers;
+    private final long ttlNanos;
+    private final Map<Long, Cached> cache = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ProjectAccessCache(ProjectMemberRepository projectMemberRepository,
+                              @Value("${projects.acl.cache.max-users:10000}") int maxUsers,
+                              @Value("${projects.acl.cache.ttl:60s}") Duration ttl) {
+        this.projectMemberRepository = projectMemberRepository;
+        this.maxUsers = maxUsers;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * The user's access to a live project, requiring at least {@code role}. Without any access the
+     * project does not exist for the user ({@code notFound}); with too little the request is forbidden.
+     */
+    public ProjectPermissions.Grant require(Long userId, Long projectId, ProjectRole role, String notFound) {
+        ProjectPermissions.Grant grant = permissionsOf(userId).find(projectId);
+        if (grant == null) {
+            throw new ResourceNotFoundException(notFound);
+        }
+        if (!grant.role().includes(role)) {
+            throw new AccessDeniedException("This project requires the " + role + " role");
+        }
+        return grant;
+    }
+
+    /**
+     * {@link #require} for writes. {@code lookup} reads the row the write works on with the grant checked in the
+     * same query (the repositories' {@code ...ForWrite} methods, given {@link ProjectRole#memberRoles}), so a project
+     * deleted or unshared on another node is not written to while this node's copy is stale, at no query of its own.
+     * An empty lookup goes through {@link #recheck}; if the grant stands, the row is missing ({@code notFound}).
+     */
+    public <T> T requireCurrent(Long userId, Long projectId, ProjectRole role, String notFound,
+                                Supplier<Optional<T>> lookup) {
+        require(userId, projectId, role, notFound);
+        return lookup.get().orElseThrow(() -> {
+            recheck(userId, projectId, role, notFound);
+            return new ResourceNotFoundException(notFound);
+        });
+    }
+
+    /**
+     * For a write lookup that found nothing: either its row is missing or the cached grant is stale. The user's
+     * set is dropped and checked again as loaded, which throws if the grant is gone.
+     */
+    public void recheck(Long userId, Long projectId, ProjectRole role, String notFound) {
+        invalidate(List.of(userId));
+        require(userId, projectId, role, notFound);
+    }
+
+    public ProjectPermissions permissionsOf(Long userId) {
+        long now = System.nanoTime();
+        Cached cached = cache.get(userId);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached.permissions();
+        }
+
+        long seen = invalidations.get();
+        Cached loaded = new Cached(ProjectPermissions.of(projectMemberRepository.findGrants(userId)), now);
+        if (cache.size() >= maxUsers && !cache.containsKey(userId)) {
+            evictOne();
+        }
+        cache.put(userId, loaded);
+        // Invalidations count up before removing: either this check sees one, or its removal follows the put
+        if (invalidations.get() != seen) {
+            cache.remove(userId, loaded);
+        }
+        return loaded.permissions();
+    }
+
+    /**
+     * Drops the users' sets when the current transaction completes, or right away outside of one.
+     */
+    public void invalidateAfterCommit(Collection<Long> userIds) {
+        List<Long> users = List.copyOf(userIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(users);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(users);
+            }
+        });
+    }
+
+    public void invalidate(Collection<Long> userIds) {
+        invalidations.incrementAndGet();
+        userIds.forEach(cache::remove);
+    }
+
+    /**
+     * Number of users whose permissions are cached.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private void evictOne() {
+        Map.Entry<Long, Cached> oldest = null;
+        Iterator<Map.Entry<Long, Cached>> entries = cache.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE && entries.hasNext(); i++) {
+            Map.Entry<Long, Cached> entry = entries.next();
+            if (oldest == null || entry.getValue().loadedAt() - oldest.getValue().loadedAt() < 0) {
+                oldest = entry;
+            }
+        }
+        if (oldest != null) {
+            cache.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private record Cached(ProjectPermissions permissions, long loadedAt) {
+    }
+}
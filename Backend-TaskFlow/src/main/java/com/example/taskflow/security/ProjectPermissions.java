@@ -0,0 +1,79 @@
+package com.example.taskflow.security;
+
+import com.example.taskflow.model.ProjectRole;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The projects one user may access, with each project's owner and the user's role, held as three
+ * parallel arrays sorted by project id: about 17 bytes per project and a binary search per check.
+ * Immutable; {@link ProjectAccessCache} replaces the whole set when it changes.
+ */
+public final class ProjectPermissions {
+
+    private static final ProjectRole[] ROLES = ProjectRole.values();
+
+    private final long[] projectIds;
+    private final long[] ownerIds;
+    private final byte[] roles;
+
+    private ProjectPermissions(long[] projectIds, long[] ownerIds, byte[] roles) {
+        this.projectIds = projectIds;
+        this.ownerIds = ownerIds;
+        this.roles = roles;
+    }
+
+    /**
+     * Builds the set from {@code (project_id, owner_id, role)} rows. A project listed twice keeps its
+     * highest role.
+     */
+    public static ProjectPermissions of(List<Object[]> rows) {
+        Object[][] sorted = rows.toArray(new Object[0][]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(((Number) a[0]).longValue(), ((Number) b[0]).longValue()));
+        long[] projectIds = new long[sorted.length];
+        long[] ownerIds = new long[sorted.length];
+        byte[] roles = new byte[sorted.length];
+        int size = 0;
+        for (Object[] row : sorted) {
+            long projectId = ((Number) row[0]).longValue();
+            byte role = (byte) ProjectRole.valueOf(row[2].toString().trim()).ordinal();
+            if (size > 0 && projectIds[size - 1] == projectId) {
+                roles[size - 1] = (byte) Math.max(roles[size - 1], role);
+                continue;
+            }
+            projectIds[size] = projectId;
+            ownerIds[size] = ((Number) row[1]).longValue();
+            roles[size] = role;
+            size++;
+        }
+        return new ProjectPermissions(Arrays.copyOf(projectIds, size), Arrays.copyOf(ownerIds, size),
+                Arrays.copyOf(roles, size));
+    }
+
+    /**
+     * The user's access to a project, or {@code null} without any.
+     */
+    public Grant find(long projectId) {
+        int index = Arrays.binarySearch(projectIds, projectId);
+        return index < 0 ? null : new Grant(ownerIds[index], ROLES[roles[index]]);
+    }
+
+    /**
+     * Ids of every accessible project, ascending.
+     */
+    public List<Long> projectIds() {
+        return Arrays.stream(projectIds).boxed().toList();
+    }
+
+    public int size() {
+        return projectIds.length;
+    }
+
+    /**
+     * Access to one project: its owner, to whom the project's tasks, stats and sync changes belong,
+     * and the user's role.
+     */
+    public record Grant(long ownerId, ProjectRole role) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.taskflow.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of revoked tokens, consulted by {@link JwtAuthenticationFilter} on every request.
+ * <p>
+ * Single tokens (logout) are kept by {@code jti}: a Bloom filter answers the common "not revoked" case
+ * from a few bit reads, and the exact set confirms its rare positives. Logging out everywhere raises the
+ * user's token generation instead; tokens carrying a lower one are revoked. Entries are dropped once
+ * every token they cover has expired; {@code TokenRevocationService} fills the list from the database.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Generation> generations = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public TokenRevocationList(@Value("${jwt.revocation.expected-tokens:100000}") int expectedTokens,
+                               @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    /**
+     * Revokes one token until {@code expiresAt} (epoch millis), when it would stop being accepted anyway.
+     */
+    public void revoke(String jti, long expiresAt) {
+        // The set first: a rebuild that misses this key in its first pass finds it in the second
+        revokedTokens.merge(jti, expiresAt, Math::max);
+        filter.add(jti);
+    }
+
+    /**
+     * Revokes the user's tokens below {@code generation}; tokens issued before {@code expiresAt} (epoch
+     * millis) minus the token lifetime are all expired by then.
+     */
+    public void revokeBelow(long userId, int generation, long expiresAt) {
+        generations.merge(userId, new Generation(generation, expiresAt),
+                (current, raised) -> raised.generation() > current.generation() ? raised : current);
+    }
+
+    public boolean isRevoked(String jti, long userId, int generation) {
+        Generation minimum = generations.get(userId);
+        if (minimum != null && generation < minimum.generation()) {
+            return true;
+        }
+        return filter.mightContain(jti) && revokedTokens.containsKey(jti);
+    }
+
+    /**
+     * Drops entries that expired before {@code now} and, when tokens were dropped, rebuilds the filter from
+     * the remaining ones, since a Bloom filter cannot forget keys.
+     */
+    public void evictExpired(long now) {
+        generations.values().removeIf(entry -> entry.expiresAt() <= now);
+        if (!revokedTokens.values().removeIf(expiresAt -> expiresAt <= now)) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, revokedTokens.size()), falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        // Keys revoked while the first pass ran may have gone into the old filter only
+        revokedTokens.keySet().forEach(rebuilt::add);
+    }
+
+    /**
+     * Number of single tokens currently revoked.
+     */
+    public int size() {
+        return revokedTokens.size();
+    }
+
+    private record Generation(int generation, long expiresAt) {
+    }
+}
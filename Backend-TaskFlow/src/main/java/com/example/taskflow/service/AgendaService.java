@@ -0,0 +1,101 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.AgendaResponse;
+import com.example.taskflow.model.Task;
+import com.example.taskflow.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The agenda: a user's open tasks across their own projects and those shared with them, due within a
+ * date range, in pages. Tasks carry their project's owner ({@code owner_id}), so the user's own tasks are
+ * one range scan of the (owner, completed, due date, id) index starting at the cursor, whatever the number
+ * of projects; shared projects add one range of the (project, completed, due date, id) index each.
+ * Virtual occurrences of recurring tasks are not listed; materialized ones are.
+ */
+@Service
+public class AgendaService {
+
+    private final TaskRepository taskRepository;
+    private final int windowDays;
+    private final int maxPageSize;
+
+    public AgendaService(TaskRepository taskRepository,
+                         @Value("${tasks.agenda.window-days:7}") int windowDays,
+                         @Value("${tasks.agenda.max-page-size:500}") int maxPageSize) {
+        this.taskRepository = taskRepository;
+        this.windowDays = windowDays;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Up to {@code limit} open tasks due in {@code [from, to]} (default: today and the next
+     * {@code tasks.agenda.window-days} days), ordered by due date then id. {@code after} is the
+     * {@code next} cursor of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public AgendaResponse getAgenda(Long userId, LocalDate from, LocalDate to, String after, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(windowDays);
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+
+        Cursor cursor = after != null ? Cursor.parse(after) : new Cursor(start, 0);
+        if (cursor.dueDate().isBefore(start)) {
+            cursor = new Cursor(start, 0);
+        }
+        PageRequest pageRequest = PageRequest.ofSize(limit + 1);
+        List<Task> tasks = new ArrayList<>(
+                taskRepository.findAgenda(userId, cursor.dueDate(), cursor.id(), end, pageRequest));
+        tasks.addAll(taskRepository.findSharedAgenda(userId, cursor.dueDate(), cursor.id(), end, pageRequest));
+        tasks.sort(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId));
+
+        boolean hasMore = tasks.size() > limit;
+        List<Task> page = hasMore ? tasks.subList(0, limit) : tasks;
+        List<AgendaResponse.Item> items = page.stream()
+                .map(task -> new AgendaResponse.Item(task.getProject().getId(), TaskService.mapToResponse(task)))
+                .toList();
+        String next = page.isEmpty() ? after : new Cursor(page.get(page.size() - 1)).toString();
+        return new AgendaResponse(items, next, hasMore);
+    }
+
+    /**
+     * Keyset position: the due date and id of the last task returned, written {@code 2024-05-01:42}.
+     */
+    private record Cursor(LocalDate dueDate, long id) {
+
+        Cursor(Task task) {
+            this(task.getDueDate(), task.getId());
+        }
+
+        static Cursor parse(String value) {
+            int separator = value.indexOf(':');
+            try {
+                if (separator > 0) {
+                    return new Cursor(LocalDate.parse(value.substring(0, separator)),
+                            Long.parseLong(value.substring(separator + 1)));
+                }
+            } catch (DateTimeParseException | NumberFormatException ignored) {
+                // Reported below
+            }
+            throw new IllegalArgumentException("Invalid agenda cursor: " + value);
+        }
+
+        @Override
+        public String toString() {
+            return dueDate + ":" + id;
+        }
+    }
+}
@@ -4,12 +4,17 @@ import com.example.taskflow.dto.AuthResponse;
 import com.example.taskflow.dto.LoginRequest;
 import com.example.taskflow.model.User;
 import com.example.taskflow.security.JwtUtil;
+import com.example.taskflow.sharding.ShardRouter;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -17,15 +22,34 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final UserService userService;
+    private final ShardRouter shardRouter;
+    private final TokenRevocationService tokenRevocationService;
 
     public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
+        int shard = shardRouter.shardOf(request.getEmail());
+        Authentication authentication = shardRouter.onShard(shard, () -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
+        ));
 
         User user = (User) authentication.getPrincipal();
         String token = jwtUtil.generateToken(user);
 
         return new AuthResponse(token, user.getEmail(), user.getFullName());
     }
+
+    /**
+     * Revokes the presented token; other sessions of the user stay valid.
+     */
+    public void logout(String token) {
+        Claims claims = jwtUtil.extractAllClaims(token);
+        tokenRevocationService.revoke(claims.getId(), claims.get(JwtUtil.USER_ID_CLAIM, Number.class).longValue(),
+                LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+    }
+
+    /**
+     * Revokes every token issued to the user, including the presented one.
+     */
+    public void logoutEverywhere(Long userId) {
+        tokenRevocationService.revokeAll(userId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.BurndownResponse;
+import com.example.taskflow.model.ProjectDailyStats;
+import com.example.taskflow.model.ProjectRole;
+import com.example.taskflow.repository.ProjectDailyStatsRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the per-project, per-day burndown rows ({@link ProjectDailyStats}) and serves them. Every task
+ * mutation applies a delta to today's row inside the caller's transaction, so the history survives the
+ * deletion of its tasks. A burndown range is one primary key range scan: its cost depends on the number
+ * of days, not on the number of tasks.
+ * <p>
+ * Today's row starts from the totals of the project's latest row. A project's very first row starts from
+ * its current counts, which already include the change being recorded; only the day's activity is added.
+ * History starts with that row: days before it show zero totals.
+ */
+@Service
+public class BurndownService {
+
+    private final ProjectDailyStatsRepository dailyStatsRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectAccessCache projectAccess;
+    private final int windowDays;
+    private final int maxWindowDays;
+
+    public BurndownService(ProjectDailyStatsRepository dailyStatsRepository,
+                           TaskRepository taskRepository,
+                           ProjectAccessCache projectAccess,
+                           @Value("${projects.burndown.window-days:30}") int windowDays,
+                           @Value("${projects.burndown.max-window-days:366}") int maxWindowDays) {
+        this.dailyStatsRepository = dailyStatsRepository;
+        this.taskRepository = taskRepository;
+        this.projectAccess = projectAccess;
+        this.windowDays = windowDays;
+        this.maxWindowDays = maxWindowDays;
+    }
+
+    @Transactional
+    public void onTaskCreated(Long projectId) {
+        adjust(projectId, 1, 0, 1, 0, 0);
+    }
+
+    @Transactional
+    public void onTaskCompleted(Long projectId) {
+        adjust(projectId, 0, 1, 0, 1, 0);
+    }
+
+    @Transactional
+    public void onTaskReopened(Long projectId) {
+        adjust(projectId, 0, -1, 0, -1, 0);
+    }
+
+    /**
+     * Records the deletion of {@code total} tasks, {@code completed} of them completed; call it once they are gone.
+     */
+    @Transactional
+    public void onTasksDeleted(Long projectId, long total, long completed) {
+        if (total == 0) {
+            return;
+        }
+        adjust(projectId, (int) -total, (int) -completed, 0, 0, (int) total);
+    }
+
+    /**
+     * Imported tasks count as created today. Those imported as completed were completed earlier and raise the
+     * completed total without counting toward today's velocity.
+     */
+    @Transactional
+    public void onTasksImported(Long projectId, long total, long completed) {
+        if (total == 0) {
+            return;
+        }
+        adjust(projectId, (int) total, (int) completed, (int) total, 0, 0);
+    }
+
+    /**
+     * The burndown of {@code [from, to]} (default: the last {@code projects.burndown.window-days} days up to
+     * today), one entry per day; days without activity carry the totals of the day before.
+     */
+    @Transactional(readOnly = true)
+    public BurndownResponse getBurndown(Long projectId, LocalDate from, LocalDate to, Long userId) {
+        projectAccess.require(userId, projectId, ProjectRole.VIEWER, "Project not found");
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(windowDays - 1);
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxWindowDays) {
+            throw new IllegalArgumentException("The burndown spans at most " + maxWindowDays + " days");
+        }
+
+        List<ProjectDailyStats> rows = dailyStatsRepository.findRange(projectId, start, end);
+        List<BurndownResponse.Day> days = new ArrayList<>((int) ChronoUnit.DAYS.between(start, end) + 1);
+        int next = 0;
+        int total = 0;
+        int completedTotal = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            ProjectDailyStats today = null;
+            while (next < rows.size() && !rows.get(next).getStatDate().isAfter(date)) {
+                ProjectDailyStats row = rows.get(next++);
+                total = row.getTotalTasks();
+                completedTotal = row.getCompletedTasks();
+                if (row.getStatDate().equals(date)) {
+                    today = row;
+                }
+            }
+            days.add(new BurndownResponse.Day(date, total, completedTotal, total - completedTotal,
+                    today != null ? today.getCreated() : 0,
+                    today != null ? today.getCompleted() : 0,
+                    today != null ? today.getDeleted() : 0));
+        }
+        return new BurndownResponse(projectId, start, end, days);
+    }
+
+    private void adjust(Long projectId, int total, int completedTotal, int created, int completed, int deleted) {
+        LocalDate today = LocalDate.now();
+        if (dailyStatsRepository.increment(projectId, today, total, completedTotal, created, completed, deleted) > 0) {
+            return;
+        }
+        if (dailyStatsRepository.insertCarriedOver(projectId, today) == 0) {
+            // No earlier row: the current counts already include this change
+            TaskRepository.ProgressCounts counts = taskRepository.countProgress(projectId);
+            long archived = counts.getArchived() == null ? 0 : counts.getArchived();
+            if (dailyStatsRepository.insertIfAbsent(projectId, today, (int) (counts.getTotal() + archived),
+                    (int) (counts.getCompleted() + archived)) > 0) {
+                dailyStatsRepository.increment(projectId, today, 0, 0, created, completed, deleted);
+                return;
+            }
+        }
+        dailyStatsRepository.increment(projectId, today, total, completedTotal, created, completed, deleted);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.ProjectDeletionResponse;
+import com.example.taskflow.dto.ProjectRequest;
+import com.example.taskflow.dto.ProjectResponse;
+import com.example.taskflow.dto.ProjectWithTasksResponse;
+import com.example.taskflow.dto.TaskResponse;
+import com.example.taskflow.embedded.EmbeddedStore;
+import com.example.taskflow.embedded.StoredDeletion;
+import com.example.taskflow.embedded.StoredProject;
+import com.example.taskflow.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ProjectOperations} over the {@link EmbeddedStore}. The store keeps task counts per project, so
+ * progress is always included, and a deleted project's tasks are dropped at once: its deletion is reported
+ * as completed straight away.
+ */
+@Service
+@Primary
+@Profile("embedded")
+@RequiredArgsConstructor
+public class EmbeddedProjectService implements ProjectOperations {
+
+    private final EmbeddedStore store;
+    private final EmbeddedTaskService taskService;
+
+    @Override
+    public ProjectResponse createProject(ProjectRequest request, User user) {
+        StoredProject project = store.createProject(user.getId(), request.getTitle(), request.getDescription());
+        return mapToResponse(new EmbeddedStore.ProjectState(project, 0, 0));
+    }
+
+    @Override
+    public List<ProjectResponse> getUserProjects(Long userId, Set<String> fields) {
+        return store.projectsOf(userId)
+                .stream()
+                .map(EmbeddedProjectService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Long> getUserProjectIds(Long userId) {
+        return store.projectsOf(userId)
+                .stream()
+                .map(project -> project.project().id())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProjectWithTasksResponse> getProjectsWithTasks(List<Long> projectIds, Long userId, Set<String> fields,
+                                                               Integer taskLimit) {
+        Set<Long> requested = Set.copyOf(projectIds);
+        List<ProjectResponse> projects = getUserProjects(userId, fields)
+                .stream()
+                .filter(project -> requested.contains(project.getId()))
+                .toList();
+        Map<Long, List<TaskResponse>> tasks = taskService.getTasksOfProjects(
+                projects.stream().map(ProjectResponse::getId).toList(), taskLimit);
+        return projects.stream()
+                .map(project -> new ProjectWithTasksResponse(project, tasks.getOrDefault(project.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ProjectResponse getProjectById(Long id, Long userId) {
+        return mapToResponse(store.project(id, userId));
+    }
+
+    @Override
+    public void deleteProject(Long id, Long userId) {
+        store.deleteProject(id, userId);
+    }
+
+    @Override
+    public ProjectDeletionResponse getDeletionStatus(Long id, Long userId) {
+        StoredDeletion deletion = store.deletion(id, userId);
+        return new ProjectDeletionResponse(
+                deletion.projectId(),
+                "COMPLETED",
+                deletion.totalTasks(),
+                deletion.totalTasks(),
+                deletion.deletedAt(),
+                deletion.deletedAt()
+        );
+    }
+
+    @Override
+    public ProjectResponse calculateProgress(Long projectId) {
+        return mapToResponse(store.progress(projectId));
+    }
+
+    private static ProjectResponse mapToResponse(EmbeddedStore.ProjectState state) {
+        StoredProject project = state.project();
+        double progress = state.totalTasks() > 0 ? (state.completedTasks() * 100.0 / state.totalTasks()) : 0.0;
+        return new ProjectResponse(
+                project.id(),
+                project.title(),
+                project.description(),
+                project.createdAt(),
+                state.totalTasks(),
+                state.completedTasks(),
+                Math.round(progress * 100.0) / 100.0
+        );
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.TaskParentRequest;
+import com.example.taskflow.dto.TaskPositionRequest;
+import com.example.taskflow.dto.TaskProgressResponse;
+import com.example.taskflow.dto.TaskRequest;
+import com.example.taskflow.dto.TaskResponse;
+import com.example.taskflow.embedded.EmbeddedStore;
+import com.example.taskflow.embedded.StoredTask;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link TaskOperations} over the {@link EmbeddedStore}. The store keeps neither recurring tasks nor an archive
+ * tier, so task lists hold task rows only and {@code from}, {@code to} and {@code includeArchived} have no
+ * effect; {@code fields} is applied by the controller.
+ */
+@Service
+@Primary
+@Profile("embedded")
+@RequiredArgsConstructor
+public class EmbeddedTaskService implements TaskOperations {
+
+    private final EmbeddedStore store;
+
+    @Override
+    public TaskResponse createTask(Long projectId, TaskRequest request, Long userId) {
+        return mapToResponse(store.createTask(projectId, userId, request.getTitle(), request.getDescription(),
+                request.getDueDate(), request.getParentTaskId()));
+    }
+
+    @Override
+    public List<TaskResponse> getProjectTasks(Long projectId, LocalDate from, LocalDate to,
+                                              boolean includeArchived, Set<String> fields, Long userId) {
+        return store.tasks(projectId, userId)
+                .stream()
+                .map(EmbeddedTaskService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<Long, List<TaskResponse>> getTasksOfProjects(Collection<Long> projectIds, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("taskLimit must be at least 1");
+        }
+        Map<Long, List<TaskResponse>> tasksByProject = new HashMap<>();
+        store.tasksOf(projectIds, limit).forEach((projectId, tasks) -> tasksByProject.put(projectId,
+                tasks.stream().map(EmbeddedTaskService::mapToResponse).collect(Collectors.toList())));
+        return tasksByProject;
+    }
+
+    @Override
+    public TaskResponse toggleTaskCompletion(Long taskId, Long userId) {
+        return mapToResponse(store.toggle(taskId, userId));
+    }
+
+    @Override
+    public TaskResponse moveTask(Long projectId, Long taskId, TaskPositionRequest request, Long userId) {
+        return mapToResponse(store.move(projectId, taskId, request.getPreviousTaskId(), request.getNextTaskId(),
+                userId));
+    }
+
+    @Override
+    public List<TaskResponse> getSubtree(Long projectId, Long taskId, Long userId) {
+        return store.subtree(projectId, taskId, userId)
+                .stream()
+                .map(EmbeddedTaskService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public TaskProgressResponse getSubtreeProgress(Long projectId, Long taskId, Long userId) {
+        EmbeddedStore.SubtreeCounts counts = store.subtreeCounts(projectId, taskId, userId);
+        double progress = counts.total() > 0 ? (counts.completed() * 100.0 / counts.total()) : 0.0;
+        return new TaskProgressResponse(
+                taskId,
+                counts.total(),
+                counts.completed(),
+                Math.round(progress * 100.0) / 100.0
+        );
+    }
+
+    @Override
+    public TaskResponse moveSubtree(Long projectId, Long taskId, TaskParentRequest request, Long userId) {
+        return mapToResponse(store.moveSubtree(projectId, taskId, request.getParentTaskId(), userId));
+    }
+
+    @Override
+    public void deleteTask(Long taskId, Long userId) {
+        store.deleteTask(taskId, userId);
+    }
+
+    private static TaskResponse mapToResponse(StoredTask task) {
+        return new TaskResponse(
+                task.id(),
+                task.title(),
+                task.description(),
+                task.dueDate(),
+                task.completed(),
+                task.createdAt(),
+                task.parentId(),
+                null,
+                null,
+                false
+        );
+    }
+}
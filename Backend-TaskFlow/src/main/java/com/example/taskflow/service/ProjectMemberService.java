@@ -0,0 +1,144 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.ProjectMemberResponse;
+import com.example.taskflow.dto.ProjectShareRequest;
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.model.ProjectMember;
+import com.example.taskflow.model.ProjectRole;
+import com.example.taskflow.model.SyncEntityType;
+import com.example.taskflow.model.SyncTombstone;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ProjectMemberRepository;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.SyncTombstoneRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.example.taskflow.sharding.ShardRouter;
+import com.example.taskflow.sync.ChangeSequence;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Sharing a project with collaborators. The owner shares and unshares; a collaborator may also
+ * leave. Each change drops the collaborator's cached permissions once it commits. A new collaborator
+ * receives the project through delta sync, and one who leaves gets a tombstone for it.
+ */
+@Service
+public class ProjectMemberService {
+
+    private final ProjectMemberRepository projectMemberRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final UserRepository userRepository;
+    private final ProjectAccessCache projectAccess;
+    private final ChangeSequence changeSequence;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProjectMemberService(ProjectMemberRepository projectMemberRepository,
+                                ProjectRepository projectRepository,
+                                TaskRepository taskRepository,
+                                SyncTombstoneRepository syncTombstoneRepository,
+                                UserRepository userRepository,
+                                ProjectAccessCache projectAccess,
+                                ChangeSequence changeSequence,
+                                ShardRouter shardRouter,
+                                PlatformTransactionManager transactionManager) {
+        this.projectMemberRepository = projectMemberRepository;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.userRepository = userRepository;
+        this.projectAccess = projectAccess;
+        this.changeSequence = changeSequence;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectMemberResponse> getMembers(Long projectId, Long userId) {
+        projectAccess.require(userId, projectId, ProjectRole.VIEWER, "Project not found");
+
+        return projectMemberRepository.findMembers(projectId)
+                .stream()
+                .map(member -> new ProjectMemberResponse(member.getUserId(), member.getEmail(),
+                        member.getFullName(), member.getRole(), member.getCreatedAt()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Shares the project with the user registered under the request's email, or changes their role.
+     * A new share stamps the project and its tasks with new change sequence values: the collaborator's
+     * sync cursor may already be past them. With sharding, a collaborator on another shard is then moved to the owner's shard in the background;
+     * the project shows for them once the move is done.
+     */
+    public ProjectMemberResponse share(Long projectId, ProjectShareRequest request, User owner) {
+        projectAccess.require(owner.getId(), projectId, ProjectRole.OWNER, "Project not found");
+        if (request.getRole() == ProjectRole.OWNER) {
+            throw new IllegalArgumentException("Role must be VIEWER or EDITOR");
+        }
+        // Outside the transaction, whose connection belongs to the owner's shard
+        int shard = shardRouter.shardOf(request.getEmail());
+        User collaborator = shardRouter.onShard(shard, () -> userRepository.findByEmail(request.getEmail()))
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (collaborator.getId().equals(owner.getId())) {
+            throw new IllegalArgumentException("The owner cannot be added as a collaborator");
+        }
+
+        ProjectMember saved = transactionTemplate.execute(status -> {
+            projectAccess.requireCurrent(owner.getId(), projectId, ProjectRole.OWNER, "Project not found",
+                    () -> projectRepository.findForWrite(projectId, owner.getId(), ProjectRole.OWNER.memberRoles()));
+            Optional<ProjectMember> existing = projectMemberRepository
+                    .findById(new ProjectMember.Key(projectId, collaborator.getId()));
+            ProjectMember member = existing.orElseGet(() -> {
+                ProjectMember created = new ProjectMember();
+                created.setProjectId(projectId);
+                created.setUserId(collaborator.getId());
+                return created;
+            });
+            member.setRole(request.getRole());
+            if (existing.isEmpty()) {
+                LocalDateTime now = LocalDateTime.now();
+                projectRepository.restamp(projectId, now);
+                taskRepository.restampByProjectId(projectId, now);
+            }
+            projectAccess.invalidateAfterCommit(List.of(collaborator.getId()));
+            return projectMemberRepository.save(member);
+        });
+        if (shard != shardRouter.currentShard()) {
+            shardRouter.colocate(collaborator.getEmail(), owner.getEmail());
+        }
+
+        return new ProjectMemberResponse(collaborator.getId(), collaborator.getEmail(), collaborator.getFullName(),
+                saved.getRole(), saved.getCreatedAt());
+    }
+
+    /**
+     * Removes a collaborator; the owner removes anyone, a collaborator only themselves.
+     */
+    @Transactional
+    public void unshare(Long projectId, Long memberUserId, Long userId) {
+        ProjectRole required = memberUserId.equals(userId) ? ProjectRole.VIEWER : ProjectRole.OWNER;
+        projectAccess.require(userId, projectId, required, "Project not found");
+
+        ProjectMember member = projectMemberRepository
+                .findForWrite(projectId, memberUserId, userId, required.memberRoles())
+                .orElseThrow(() -> {
+                    projectAccess.recheck(userId, projectId, required, "Project not found");
+                    return new ResourceNotFoundException("Member not found");
+                });
+        projectMemberRepository.delete(member);
+        syncTombstoneRepository.save(new SyncTombstone(changeSequence.next(), memberUserId, SyncEntityType.PROJECT,
+                projectId, null, LocalDateTime.now()));
+        projectAccess.invalidateAfterCommit(List.of(memberUserId));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.ProjectDeletionResponse;
+import com.example.taskflow.dto.ProjectRequest;
+import com.example.taskflow.dto.ProjectResponse;
+import com.example.taskflow.dto.ProjectWithTasksResponse;
+import com.example.taskflow.model.User;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The project operations behind the project endpoints, implemented by {@link ProjectService} over the database
+ * and by {@link EmbeddedProjectService} over the embedded storage engine ({@code embedded} profile).
+ */
+public interface ProjectOperations {
+
+    ProjectResponse createProject(ProjectRequest request, User user);
+
+    List<ProjectResponse> getUserProjects(Long userId, Set<String> fields);
+
+    List<Long> getUserProjectIds(Long userId);
+
+    List<ProjectWithTasksResponse> getProjectsWithTasks(List<Long> projectIds, Long userId, Set<String> fields,
+                                                        Integer taskLimit);
+
+    ProjectResponse getProjectById(Long id, Long userId);
+
+    void deleteProject(Long id, Long userId);
+
+    ProjectDeletionResponse getDeletionStatus(Long id, Long userId);
+
+    ProjectResponse calculateProgress(Long projectId);
+}
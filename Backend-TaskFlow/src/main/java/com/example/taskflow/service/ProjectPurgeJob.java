@@ -0,0 +1,94 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.model.ProjectDeletion;
+import com.example.taskflow.repository.ArchivedTaskRepository;
+import com.example.taskflow.repository.ProjectDeletionRepository;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.TaskRecurrenceRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Purges the tasks of tombstoned projects with set-based DELETEs of bounded size.
+ * Each chunk and its progress update commit together, so locks are held briefly
+ * and a crash only loses the chunk in flight; the next run picks up the remaining rows.
+ */
+@Component
+@Slf4j
+public class ProjectPurgeJob {
+
+    private final ProjectDeletionRepository projectDeletionRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TaskRecurrenceRepository recurrenceRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final int chunkSize;
+
+    public ProjectPurgeJob(ProjectDeletionRepository projectDeletionRepository,
+                           ProjectRepository projectRepository,
+                           TaskRepository taskRepository,
+                           TaskRecurrenceRepository recurrenceRepository,
+                           ArchivedTaskRepository archivedTaskRepository,
+                           PlatformTransactionManager transactionManager,
+                           ShardRouter shardRouter,
+                           @Value("${projects.purge.chunk-size:1000}") int chunkSize) {
+        this.projectDeletionRepository = projectDeletionRepository;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.recurrenceRepository = recurrenceRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${projects.purge.interval-ms:5000}")
+    public void purgePending() {
+        shardRouter.forEachShard(this::purgeShard);
+    }
+
+    private void purgeShard() {
+        for (ProjectDeletion deletion : projectDeletionRepository.findByCompletedAtIsNullOrderByRequestedAt()) {
+            try {
+                purge(deletion.getProjectId());
+            } catch (RuntimeException ex) {
+                log.warn("Purge of project {} interrupted; it will resume on the next run", deletion.getProjectId(), ex);
+            }
+        }
+    }
+
+    void purge(Long projectId) {
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                int count = taskRepository.deleteChunkByProjectId(projectId, chunkSize);
+                projectDeletionRepository.addPurged(projectId, count);
+                return count;
+            });
+        } while (deleted == chunkSize);
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                int count = archivedTaskRepository.deleteChunkByProjectId(projectId, chunkSize);
+                projectDeletionRepository.addPurged(projectId, count);
+                return count;
+            });
+        } while (deleted == chunkSize);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            recurrenceRepository.deleteByProjectId(projectId);
+            projectRepository.deleteTombstoned(projectId);
+            projectDeletionRepository.markCompleted(projectId, LocalDateTime.now());
+        });
+        log.info("Purged tombstoned project {}", projectId);
+    }
+}
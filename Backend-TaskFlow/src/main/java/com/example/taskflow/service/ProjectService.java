@@ -1,25 +1,60 @@
 package com.example.taskflow.service;
 
+import com.example.taskflow.dto.ProjectDeletionResponse;
 import com.example.taskflow.dto.ProjectRequest;
 import com.example.taskflow.dto.ProjectResponse;
+import com.example.taskflow.dto.ProjectWithTasksResponse;
+import com.example.taskflow.dto.TaskResponse;
 import com.example.taskflow.exception.ResourceNotFoundException;
 import com.example.taskflow.model.Project;
+import com.example.taskflow.model.ProjectDeletion;
+import com.example.taskflow.model.ProjectRole;
+import com.example.taskflow.model.SyncEntityType;
+import com.example.taskflow.model.SyncTombstone;
 import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ProjectDeletionRepository;
+import com.example.taskflow.repository.ProjectMemberRepository;
 import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.SparseColumnRepository;
+import com.example.taskflow.repository.SyncTombstoneRepository;
 import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.example.taskflow.security.ProjectPermissions;
+import com.example.taskflow.sync.ChangeSequence;
+import com.example.taskflow.webhook.WebhookOutbox;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class ProjectService {
+public class ProjectService implements ProjectOperations {
+
+    /** Response fields read from a column of the same name; the progress fields are computed. */
+    private static final Set<String> PROJECT_COLUMNS = Set.of("title", "description", "createdAt");
 
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
+    private final ProjectDeletionRepository projectDeletionRepository;
+    private final UserStatsService userStatsService;
+    private final RecurrenceService recurrenceService;
+    private final SparseColumnRepository sparseColumnRepository;
+    private final TaskService taskService;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final ChangeSequence changeSequence;
+    private final ProjectAccessCache projectAccess;
+    private final ProjectMemberRepository projectMemberRepository;
+    private final ReadCoalescer readCoalescer;
+    private final WebhookOutbox webhookOutbox;
 
     @Transactional
     public ProjectResponse createProject(ProjectRequest request, User user) {
@@ -29,51 +64,155 @@ public class ProjectService {
         project.setUser(user);
 
         Project saved = projectRepository.save(project);
-        return mapToResponse(saved);
+        projectAccess.invalidateAfterCommit(List.of(user.getId()));
+        ProjectResponse created = mapToResponse(saved);
+        webhookOutbox.publish(WebhookOutbox.PROJECT_CREATED, saved.getId(), created);
+        return created;
     }
 
+    /**
+     * The projects the user owns and those shared with them, read by id from the user's cached
+     * permissions ({@link ProjectAccessCache}) with one primary key lookup.
+     * With {@code fields} (a subset of {@link ProjectResponse#FIELDS}) only the columns behind them are read,
+     * and progress is computed only if a progress field is requested; the other properties are unset.
+     */
     @Transactional(readOnly = true)
-    public List<ProjectResponse> getUserProjects(Long userId) {
-        return projectRepository.findByUserId(userId)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<ProjectResponse> getUserProjects(Long userId, Set<String> fields) {
+        return findProjects(projectAccess.permissionsOf(userId).projectIds(), fields);
     }
 
+    /**
+     * The ids of the projects the user owns and those shared with them, in id order, from the cached permissions.
+     */
+    public List<Long> getUserProjectIds(Long userId) {
+        return projectAccess.permissionsOf(userId).projectIds();
+    }
+
+    /**
+     * Some of the user's projects ({@link #getUserProjectIds}) with their tasks embedded
+     * ({@link TaskService#getTasksOfProjects}), for clients that would otherwise fetch each project's tasks
+     * separately. The tasks of every project are read with one query; ids the user has no access to are skipped.
+     */
     @Transactional(readOnly = true)
-    public ProjectResponse getProjectById(Long id, Long userId) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+    public List<ProjectWithTasksResponse> getProjectsWithTasks(List<Long> projectIds, Long userId, Set<String> fields,
+                                                               Integer taskLimit) {
+        ProjectPermissions permissions = projectAccess.permissionsOf(userId);
+        List<ProjectResponse> projects = findProjects(
+                projectIds.stream().filter(id -> permissions.find(id) != null).toList(), fields);
+        Map<Long, List<TaskResponse>> tasks = taskService.getTasksOfProjects(
+                projects.stream().map(ProjectResponse::getId).toList(), taskLimit);
+        return projects.stream()
+                .map(project -> new ProjectWithTasksResponse(project, tasks.getOrDefault(project.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
 
-        if (!project.getUser().getId().equals(userId)) {
-            throw new ResourceNotFoundException("Project not found");
+    private List<ProjectResponse> findProjects(List<Long> projectIds, Set<String> fields) {
+        if (projectIds.isEmpty()) {
+            return List.of();
+        }
+        if (fields == null) {
+            return projectRepository.findLiveByIds(projectIds)
+                    .stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
         }
 
-        return mapToResponse(project);
+        boolean progress = fields.stream().anyMatch(ProjectResponse.PROGRESS_FIELDS::contains);
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add("id");
+        for (String field : fields) {
+            if (PROJECT_COLUMNS.contains(field)) {
+                columns.add(field);
+            }
+        }
+        if (progress) {
+            columns.add("archivedTasks");
+        }
+        return sparseColumnRepository.findProjects(projectIds, columns)
+                .stream()
+                .map(project -> progress ? mapToResponse(project) : new ProjectResponse(project.getId(),
+                        project.getTitle(), project.getDescription(), project.getCreatedAt(), 0, 0, 0.0))
+                .collect(Collectors.toList());
     }
 
+    /**
+     * Identical concurrent calls, whoever makes them, share one execution ({@link ReadCoalescer}).
+     */
+    public ProjectResponse getProjectById(Long id, Long userId) {
+        projectAccess.require(userId, id, ProjectRole.VIEWER, "Project not found");
+
+        return readCoalescer.read("project", id, () -> mapToResponse(projectRepository.findById(id)
+                .filter(p -> p.getDeletedAt() == null)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found"))));
+    }
+
+    /**
+     * Tombstones the project so it disappears from every read path immediately.
+     * Its tasks are purged in bounded chunks by {@link ProjectPurgeJob}. One sync tombstone per user
+     * covers the project and its tasks. Only the owner deletes; the cached permissions of the owner and
+     * every collaborator are dropped.
+     */
     @Transactional
     public void deleteProject(Long id, Long userId) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
-
-        if (!project.getUser().getId().equals(userId)) {
-            throw new ResourceNotFoundException("Project not found");
+        Project project = projectAccess.requireCurrent(userId, id, ProjectRole.OWNER, "Project not found",
+                () -> projectRepository.findForWrite(id, userId, ProjectRole.OWNER.memberRoles()));
+
+        userStatsService.onProjectDeleted(userId, id);
+        project.setDeletedAt(LocalDateTime.now());
+        projectRepository.save(project);
+        List<Long> users = new ArrayList<>(projectMemberRepository.findUserIds(id));
+        users.add(userId);
+        for (Long user : users) {
+            syncTombstoneRepository.save(new SyncTombstone(changeSequence.next(), user, SyncEntityType.PROJECT, id,
+                    null, project.getDeletedAt()));
         }
 
-        projectRepository.delete(project);
+        ProjectDeletion deletion = new ProjectDeletion();
+        deletion.setProjectId(id);
+        deletion.setUserId(userId);
+        deletion.setTotalTasks(taskRepository.countByProjectId(id) + project.getArchivedTasks());
+        projectDeletionRepository.save(deletion);
+
+        projectAccess.invalidateAfterCommit(users);
+        readCoalescer.invalidateAfterCommit(id);
+        webhookOutbox.publish(WebhookOutbox.PROJECT_DELETED, id, Map.of("id", id, "deletedAt", project.getDeletedAt()));
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectDeletionResponse getDeletionStatus(Long id, Long userId) {
+        ProjectDeletion deletion = projectDeletionRepository.findByProjectIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project deletion not found"));
+
+        return new ProjectDeletionResponse(
+                deletion.getProjectId(),
+                deletion.getCompletedAt() == null ? "PENDING" : "COMPLETED",
+                deletion.getTotalTasks(),
+                Math.min(deletion.getPurgedTasks(), deletion.getTotalTasks()),
+                deletion.getRequestedAt(),
+                deletion.getCompletedAt()
+        );
     }
 
     public ProjectResponse calculateProgress(Long projectId) {
         Project project = projectRepository.findById(projectId)
+                .filter(p -> p.getDeletedAt() == null)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
 
         return mapToResponse(project);
     }
 
+    /**
+     * Progress counts task rows in both tiers plus the virtual occurrences of recurring tasks due so far,
+     * which are never completed (completing one materializes it as a row). Archived tasks are all
+     * completed and come from the project's counter, so the archive itself is never read. Both tiers are
+     * counted by one statement: a task toggled, deleted or archived meanwhile is counted once, consistently.
+     */
     private ProjectResponse mapToResponse(Project project) {
-        int total = taskRepository.findByProjectId(project.getId()).size();
-        int completed = taskRepository.countByProjectIdAndCompleted(project.getId(), true);
+        TaskRepository.ProgressCounts counts = taskRepository.countProgress(project.getId());
+        long archived = counts.getArchived() == null ? 0 : counts.getArchived();
+        int total = (int) (counts.getTotal() + archived
+                + recurrenceService.countVirtualDue(project.getId(), LocalDate.now()));
+        int completed = (int) (counts.getCompleted() + archived);
         double progress = total > 0 ? (completed * 100.0 / total) : 0.0;
 
         return new ProjectResponse(
@@ -0,0 +1,107 @@
+package com.example.taskflow.service;
+
+/**
+ * Lexicographic ranks for manual task ordering. A rank is a base-36 fraction written with
+ * {@code 0-9a-z}, so plain string comparison orders tasks and a new rank can always be found
+ * between two others without touching any other row.
+ * Ranks never end in {@code 0}, which guarantees a free rank below every rank.
+ */
+public final class RankGenerator {
+
+    static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    /** Width of the {@code sort_rank} columns; a longer rank cannot be stored. */
+    public static final int MAX_LENGTH = 64;
+    private static final int BASE = ALPHABET.length();
+
+    private RankGenerator() {
+    }
+
+    /**
+     * A rank strictly between {@code lower} and {@code upper}; null bounds are open.
+     * The result is at most one character longer than the longer bound.
+     */
+    public static String between(String lower, String upper) {
+        String low = lower == null ? "" : lower;
+        if (upper != null && low.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("No rank between " + lower + " and " + upper);
+        }
+        String high = upper;
+        StringBuilder rank = new StringBuilder();
+        for (int i = 0; ; i++) {
+            int lowDigit = i < low.length() ? digit(low.charAt(i)) : 0;
+            int highDigit = high == null ? BASE : i < high.length() ? digit(high.charAt(i)) : 0;
+            if (highDigit - lowDigit > 1) {
+                return rank.append(ALPHABET.charAt((lowDigit + highDigit) / 2)).toString();
+            }
+            rank.append(ALPHABET.charAt(lowDigit));
+            if (highDigit > lowDigit) {
+                // The prefix is now below the upper bound, so any continuation stays below it
+                high = null;
+            }
+        }
+    }
+
+    /**
+     * A rank after {@code lower} for appending: the shortest prefix of {@code lower} whose last
+     * digit can be incremented is incremented, so repeated appends grow one character per 35 tasks
+     * instead of one per five with midpoints.
+     */
+    public static String after(String lower) {
+        if (lower == null || lower.isEmpty()) {
+            return String.valueOf(ALPHABET.charAt(BASE / 2));
+        }
+        StringBuilder rank = new StringBuilder();
+        for (int i = 0; ; i++) {
+            int digit = i < lower.length() ? digit(lower.charAt(i)) : 0;
+            if (digit < BASE - 1) {
+                return rank.append(ALPHABET.charAt(digit + 1)).toString();
+            }
+            rank.append(ALPHABET.charAt(digit));
+        }
+    }
+
+    /**
+     * {@code count} ascending ranks of equal length, all above {@code lower}: a short prefix from
+     * {@link #after(String)} followed by {@link #spread(int)}. Used to append tasks in bulk.
+     */
+    public static String[] after(String lower, int count) {
+        String prefix = after(lower);
+        String[] ranks = spread(count);
+        for (int i = 0; i < count; i++) {
+            ranks[i] = prefix + ranks[i];
+        }
+        return ranks;
+    }
+
+    /**
+     * {@code count} evenly spaced ranks of equal, minimal length, in ascending order.
+     */
+    public static String[] spread(int count) {
+        int width = 1;
+        long slots = BASE;
+        while (slots <= count) {
+            width++;
+            slots *= BASE;
+        }
+        long step = slots / (count + 1);
+        String[] ranks = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder rank = new StringBuilder(Long.toString(step * (i + 1), BASE));
+            while (rank.length() < width) {
+                rank.insert(0, '0');
+            }
+            // A fixed non-zero last digit keeps the "never ends in 0" invariant
+            ranks[i] = rank.append('i').toString();
+        }
+        return ranks;
+    }
+
+    private static int digit(char c) {
+        int digit = ALPHABET.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid rank character: " + c);
+        }
+        return digit;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.sharding.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of project reads: concurrent calls of the same operation with the same parameters
+ * share one execution and its result, so a team opening a project at once, or clients polling in step, cost
+ * one set of queries instead of one per caller. The caller checks access first; results must not depend on
+ * who asks. Nothing is kept once the execution finishes: this is not a cache.
+ * <p>
+ * Writes to a project detach its executions in flight once they commit ({@link #invalidateAfterCommit}), so a
+ * read that starts after a write, such as the writer's own next request, never joins an execution that may
+ * predate it. A call inside an existing transaction is never shared, as it may see that transaction's writes.
+ * Metrics: {@code reads.coalescing.calls}, tagged by operation and by {@code result} ({@code executed} or
+ * {@code shared}), {@code reads.coalescing.hit-ratio} (shared calls over all calls) and
+ * {@code reads.coalescing.in-flight}.
+ */
+@Component
+public class ReadCoalescer {
+
+    private final TransactionTemplate readOnly;
+    private final MeterRegistry registry;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executed = new ConcurrentHashMap<>();
+    private final Map<String, Counter> shared = new ConcurrentHashMap<>();
+
+    public ReadCoalescer(PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.registry = registry;
+
+        Gauge.builder("reads.coalescing.in-flight", inFlight, Map::size).register(registry);
+        Gauge.builder("reads.coalescing.hit-ratio", this, ReadCoalescer::hitRatio).register(registry);
+    }
+
+    /**
+     * Runs {@code load} in a read-only transaction, or returns the result of an identical call already running.
+     * An exception of the shared execution is thrown to every caller.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(String operation, Long projectId, Supplier<T> load, Object... parameters) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return load.get();
+        }
+
+        Key key = new Key(operation, ShardContext.current(), projectId, Arrays.asList(parameters));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            counter(shared, operation, "shared").increment();
+            try {
+                return (T) running.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+
+        counter(executed, operation, "executed").increment();
+        try {
+            T result = readOnly.execute(status -> load.get());
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Detaches the project's executions in flight when the current transaction completes, or right away
+     * outside of one. Callers already waiting still get their result; later ones start a new execution.
+     */
+    public void invalidateAfterCommit(Long projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(projectId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(projectId);
+            }
+        });
+    }
+
+    public void invalidate(Long projectId) {
+        inFlight.keySet().removeIf(key -> key.projectId().equals(projectId));
+    }
+
+    /**
+     * Share of calls answered by another call's execution since startup.
+     */
+    public double hitRatio() {
+        double hits = total(shared);
+        double calls = hits + total(executed);
+        return calls == 0 ? 0.0 : hits / calls;
+    }
+
+    private Counter counter(Map<String, Counter> counters, String operation, String result) {
+        return counters.computeIfAbsent(operation, op -> Counter.builder("reads.coalescing.calls")
+                .tag("operation", op)
+                .tag("result", result)
+                .register(registry));
+    }
+
+    private static double total(Map<String, Counter> counters) {
+        return counters.values().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private record Key(String operation, Integer shard, Long projectId, List<Object> parameters) {
+    }
+}
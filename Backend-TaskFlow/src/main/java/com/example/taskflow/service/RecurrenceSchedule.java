@@ -0,0 +1,109 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.model.TaskRecurrence;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Expands a {@link TaskRecurrence} into occurrence dates. Expansion jumps straight to the first
+ * period of the requested window, so its cost depends on the window, not on how long ago the rule started.
+ * Monthly rules on the 29th-31st fall on the last day of shorter months.
+ */
+public final class RecurrenceSchedule {
+
+    private RecurrenceSchedule() {
+    }
+
+    /**
+     * Occurrences within {@code [from, to]}, in date order.
+     */
+    public static List<LocalDate> occurrences(TaskRecurrence rule, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        forEach(rule, from, to, dates::add);
+        return dates;
+    }
+
+    /**
+     * Number of occurrences within {@code [from, to]}, without collecting them.
+     */
+    public static long count(TaskRecurrence rule, LocalDate from, LocalDate to) {
+        long[] count = {0};
+        forEach(rule, from, to, date -> count[0]++);
+        return count[0];
+    }
+
+    public static boolean occursOn(TaskRecurrence rule, LocalDate date) {
+        return count(rule, date, date) == 1;
+    }
+
+    public static int toMask(Collection<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << day.ordinal();
+        }
+        return mask;
+    }
+
+    public static Set<DayOfWeek> fromMask(int mask) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & (1 << day.ordinal())) != 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    private static void forEach(TaskRecurrence rule, LocalDate from, LocalDate to, Consumer<LocalDate> action) {
+        LocalDate start = rule.getStartDate();
+        LocalDate first = from.isBefore(start) ? start : from;
+        LocalDate last = rule.getEndDate() != null && rule.getEndDate().isBefore(to) ? rule.getEndDate() : to;
+        if (first.isAfter(last)) {
+            return;
+        }
+        int interval = rule.getInterval();
+
+        switch (rule.getFrequency()) {
+            case DAILY -> {
+                long periods = (ChronoUnit.DAYS.between(start, first) + interval - 1) / interval;
+                for (LocalDate date = start.plusDays(periods * interval); !date.isAfter(last); date = date.plusDays(interval)) {
+                    action.accept(date);
+                }
+            }
+            case WEEKLY -> {
+                Set<DayOfWeek> days = rule.getWeekdays() == 0
+                        ? EnumSet.of(start.getDayOfWeek())
+                        : fromMask(rule.getWeekdays());
+                LocalDate startWeek = start.with(DayOfWeek.MONDAY);
+                long periods = ChronoUnit.WEEKS.between(startWeek, first.with(DayOfWeek.MONDAY)) / interval;
+                for (LocalDate week = startWeek.plusWeeks(periods * interval); !week.isAfter(last); week = week.plusWeeks(interval)) {
+                    for (DayOfWeek day : days) {
+                        LocalDate date = week.plusDays(day.ordinal());
+                        if (!date.isBefore(first) && !date.isAfter(last)) {
+                            action.accept(date);
+                        }
+                    }
+                }
+            }
+            case MONTHLY -> {
+                YearMonth startMonth = YearMonth.from(start);
+                long periods = ChronoUnit.MONTHS.between(startMonth, YearMonth.from(first)) / interval;
+                for (YearMonth month = startMonth.plusMonths(periods * interval); !month.atDay(1).isAfter(last); month = month.plusMonths(interval)) {
+                    LocalDate date = month.atDay(Math.min(start.getDayOfMonth(), month.lengthOfMonth()));
+                    if (!date.isBefore(first) && !date.isAfter(last)) {
+                        action.accept(date);
+                    }
+                }
+            }
+        }
+    }
+}
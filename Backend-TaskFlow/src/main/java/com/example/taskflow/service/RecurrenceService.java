@@ -0,0 +1,207 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.RecurrenceRequest;
+import com.example.taskflow.dto.RecurrenceResponse;
+import com.example.taskflow.dto.TaskResponse;
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.ProjectRole;
+import com.example.taskflow.model.Task;
+import com.example.taskflow.model.TaskRecurrence;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.TaskRecurrenceRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stores recurring tasks as one rule each and expands them on read. Occurrences without a task row
+ * are "virtual": they are computed for the requested window only and cost no query of their own.
+ */
+@Service
+public class RecurrenceService {
+
+    private final TaskRecurrenceRepository recurrenceRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectAccessCache projectAccess;
+    private final ReadCoalescer readCoalescer;
+    private final int windowDays;
+    private final int maxWindowDays;
+
+    public RecurrenceService(TaskRecurrenceRepository recurrenceRepository,
+                             TaskRepository taskRepository,
+                             ProjectRepository projectRepository,
+                             ProjectAccessCache projectAccess,
+                             ReadCoalescer readCoalescer,
+                             @Value("${tasks.recurrence.window-days:14}") int windowDays,
+                             @Value("${tasks.recurrence.max-window-days:366}") int maxWindowDays) {
+        this.recurrenceRepository = recurrenceRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.projectAccess = projectAccess;
+        this.readCoalescer = readCoalescer;
+        this.windowDays = windowDays;
+        this.maxWindowDays = maxWindowDays;
+    }
+
+    @Transactional
+    public RecurrenceResponse createRecurrence(Long projectId, RecurrenceRequest request, Long userId) {
+        Project project = projectAccess.requireCurrent(userId, projectId, ProjectRole.EDITOR, "Project not found",
+                () -> projectRepository.findForWrite(projectId, userId, ProjectRole.EDITOR.memberRoles()));
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        TaskRecurrence recurrence = new TaskRecurrence();
+        recurrence.setTitle(request.getTitle());
+        recurrence.setDescription(request.getDescription());
+        recurrence.setFrequency(request.getFrequency());
+        recurrence.setInterval(request.getInterval());
+        recurrence.setWeekdays(RecurrenceSchedule.toMask(request.getDaysOfWeek()));
+        recurrence.setStartDate(request.getStartDate());
+        recurrence.setEndDate(request.getEndDate());
+        recurrence.setProject(project);
+        readCoalescer.invalidateAfterCommit(projectId);
+        return mapToResponse(recurrenceRepository.save(recurrence));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurrenceResponse> getRecurrences(Long projectId, Long userId) {
+        projectAccess.require(userId, projectId, ProjectRole.VIEWER, "Project not found");
+
+        return recurrenceRepository.findByProjectIdOrderById(projectId)
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Deletes the rule; occurrences already materialized stay as ordinary tasks.
+     */
+    @Transactional
+    public void deleteRecurrence(Long projectId, Long recurrenceId, Long userId) {
+        recurrenceRepository.delete(findOwnedRecurrence(projectId, recurrenceId, userId, false));
+        readCoalescer.invalidateAfterCommit(projectId);
+    }
+
+    /**
+     * Loads a rule of a project the user may edit, optionally locking it for materializing one of its occurrences.
+     */
+    @Transactional
+    public TaskRecurrence findOwnedRecurrence(Long projectId, Long recurrenceId, Long userId, boolean lock) {
+        projectAccess.require(userId, projectId, ProjectRole.EDITOR, "Project not found");
+
+        List<ProjectRole> roles = ProjectRole.EDITOR.memberRoles();
+        return (lock
+                ? recurrenceRepository.lockForWrite(recurrenceId, projectId, userId, roles)
+                : recurrenceRepository.findForWrite(recurrenceId, projectId, userId, roles))
+                .orElseThrow(() -> {
+                    projectAccess.recheck(userId, projectId, ProjectRole.EDITOR, "Project not found");
+                    return new ResourceNotFoundException("Recurrence not found");
+                });
+    }
+
+    /**
+     * Virtual occurrences of every rule of the project within {@code [from, to]}, in date order.
+     * {@code tasks} are the project's task rows; occurrences materialized among them are skipped.
+     * Null bounds default to a window of {@code tasks.recurrence.window-days} starting today.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> expand(Long projectId, List<Task> tasks, LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(windowDays - 1);
+        if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) >= maxWindowDays) {
+            throw new IllegalArgumentException("The window must span 1 to " + maxWindowDays + " days");
+        }
+
+        List<TaskRecurrence> recurrences = recurrenceRepository.findByProjectIdOrderById(projectId);
+        if (recurrences.isEmpty()) {
+            return List.of();
+        }
+        Set<Occurrence> materialized = new HashSet<>();
+        for (Task task : tasks) {
+            if (task.getRecurrenceId() != null) {
+                materialized.add(new Occurrence(task.getRecurrenceId(), task.getOccurrenceDate()));
+            }
+        }
+
+        List<TaskResponse> occurrences = new ArrayList<>();
+        for (TaskRecurrence recurrence : recurrences) {
+            for (LocalDate date : RecurrenceSchedule.occurrences(recurrence, start, end)) {
+                if (!materialized.contains(new Occurrence(recurrence.getId(), date))) {
+                    occurrences.add(virtualOccurrence(recurrence, date));
+                }
+            }
+        }
+        occurrences.sort((a, b) -> a.getDueDate().compareTo(b.getDueDate()));
+        return occurrences;
+    }
+
+    /**
+     * Virtual occurrences of the project due up to and including {@code date}, for progress figures.
+     * Counted from the rules in memory; materialized occurrences are subtracted with one grouped query.
+     */
+    @Transactional(readOnly = true)
+    public long countVirtualDue(Long projectId, LocalDate date) {
+        List<TaskRecurrence> recurrences = recurrenceRepository.findByProjectIdOrderById(projectId);
+        if (recurrences.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Long> materialized = new HashMap<>();
+        for (TaskRepository.RecurrenceCount count : taskRepository.countMaterializedThrough(projectId, date)) {
+            materialized.put(count.getRecurrenceId(), count.getCount());
+        }
+
+        long virtual = 0;
+        for (TaskRecurrence recurrence : recurrences) {
+            long due = RecurrenceSchedule.count(recurrence, recurrence.getStartDate(), date);
+            virtual += Math.max(0, due - materialized.getOrDefault(recurrence.getId(), 0L));
+        }
+        return virtual;
+    }
+
+    private TaskResponse virtualOccurrence(TaskRecurrence recurrence, LocalDate date) {
+        return new TaskResponse(
+                null,
+                recurrence.getTitle(),
+                recurrence.getDescription(),
+                date,
+                false,
+                recurrence.getCreatedAt(),
+                null,
+                recurrence.getId(),
+                date,
+                false
+        );
+    }
+
+    private RecurrenceResponse mapToResponse(TaskRecurrence recurrence) {
+        return new RecurrenceResponse(
+                recurrence.getId(),
+                recurrence.getTitle(),
+                recurrence.getDescription(),
+                recurrence.getFrequency(),
+                recurrence.getInterval(),
+                RecurrenceSchedule.fromMask(recurrence.getWeekdays()),
+                recurrence.getStartDate(),
+                recurrence.getEndDate(),
+                recurrence.getCreatedAt()
+        );
+    }
+
+    private record Occurrence(Long recurrenceId, LocalDate date) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.ProjectResponse;
+import com.example.taskflow.dto.SyncResponse;
+import com.example.taskflow.dto.TaskResponse;
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.exception.SyncExpiredException;
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.SyncTombstone;
+import com.example.taskflow.model.Task;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.SyncTombstoneRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Delta sync: everything written for a user after a position in the change sequence, in pages.
+ * It covers the projects the user owns and those shared with them. Sharing a project stamps it and its
+ * tasks again so a new collaborator receives them whatever their cursor; revoking the share leaves them a
+ * project tombstone.
+ * <p>
+ * Sequence values are taken when a row is written but become visible when its transaction commits, so a
+ * value can appear after a higher one was already synced. Changes younger than {@code sync.settle-window}
+ * are therefore held back: by the time a change is older than that, every transaction that took a lower
+ * value has committed, unless it ran longer than the window. Such a transaction's changes are skipped by
+ * clients whose cursor passed them in the meantime; {@link com.example.taskflow.sync.ChangeSequence} logs
+ * and counts those commits, and the window must stay above the longest write transaction.
+ */
+@Service
+public class SyncService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final UserRepository userRepository;
+    private final Duration settleWindow;
+    private final int maxPageSize;
+
+    public SyncService(ProjectRepository projectRepository,
+                       TaskRepository taskRepository,
+                       SyncTombstoneRepository syncTombstoneRepository,
+                       UserRepository userRepository,
+                       @Value("${sync.settle-window:5s}") Duration settleWindow,
+                       @Value("${sync.max-page-size:1000}") int maxPageSize) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.userRepository = userRepository;
+        this.settleWindow = settleWindow;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code since}, oldest first. Each source is read for at most
+     * {@code limit} rows, the user's own rows through (owner, sequence) indexes and those of shared projects
+     * through (project, sequence) indexes, and the six are merged by sequence.
+     * A cursor below the user's compaction horizon may have missed deletions and needs a full sync ({@code since=0}).
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse getChanges(Long userId, long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        long horizon = userRepository.findSyncHorizon(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (since > 0 && since < horizon) {
+            throw new SyncExpiredException("Changes before " + horizon + " were compacted; sync again from since=0");
+        }
+
+        LocalDateTime settledBefore = LocalDateTime.now().minus(settleWindow);
+        Pageable page = PageRequest.ofSize(limit + 1);
+        List<Change> changes = new ArrayList<>();
+        List<Project> projects = new ArrayList<>(projectRepository.findChangedSince(userId, since, settledBefore, page));
+        projects.addAll(projectRepository.findSharedChangedSince(userId, since, settledBefore, page));
+        for (Project project : projects) {
+            changes.add(new Change(project.getChangeSeq(), project));
+        }
+        List<Task> tasks = new ArrayList<>(taskRepository.findChangedSince(userId, since, settledBefore, page));
+        tasks.addAll(taskRepository.findSharedChangedSince(userId, since, settledBefore, page));
+        for (Task task : tasks) {
+            changes.add(new Change(task.getChangeSeq(), task));
+        }
+        List<SyncTombstone> tombstones = new ArrayList<>(
+                syncTombstoneRepository.findChangedSince(userId, since, settledBefore, page));
+        tombstones.addAll(syncTombstoneRepository.findSharedChangedSince(userId, since, settledBefore, page));
+        for (SyncTombstone tombstone : tombstones) {
+            changes.add(new Change(tombstone.getChangeSeq(), tombstone));
+        }
+        changes.sort(Comparator.comparingLong(Change::seq));
+
+        boolean hasMore = changes.size() > limit;
+        List<Change> pageChanges = hasMore ? changes.subList(0, limit) : changes;
+        List<ProjectResponse> changedProjects = new ArrayList<>();
+        List<TaskResponse> changedTasks = new ArrayList<>();
+        List<SyncResponse.Deletion> deleted = new ArrayList<>();
+        long next = since;
+        for (Change change : pageChanges) {
+            if (change.row() instanceof Project project) {
+                changedProjects.add(new ProjectResponse(project.getId(), project.getTitle(), project.getDescription(),
+                        project.getCreatedAt(), 0, 0, 0.0));
+            } else if (change.row() instanceof Task task) {
+                changedTasks.add(TaskService.mapToResponse(task));
+            } else {
+                SyncTombstone tombstone = (SyncTombstone) change.row();
+                deleted.add(new SyncResponse.Deletion(tombstone.getEntityType(), tombstone.getEntityId()));
+            }
+            next = change.seq();
+        }
+        return new SyncResponse(changedProjects, changedTasks, deleted, next, hasMore);
+    }
+
+    private record Change(long seq, Object row) {
+    }
+}
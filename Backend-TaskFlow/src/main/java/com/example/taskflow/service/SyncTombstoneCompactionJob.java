@@ -0,0 +1,93 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.repository.SyncTombstoneRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes sync tombstones older than {@code sync.tombstones.retention-days}. Each batch raises the sync
+ * horizon of the users the tombstones reached (their user, and the collaborators of a task tombstone's
+ * project) to the highest sequence value it removes, in the same transaction, so a client whose cursor
+ * is older than a removed tombstone is told to sync from scratch instead of silently missing the deletion.
+ */
+@Component
+@Slf4j
+public class SyncTombstoneCompactionJob {
+
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public SyncTombstoneCompactionJob(SyncTombstoneRepository syncTombstoneRepository,
+                                      UserRepository userRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      ShardRouter shardRouter,
+                                      @Value("${sync.tombstones.retention-days:30}") int retentionDays,
+                                      @Value("${sync.tombstones.batch-size:1000}") int batchSize) {
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${sync.tombstones.compact-cron:0 30 4 * * *}")
+    public void compactAll() {
+        shardRouter.forEachShard(() -> {
+            try {
+                compact(LocalDateTime.now().minusDays(retentionDays));
+            } catch (RuntimeException ex) {
+                log.warn("Tombstone compaction interrupted; it will continue on the next run", ex);
+            }
+        });
+    }
+
+    /**
+     * Removes every tombstone recorded before {@code cutoff}, one batch per transaction.
+     */
+    long compact(LocalDateTime cutoff) {
+        long removed = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> compactBatch(cutoff));
+            removed += deleted;
+        } while (deleted == batchSize);
+        if (removed > 0) {
+            log.info("Compacted {} sync tombstones", removed);
+        }
+        return removed;
+    }
+
+    private int compactBatch(LocalDateTime cutoff) {
+        List<SyncTombstoneRepository.Expired> batch = syncTombstoneRepository.lockExpired(cutoff, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Long> horizons = batch.stream().collect(Collectors.toMap(
+                SyncTombstoneRepository.Expired::getUserId, SyncTombstoneRepository.Expired::getChangeSeq, Math::max));
+        horizons.forEach(userRepository::raiseSyncHorizon);
+        // Task tombstones also reach the collaborators of their project
+        batch.stream()
+                .filter(expired -> expired.getProjectId() != null)
+                .collect(Collectors.toMap(SyncTombstoneRepository.Expired::getProjectId,
+                        SyncTombstoneRepository.Expired::getChangeSeq, Math::max))
+                .forEach(userRepository::raiseSyncHorizonOfMembers);
+        syncTombstoneRepository.deleteBySeqs(batch.stream().map(SyncTombstoneRepository.Expired::getChangeSeq).toList());
+        return batch.size();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.repository.ArchivedTaskRepository;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Moves tasks completed more than {@code tasks.archive.after-days} ago from {@code tasks} to
+ * {@code tasks_archive}. Each batch copies, deletes and adjusts the projects' archive counters in one
+ * transaction, so a task is always in exactly one tier and project progress stays exact.
+ */
+@Component
+@Slf4j
+public class TaskArchiveJob {
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final int afterDays;
+    private final int batchSize;
+
+    public TaskArchiveJob(ArchivedTaskRepository archivedTaskRepository,
+                          TaskRepository taskRepository,
+                          ProjectRepository projectRepository,
+                          PlatformTransactionManager transactionManager,
+                          ShardRouter shardRouter,
+                          @Value("${tasks.archive.after-days:180}") int afterDays,
+                          @Value("${tasks.archive.batch-size:1000}") int batchSize) {
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${tasks.archive.cron:0 0 4 * * *}")
+    public void archiveAll() {
+        shardRouter.forEachShard(() -> {
+            try {
+                archive(LocalDateTime.now().minusDays(afterDays));
+            } catch (RuntimeException ex) {
+                log.warn("Archiving interrupted; it will continue on the next run", ex);
+            }
+        });
+    }
+
+    /**
+     * Archives every eligible task completed before {@code cutoff}, one batch per transaction.
+     */
+    long archive(LocalDateTime cutoff) {
+        long archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> moveBatch(cutoff));
+            archived += moved;
+        } while (moved == batchSize);
+        if (archived > 0) {
+            log.info("Archived {} completed tasks", archived);
+        }
+        return archived;
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        List<ArchivedTaskRepository.Archivable> batch = archivedTaskRepository.lockArchivable(cutoff, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = batch.stream().map(ArchivedTaskRepository.Archivable::getId).toList();
+        archivedTaskRepository.copyFromTasks(ids, LocalDateTime.now());
+        taskRepository.deleteByIds(ids);
+
+        Map<Long, Long> perProject = batch.stream().collect(Collectors.groupingBy(
+                ArchivedTaskRepository.Archivable::getProjectId, Collectors.counting()));
+        perProject.forEach(projectRepository::addArchivedTasks);
+        return batch.size();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.sharding.ShardContext;
+import com.example.taskflow.sharding.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs spooled imports, and resumes interrupted ones, on a dedicated thread so a large file
+ * never holds up the other scheduled jobs. Only imports whose spool file is on this node are picked up.
+ */
+@Component
+@Slf4j
+public class TaskImportJob {
+
+    private final TaskImportService taskImportService;
+    private final ShardRouter shardRouter;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<PendingImport> inFlight = ConcurrentHashMap.newKeySet();
+
+    public TaskImportJob(TaskImportService taskImportService, ShardRouter shardRouter) {
+        this.taskImportService = taskImportService;
+        this.shardRouter = shardRouter;
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.import.poll-interval-ms:5000}")
+    public void importPending() {
+        shardRouter.forEachShard(() -> {
+            Integer current = ShardContext.current();
+            int shard = current == null ? 0 : current;
+            for (Long importId : taskImportService.findResumable()) {
+                PendingImport pending = new PendingImport(shard, importId);
+                if (inFlight.add(pending)) {
+                    executor.execute(() -> run(pending));
+                }
+            }
+        });
+    }
+
+    private void run(PendingImport pending) {
+        try {
+            shardRouter.onShard(pending.shard(), () -> {
+                try {
+                    taskImportService.resume(pending.importId());
+                } catch (IOException ex) {
+                    log.warn("Spool file of import {} could not be read", pending.importId(), ex);
+                }
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Import {} interrupted; it will resume on the next run", pending.importId(), ex);
+        } finally {
+            inFlight.remove(pending);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record PendingImport(int shard, Long importId) {
+    }
+}
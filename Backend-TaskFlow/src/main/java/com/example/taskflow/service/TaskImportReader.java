@@ -0,0 +1,153 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.TaskImportRow;
+import com.example.taskflow.model.ImportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads import records one at a time from an upload, so memory use does not depend on the file size.
+ * CSV needs a header row naming the {@link TaskImportRow} properties (case-insensitive; unknown
+ * columns are ignored). NDJSON holds one JSON object per line; blank lines are skipped.
+ * A record that cannot be converted is returned with an error; a CSV file whose structure is broken
+ * (e.g. an unterminated quote) fails with an {@link IOException}.
+ */
+abstract class TaskImportReader implements Closeable {
+
+    private long recordNumber;
+
+    static TaskImportReader open(ImportFormat format, InputStream in, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(in);
+            case NDJSON -> new Ndjson(in, objectMapper);
+        };
+    }
+
+    /**
+     * The next record, or null at the end of the input.
+     */
+    Record next() throws IOException {
+        Record record = read(recordNumber + 1);
+        if (record != null) {
+            recordNumber++;
+        }
+        return record;
+    }
+
+    abstract Record read(long number) throws IOException;
+
+    record Record(long number, TaskImportRow row, String error) {
+    }
+
+    private static final class Csv extends TaskImportReader {
+
+        private final MappingIterator<String[]> rows;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        Csv(InputStream in) throws IOException {
+            CsvMapper mapper = new CsvMapper();
+            mapper.enable(CsvParser.Feature.WRAP_AS_ARRAY);
+            rows = mapper.readerFor(String[].class)
+                    .readValues(new InputStreamReader(in, StandardCharsets.UTF_8));
+            if (rows.hasNextValue()) {
+                String[] header = rows.nextValue();
+                for (int i = 0; i < header.length; i++) {
+                    columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+                }
+            }
+        }
+
+        @Override
+        Record read(long number) throws IOException {
+            if (!rows.hasNextValue()) {
+                return null;
+            }
+            String[] values = rows.nextValue();
+            try {
+                TaskImportRow row = new TaskImportRow();
+                row.setTitle(value(values, "title"));
+                row.setDescription(value(values, "description"));
+                String dueDate = value(values, "duedate");
+                row.setDueDate(dueDate == null ? null : LocalDate.parse(dueDate));
+                row.setCompleted(parseBoolean(value(values, "completed")));
+                String completedAt = value(values, "completedat");
+                row.setCompletedAt(completedAt == null ? null : LocalDateTime.parse(completedAt));
+                return new Record(number, row, null);
+            } catch (DateTimeParseException | IllegalArgumentException ex) {
+                return new Record(number, null, ex.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+
+        private String value(String[] values, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.length || values[index].isBlank()) {
+                return null;
+            }
+            return values[index].trim();
+        }
+
+        private static boolean parseBoolean(String value) {
+            if (value == null || value.equalsIgnoreCase("false")) {
+                return false;
+            }
+            if (value.equalsIgnoreCase("true")) {
+                return true;
+            }
+            throw new IllegalArgumentException("completed must be true or false, was '" + value + "'");
+        }
+    }
+
+    private static final class Ndjson extends TaskImportReader {
+
+        private final BufferedReader lines;
+        private final ObjectReader reader;
+
+        Ndjson(InputStream in, ObjectMapper objectMapper) {
+            lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            reader = objectMapper.readerFor(TaskImportRow.class);
+        }
+
+        @Override
+        Record read(long number) throws IOException {
+            String line;
+            do {
+                line = lines.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            try {
+                return new Record(number, reader.readValue(line), null);
+            } catch (JsonProcessingException ex) {
+                return new Record(number, null, "Invalid JSON: " + ex.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            lines.close();
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.TaskImportResponse;
+import com.example.taskflow.dto.TaskImportRow;
+import com.example.taskflow.dto.TaskRequest;
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.model.ImportFormat;
+import com.example.taskflow.model.ImportStatus;
+import com.example.taskflow.model.ProjectRole;
+import com.example.taskflow.model.TaskImport;
+import com.example.taskflow.model.TaskImportError;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.TaskBulkInsertRepository;
+import com.example.taskflow.repository.TaskClosureRepository;
+import com.example.taskflow.repository.TaskImportErrorRepository;
+import com.example.taskflow.repository.TaskImportRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.example.taskflow.webhook.WebhookOutbox;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk-loads tasks from CSV or NDJSON uploads.
+ * Records are parsed as a stream and inserted in batches of {@code tasks.import.batch-size}; each batch,
+ * its rejected records and the import's progress commit together. Uploads up to
+ * {@code tasks.import.sync-max-bytes} are imported while the request waits; larger ones are streamed
+ * to a spool file and imported by {@link TaskImportJob}, which also resumes interrupted imports.
+ */
+@Service
+@Slf4j
+public class TaskImportService {
+
+    private static final int MAX_MESSAGE_LENGTH = 500;
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 2000;
+
+    private final TaskImportRepository importRepository;
+    private final TaskImportErrorRepository errorRepository;
+    private final TaskBulkInsertRepository bulkInsertRepository;
+    private final TaskRepository taskRepository;
+    private final TaskClosureRepository taskClosureRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectAccessCache projectAccess;
+    private final ReadCoalescer readCoalescer;
+    private final UserStatsService userStatsService;
+    private final BurndownService burndownService;
+    private final TaskRankRebalancer taskRankRebalancer;
+    private final WebhookOutbox webhookOutbox;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxStoredErrors;
+    private final long syncMaxBytes;
+    private final Path spoolDir;
+
+    public TaskImportService(TaskImportRepository importRepository,
+                             TaskImportErrorRepository errorRepository,
+                             TaskBulkInsertRepository bulkInsertRepository,
+                             TaskRepository taskRepository,
+                             TaskClosureRepository taskClosureRepository,
+                             ProjectRepository projectRepository,
+                             ProjectAccessCache projectAccess,
+                             ReadCoalescer readCoalescer,
+                             UserStatsService userStatsService,
+                             BurndownService burndownService,
+                             TaskRankRebalancer taskRankRebalancer,
+                             WebhookOutbox webhookOutbox,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${tasks.import.batch-size:5000}") int batchSize,
+                             @Value("${tasks.import.max-stored-errors:1000}") int maxStoredErrors,
+                             @Value("${tasks.import.sync-max-bytes:1048576}") long syncMaxBytes,
+                             @Value("${tasks.import.spool-dir:${java.io.tmpdir}/taskflow-imports}") String spoolDir) {
+        this.importRepository = importRepository;
+        this.errorRepository = errorRepository;
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.taskRepository = taskRepository;
+        this.taskClosureRepository = taskClosureRepository;
+        this.projectRepository = projectRepository;
+        this.projectAccess = projectAccess;
+        this.readCoalescer = readCoalescer;
+        this.userStatsService = userStatsService;
+        this.burndownService = burndownService;
+        this.taskRankRebalancer = taskRankRebalancer;
+        this.webhookOutbox = webhookOutbox;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxStoredErrors = maxStoredErrors;
+        this.syncMaxBytes = syncMaxBytes;
+        this.spoolDir = Paths.get(spoolDir);
+    }
+
+    /**
+     * Imports a small upload right away, or spools a large one (or one of unknown length) for the background job.
+     * Only the owner imports: the tasks and their stats are recorded under the importing user.
+     */
+    public TaskImportResponse startImport(Long projectId, ImportFormat format, InputStream body,
+                                          long contentLength, Long userId) throws IOException {
+        projectAccess.requireCurrent(userId, projectId, ProjectRole.OWNER, "Project not found",
+                () -> projectRepository.findForWrite(projectId, userId, ProjectRole.OWNER.memberRoles()));
+
+        TaskImport taskImport = new TaskImport();
+        taskImport.setProjectId(projectId);
+        taskImport.setUserId(userId);
+        taskImport.setFormat(format);
+        taskImport = importRepository.save(taskImport);
+
+        if (contentLength >= 0 && contentLength <= syncMaxBytes) {
+            run(taskImport, body);
+        } else {
+            Files.createDirectories(spoolDir);
+            Path file = spoolDir.resolve("import-" + taskImport.getId() + "." + format.name().toLowerCase());
+            Files.copy(body, file);
+            taskImport.setSpoolFile(file.toString());
+            importRepository.save(taskImport);
+        }
+        return mapToResponse(importRepository.findById(taskImport.getId()).orElseThrow());
+    }
+
+    public TaskImportResponse getImport(Long projectId, Long importId, Long userId) {
+        TaskImport taskImport = importRepository.findById(importId)
+                .filter(i -> i.getProjectId().equals(projectId) && i.getUserId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Import not found"));
+        return mapToResponse(taskImport);
+    }
+
+    /**
+     * Imports of this node's spool directory that are waiting or were interrupted.
+     */
+    public List<Long> findResumable() {
+        return importRepository.findByStatusInOrderById(List.of(ImportStatus.PENDING, ImportStatus.RUNNING))
+                .stream()
+                .filter(i -> i.getSpoolFile() != null && Files.exists(Paths.get(i.getSpoolFile())))
+                .map(TaskImport::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Continues a spooled import after the last committed record. The spool file is removed once the
+     * import has finished; database errors leave it in place for the next attempt.
+     */
+    public void resume(Long importId) throws IOException {
+        TaskImport taskImport = importRepository.findById(importId).orElseThrow();
+        Path file = Paths.get(taskImport.getSpoolFile());
+        boolean projectGone = projectRepository.findById(taskImport.getProjectId())
+                .map(project -> project.getDeletedAt() != null)
+                .orElse(true);
+        if (projectGone) {
+            finish(importId, ImportStatus.FAILED, "Project was deleted");
+        } else {
+            try (InputStream in = Files.newInputStream(file)) {
+                run(taskImport, in);
+            }
+        }
+        Files.deleteIfExists(file);
+    }
+
+    private void run(TaskImport taskImport, InputStream in) {
+        transactionTemplate.executeWithoutResult(status ->
+                importRepository.updateStatus(taskImport.getId(), ImportStatus.RUNNING, null, null));
+
+        Batch batch = new Batch(taskImport);
+        try (TaskImportReader reader = TaskImportReader.open(taskImport.getFormat(), in, objectMapper)) {
+            TaskImportReader.Record record;
+            while ((record = reader.next()) != null) {
+                if (record.number() <= taskImport.getRowsRead()) {
+                    continue;
+                }
+                batch.add(record);
+                if (batch.records >= batchSize) {
+                    flush(batch);
+                }
+            }
+        } catch (IOException ex) {
+            flush(batch);
+            log.info("Import {} stopped at a malformed record", taskImport.getId(), ex);
+            finish(taskImport.getId(), ImportStatus.FAILED,
+                    truncate("Malformed input after record " + batch.lastRecord + ": " + ex.getMessage()));
+            return;
+        } catch (RuntimeException ex) {
+            if (taskImport.getSpoolFile() == null) {
+                finish(taskImport.getId(), ImportStatus.FAILED, truncate(ex.getMessage()));
+            }
+            throw ex;
+        }
+        flush(batch);
+        finish(taskImport.getId(), ImportStatus.COMPLETED, null);
+    }
+
+    /**
+     * Inserts the batch's valid tasks, stores its rejected records and advances the checkpoint in one transaction.
+     */
+    private void flush(Batch batch) {
+        if (batch.records == 0) {
+            return;
+        }
+        TaskImport taskImport = batch.taskImport;
+        Long projectId = taskImport.getProjectId();
+        String lastRank = transactionTemplate.execute(status -> {
+            String last = null;
+            if (!batch.tasks.isEmpty()) {
+                // Serializes concurrent imports: each batch's rank range must not overlap another's
+                projectRepository.lockById(projectId);
+                String[] ranks = RankGenerator.after(taskRepository.findMaxSortRank(projectId), batch.tasks.size());
+                List<TaskBulkInsertRepository.NewTask> tasks = new ArrayList<>(batch.tasks.size());
+                for (int i = 0; i < ranks.length; i++) {
+                    TaskImportRow row = batch.tasks.get(i);
+                    tasks.add(new TaskBulkInsertRepository.NewTask(row.getTitle(), row.getDescription(),
+                            row.getDueDate(), row.isCompleted(), row.getCompletedAt(), ranks[i]));
+                }
+                bulkInsertRepository.insertTasks(projectId, taskImport.getUserId(), tasks);
+                taskClosureRepository.insertSelfLinksInRankRange(projectId, ranks[0], ranks[ranks.length - 1]);
+                batch.applyStats(userStatsService, burndownService);
+                webhookOutbox.publish(WebhookOutbox.TASKS_IMPORTED, projectId,
+                        Map.of("importId", taskImport.getId(), "importedTasks", batch.tasks.size()));
+                last = ranks[ranks.length - 1];
+            }
+
+            long stored = Math.min(taskImport.getRowsFailed(), maxStoredErrors);
+            int storable = (int) Math.min(batch.errors.size(), maxStoredErrors - stored);
+            if (storable > 0) {
+                bulkInsertRepository.insertImportErrors(batch.errors.subList(0, storable));
+            }
+            importRepository.addProgress(taskImport.getId(), batch.records, batch.tasks.size(), batch.errors.size());
+            return last;
+        });
+        readCoalescer.invalidate(projectId);
+
+        taskImport.setRowsRead(taskImport.getRowsRead() + batch.records);
+        taskImport.setRowsImported(taskImport.getRowsImported() + batch.tasks.size());
+        taskImport.setRowsFailed(taskImport.getRowsFailed() + batch.errors.size());
+        if (lastRank != null) {
+            taskRankRebalancer.requestIfLong(projectId, lastRank);
+        }
+        batch.clear();
+    }
+
+    private void finish(Long importId, ImportStatus status, String message) {
+        transactionTemplate.executeWithoutResult(tx ->
+                importRepository.updateStatus(importId, status, message, LocalDateTime.now()));
+    }
+
+    /**
+     * The {@link TaskRequest} rules, minus {@code @Future}: imported tasks may be historical.
+     * Column lengths are checked too, since one oversized value would otherwise fail the whole batch.
+     */
+    private String validate(TaskImportRow row) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(row.getTitle());
+        request.setDescription(row.getDescription());
+        request.setDueDate(row.getDueDate());
+        List<String> messages = validator.validate(request).stream()
+                .filter(violation -> !(violation.getConstraintDescriptor().getAnnotation() instanceof Future))
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (row.getTitle() != null && row.getTitle().length() > MAX_TITLE_LENGTH) {
+            messages.add("Title must be at most " + MAX_TITLE_LENGTH + " characters");
+        }
+        if (row.getDescription() != null && row.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            messages.add("Description must be at most " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        return String.join("; ", messages);
+    }
+
+    private TaskImportResponse mapToResponse(TaskImport taskImport) {
+        List<TaskImportResponse.RowError> errors = errorRepository
+                .findTop100ByImportIdOrderByRecordNumber(taskImport.getId())
+                .stream()
+                .map(error -> new TaskImportResponse.RowError(error.getRecordNumber(), error.getMessage()))
+                .collect(Collectors.toList());
+        return new TaskImportResponse(
+                taskImport.getId(),
+                taskImport.getProjectId(),
+                taskImport.getFormat().name(),
+                taskImport.getStatus().name(),
+                taskImport.getRowsRead(),
+                taskImport.getRowsImported(),
+                taskImport.getRowsFailed(),
+                taskImport.getMessage(),
+                taskImport.getCreatedAt(),
+                taskImport.getCompletedAt(),
+                errors
+        );
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    /**
+     * Records read since the last checkpoint, split into tasks to insert and rejected records.
+     */
+    private final class Batch {
+
+        private final TaskImport taskImport;
+        private final List<TaskImportRow> tasks = new ArrayList<>();
+        private final List<TaskImportError> errors = new ArrayList<>();
+        private int records;
+        private long lastRecord;
+
+        private Batch(TaskImport taskImport) {
+            this.taskImport = taskImport;
+            this.lastRecord = taskImport.getRowsRead();
+        }
+
+        private void add(TaskImportReader.Record record) {
+            records++;
+            lastRecord = record.number();
+            String error = record.error() != null ? record.error() : validate(record.row());
+            if (!error.isEmpty()) {
+                errors.add(new TaskImportError(taskImport.getId(), record.number(), truncate(error)));
+                return;
+            }
+            TaskImportRow row = record.row();
+            if (row.isCompleted() && row.getCompletedAt() == null) {
+                row.setCompletedAt(row.getDueDate().atStartOfDay());
+            }
+            if (!row.isCompleted()) {
+                row.setCompletedAt(null);
+            }
+            tasks.add(row);
+        }
+
+        private void applyStats(UserStatsService stats, BurndownService burndown) {
+            long completed = 0;
+            Map<LocalDate, Long> openByDueDate = new HashMap<>();
+            Map<LocalDate, Long> completedByDay = new HashMap<>();
+            for (TaskImportRow row : tasks) {
+                if (row.isCompleted()) {
+                    completed++;
+                    completedByDay.merge(row.getCompletedAt().toLocalDate(), 1L, Long::sum);
+                } else {
+                    openByDueDate.merge(row.getDueDate(), 1L, Long::sum);
+                }
+            }
+            stats.onTasksImported(taskImport.getUserId(), tasks.size(), completed, openByDueDate, completedByDay);
+            burndown.onTasksImported(taskImport.getProjectId(), tasks.size(), completed);
+        }
+
+        private void clear() {
+            tasks.clear();
+            errors.clear();
+            records = 0;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.TaskParentRequest;
+import com.example.taskflow.dto.TaskPositionRequest;
+import com.example.taskflow.dto.TaskProgressResponse;
+import com.example.taskflow.dto.TaskRequest;
+import com.example.taskflow.dto.TaskResponse;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The task operations behind the task endpoints, implemented by {@link TaskService} over the database and by
+ * {@link EmbeddedTaskService} over the embedded storage engine ({@code embedded} profile).
+ */
+public interface TaskOperations {
+
+    TaskResponse createTask(Long projectId, TaskRequest request, Long userId);
+
+    List<TaskResponse> getProjectTasks(Long projectId, LocalDate from, LocalDate to,
+                                       boolean includeArchived, Set<String> fields, Long userId);
+
+    Map<Long, List<TaskResponse>> getTasksOfProjects(Collection<Long> projectIds, Integer limit);
+
+    TaskResponse toggleTaskCompletion(Long taskId, Long userId);
+
+    TaskResponse moveTask(Long projectId, Long taskId, TaskPositionRequest request, Long userId);
+
+    List<TaskResponse> getSubtree(Long projectId, Long taskId, Long userId);
+
+    TaskProgressResponse getSubtreeProgress(Long projectId, Long taskId, Long userId);
+
+    TaskResponse moveSubtree(Long projectId, Long taskId, TaskParentRequest request, Long userId);
+
+    void deleteTask(Long taskId, Long userId);
+}
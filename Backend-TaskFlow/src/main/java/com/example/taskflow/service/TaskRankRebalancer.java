@@ -0,0 +1,83 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.model.Task;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.sharding.ShardContext;
+import com.example.taskflow.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rewrites the ranks of a project with evenly spaced, short values once a move produced a rank
+ * longer than {@code tasks.rank.max-length}. Moves only queue the project; the rewrite touches
+ * every task of the project and runs in the background under a lock on those rows.
+ * The queue is in memory: after a restart the next long rank queues the project again.
+ * A write whose rank would exceed {@link RankGenerator#MAX_LENGTH} before the background pass
+ * ran calls {@link #rebalance} itself.
+ */
+@Component
+@Slf4j
+public class TaskRankRebalancer {
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final int maxLength;
+    private final Set<PendingProject> pending = ConcurrentHashMap.newKeySet();
+
+    public TaskRankRebalancer(TaskRepository taskRepository,
+                              PlatformTransactionManager transactionManager,
+                              ShardRouter shardRouter,
+                              @Value("${tasks.rank.max-length:32}") int maxLength) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.maxLength = maxLength;
+    }
+
+    public void requestIfLong(Long projectId, String rank) {
+        if (rank.length() > maxLength) {
+            Integer shard = ShardContext.current();
+            pending.add(new PendingProject(shard == null ? 0 : shard, projectId));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.rank.rebalance-interval-ms:10000}")
+    public void rebalancePending() {
+        for (PendingProject project : pending) {
+            pending.remove(project);
+            try {
+                shardRouter.onShard(project.shard(), () -> transactionTemplate.execute(status -> {
+                    rebalance(project.projectId());
+                    return null;
+                }));
+            } catch (RuntimeException ex) {
+                log.warn("Rank rebalancing of project {} failed", project.projectId(), ex);
+            }
+        }
+    }
+
+    /**
+     * Assigns evenly spaced ranks to every task of the project, keeping their order.
+     * Must run inside a transaction.
+     */
+    public void rebalance(Long projectId) {
+        List<Task> tasks = taskRepository.lockByProjectIdInRankOrder(projectId);
+        String[] ranks = RankGenerator.spread(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setSortRank(ranks[i]);
+        }
+        log.info("Rebalanced ranks of {} tasks in project {}", tasks.size(), projectId);
+    }
+
+    private record PendingProject(int shard, Long projectId) {
+    }
+}
@@ -1,94 +1,503 @@
 package com.example.taskflow.service;
 
+import com.example.taskflow.dto.OccurrenceRequest;
+import com.example.taskflow.dto.TaskParentRequest;
+import com.example.taskflow.dto.TaskPositionRequest;
+import com.example.taskflow.dto.TaskProgressResponse;
 import com.example.taskflow.dto.TaskRequest;
 import com.example.taskflow.dto.TaskResponse;
 import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.model.ArchivedTask;
 import com.example.taskflow.model.Project;
+import com.example.taskflow.model.ProjectRole;
 import com.example.taskflow.model.Task;
+import com.example.taskflow.model.TaskRecurrence;
+import com.example.taskflow.repository.ArchivedTaskRepository;
 import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.SparseColumnRepository;
+import com.example.taskflow.repository.SyncTombstoneRepository;
+import com.example.taskflow.repository.TaskClosureRepository;
 import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.example.taskflow.webhook.WebhookOutbox;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class TaskService {
+public class TaskService implements TaskOperations {
+
+    /** Response fields read from a column of the same name; the rest are derived. */
+    private static final Set<String> TASK_COLUMNS = Set.of("title", "description", "dueDate", "completed",
+            "createdAt", "parentId");
+    private static final Set<String> TASK_KEY_COLUMNS = Set.of("id", "sortRank", "recurrenceId", "occurrenceDate");
+    private static final Set<String> ARCHIVED_TASK_COLUMNS = Set.of("title", "description", "dueDate", "createdAt");
+    private static final Set<String> ARCHIVED_TASK_KEY_COLUMNS = Set.of("id", "sortRank");
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final UserStatsService userStatsService;
+    private final BurndownService burndownService;
+    private final TaskRankRebalancer taskRankRebalancer;
+    private final TaskClosureRepository taskClosureRepository;
+    private final RecurrenceService recurrenceService;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final SparseColumnRepository sparseColumnRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final ProjectAccessCache projectAccess;
+    private final ReadCoalescer readCoalescer;
+    private final WebhookOutbox webhookOutbox;
 
     @Transactional
     public TaskResponse createTask(Long projectId, TaskRequest request, Long userId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
-
-        if (!project.getUser().getId().equals(userId)) {
-            throw new ResourceNotFoundException("Project not found");
-        }
+        Project project = projectAccess.requireCurrent(userId, projectId, ProjectRole.EDITOR, "Project not found",
+                () -> projectRepository.findForWrite(projectId, userId, ProjectRole.EDITOR.memberRoles()));
 
         Task task = new Task();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setDueDate(request.getDueDate());
         task.setProject(project);
+        if (request.getParentTaskId() != null) {
+            task.setParentId(findInProject(request.getParentTaskId(), projectId).getId());
+        }
+        TaskResponse created = mapToResponse(insertTask(task, project.getUser().getId()));
+        readCoalescer.invalidateAfterCommit(projectId);
+        webhookOutbox.publish(WebhookOutbox.TASK_CREATED, projectId, created);
+        return created;
+    }
 
-        Task saved = taskRepository.save(task);
-        return mapToResponse(saved);
+    /**
+     * Returns the project's task rows in rank order, followed by the virtual occurrences of its
+     * recurring tasks within {@code [from, to]} (see {@link RecurrenceService#expand}).
+     * Only the hot tier is read unless {@code includeArchived} is set; archived tasks then take
+     * their place in rank order. With {@code fields} (a subset of {@link TaskResponse#FIELDS}) only the
+     * columns behind them are read, plus the few that ordering and recurrence expansion need; the other
+     * properties of the returned tasks are unset.
+     * Identical concurrent calls, whoever makes them, share one execution ({@link ReadCoalescer}).
+     */
+    public List<TaskResponse> getProjectTasks(Long projectId, LocalDate from, LocalDate to,
+                                              boolean includeArchived, Set<String> fields, Long userId) {
+        projectAccess.require(userId, projectId, ProjectRole.VIEWER, "Project not found");
+
+        return readCoalescer.read("project-tasks", projectId,
+                () -> loadProjectTasks(projectId, from, to, includeArchived, fields),
+                from, to, includeArchived, fields);
+    }
+
+    private List<TaskResponse> loadProjectTasks(Long projectId, LocalDate from, LocalDate to,
+                                                boolean includeArchived, Set<String> fields) {
+        List<Task> tasks;
+        List<ArchivedTask> archived;
+        if (fields == null) {
+            tasks = taskRepository.findByProjectIdOrderBySortRankAscIdAsc(projectId);
+            archived = includeArchived
+                    ? archivedTaskRepository.findByProjectIdOrderBySortRankAscIdAsc(projectId)
+                    : List.of();
+        } else {
+            tasks = sparseColumnRepository.findTasks(projectId, columns(fields, TASK_COLUMNS, TASK_KEY_COLUMNS));
+            archived = includeArchived
+                    ? sparseColumnRepository.findArchivedTasks(projectId,
+                            columns(fields, ARCHIVED_TASK_COLUMNS, ARCHIVED_TASK_KEY_COLUMNS))
+                    : List.of();
+        }
+        List<TaskResponse> responses = new ArrayList<>(tasks.size() + archived.size());
+        int next = 0;
+        for (Task task : tasks) {
+            while (next < archived.size() && comesBefore(archived.get(next), task)) {
+                responses.add(mapToResponse(archived.get(next++)));
+            }
+            responses.add(mapToResponse(task));
+        }
+        while (next < archived.size()) {
+            responses.add(mapToResponse(archived.get(next++)));
+        }
+        responses.addAll(recurrenceService.expand(projectId, tasks, from, to));
+        return responses;
     }
 
+    /**
+     * Task rows of several projects, in rank order, at most {@code limit} per project ({@code null}: all),
+     * read with one query. The caller has checked that the user may read the projects.
+     * Archived tasks and virtual occurrences are not included.
+     */
     @Transactional(readOnly = true)
-    public List<TaskResponse> getProjectTasks(Long projectId, Long userId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
+    public Map<Long, List<TaskResponse>> getTasksOfProjects(Collection<Long> projectIds, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("taskLimit must be at least 1");
+        }
+        Map<Long, List<TaskResponse>> tasksByProject = new HashMap<>();
+        if (projectIds.isEmpty()) {
+            return tasksByProject;
+        }
+        List<Task> tasks = limit == null
+                ? taskRepository.findByProjectIds(projectIds)
+                : taskRepository.findFirstByProjectIds(projectIds, limit);
+        for (Task task : tasks) {
+            tasksByProject.computeIfAbsent(task.getProject().getId(), id -> new ArrayList<>())
+                    .add(mapToResponse(task));
+        }
+        return tasksByProject;
+    }
+
+    /**
+     * Flips completion with the task row locked, so concurrent toggles of one task apply in turn
+     * instead of both reading the same state and losing one flip.
+     */
+    @Transactional
+    public TaskResponse toggleTaskCompletion(Long taskId, Long userId) {
+        Task task = lockForWrite(taskId, userId);
+        long ownerId = task.getOwnerId();
+
+        LocalDateTime previousCompletedAt = task.getCompletedAt();
+        task.setCompleted(!task.isCompleted());
+        task.setCompletedAt(task.isCompleted() ? LocalDateTime.now() : null);
+        Task updated = taskRepository.save(task);
+
+        if (updated.isCompleted()) {
+            userStatsService.onTaskCompleted(ownerId, updated.getDueDate(), updated.getCompletedAt());
+            burndownService.onTaskCompleted(task.getProject().getId());
+        } else {
+            userStatsService.onTaskReopened(ownerId, updated.getDueDate(), previousCompletedAt);
+            burndownService.onTaskReopened(task.getProject().getId());
+        }
+        readCoalescer.invalidateAfterCommit(task.getProject().getId());
+        TaskResponse response = mapToResponse(updated);
+        webhookOutbox.publish(updated.isCompleted() ? WebhookOutbox.TASK_COMPLETED : WebhookOutbox.TASK_REOPENED,
+                task.getProject().getId(), response);
+        return response;
+    }
+
+    /**
+     * Toggles one occurrence of a recurring task. A virtual occurrence is materialized as a completed task row.
+     */
+    @Transactional
+    public TaskResponse toggleOccurrence(Long projectId, Long recurrenceId, LocalDate date, Long userId) {
+        long ownerId = projectAccess.require(userId, projectId, ProjectRole.EDITOR, "Project not found").ownerId();
+        TaskRecurrence recurrence = findOccurrence(projectId, recurrenceId, date, userId);
+        Task existing = taskRepository.findByRecurrenceIdAndOccurrenceDate(recurrenceId, date).orElse(null);
+        if (existing != null) {
+            return toggleTaskCompletion(existing.getId(), userId);
+        }
+
+        Task task = newOccurrence(recurrence, date);
+        task.setCompleted(true);
+        task.setCompletedAt(LocalDateTime.now());
+        Task saved = insertTask(task, ownerId);
+        userStatsService.onTaskCompleted(ownerId, saved.getDueDate(), saved.getCompletedAt());
+        burndownService.onTaskCompleted(projectId);
+        readCoalescer.invalidateAfterCommit(projectId);
+        TaskResponse response = mapToResponse(saved);
+        webhookOutbox.publish(WebhookOutbox.TASK_COMPLETED, projectId, response);
+        return response;
+    }
+
+    /**
+     * Edits one occurrence of a recurring task, materializing it if it is still virtual.
+     */
+    @Transactional
+    public TaskResponse editOccurrence(Long projectId, Long recurrenceId, LocalDate date,
+                                       OccurrenceRequest request, Long userId) {
+        long ownerId = projectAccess.require(userId, projectId, ProjectRole.EDITOR, "Project not found").ownerId();
+        TaskRecurrence recurrence = findOccurrence(projectId, recurrenceId, date, userId);
+        Task existing = taskRepository.findByRecurrenceIdAndOccurrenceDate(recurrenceId, date).orElse(null);
+        readCoalescer.invalidateAfterCommit(projectId);
+        if (existing == null) {
+            Task task = newOccurrence(recurrence, date);
+            task.setTitle(request.getTitle());
+            task.setDescription(request.getDescription());
+            task.setDueDate(request.getDueDate());
+            TaskResponse created = mapToResponse(insertTask(task, ownerId));
+            webhookOutbox.publish(WebhookOutbox.TASK_UPDATED, projectId, created);
+            return created;
+        }
+
+        LocalDate previousDueDate = existing.getDueDate();
+        existing.setTitle(request.getTitle());
+        existing.setDescription(request.getDescription());
+        existing.setDueDate(request.getDueDate());
+        Task updated = taskRepository.save(existing);
+        userStatsService.onDueDateChanged(ownerId, updated.isCompleted(), previousDueDate, updated.getDueDate());
+        TaskResponse response = mapToResponse(updated);
+        webhookOutbox.publish(WebhookOutbox.TASK_UPDATED, projectId, response);
+        return response;
+    }
+
+    /**
+     * Moves a task between two others by giving it a rank between theirs; no other row changes.
+     */
+    @Transactional
+    public TaskResponse moveTask(Long projectId, Long taskId, TaskPositionRequest request, Long userId) {
+        Task task = findTask(projectId, taskId, userId, ProjectRole.EDITOR);
+
+        Task previous = findNeighbour(request.getPreviousTaskId(), task);
+        Task next = findNeighbour(request.getNextTaskId(), task);
 
-        if (!project.getUser().getId().equals(userId)) {
-            throw new ResourceNotFoundException("Project not found");
+        String rank;
+        if (previous == null && next == null) {
+            rank = RankGenerator.after(taskRepository.findMaxSortRank(projectId));
+        } else {
+            if (previous != null && next != null && previous.getSortRank().compareTo(next.getSortRank()) >= 0) {
+                // Tasks created concurrently can share a rank; spreading the project separates them
+                taskRankRebalancer.rebalance(projectId);
+                if (previous.getSortRank().compareTo(next.getSortRank()) >= 0) {
+                    throw new IllegalArgumentException("previousTaskId must come before nextTaskId");
+                }
+            }
+            rank = between(previous, next);
+            if (rank.length() > RankGenerator.MAX_LENGTH) {
+                // Moves outpaced the background rebalancing; the column would reject the rank
+                taskRankRebalancer.rebalance(projectId);
+                rank = between(previous, next);
+            }
         }
 
-        return taskRepository.findByProjectId(projectId)
+        task.setSortRank(rank);
+        taskRankRebalancer.requestIfLong(projectId, rank);
+        readCoalescer.invalidateAfterCommit(projectId);
+        TaskResponse response = mapToResponse(taskRepository.save(task));
+        webhookOutbox.publish(WebhookOutbox.TASK_UPDATED, projectId, response);
+        return response;
+    }
+
+    /**
+     * Returns a task and all of its subtasks in rank order; {@code parentId} lets clients rebuild the tree.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getSubtree(Long projectId, Long taskId, Long userId) {
+        findTask(projectId, taskId, userId, ProjectRole.VIEWER);
+
+        return taskRepository.findSubtree(taskId)
                 .stream()
-                .map(this::mapToResponse)
+                .map(TaskService::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public TaskProgressResponse getSubtreeProgress(Long projectId, Long taskId, Long userId) {
+        findTask(projectId, taskId, userId, ProjectRole.VIEWER);
+
+        TaskRepository.SubtreeCounts counts = taskRepository.countSubtree(taskId);
+        double progress = counts.getTotal() > 0 ? (counts.getCompleted() * 100.0 / counts.getTotal()) : 0.0;
+        return new TaskProgressResponse(
+                taskId,
+                counts.getTotal(),
+                counts.getCompleted(),
+                Math.round(progress * 100.0) / 100.0
+        );
+    }
+
+    /**
+     * Moves a task with its whole subtree under another task of the project, or to the top level.
+     * The closure rows are rewritten with two set-based statements whatever the subtree size.
+     * Moves are serialized per project so two concurrent moves cannot form a cycle.
+     */
     @Transactional
-    public TaskResponse toggleTaskCompletion(Long taskId, Long userId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    public TaskResponse moveSubtree(Long projectId, Long taskId, TaskParentRequest request, Long userId) {
+        projectRepository.lockById(projectId);
+        Task task = findTask(projectId, taskId, userId, ProjectRole.EDITOR);
+        Long parentId = request.getParentTaskId();
 
-        if (!task.getProject().getUser().getId().equals(userId)) {
-            throw new ResourceNotFoundException("Task not found");
+        if (Objects.equals(task.getParentId(), parentId)) {
+            return mapToResponse(task);
+        }
+        if (parentId != null) {
+            findInProject(parentId, projectId);
+            if (taskClosureRepository.existsByAncestorIdAndDescendantId(taskId, parentId)) {
+                throw new IllegalArgumentException("A task cannot be moved under itself or one of its subtasks");
+            }
         }
 
-        task.setCompleted(!task.isCompleted());
-        Task updated = taskRepository.save(task);
-        return mapToResponse(updated);
+        taskClosureRepository.detachSubtree(taskId);
+        if (parentId != null) {
+            taskClosureRepository.attachSubtree(taskId, parentId);
+        }
+        task.setParentId(parentId);
+        readCoalescer.invalidateAfterCommit(projectId);
+        TaskResponse response = mapToResponse(taskRepository.save(task));
+        webhookOutbox.publish(WebhookOutbox.TASK_UPDATED, projectId, response);
+        return response;
     }
 
+    /**
+     * Deletes a task together with its subtasks. A task with subtasks is removed with one statement,
+     * and the stats are adjusted from grouped counts taken beforehand. The task row is locked first, so a
+     * concurrent toggle applies entirely before or after and the stats see its final state.
+     */
     @Transactional
     public void deleteTask(Long taskId, Long userId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        Task task = lockForWrite(taskId, userId);
+        Long projectId = task.getProject().getId();
+        long ownerId = task.getOwnerId();
+        readCoalescer.invalidateAfterCommit(projectId);
 
-        if (!task.getProject().getUser().getId().equals(userId)) {
-            throw new ResourceNotFoundException("Task not found");
+        syncTombstoneRepository.recordSubtree(ownerId, projectId, taskId, LocalDateTime.now());
+        if (taskRepository.existsByParentId(taskId)) {
+            TaskRepository.SubtreeCounts counts = userStatsService.onSubtreeDeleted(ownerId, taskId);
+            taskRepository.deleteSubtree(taskId);
+            burndownService.onTasksDeleted(projectId, counts.getTotal(), counts.getCompleted());
+            webhookOutbox.publish(WebhookOutbox.TASK_DELETED, projectId,
+                    Map.of("id", taskId, "deletedTasks", counts.getTotal()));
+            return;
         }
-
         taskRepository.delete(task);
+        userStatsService.onTaskDeleted(ownerId, task.getDueDate(), task.isCompleted());
+        burndownService.onTasksDeleted(projectId, 1, task.isCompleted() ? 1 : 0);
+        webhookOutbox.publish(WebhookOutbox.TASK_DELETED, projectId, Map.of("id", taskId, "deletedTasks", 1));
+    }
+
+    private static String between(Task previous, Task next) {
+        return RankGenerator.between(
+                previous != null ? previous.getSortRank() : null,
+                next != null ? next.getSortRank() : null);
+    }
+
+    /**
+     * Appends a new task row at the end of its project and links it into the task hierarchy.
+     * {@code ownerId} is the project's owner, to whom the task and its stats belong.
+     */
+    private Task insertTask(Task task, Long ownerId) {
+        Long projectId = task.getProject().getId();
+        task.setOwnerId(ownerId);
+        String rank = RankGenerator.after(taskRepository.findMaxSortRank(projectId));
+        if (rank.length() > RankGenerator.MAX_LENGTH) {
+            taskRankRebalancer.rebalance(projectId);
+            rank = RankGenerator.after(taskRepository.findMaxSortRank(projectId));
+        }
+        task.setSortRank(rank);
+        taskRankRebalancer.requestIfLong(projectId, task.getSortRank());
+
+        Task saved = taskRepository.save(task);
+        taskClosureRepository.insertSelfLink(saved.getId());
+        if (saved.getParentId() != null) {
+            taskClosureRepository.insertAncestorLinks(saved.getId(), saved.getParentId());
+        }
+        userStatsService.onTaskCreated(ownerId, saved.getDueDate());
+        burndownService.onTaskCreated(projectId);
+        return saved;
+    }
+
+    /**
+     * The entity attributes behind the requested response fields, plus the key columns always needed.
+     */
+    private static Set<String> columns(Set<String> fields, Set<String> available, Set<String> keys) {
+        Set<String> columns = new LinkedHashSet<>(keys);
+        for (String field : fields) {
+            if (available.contains(field)) {
+                columns.add(field);
+            }
+        }
+        return columns;
     }
 
-    private TaskResponse mapToResponse(Task task) {
+    private static boolean comesBefore(ArchivedTask archived, Task task) {
+        int byRank = archived.getSortRank().compareTo(task.getSortRank());
+        return byRank < 0 || (byRank == 0 && archived.getId() < task.getId());
+    }
+
+    private TaskRecurrence findOccurrence(Long projectId, Long recurrenceId, LocalDate date, Long userId) {
+        TaskRecurrence recurrence = recurrenceService.findOwnedRecurrence(projectId, recurrenceId, userId, true);
+        if (!RecurrenceSchedule.occursOn(recurrence, date)) {
+            throw new ResourceNotFoundException("Occurrence not found");
+        }
+        return recurrence;
+    }
+
+    private Task newOccurrence(TaskRecurrence recurrence, LocalDate date) {
+        Task task = new Task();
+        task.setTitle(recurrence.getTitle());
+        task.setDescription(recurrence.getDescription());
+        task.setDueDate(date);
+        task.setProject(recurrence.getProject());
+        task.setRecurrenceId(recurrence.getId());
+        task.setOccurrenceDate(date);
+        return task;
+    }
+
+    /**
+     * A task of the project, which the user may access with at least {@code role}; confirmed against the
+     * database by the task's lookup when the role allows writing.
+     */
+    private Task findTask(Long projectId, Long taskId, Long userId, ProjectRole role) {
+        if (role == ProjectRole.VIEWER) {
+            projectAccess.require(userId, projectId, role, "Task not found");
+            return findInProject(taskId, projectId);
+        }
+        return projectAccess.requireCurrent(userId, projectId, role, "Task not found",
+                () -> taskRepository.findForWrite(taskId, projectId, userId, role.memberRoles()));
+    }
+
+    /**
+     * Locks a task the user may edit. The lock query confirms the grant; only when it finds nothing is the
+     * task read again, to tell a missing task from access the user lacks or has lost.
+     */
+    private Task lockForWrite(Long taskId, Long userId) {
+        return taskRepository.lockForWrite(taskId, userId, ProjectRole.EDITOR.memberRoles()).orElseThrow(() -> {
+            Task task = taskRepository.findById(taskId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+            projectAccess.recheck(userId, task.getProject().getId(), ProjectRole.EDITOR, "Task not found");
+            return new ResourceNotFoundException("Task not found");
+        });
+    }
+
+    private Task findInProject(Long taskId, Long projectId) {
+        return taskRepository.findById(taskId)
+                .filter(task -> task.getProject().getId().equals(projectId))
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    }
+
+    private Task findNeighbour(Long neighbourId, Task task) {
+        if (neighbourId == null) {
+            return null;
+        }
+        if (neighbourId.equals(task.getId())) {
+            throw new IllegalArgumentException("A task cannot be positioned relative to itself");
+        }
+        return taskRepository.findById(neighbourId)
+                .filter(neighbour -> neighbour.getProject().getId().equals(task.getProject().getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    }
+
+    static TaskResponse mapToResponse(Task task) {
         return new TaskResponse(
                 task.getId(),
                 task.getTitle(),
                 task.getDescription(),
                 task.getDueDate(),
                 task.isCompleted(),
-                task.getCreatedAt()
+                task.getCreatedAt(),
+                task.getParentId(),
+                task.getRecurrenceId(),
+                task.getOccurrenceDate(),
+                false
+        );
+    }
+
+    private TaskResponse mapToResponse(ArchivedTask task) {
+        return new TaskResponse(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getDueDate(),
+                true,
+                task.getCreatedAt(),
+                null,
+                null,
+                null,
+                true
         );
     }
 }
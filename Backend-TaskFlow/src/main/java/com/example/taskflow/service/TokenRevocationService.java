@@ -0,0 +1,144 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.model.RevokedToken;
+import com.example.taskflow.repository.RevokedTokenRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.security.JwtUtil;
+import com.example.taskflow.security.TokenRevocationList;
+import com.example.taskflow.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Records revocations in the database and keeps the {@link TokenRevocationList} of this instance in step:
+ * it is filled before the web server accepts requests and refreshed every
+ * {@code jwt.revocation.refresh-interval-ms} with revocations made through other instances.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService implements SmartLifecycle {
+
+    /**
+     * How far back each refresh looks, so that revocations committed after a later one are still found.
+     */
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationList revocationList;
+    private final JwtUtil jwtUtil;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private volatile LocalDateTime lastRefresh;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  UserRepository userRepository,
+                                  TokenRevocationList revocationList,
+                                  JwtUtil jwtUtil,
+                                  ShardRouter shardRouter,
+                                  PlatformTransactionManager transactionManager) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userRepository = userRepository;
+        this.revocationList = revocationList;
+        this.jwtUtil = jwtUtil;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Revokes one token until it expires.
+     */
+    @Transactional
+    public void revoke(String jti, Long userId, LocalDateTime expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(jti, userId, expiresAt, LocalDateTime.now()));
+        revocationList.revoke(jti, epochMillis(expiresAt));
+    }
+
+    /**
+     * Revokes every token issued to the user so far; tokens from later logins stay valid.
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.raiseTokenGeneration(userId, now);
+        int generation = userRepository.findTokenGeneration(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        revocationList.revokeBelow(userId, generation, epochMillis(now) + jwtUtil.getExpiration());
+    }
+
+    /**
+     * Loads every revocation still in force, from all shards.
+     */
+    void load() {
+        LocalDateTime now = LocalDateTime.now();
+        shardRouter.forEachShard(() -> {
+            revokedTokenRepository.findByExpiresAtAfter(now).forEach(this::apply);
+            applyGenerations(now.minus(Duration.ofMillis(jwtUtil.getExpiration())));
+        });
+        lastRefresh = now;
+        log.info("Token revocation list loaded with {} revoked tokens", revocationList.size());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:10000}")
+    public void refresh() {
+        if (lastRefresh == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastRefresh.minus(REFRESH_OVERLAP);
+        shardRouter.forEachShard(() -> {
+            revokedTokenRepository.findByRevokedAtGreaterThanEqual(since).forEach(this::apply);
+            applyGenerations(since);
+            transactionTemplate.executeWithoutResult(status -> revokedTokenRepository.deleteExpired(now));
+        });
+        revocationList.evictExpired(epochMillis(now));
+        lastRefresh = now;
+    }
+
+    private void apply(RevokedToken token) {
+        revocationList.revoke(token.getJti(), epochMillis(token.getExpiresAt()));
+    }
+
+    private void applyGenerations(LocalDateTime since) {
+        for (UserRepository.TokenGeneration raised : userRepository.findTokenGenerationsRaisedSince(since)) {
+            revocationList.revokeBelow(raised.getId(), raised.getGeneration(),
+                    epochMillis(raised.getRevokedAt()) + jwtUtil.getExpiration());
+        }
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public void start() {
+        load();
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public boolean isRunning() {
+        return lastRefresh != null;
+    }
+
+    /**
+     * Before the web server, which starts in a later phase, takes its first request.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
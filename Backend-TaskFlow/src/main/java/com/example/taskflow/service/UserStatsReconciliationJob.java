@@ -0,0 +1,40 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nightly repair of the incremental dashboard aggregates.
+ * Each user is reconciled in its own transaction to keep lock scopes small.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatsReconciliationJob {
+
+    private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final ShardRouter shardRouter;
+
+    @Scheduled(cron = "${stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        shardRouter.forEachShard(this::reconcileShard);
+    }
+
+    private void reconcileShard() {
+        int reconciled = 0;
+        for (Long userId : userRepository.findAllIds()) {
+            try {
+                userStatsService.reconcile(userId);
+                reconciled++;
+            } catch (RuntimeException ex) {
+                log.warn("Stats reconciliation failed for user {}", userId, ex);
+            }
+        }
+        log.info("Reconciled dashboard statistics for {} users", reconciled);
+    }
+}
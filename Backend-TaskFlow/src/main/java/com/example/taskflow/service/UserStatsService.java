@@ -0,0 +1,219 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.UserStatsResponse;
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.UserDailyStats;
+import com.example.taskflow.model.UserTaskStats;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.repository.UserDailyStatsRepository;
+import com.example.taskflow.repository.UserTaskStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains per-user dashboard aggregates incrementally and serves them without touching the tasks table.
+ * Every task mutation applies a delta inside the caller's transaction; {@link UserStatsReconciliationJob}
+ * periodically rebuilds the counters derivable from the tasks table to repair any drift.
+ * Missing counter rows are created within that transaction too: it may hold the lock on the user's totals
+ * row, which every other mutation of the user waits for, so it must not wait for a second pooled connection.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatsService {
+
+    static final int HISTORY_DAYS = 90;
+
+    private final UserTaskStatsRepository statsRepository;
+    private final UserDailyStatsRepository dailyStatsRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+
+    @Transactional
+    public void onTaskCreated(Long userId, LocalDate dueDate) {
+        adjustTotals(userId, 1, 0);
+        adjustDay(userId, dueDate, 1, 0);
+    }
+
+    @Transactional
+    public void onTaskCompleted(Long userId, LocalDate dueDate, LocalDateTime completedAt) {
+        adjustTotals(userId, 0, 1);
+        adjustDay(userId, dueDate, -1, 0);
+        adjustDay(userId, completedAt.toLocalDate(), 0, 1);
+    }
+
+    @Transactional
+    public void onTaskReopened(Long userId, LocalDate dueDate, LocalDateTime previousCompletedAt) {
+        adjustTotals(userId, 0, -1);
+        adjustDay(userId, dueDate, 1, 0);
+        if (previousCompletedAt != null) {
+            adjustDay(userId, previousCompletedAt.toLocalDate(), 0, -1);
+        }
+    }
+
+    /**
+     * Moves an open task's contribution to the open-due counters; completed tasks are not counted by due date.
+     */
+    @Transactional
+    public void onDueDateChanged(Long userId, boolean completed, LocalDate previousDueDate, LocalDate dueDate) {
+        if (completed || previousDueDate.equals(dueDate)) {
+            return;
+        }
+        adjustDay(userId, previousDueDate, -1, 0);
+        adjustDay(userId, dueDate, 1, 0);
+    }
+
+    /**
+     * Completion history is kept on delete: the task was still completed on that day.
+     */
+    @Transactional
+    public void onTaskDeleted(Long userId, LocalDate dueDate, boolean completed) {
+        adjustTotals(userId, -1, completed ? -1 : 0);
+        if (!completed) {
+            adjustDay(userId, dueDate, -1, 0);
+        }
+    }
+
+    /**
+     * Removes a whole project's tasks from the aggregates using grouped counts instead of loading the tasks.
+     */
+    @Transactional
+    public void onProjectDeleted(Long userId, Long projectId) {
+        long archived = projectRepository.findById(projectId).map(Project::getArchivedTasks).orElse(0L);
+        long total = taskRepository.countByProjectId(projectId) + archived;
+        long completed = taskRepository.countByProjectIdAndCompleted(projectId, true) + archived;
+        if (total == 0) {
+            return;
+        }
+        adjustTotals(userId, -total, -completed);
+        for (TaskRepository.DueDateCount open : taskRepository.countOpenByDueDateForProject(projectId)) {
+            adjustDay(userId, open.getDueDate(), -open.getCount(), 0);
+        }
+    }
+
+    /**
+     * Adds a batch of imported tasks with one update per counter row instead of one per task.
+     */
+    @Transactional
+    public void onTasksImported(Long userId, long total, long completed,
+                                Map<LocalDate, Long> openByDueDate, Map<LocalDate, Long> completedByDay) {
+        if (total == 0) {
+            return;
+        }
+        adjustTotals(userId, total, completed);
+        openByDueDate.forEach((date, count) -> adjustDay(userId, date, count, 0));
+        completedByDay.forEach((date, count) -> adjustDay(userId, date, 0, count));
+    }
+
+    /**
+     * Removes a task and its subtasks from the aggregates; must run before the subtree is deleted.
+     * Returns the counts removed.
+     */
+    @Transactional
+    public TaskRepository.SubtreeCounts onSubtreeDeleted(Long userId, Long taskId) {
+        TaskRepository.SubtreeCounts counts = taskRepository.countSubtree(taskId);
+        if (counts.getTotal() == 0) {
+            return counts;
+        }
+        adjustTotals(userId, -counts.getTotal(), -counts.getCompleted());
+        for (TaskRepository.DueDateCount open : taskRepository.countOpenByDueDateForSubtree(taskId)) {
+            adjustDay(userId, open.getDueDate(), -open.getCount(), 0);
+        }
+        return counts;
+    }
+
+    /**
+     * Serves the dashboard from two indexed lookups, independent of how many tasks the user owns.
+     */
+    @Transactional(readOnly = true)
+    public UserStatsResponse getStats(Long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDate since = today.minusDays(HISTORY_DAYS - 1);
+        LocalDate endOfWeek = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+
+        UserTaskStats totals = statsRepository.findById(userId)
+                .orElse(new UserTaskStats(userId, 0, 0));
+
+        long overdue = 0;
+        long dueThisWeek = 0;
+        Map<LocalDate, Long> completedByDay = new HashMap<>();
+        for (UserDailyStats row : dailyStatsRepository.findDashboardRows(userId, since)) {
+            LocalDate date = row.getStatDate();
+            if (row.getOpenDue() > 0) {
+                if (date.isBefore(today)) {
+                    overdue += row.getOpenDue();
+                } else if (!date.isAfter(endOfWeek)) {
+                    dueThisWeek += row.getOpenDue();
+                }
+            }
+            if (!date.isBefore(since) && !date.isAfter(today) && row.getCompleted() > 0) {
+                completedByDay.put(date, row.getCompleted());
+            }
+        }
+
+        List<UserStatsResponse.DailyCompletions> history = new ArrayList<>(HISTORY_DAYS);
+        for (LocalDate date = since; !date.isAfter(today); date = date.plusDays(1)) {
+            history.add(new UserStatsResponse.DailyCompletions(date, completedByDay.getOrDefault(date, 0L)));
+        }
+
+        long total = Math.max(0, totals.getTotalTasks());
+        long completed = Math.max(0, Math.min(total, totals.getCompletedTasks()));
+        double rate = total > 0 ? (completed * 100.0 / total) : 0.0;
+
+        return new UserStatsResponse(
+                total,
+                completed,
+                Math.round(rate * 100.0) / 100.0,
+                overdue,
+                dueThisWeek,
+                history
+        );
+    }
+
+    /**
+     * Rebuilds totals and open-due counters for one user from the tasks table and the archive counters.
+     * Completion history cannot be rebuilt (deleted tasks are gone) and is left untouched.
+     */
+    @Transactional
+    public void reconcile(Long userId) {
+        long archived = projectRepository.sumArchivedTasksByUserId(userId);
+        long total = taskRepository.countActiveByUserId(userId) + archived;
+        long completed = taskRepository.countActiveByUserIdAndCompleted(userId, true) + archived;
+        if (statsRepository.overwrite(userId, total, completed) == 0) {
+            statsRepository.insertIfAbsent(userId);
+            statsRepository.overwrite(userId, total, completed);
+        }
+
+        dailyStatsRepository.resetOpenDue(userId);
+        for (TaskRepository.DueDateCount open : taskRepository.countOpenByDueDateForUser(userId)) {
+            adjustDay(userId, open.getDueDate(), open.getCount(), 0);
+        }
+    }
+
+    private void adjustTotals(Long userId, long total, long completed) {
+        if (statsRepository.increment(userId, total, completed) == 0) {
+            statsRepository.insertIfAbsent(userId);
+            statsRepository.increment(userId, total, completed);
+        }
+    }
+
+    private void adjustDay(Long userId, LocalDate date, long openDue, long completed) {
+        if (openDue == 0 && completed == 0) {
+            return;
+        }
+        if (dailyStatsRepository.increment(userId, date, openDue, completed) == 0) {
+            dailyStatsRepository.insertIfAbsent(userId, date);
+            dailyStatsRepository.increment(userId, date, openDue, completed);
+        }
+    }
+}
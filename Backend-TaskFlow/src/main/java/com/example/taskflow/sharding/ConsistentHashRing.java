@@ -0,0 +1,45 @@
+package com.example.taskflow.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Places new users on shards. Each shard owns {@code virtualNodes} points on a 64-bit ring
+ * and an email belongs to the first point at or after its hash, so adding a shard only
+ * claims about 1/N of the key space.
+ */
+public class ConsistentHashRing {
+
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash("shard-" + shard + "#" + node), shard);
+            }
+        }
+    }
+
+    public int shardFor(String email) {
+        Map.Entry<Long, Integer> owner = ring.ceilingEntry(hash(email.toLowerCase()));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * FNV-1a followed by a murmur3 finalizer, so short, similar keys still spread evenly.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.taskflow.sharding;
+
+/**
+ * Holds the shard the current thread's work is routed to.
+ * Must be set before a transaction begins: the routing DataSource picks the
+ * physical database when the transaction obtains its connection.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * The current shard, or null for the default shard.
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Routes the current thread to {@code shard} until the returned scope is closed,
+     * then restores the previous shard.
+     */
+    public static Scope enter(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.taskflow.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The physical shard databases, indexed by shard number.
+ */
+@Slf4j
+public class ShardDataSources implements DisposableBean {
+
+    /**
+     * Width of each shard's identity range. Shard k hands out ids above {@code k * ID_RANGE},
+     * so rows keep their ids when a user moves between shards.
+     */
+    static final long ID_RANGE = 1L << 40;
+
+    /**
+     * Tables whose ids leave the shard: rows moved with a user, and webhook events, whose id receivers
+     * use to drop duplicates whichever shard sent them.
+     */
+    private static final List<String> IDENTITY_TABLES = List.of("users", "projects", "task_recurrences", "tasks",
+            "task_imports", "user_daily_stats", "webhook_outbox");
+
+    private final List<DataSource> dataSources;
+
+    public ShardDataSources(List<DataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+    }
+
+    public int size() {
+        return dataSources.size();
+    }
+
+    public DataSource get(int shard) {
+        return dataSources.get(shard);
+    }
+
+    public JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(dataSources.get(shard));
+    }
+
+    /**
+     * Applies the auto-configured Flyway settings to every shard, then moves each shard's
+     * identity columns into its own range.
+     */
+    public void migrate(Flyway template) {
+        for (int shard = 0; shard < dataSources.size(); shard++) {
+            Flyway.configure()
+                    .configuration(template.getConfiguration())
+                    .dataSource(dataSources.get(shard))
+                    .load()
+                    .migrate();
+            reserveIdRange(shard);
+        }
+    }
+
+    private void reserveIdRange(int shard) {
+        if (shard == 0) {
+            return;
+        }
+        JdbcTemplate jdbc = jdbc(shard);
+        long floor = shard * ID_RANGE;
+        for (String table : IDENTITY_TABLES) {
+            Long maxId = jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            if (maxId != null && maxId < floor) {
+                jdbc.execute("alter table " + table + " alter column id restart with " + (floor + 1));
+                log.info("Shard {}: {} ids now start at {}", shard, table, floor + 1);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
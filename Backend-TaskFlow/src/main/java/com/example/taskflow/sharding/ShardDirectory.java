@@ -0,0 +1,126 @@
+package com.example.taskflow.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Email to shard mapping, stored in {@code user_shards} on shard 0 and cached per node.
+ * The directory is authoritative; the hash ring only chooses the shard of a new user.
+ */
+@Slf4j
+public class ShardDirectory {
+
+    private final ShardDataSources shards;
+    private final JdbcTemplate jdbc;
+    private final ConsistentHashRing ring;
+    private final long cacheTtlNanos;
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+    public ShardDirectory(ShardDataSources shards, ConsistentHashRing ring, Duration cacheTtl) {
+        this.shards = shards;
+        this.jdbc = shards.jdbc(0);
+        this.ring = ring;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public int placementFor(String email) {
+        return ring.shardFor(email);
+    }
+
+    public Optional<Entry> find(String email) {
+        long now = System.nanoTime();
+        Cached cached = cache.get(email);
+        if (cached != null && now - cached.loadedAt < cacheTtlNanos) {
+            return Optional.ofNullable(cached.entry);
+        }
+        Entry entry = load(email);
+        cache.put(email, new Cached(entry, now));
+        return Optional.ofNullable(entry);
+    }
+
+    /**
+     * The entry as stored, bypassing this node's cache.
+     */
+    Optional<Entry> findCurrent(String email) {
+        Entry entry = load(email);
+        cache.remove(email);
+        return Optional.ofNullable(entry);
+    }
+
+    private Entry load(String email) {
+        return jdbc.query("select user_id, shard, moving from user_shards where email = ?",
+                rs -> rs.next() ? new Entry(rs.getLong(1), rs.getInt(2), rs.getBoolean(3)) : null,
+                email);
+    }
+
+    public void register(String email, long userId, int shard) {
+        jdbc.update("insert into user_shards (email, user_id, shard, moving) values (?, ?, ?, false)",
+                email, userId, shard);
+        cache.remove(email);
+    }
+
+    void setMoving(String email, boolean moving) {
+        jdbc.update("update user_shards set moving = ? where email = ?", moving, email);
+        cache.remove(email);
+    }
+
+    /**
+     * Flags the user as moving unless a move is already under way, possibly started by another node.
+     */
+    boolean startMove(String email) {
+        int updated = jdbc.update("update user_shards set moving = true where email = ? and moving = false", email);
+        cache.remove(email);
+        return updated == 1;
+    }
+
+    void completeMove(String email, int shard) {
+        jdbc.update("update user_shards set shard = ?, moving = false where email = ?", shard, email);
+        cache.remove(email);
+    }
+
+    Map<Integer, Long> countByShard() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        jdbc.query("select shard, count(*) from user_shards group by shard",
+                rs -> { counts.put(rs.getInt(1), rs.getLong(2)); });
+        return counts;
+    }
+
+    /**
+     * Turning sharding on over an existing database: the directory starts empty and every
+     * user already present on a shard is registered where it is.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Integer entries = jdbc.queryForObject("select count(*) from user_shards", Integer.class);
+        if (entries != null && entries > 0) {
+            return;
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            int target = shard;
+            List<Map<String, Object>> users = shards.jdbc(shard).queryForList("select id, email from users");
+            for (Map<String, Object> user : users) {
+                register((String) user.get("email"), ((Number) user.get("id")).longValue(), target);
+            }
+            log.info("Shard directory: registered {} existing users on shard {}", users.size(), shard);
+        }
+    }
+
+    public record Entry(long userId, int shard, boolean moving) {
+    }
+
+    private record Cached(Entry entry, long loadedAt) {
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.taskflow.sharding;
+
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.exception.ShardUnavailableException;
+import com.example.taskflow.sync.ChangeSequence;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Moves users to another shard while the application keeps serving everyone else. A user moves with
+ * everyone they share a project with, in either direction and transitively, so that every project and
+ * its collaborators stay on one shard.
+ * <ol>
+ *     <li>The directory entries are flagged as moving; requests for those users get 503 with Retry-After.</li>
+ *     <li>Wait one directory cache TTL, so no node still routes writes to the source from a stale entry.</li>
+ *     <li>Copy the rows into the target in one transaction, ids unchanged (shards use disjoint id ranges),
+ *     then raise the target's change sequence above the users' last change so delta sync cursors stay valid,
+ *     and stamp again the target's projects shared with them.</li>
+ *     <li>Point the directory at the target, which also lifts the block.</li>
+ *     <li>Delete the rows from the source in one transaction.</li>
+ * </ol>
+ * A failure before step 4 clears the flags and leaves the users on the source shard.
+ * <p>
+ * Undelivered webhook events move too, keeping their ids and due times, so they are still sent before
+ * the events the user raises on the target. An event the source was sending during the copy keeps its
+ * lease on the target and is sent again once the lease ends; receivers drop it by id.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    /**
+     * Every table holding per-user rows, parents first. Each query selects one user's rows by user id;
+     * tasks are copied shallowest first so parent tasks exist before their subtasks.
+     */
+    private static final List<UserTable> USER_TABLES = List.of(
+            new UserTable("users", "id = ?"),
+            new UserTable("projects", "user_id = ?"),
+            new UserTable("project_members", "project_id in (select id from projects where user_id = ?)"),
+            new UserTable("project_daily_stats", "project_id in (select id from projects where user_id = ?)"),
+            new UserTable("task_recurrences", "project_id in (select id from projects where user_id = ?)"),
+            new UserTable("tasks", "project_id in (select id from projects where user_id = ?)",
+                    "(select count(*) from task_closure c where c.descendant_id = tasks.id)"),
+            new UserTable("task_closure",
+                    "descendant_id in (select t.id from tasks t join projects p on p.id = t.project_id where p.user_id = ?)"),
+            new UserTable("tasks_archive", "project_id in (select id from projects where user_id = ?)"),
+            new UserTable("task_imports", "user_id = ?"),
+            new UserTable("task_import_errors", "import_id in (select id from task_imports where user_id = ?)"),
+            new UserTable("project_deletions", "user_id = ?"),
+            new UserTable("user_task_stats", "user_id = ?"),
+            new UserTable("user_daily_stats", "user_id = ?"),
+            new UserTable("sync_tombstones", "user_id = ?"),
+            new UserTable("webhook_outbox", "project_id in (select id from projects where user_id = ?)"),
+            new UserTable("webhook_dead_letters", "project_id in (select id from projects where user_id = ?)"),
+            new UserTable("revoked_tokens", "user_id = ?")
+    );
+
+    /**
+     * Users of the source shard sharing a project with the given user: owners of the projects they
+     * collaborate on, and collaborators on their own projects.
+     */
+    private static final String SHARING_PARTNERS = "select u.id, u.email from users u where u.id in ("
+            + "select p.user_id from project_members m join projects p on p.id = m.project_id "
+            + "where m.user_id = ? and p.deleted_at is null "
+            + "union select m.user_id from project_members m join projects p on p.id = m.project_id "
+            + "where p.user_id = ? and p.deleted_at is null)";
+
+    /**
+     * Delay before a co-location waiting on a move in progress looks again.
+     */
+    private static final Duration COLOCATION_RETRY = Duration.ofSeconds(1);
+
+    private final ShardDataSources shards;
+    private final ShardDirectory directory;
+    private final Duration cacheTtl;
+    private final ScheduledExecutorService colocations = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shard-colocation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ShardRebalancer(ShardDataSources shards, ShardDirectory directory, Duration cacheTtl) {
+        this.shards = shards;
+        this.directory = directory;
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Moves the user, with everyone they share projects with, to {@code target}.
+     *
+     * @throws ShardUnavailableException when one of them is already being moved
+     */
+    public void moveUser(String email, int target) {
+        if (target < 0 || target >= shards.size()) {
+            throw new IllegalArgumentException("No shard " + target);
+        }
+        ShardDirectory.Entry entry = directory.findCurrent(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + email));
+        int source = entry.shard();
+        if (source == target) {
+            return;
+        }
+
+        Map<Long, String> group = sharingGroup(entry.userId(), email, source);
+        List<String> flagged = new ArrayList<>(group.size());
+        try {
+            for (String member : group.values()) {
+                if (!directory.startMove(member)) {
+                    throw new ShardUnavailableException("User " + member + " is already being moved");
+                }
+                flagged.add(member);
+            }
+            Thread.sleep(cacheTtl.toMillis());
+            copy(List.copyOf(group.keySet()), source, target);
+        } catch (InterruptedException ex) {
+            flagged.forEach(member -> directory.setMoving(member, false));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Move of " + email + " interrupted", ex);
+        } catch (RuntimeException ex) {
+            flagged.forEach(member -> directory.setMoving(member, false));
+            throw ex;
+        }
+        group.values().forEach(member -> directory.completeMove(member, target));
+        delete(List.copyOf(group.keySet()), source);
+        log.info("Moved users {} from shard {} to shard {}", group.keySet(), source, target);
+    }
+
+    /**
+     * Moves {@code email}, with everyone they share projects with, to the shard of {@code ownerEmail}
+     * in the background; a project shared across shards becomes visible to the collaborator once it
+     * is done. Waits while either user is being moved, and follows the owner if they move meanwhile.
+     */
+    public void colocate(String email, String ownerEmail) {
+        colocations.execute(() -> colocateNow(email, ownerEmail));
+    }
+
+    public void shutdown() {
+        colocations.shutdownNow();
+    }
+
+    private void colocateNow(String email, String ownerEmail) {
+        try {
+            ShardDirectory.Entry owner = directory.findCurrent(ownerEmail).orElse(null);
+            ShardDirectory.Entry collaborator = directory.findCurrent(email).orElse(null);
+            if (owner == null || collaborator == null || owner.shard() == collaborator.shard()) {
+                return;
+            }
+            if (owner.moving() || collaborator.moving()) {
+                retryColocation(email, ownerEmail);
+                return;
+            }
+            moveUser(email, owner.shard());
+            // The owner may have been moved by another node while the collaborator was copied
+            retryColocation(email, ownerEmail);
+        } catch (ShardUnavailableException ex) {
+            retryColocation(email, ownerEmail);
+        } catch (RuntimeException ex) {
+            log.error("Could not move {} to the shard of {}", email, ownerEmail, ex);
+        }
+    }
+
+    private void retryColocation(String email, String ownerEmail) {
+        colocations.schedule(() -> colocateNow(email, ownerEmail), COLOCATION_RETRY.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The user and everyone on {@code source} linked to them through shared projects, by id.
+     */
+    private Map<Long, String> sharingGroup(long userId, String email, int source) {
+        JdbcTemplate jdbc = shards.jdbc(source);
+        Map<Long, String> group = new LinkedHashMap<>();
+        group.put(userId, email);
+        Deque<Long> pending = new ArrayDeque<>(List.of(userId));
+        while (!pending.isEmpty()) {
+            long next = pending.poll();
+            jdbc.query(SHARING_PARTNERS, rs -> {
+                long partner = rs.getLong(1);
+                if (group.putIfAbsent(partner, rs.getString(2)) == null) {
+                    pending.add(partner);
+                }
+            }, next, next);
+        }
+        return group;
+    }
+
+    private void copy(List<Long> userIds, int source, int target) {
+        JdbcTemplate from = shards.jdbc(source);
+        JdbcTemplate to = shards.jdbc(target);
+        inTransaction(target, () -> {
+            for (UserTable table : USER_TABLES) {
+                for (long userId : userIds) {
+                    List<Map<String, Object>> rows = from.queryForList(
+                            "select * from " + table.name() + " where " + table.userFilter()
+                                    + (table.copyOrder().isEmpty() ? "" : " order by " + table.copyOrder()), userId);
+                    if (rows.isEmpty()) {
+                        continue;
+                    }
+                    List<String> columns = List.copyOf(rows.get(0).keySet());
+                    String insert = "insert into " + table.name() + " (" + String.join(", ", columns) + ") values ("
+                            + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+                    to.batchUpdate(insert, rows.stream().map(row -> row.values().toArray()).toList());
+                }
+            }
+        });
+        // Outside the copy transaction: sequence DDL commits implicitly on some databases
+        for (long userId : userIds) {
+            Long lastChange = from.queryForObject("select greatest("
+                    + "(select coalesce(max(change_seq), 0) from projects where user_id = ?), "
+                    + "(select coalesce(max(t.change_seq), 0) from tasks t join projects p on p.id = t.project_id "
+                    + "where p.user_id = ?), "
+                    + "(select coalesce(max(change_seq), 0) from sync_tombstones where user_id = ?))",
+                    Long.class, userId, userId, userId);
+            ChangeSequence.raiseTo(to, lastChange);
+        }
+        // Projects already on the target that are shared with the moved users carry the target's sequence
+        // values, which their clients' cursors may be past; stamping them again has the clients receive them
+        String moved = String.join(", ", Collections.nCopies(userIds.size(), "?"));
+        String shared = "select m.project_id from project_members m join projects p on p.id = m.project_id "
+                + "where m.user_id in (" + moved + ") and p.user_id not in (" + moved + ")";
+        Object[] args = Stream.concat(userIds.stream(), userIds.stream()).toArray();
+        to.update("update projects set change_seq = nextval('change_seq'), changed_at = current_timestamp "
+                + "where id in (" + shared + ")", args);
+        to.update("update tasks set change_seq = nextval('change_seq'), changed_at = current_timestamp "
+                + "where project_id in (" + shared + ")", args);
+    }
+
+    private void delete(List<Long> userIds, int source) {
+        JdbcTemplate jdbc = shards.jdbc(source);
+        inTransaction(source, () -> {
+            for (int i = USER_TABLES.size() - 1; i >= 0; i--) {
+                UserTable table = USER_TABLES.get(i);
+                for (long userId : userIds) {
+                    jdbc.update("delete from " + table.name() + " where " + table.userFilter(), userId);
+                }
+            }
+        });
+    }
+
+    private void inTransaction(int shard, Runnable work) {
+        new TransactionTemplate(new DataSourceTransactionManager(shards.get(shard)))
+                .executeWithoutResult(status -> work.run());
+    }
+
+    private record UserTable(String name, String userFilter, String copyOrder) {
+
+        UserTable(String name, String userFilter) {
+            this(name, userFilter, "");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.taskflow.sharding;
+
+import com.example.taskflow.exception.ShardUnavailableException;
+import com.example.taskflow.model.User;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Resolves users to shards and runs work on a given shard.
+ * Without {@code sharding.enabled} there is a single shard and every call is a pass-through.
+ */
+@Component
+public class ShardRouter {
+
+    private final ShardDirectory directory;
+    private final ShardRebalancer rebalancer;
+
+    public ShardRouter(ObjectProvider<ShardDirectory> directory, ObjectProvider<ShardRebalancer> rebalancer) {
+        this.directory = directory.getIfAvailable();
+        this.rebalancer = rebalancer.getIfAvailable();
+    }
+
+    public int shardCount() {
+        return directory == null ? 1 : directory.shardCount();
+    }
+
+    /**
+     * Shard holding the user's rows. Unknown emails resolve to their ring placement,
+     * where a lookup simply finds nothing.
+     *
+     * @throws ShardUnavailableException while the user is being rebalanced
+     */
+    public int shardOf(String email) {
+        if (directory == null) {
+            return 0;
+        }
+        return directory.find(email)
+                .map(entry -> {
+                    if (entry.moving()) {
+                        throw new ShardUnavailableException("Account is being migrated, retry shortly");
+                    }
+                    return entry.shard();
+                })
+                .orElseGet(() -> directory.placementFor(email));
+    }
+
+    /**
+     * Shard the current thread's work is routed to.
+     */
+    public int currentShard() {
+        Integer shard = ShardContext.current();
+        return shard == null ? 0 : shard;
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (directory == null) {
+            return work.get();
+        }
+        try (ShardContext.Scope ignored = ShardContext.enter(shard)) {
+            return work.get();
+        }
+    }
+
+    public <T> List<T> onEachShard(Supplier<T> work) {
+        List<T> results = new ArrayList<>(shardCount());
+        for (int shard = 0; shard < shardCount(); shard++) {
+            results.add(onShard(shard, work));
+        }
+        return results;
+    }
+
+    public void forEachShard(Runnable work) {
+        onEachShard(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Saves a new user on the shard the ring assigns to its email and records it in the directory.
+     */
+    public User createUser(String email, Supplier<User> save) {
+        if (directory == null) {
+            return save.get();
+        }
+        int shard = directory.placementFor(email);
+        User user = onShard(shard, save);
+        directory.register(email, user.getId(), shard);
+        return user;
+    }
+
+    /**
+     * Moves the user, with everyone they share projects with, to the shard of {@code ownerEmail}
+     * in the background, unless they are already there.
+     */
+    public void colocate(String email, String ownerEmail) {
+        if (rebalancer != null) {
+            rebalancer.colocate(email, ownerEmail);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.taskflow.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Single DataSource seen by JPA and Flyway; each connection comes from the shard in {@link ShardContext}.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.taskflow.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in user sharding ({@code sharding.enabled=true}). Replaces the auto-configured
+ * DataSource with a router over {@code sharding.shards[*]}; JPA, transactions and Flyway
+ * keep working unchanged on top of it.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("sharding.enabled=true requires at least one sharding.shards[n].url");
+        }
+        List<DataSource> dataSources = properties.getShards().stream()
+                .map(ShardingConfig::createDataSource)
+                .toList();
+        return new ShardDataSources(dataSources);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        ShardRoutingDataSource router = new ShardRoutingDataSource();
+        router.setTargetDataSources(targets);
+        // Work outside a request (startup, Flyway's connection check) lands on shard 0
+        router.setDefaultTargetDataSource(shards.get(0));
+        router.setLenientFallback(false);
+        return router;
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(ShardDataSources shards, ShardingProperties properties) {
+        ConsistentHashRing ring = new ConsistentHashRing(shards.size(), properties.getVirtualNodes());
+        return new ShardDirectory(shards, ring, properties.getDirectoryCacheTtl());
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardDataSources shards, ShardDirectory directory,
+                                           ShardingProperties properties) {
+        return new ShardRebalancer(shards, directory, properties.getDirectoryCacheTtl());
+    }
+
+    @Bean
+    public ShardsEndpoint shardsEndpoint(ShardDirectory directory, ShardRebalancer rebalancer) {
+        return new ShardsEndpoint(directory, rebalancer);
+    }
+
+    private static DataSource createDataSource(ShardingProperties.Shard shard) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(shard.getUrl());
+        dataSource.setUsername(shard.getUsername());
+        dataSource.setPassword(shard.getPassword());
+        return dataSource;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.taskflow.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code sharding.*} settings. Shard 0 also holds the shard directory.
+ */
+@Data
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Ring points per shard; more points give a more even spread.
+     */
+    private int virtualNodes = 64;
+
+    /**
+     * How long a node may route with a cached directory entry. The rebalancer
+     * waits this long between blocking a user and copying their rows.
+     */
+    private Duration directoryCacheTtl = Duration.ofSeconds(30);
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.taskflow.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for shard operations: {@code usersPerShard} lists users per shard, {@code moveUser}
+ * rebalances one user and everyone they share projects with. JMX only, so that moving users stays an
+ * operator action no API user can reach.
+ */
+@JmxEndpoint(id = "shards")
+public class ShardsEndpoint {
+
+    private final ShardDirectory directory;
+    private final ShardRebalancer rebalancer;
+
+    public ShardsEndpoint(ShardDirectory directory, ShardRebalancer rebalancer) {
+        this.directory = directory;
+        this.rebalancer = rebalancer;
+    }
+
+    @ReadOperation
+    public Map<Integer, Long> usersPerShard() {
+        return directory.countByShard();
+    }
+
+    @WriteOperation
+    public Map<String, Object> moveUser(String email, int target) {
+        rebalancer.moveUser(email, target);
+        return Map.of("email", email, "shard", target);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.taskflow.sync;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The database sequence ordering every change a client can sync. Values come from the shard the current
+ * transaction runs on; a user's rows all live on one shard, so each user sees an increasing sequence.
+ * <p>
+ * A transaction reserves values in blocks that double from one up to {@value #MAX_BLOCK}, each taken with
+ * one query, so writing n rows costs about log2(n) round trips rather than n. Values a transaction leaves
+ * unused are skipped. Blocks never outlive their transaction: values kept across transactions on one node
+ * would not follow commit order across nodes.
+ * <p>
+ * Delta sync holds changes back for {@code sync.settle-window}; a transaction that commits later than that
+ * after taking its first value may be skipped by clients that synced in between. Such commits are logged
+ * and counted ({@code sync.late-commits}).
+ */
+@Component
+@Slf4j
+public class ChangeSequence {
+
+    public static final String NAME = "change_seq";
+
+    static final int MAX_BLOCK = 128;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long settleWindowNanos;
+    private final Counter lateCommits;
+
+    public ChangeSequence(JdbcTemplate jdbcTemplate,
+                          @Value("${sync.settle-window:5s}") Duration settleWindow,
+                          MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settleWindowNanos = settleWindow.toNanos();
+        this.lateCommits = Counter.builder("sync.late-commits").register(meterRegistry);
+    }
+
+    public long next() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return reserve(1)[0];
+        }
+        Reservation reservation = (Reservation) TransactionSynchronizationManager.getResource(this);
+        if (reservation == null) {
+            reservation = new Reservation(System.nanoTime());
+            TransactionSynchronizationManager.bindResource(this, reservation);
+            TransactionSynchronizationManager.registerSynchronization(new Completion(reservation));
+        }
+        return reservation.take();
+    }
+
+    private long[] reserve(int count) {
+        List<Long> values = jdbcTemplate.queryForList(
+                "SELECT nextval('" + NAME + "') FROM generate_series(1, ?)", Long.class, count);
+        return values.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /**
+     * Makes the sequence of the database behind {@code jdbc} hand out values above {@code value}; used
+     * when a user's rows are copied in from another shard, so their sequence keeps increasing.
+     * Values other users take between the check and the restart are at most {@code value}, unless
+     * more of them are taken in that instant than the gap being skipped.
+     */
+    public static void raiseTo(JdbcTemplate jdbc, long value) {
+        Long next = jdbc.queryForObject("SELECT nextval('" + NAME + "')", Long.class);
+        if (next != null && next <= value) {
+            jdbc.execute("ALTER SEQUENCE " + NAME + " RESTART WITH " + (value + 1));
+        }
+    }
+
+    /**
+     * The values one transaction has reserved and how many of them it has used.
+     */
+    private final class Reservation {
+
+        private final long startedAt;
+        private long[] block = new long[0];
+        private int used;
+        private long taken;
+
+        private Reservation(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        long take() {
+            if (used == block.length) {
+                block = reserve((int) Math.min(MAX_BLOCK, Math.max(1, taken)));
+                used = 0;
+            }
+            taken++;
+            return block[used++];
+        }
+    }
+
+    private final class Completion implements TransactionSynchronization {
+
+        private final Reservation reservation;
+
+        private Completion(Reservation reservation) {
+            this.reservation = reservation;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(ChangeSequence.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ChangeSequence.this, reservation);
+        }
+
+        @Override
+        public void afterCommit() {
+            long elapsed = System.nanoTime() - reservation.startedAt;
+            if (settleWindowNanos > 0 && elapsed > settleWindowNanos) {
+                lateCommits.increment();
+                log.warn("A transaction committed {} change sequence values {} ms after taking the first, past the " +
+                        "sync settle window; clients that synced in between may have skipped them",
+                        reservation.taken, Duration.ofNanos(elapsed).toMillis());
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequence.this);
+        }
+    }
+}
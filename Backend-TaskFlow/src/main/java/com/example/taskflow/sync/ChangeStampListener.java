@@ -0,0 +1,33 @@
+package com.example.taskflow.sync;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stamps {@link ChangeStamped} entities with the next change sequence value when Hibernate inserts or
+ * updates them, so every write through JPA is seen by delta sync without each service remembering to.
+ * The values come from the transaction's reserved blocks ({@link ChangeSequence}), not a query per entity.
+ * Bulk statements bypass it: inserts get the column default, deletes record a tombstone explicitly.
+ * Created by Hibernate through Spring, hence the lazy lookup of the sequence.
+ */
+@Component
+public class ChangeStampListener {
+
+    private final ObjectProvider<ChangeSequence> changeSequence;
+
+    public ChangeStampListener(ObjectProvider<ChangeSequence> changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void stamp(Object entity) {
+        ChangeStamped stamped = (ChangeStamped) entity;
+        stamped.setChangeSeq(changeSequence.getObject().next());
+        stamped.setChangedAt(LocalDateTime.now());
+    }
+}
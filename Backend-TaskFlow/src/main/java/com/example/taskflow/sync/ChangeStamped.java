@@ -0,0 +1,13 @@
+package com.example.taskflow.sync;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entity that takes a new value of the change sequence on every insert and update, see {@link ChangeStampListener}.
+ */
+public interface ChangeStamped {
+
+    void setChangeSeq(Long changeSeq);
+
+    void setChangedAt(LocalDateTime changedAt);
+}
@@ -0,0 +1,102 @@
+package com.example.taskflow.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Spans of one sampled request. Used by one thread at a time, so nothing here is synchronized:
+ * the request thread, or the bulkhead thread it handed the request to ({@link Tracer#propagate}).
+ * Each layer accumulates self time (its duration minus nested spans), which makes the
+ * {@code Server-Timing} entries add up to the total; the remainder is reported as {@code app}
+ * and covers servlet filters, argument binding and response serialization.
+ */
+public class RequestTrace {
+
+    static final int MAX_SPANS = 128;
+
+    private final long startNanos = System.nanoTime();
+    private final long[] selfNanos = new long[TraceLayer.values().length];
+    private final Deque<OpenSpan> open = new ArrayDeque<>();
+    private final List<Span> spans = new ArrayList<>();
+
+    public TraceScope open(TraceLayer layer, String name) {
+        OpenSpan span = new OpenSpan(layer, name, open.size(), System.nanoTime());
+        open.push(span);
+        return span;
+    }
+
+    public String serverTiming() {
+        long total = System.nanoTime() - startNanos;
+        long other = total;
+        StringBuilder header = new StringBuilder();
+        for (TraceLayer layer : TraceLayer.values()) {
+            long self = selfNanos[layer.ordinal()];
+            other -= self;
+            appendMetric(header, layer.getMetric(), self);
+        }
+        appendMetric(header, "app", other);
+        appendMetric(header, "total", total);
+        return header.toString();
+    }
+
+    public List<Span> spans() {
+        List<Span> sorted = new ArrayList<>(spans);
+        sorted.sort(Comparator.comparingDouble(Span::startMs));
+        return sorted;
+    }
+
+    private void close(OpenSpan span) {
+        open.remove(span);
+        long duration = System.nanoTime() - span.startNanos;
+        selfNanos[span.layer.ordinal()] += duration - span.childNanos;
+        OpenSpan parent = open.peek();
+        if (parent != null) {
+            parent.childNanos += duration;
+        }
+        if (spans.size() < MAX_SPANS) {
+            spans.add(new Span(span.layer.getMetric(), span.name, span.depth,
+                    toMillis(span.startNanos - startNanos), toMillis(duration)));
+        }
+    }
+
+    private static void appendMetric(StringBuilder header, String metric, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(metric).append(";dur=").append(toMillis(nanos));
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * A finished span, with offsets relative to the start of the request.
+     */
+    public record Span(String layer, String name, int depth, double startMs, double durationMs) {
+    }
+
+    private final class OpenSpan implements TraceScope {
+
+        private final TraceLayer layer;
+        private final String name;
+        private final int depth;
+        private final long startNanos;
+        private long childNanos;
+
+        private OpenSpan(TraceLayer layer, String name, int depth, long startNanos) {
+            this.layer = layer;
+            this.name = name;
+            this.depth = depth;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            RequestTrace.this.close(this);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.taskflow.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The {@code capacity} slowest requests over the slow threshold from the last {@code tracing.slow.max-age},
+ * kept without a lock in a fixed array of slots. A request takes a free or expired slot, or else the slot of
+ * the fastest request kept if it is slower, by compare-and-set; it scans again if another request changed that
+ * slot first. The fastest duration kept is published as a floor, valid until the oldest entry expires, so
+ * requests too fast to enter are turned away after one volatile read. Entries expire so that warm-up outliers
+ * make room for what the instance is doing now. Every request is timed, but only sampled ones carry spans.
+ */
+@Component
+public class SlowRequestLog {
+
+    private static final Comparator<SlowRequest> SLOWEST_FIRST =
+            Comparator.comparingDouble(SlowRequest::durationMs).reversed();
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final double thresholdMs;
+    private final long maxAgeNanos;
+    /** Requests no slower than this are turned away until it expires; null while a slot is free. */
+    private volatile Floor floor;
+
+    public SlowRequestLog(@Value("${tracing.slow.capacity:64}") int capacity,
+                          @Value("${tracing.slow.threshold-ms:500}") long thresholdMs,
+                          @Value("${tracing.slow.max-age:1h}") Duration maxAge) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.thresholdMs = thresholdMs;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    public void record(String method, String path, int status, long durationNanos, RequestTrace trace) {
+        double durationMs = Math.round(durationNanos / 10_000.0) / 100.0;
+        if (durationMs < thresholdMs) {
+            return;
+        }
+        long now = System.nanoTime();
+        Floor current = floor;
+        if (current != null && durationMs <= current.durationMs() && now - current.expiresAt() < 0) {
+            return;
+        }
+        Entry entry = new Entry(new SlowRequest(Instant.now(), method, path, status, durationMs,
+                trace == null ? null : trace.serverTiming(),
+                trace == null ? List.of() : trace.spans()), now + maxAgeNanos);
+        while (true) {
+            int slot = -1;
+            Entry weakest = null;
+            for (int i = 0; i < slots.length(); i++) {
+                Entry kept = slots.get(i);
+                if (kept == null || kept.expired(now)) {
+                    slot = i;
+                    weakest = kept;
+                    break;
+                }
+                if (slot < 0 || kept.request().durationMs() < weakest.request().durationMs()) {
+                    slot = i;
+                    weakest = kept;
+                }
+            }
+            if (slot < 0) {
+                return;
+            }
+            if (weakest != null && !weakest.expired(now) && durationMs <= weakest.request().durationMs()) {
+                break;
+            }
+            if (slots.compareAndSet(slot, weakest, entry)) {
+                break;
+            }
+        }
+        publishFloor(now);
+    }
+
+    /**
+     * Snapshot of the kept requests that have not expired, slowest first.
+     */
+    public List<SlowRequest> slowest() {
+        long now = System.nanoTime();
+        List<SlowRequest> entries = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            Entry kept = slots.get(i);
+            if (kept != null && !kept.expired(now)) {
+                entries.add(kept.request());
+            }
+        }
+        entries.sort(SLOWEST_FIRST);
+        return entries;
+    }
+
+    /**
+     * Drops every kept request; requests recorded meanwhile may survive.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+        floor = null;
+    }
+
+    /**
+     * Publishes the fastest duration kept and when the first entry expires, or no floor while a slot is free.
+     * A floor raced by a concurrent clear or expiry only holds until that first expiry.
+     */
+    private void publishFloor(long now) {
+        double fastest = Double.MAX_VALUE;
+        long expiresAt = now + maxAgeNanos;
+        for (int i = 0; i < slots.length(); i++) {
+            Entry kept = slots.get(i);
+            if (kept == null || kept.expired(now)) {
+                floor = null;
+                return;
+            }
+            fastest = Math.min(fastest, kept.request().durationMs());
+            if (kept.expiresAt() - expiresAt < 0) {
+                expiresAt = kept.expiresAt();
+            }
+        }
+        floor = new Floor(fastest, expiresAt);
+    }
+
+    private record Entry(SlowRequest request, long expiresAt) {
+
+        boolean expired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    private record Floor(double durationMs, long expiresAt) {
+    }
+
+    public record SlowRequest(Instant at, String method, String path, int status, double durationMs,
+                              String serverTiming, List<RequestTrace.Span> spans) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.taskflow.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint listing the slowest requests, slowest first. JMX only: the log holds the paths, and so
+ * the ids, of every user's requests, which no API user may read. Entries expire after {@code tracing.slow.max-age};
+ * the reset operation drops them at once, e.g. to see what is slow after a deploy.
+ */
+@Component
+@JmxEndpoint(id = "slowrequests")
+@RequiredArgsConstructor
+public class SlowRequestsEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+
+    @ReadOperation
+    public List<SlowRequestLog.SlowRequest> slowRequests() {
+        return slowRequestLog.slowest();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowRequestLog.clear();
+    }
+}
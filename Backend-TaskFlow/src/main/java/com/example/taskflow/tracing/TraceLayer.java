@@ -0,0 +1,21 @@
+package com.example.taskflow.tracing;
+
+/**
+ * Application layers timed by the tracer, with their {@code Server-Timing} metric names.
+ */
+public enum TraceLayer {
+    JWT("jwt"),
+    CONTROLLER("web"),
+    SERVICE("svc"),
+    REPOSITORY("db");
+
+    private final String metric;
+
+    TraceLayer(String metric) {
+        this.metric = metric;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+}
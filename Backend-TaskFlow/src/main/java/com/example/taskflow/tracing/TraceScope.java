@@ -0,0 +1,13 @@
+package com.example.taskflow.tracing;
+
+/**
+ * An open span; closing it records its duration on the current request trace.
+ */
+@FunctionalInterface
+public interface TraceScope extends AutoCloseable {
+
+    TraceScope NOOP = () -> { };
+
+    @Override
+    void close();
+}
@@ -0,0 +1,72 @@
+package com.example.taskflow.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Entry point for span tracing. A request is sampled once, when it enters {@link TracingFilter};
+ * for unsampled requests {@link #current()} is null and {@link #open} returns a shared no-op scope,
+ * so instrumented code pays one thread-local lookup.
+ */
+@Component
+public class Tracer {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final double sampleRate;
+
+    public Tracer(@Value("${tracing.sample-rate:0.01}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    public TraceScope open(TraceLayer layer, String name) {
+        RequestTrace trace = CURRENT.get();
+        return trace == null ? TraceScope.NOOP : trace.open(layer, name);
+    }
+
+    /**
+     * Continues the calling thread's trace, if any, on the thread that runs the returned task.
+     * The trace is handed over rather than shared: the caller opens no spans until the task is done.
+     */
+    public Runnable propagate(Runnable task) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) {
+            return task;
+        }
+        return () -> {
+            RequestTrace previous = CURRENT.get();
+            CURRENT.set(trace);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Decides whether the request on this thread is sampled and, if so, starts its trace.
+     */
+    RequestTrace begin() {
+        if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    void end() {
+        CURRENT.remove();
+    }
+}
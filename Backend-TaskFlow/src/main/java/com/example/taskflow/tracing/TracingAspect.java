@@ -0,0 +1,56 @@
+package com.example.taskflow.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Opens a span around controller, service and repository calls of sampled requests.
+ * Unsampled requests only pay the thread-local lookup in {@link Tracer#current()}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("within(com.example.taskflow.controller..*)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, TraceLayer.CONTROLLER);
+    }
+
+    @Around("within(com.example.taskflow.service..*)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, TraceLayer.SERVICE);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, TraceLayer.REPOSITORY);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, TraceLayer layer) throws Throwable {
+        RequestTrace trace = tracer.current();
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        try (TraceScope ignored = trace.open(layer, spanName(joinPoint))) {
+            return joinPoint.proceed();
+        }
+    }
+
+    private static String spanName(ProceedingJoinPoint joinPoint) {
+        // Repository calls run on a JDK proxy; name them after the application interface, not SimpleJpaRepository
+        Object proxy = joinPoint.getThis();
+        Class<?> type = Proxy.isProxyClass(proxy.getClass())
+                ? AopProxyUtils.proxiedUserInterfaces(proxy)[0]
+                : joinPoint.getSignature().getDeclaringType();
+        return type.getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+}
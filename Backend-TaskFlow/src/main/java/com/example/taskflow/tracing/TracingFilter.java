@@ -0,0 +1,106 @@
+package com.example.taskflow.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Outermost filter: times every request for the slow-request log, samples a fraction of them
+ * for span tracing, and adds a {@code Server-Timing} header to sampled responses.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+    private static final String START_ATTRIBUTE = TracingFilter.class.getName() + ".start";
+    private static final String RESPONSE_ATTRIBUTE = TracingFilter.class.getName() + ".response";
+
+    private final Tracer tracer;
+    private final SlowRequestLog slowRequestLog;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * Requests a controller completes asynchronously pass twice: the first pass ends when the work is handed
+     * to a bulkhead, and the async dispatch writes the result. Timing and the trace span both passes.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean resumed = isAsyncDispatch(request);
+        long start = resumed ? (Long) request.getAttribute(START_ATTRIBUTE) : System.nanoTime();
+        ServerTimingResponse timedResponse = resumed
+                ? (ServerTimingResponse) request.getAttribute(RESPONSE_ATTRIBUTE)
+                : null;
+        RequestTrace trace = resumed
+                ? (timedResponse == null ? null : timedResponse.trace)
+                : tracer.begin();
+        try {
+            if (trace == null) {
+                filterChain.doFilter(request, response);
+            } else if (resumed) {
+                filterChain.doFilter(request, response);
+                timedResponse.writeHeader();
+            } else {
+                timedResponse = new ServerTimingResponse(response, trace);
+                filterChain.doFilter(request, timedResponse);
+                if (!request.isAsyncStarted()) {
+                    timedResponse.writeHeader();
+                }
+            }
+        } finally {
+            if (trace != null && !resumed) {
+                tracer.end();
+            }
+            if (request.isAsyncStarted()) {
+                request.setAttribute(START_ATTRIBUTE, start);
+                request.setAttribute(RESPONSE_ATTRIBUTE, timedResponse);
+            } else {
+                slowRequestLog.record(request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        System.nanoTime() - start, trace);
+            }
+        }
+    }
+
+    /**
+     * Headers cannot change once the body starts flushing, so the timing is written
+     * just before commit, or after the chain for responses that fit in the buffer.
+     */
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final RequestTrace trace;
+        private boolean written;
+
+        private ServerTimingResponse(HttpServletResponse response, RequestTrace trace) {
+            super(response);
+            this.trace = trace;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader();
+        }
+
+        private void writeHeader() {
+            if (!written && !isCommitted()) {
+                written = true;
+                addHeader(SERVER_TIMING, trace.serverTiming());
+            }
+        }
+    }
+}
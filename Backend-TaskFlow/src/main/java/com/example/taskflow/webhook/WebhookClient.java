@@ -0,0 +1,82 @@
+package com.example.taskflow.webhook;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Posts webhook batches over one shared non-blocking {@link HttpClient}, with at most
+ * {@code webhooks.max-concurrency} requests in flight; a caller past the limit waits for a slot.
+ */
+@Component
+public class WebhookClient {
+
+    public enum Status {
+        DELIVERED,
+        /** Failed in a way that may pass later: no answer, a timeout, 408, 425, 429, 3xx or 5xx. */
+        FAILED,
+        /** Refused by the endpoint with another 4xx; sending the same batch again would not help. */
+        REJECTED
+    }
+
+    public record Outcome(Status status, String error) {
+    }
+
+    private final HttpClient httpClient;
+    private final Semaphore slots;
+    private final Duration requestTimeout;
+
+    public WebhookClient(WebhookProperties properties) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.slots = new Semaphore(properties.getMaxConcurrency());
+        this.requestTimeout = properties.getRequestTimeout();
+    }
+
+    /**
+     * Sends the JSON body; the future never completes exceptionally.
+     */
+    public CompletableFuture<Outcome> post(URI url, byte[] body) {
+        slots.acquireUninterruptibly();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(url)
+                    .timeout(requestTimeout)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.USER_AGENT, "TaskFlow-Webhooks")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, ex) -> {
+                        slots.release();
+                        return ex != null ? new Outcome(Status.FAILED, describe(ex)) : outcome(response.statusCode());
+                    });
+        } catch (RuntimeException ex) {
+            slots.release();
+            return CompletableFuture.completedFuture(new Outcome(Status.FAILED, describe(ex)));
+        }
+    }
+
+    private static Outcome outcome(int status) {
+        if (status >= 200 && status < 300) {
+            return new Outcome(Status.DELIVERED, null);
+        }
+        boolean retryable = status < 400 || status >= 500 || status == 408 || status == 425 || status == 429;
+        return new Outcome(retryable ? Status.FAILED : Status.REJECTED, "HTTP " + status);
+    }
+
+    private static String describe(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+    }
+}
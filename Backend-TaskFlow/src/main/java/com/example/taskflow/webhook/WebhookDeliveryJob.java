@@ -0,0 +1,200 @@
+package com.example.taskflow.webhook;
+
+import com.example.taskflow.dto.WebhookBatch;
+import com.example.taskflow.model.WebhookDeadLetter;
+import com.example.taskflow.model.WebhookOutboxEvent;
+import com.example.taskflow.repository.WebhookDeadLetterRepository;
+import com.example.taskflow.repository.WebhookOutboxRepository;
+import com.example.taskflow.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delivers the webhook outbox. Each poll claims due events with {@code FOR UPDATE SKIP LOCKED} and leases them
+ * for {@code webhooks.lease}, so several instances share the work without sending an event twice, then commits
+ * before any request is made: no transaction or connection is held while endpoints answer. The events are
+ * grouped per endpoint into batches of {@code webhooks.batch-size}, posted concurrently ({@link WebhookClient}),
+ * and the outcomes are recorded in one transaction: delivered events are deleted; failed ones are due again
+ * after an exponential backoff with jitter; those out of attempts, refused by their endpoint or for an
+ * endpoint no longer configured move to the dead letters. Events of a poller that dies are sent again once
+ * their lease ends, so delivery is at least once.
+ * Metrics: {@code webhooks.delivered}, {@code webhooks.failed} and {@code webhooks.dead-lettered} (events,
+ * tag {@code endpoint}).
+ */
+@Component
+@Slf4j
+public class WebhookDeliveryJob {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final WebhookOutboxRepository outboxRepository;
+    private final WebhookDeadLetterRepository deadLetterRepository;
+    private final WebhookClient client;
+    private final WebhookProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final MeterRegistry registry;
+
+    public WebhookDeliveryJob(WebhookOutboxRepository outboxRepository,
+                              WebhookDeadLetterRepository deadLetterRepository,
+                              WebhookClient client,
+                              WebhookProperties properties,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              ShardRouter shardRouter,
+                              MeterRegistry registry) {
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.client = client;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.registry = registry;
+    }
+
+    @Scheduled(fixedDelayString = "${webhooks.poll-interval-ms:1000}")
+    public void deliverDue() {
+        shardRouter.forEachShard(() -> {
+            try {
+                deliverShard();
+            } catch (RuntimeException ex) {
+                log.warn("Webhook delivery interrupted; it will continue on the next poll", ex);
+            }
+        });
+    }
+
+    /**
+     * Makes one attempt at every event of the current shard that is due; returns the number delivered.
+     */
+    int deliverShard() {
+        int delivered = 0;
+        List<WebhookOutboxEvent> claimed;
+        do {
+            claimed = claim();
+            if (!claimed.isEmpty()) {
+                delivered += deliver(claimed);
+            }
+        } while (claimed.size() == properties.getClaimSize());
+        return delivered;
+    }
+
+    private List<WebhookOutboxEvent> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            List<WebhookOutboxEvent> due = outboxRepository.claimDue(now, properties.getClaimSize());
+            if (!due.isEmpty()) {
+                outboxRepository.lease(due.stream().map(WebhookOutboxEvent::getId).toList(),
+                        now.plus(properties.getLease()));
+            }
+            return due;
+        });
+    }
+
+    private int deliver(List<WebhookOutboxEvent> claimed) {
+        Map<String, List<WebhookOutboxEvent>> byEndpoint = new LinkedHashMap<>();
+        for (WebhookOutboxEvent event : claimed) {
+            byEndpoint.computeIfAbsent(event.getEndpoint(), name -> new ArrayList<>()).add(event);
+        }
+
+        List<List<WebhookOutboxEvent>> batches = new ArrayList<>();
+        List<CompletableFuture<WebhookClient.Outcome>> outcomes = new ArrayList<>();
+        byEndpoint.forEach((name, events) -> {
+            WebhookProperties.Endpoint endpoint = properties.getEndpoints().get(name);
+            for (int from = 0; from < events.size(); from += properties.getBatchSize()) {
+                List<WebhookOutboxEvent> batch = events.subList(from, Math.min(events.size(), from + properties.getBatchSize()));
+                batches.add(batch);
+                outcomes.add(endpoint == null
+                        ? CompletableFuture.completedFuture(new WebhookClient.Outcome(WebhookClient.Status.REJECTED,
+                                "Endpoint '" + name + "' is not configured"))
+                        : client.post(endpoint.getUrl(), body(name, batch)));
+            }
+        });
+        CompletableFuture.allOf(outcomes.toArray(CompletableFuture[]::new)).join();
+
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int delivered = 0;
+            for (int i = 0; i < batches.size(); i++) {
+                delivered += record(batches.get(i), outcomes.get(i).join(), now);
+            }
+            return delivered;
+        });
+    }
+
+    private int record(List<WebhookOutboxEvent> batch, WebhookClient.Outcome outcome, LocalDateTime now) {
+        String endpoint = batch.get(0).getEndpoint();
+        List<Long> ids = batch.stream().map(WebhookOutboxEvent::getId).toList();
+        if (outcome.status() == WebhookClient.Status.DELIVERED) {
+            outboxRepository.deleteByIds(ids);
+            registry.counter("webhooks.delivered", "endpoint", endpoint).increment(batch.size());
+            return batch.size();
+        }
+
+        String error = truncate(outcome.error());
+        List<Long> dead = new ArrayList<>();
+        for (WebhookOutboxEvent event : batch) {
+            int attempts = event.getAttempts() + 1;
+            if (outcome.status() == WebhookClient.Status.REJECTED || attempts >= properties.getMaxAttempts()) {
+                deadLetterRepository.save(new WebhookDeadLetter(event.getId(), endpoint, event.getEventType(),
+                        event.getProjectId(), event.getPayload(), event.getCreatedAt(), attempts, error, now));
+                dead.add(event.getId());
+            } else {
+                outboxRepository.scheduleRetry(event.getId(), attempts, now.plus(backoff(attempts)), error);
+            }
+        }
+        if (!dead.isEmpty()) {
+            outboxRepository.deleteByIds(dead);
+            registry.counter("webhooks.dead-lettered", "endpoint", endpoint).increment(dead.size());
+            log.warn("Dead-lettered {} webhook events for {}: {}", dead.size(), endpoint, error);
+        }
+        registry.counter("webhooks.failed", "endpoint", endpoint).increment(batch.size() - dead.size());
+        return 0;
+    }
+
+    /**
+     * {@code initial-backoff} doubled for each attempt after the first, capped at {@code max-backoff}; half of it
+     * fixed and half random, so events that failed together do not come back together.
+     */
+    private Duration backoff(int attempts) {
+        long max = properties.getMaxBackoff().toMillis();
+        long delay = properties.getInitialBackoff().toMillis();
+        for (int i = 1; i < attempts && delay < max; i++) {
+            delay *= 2;
+        }
+        delay = Math.min(delay, max);
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    private byte[] body(String endpoint, List<WebhookOutboxEvent> events) {
+        List<WebhookBatch.Event> payload = events.stream()
+                .map(event -> new WebhookBatch.Event(event.getId(), event.getEventType(), event.getProjectId(),
+                        event.getCreatedAt(), event.getPayload()))
+                .toList();
+        try {
+            return objectMapper.writeValueAsBytes(new WebhookBatch(endpoint, payload));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize webhook batch", ex);
+        }
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
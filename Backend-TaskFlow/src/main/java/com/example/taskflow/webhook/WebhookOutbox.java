@@ -0,0 +1,69 @@
+package com.example.taskflow.webhook;
+
+import com.example.taskflow.model.WebhookOutboxEvent;
+import com.example.taskflow.repository.WebhookOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records task and project events for the webhook endpoints that subscribe to them, in the caller's
+ * transaction: an event is sent if and only if the change it describes commits, and the write never
+ * waits on an endpoint. {@link WebhookDeliveryJob} sends them.
+ */
+@Component
+@EnableConfigurationProperties(WebhookProperties.class)
+public class WebhookOutbox {
+
+    public static final String TASK_CREATED = "task.created";
+    public static final String TASK_UPDATED = "task.updated";
+    public static final String TASK_COMPLETED = "task.completed";
+    public static final String TASK_REOPENED = "task.reopened";
+    public static final String TASK_DELETED = "task.deleted";
+    public static final String TASKS_IMPORTED = "tasks.imported";
+    public static final String PROJECT_CREATED = "project.created";
+    public static final String PROJECT_DELETED = "project.deleted";
+
+    private final WebhookOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final WebhookProperties properties;
+
+    public WebhookOutbox(WebhookOutboxRepository outboxRepository, ObjectMapper objectMapper,
+                         WebhookProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Queues the event, with {@code data} serialized as its JSON payload, once per subscribed endpoint.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, Long projectId, Object data) {
+        String payload = null;
+        LocalDateTime now = LocalDateTime.now();
+        for (var endpoint : properties.getEndpoints().entrySet()) {
+            if (!endpoint.getValue().accepts(eventType)) {
+                continue;
+            }
+            if (payload == null) {
+                payload = serialize(data);
+            }
+            outboxRepository.save(new WebhookOutboxEvent(null, endpoint.getKey(), eventType, projectId, payload,
+                    now, 0, now, null));
+        }
+    }
+
+    private String serialize(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize webhook event", ex);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.taskflow.webhook;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code webhooks.*} settings: the endpoints events are pushed to, and how the outbox is delivered.
+ */
+@Data
+@ConfigurationProperties(prefix = "webhooks")
+public class WebhookProperties {
+
+    /**
+     * Endpoints by name; the name is stored with each outbox row, so renaming an endpoint dead-letters its backlog.
+     */
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    /**
+     * Events claimed from the outbox per poll and shard.
+     */
+    private int claimSize = 500;
+
+    /**
+     * Events per request to one endpoint.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Requests in flight at once, over all endpoints.
+     */
+    private int maxConcurrency = 8;
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long claimed events stay hidden from other pollers; longer than a request, so a delivery in flight
+     * is not sent twice, and the delay before events of a crashed poller are sent again.
+     */
+    private Duration lease = Duration.ofMinutes(2);
+
+    /**
+     * Attempts before an event is dead-lettered.
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Delay after the first failed attempt, doubled after each further one up to {@code maxBackoff}.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(5);
+
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    @Data
+    public static class Endpoint {
+        private URI url;
+
+        /**
+         * Event types sent to the endpoint, such as {@code task.created}; empty for all of them.
+         */
+        private Set<String> events = new LinkedHashSet<>();
+
+        boolean accepts(String eventType) {
+            return events.isEmpty() || events.contains(eventType);
+        }
+    }
+}
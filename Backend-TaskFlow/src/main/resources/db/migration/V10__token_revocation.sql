@@ -0,0 +1,20 @@
+-- Token revocation. Logging out stores the token's jti until it expires; logging out everywhere raises
+-- the user's token generation, which every token carries. Both are held in memory by each instance.
+CREATE TABLE revoked_tokens (
+    jti        VARCHAR(36)  NOT NULL PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NOT NULL
+);
+
+-- RevokedTokenRepository.findByExpiresAtAfter (startup load) and deleteExpired
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- RevokedTokenRepository.findByRevokedAtGreaterThanEqual (revocations by other instances)
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+
+ALTER TABLE users ADD COLUMN token_generation INT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN tokens_revoked_at TIMESTAMP(6);
+
+-- UserRepository.findTokenGenerationsRaisedSince
+CREATE INDEX idx_users_tokens_revoked_at ON users (tokens_revoked_at);
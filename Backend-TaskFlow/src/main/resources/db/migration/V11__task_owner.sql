@@ -0,0 +1,9 @@
+-- Cross-project agenda (GET /api/tasks/agenda). The owner of a task's project is copied onto the task,
+-- so a user's open tasks due in a date range are one range scan of the owner index, read in
+-- (due_date, id) order for keyset paging. Projects never change owner; tasks are inserted with it.
+ALTER TABLE tasks ADD COLUMN owner_id BIGINT;
+UPDATE tasks SET owner_id = (SELECT p.user_id FROM projects p WHERE p.id = tasks.project_id);
+ALTER TABLE tasks ALTER COLUMN owner_id SET NOT NULL;
+
+-- TaskRepository.findAgenda
+CREATE INDEX idx_tasks_owner_completed_due ON tasks (owner_id, completed, due_date, id);
@@ -0,0 +1,15 @@
+-- Project sharing: collaborators of a project and their role (VIEWER or EDITOR). The owner stays in
+-- projects.user_id and has no row here. Each instance caches the permissions of a user, read by
+-- ProjectMemberRepository.findGrants, and drops them when a project is shared, unshared or deleted.
+CREATE TABLE project_members (
+    project_id BIGINT       NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    role       VARCHAR(16)  NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (project_id, user_id),
+    CONSTRAINT fk_project_members_project FOREIGN KEY (project_id) REFERENCES projects (id) ON DELETE CASCADE,
+    CONSTRAINT fk_project_members_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- ProjectMemberRepository.findGrants: the projects shared with a user
+CREATE INDEX idx_project_members_user ON project_members (user_id, project_id);
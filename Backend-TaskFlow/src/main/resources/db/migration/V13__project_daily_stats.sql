@@ -0,0 +1,15 @@
+-- Burndown (GET /api/projects/{id}/burndown). One fixed-width row per project and day with activity:
+-- the task and completed-task totals at the end of the day, and the tasks created, completed (net of
+-- reopenings) and deleted that day. Days without a row carry the totals of the previous row, so a
+-- range is read with one primary key range scan, whatever the number of tasks.
+CREATE TABLE project_daily_stats (
+    project_id      BIGINT  NOT NULL,
+    stat_date       DATE    NOT NULL,
+    total_tasks     INTEGER NOT NULL,
+    completed_tasks INTEGER NOT NULL,
+    created         INTEGER NOT NULL,
+    completed       INTEGER NOT NULL,
+    deleted         INTEGER NOT NULL,
+    PRIMARY KEY (project_id, stat_date),
+    CONSTRAINT fk_project_daily_stats_project FOREIGN KEY (project_id) REFERENCES projects (id) ON DELETE CASCADE
+);
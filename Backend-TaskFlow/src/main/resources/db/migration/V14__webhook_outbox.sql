@@ -0,0 +1,32 @@
+-- Webhook outbox: one row per event and subscribed endpoint, inserted in the transaction of the write
+-- that raised the event, so an event is delivered if and only if its write committed. No foreign key:
+-- events outlive the projects and tasks they describe. Delivered rows are deleted. The payload is the
+-- event data as JSON; the longest, a task with a 2000-character description, fits with escaping.
+CREATE TABLE webhook_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    endpoint        VARCHAR(100)    NOT NULL,
+    event_type      VARCHAR(50)     NOT NULL,
+    project_id      BIGINT          NOT NULL,
+    payload         VARCHAR(16000)  NOT NULL,
+    created_at      TIMESTAMP(6)    NOT NULL,
+    attempts        INTEGER         NOT NULL,
+    next_attempt_at TIMESTAMP(6)    NOT NULL,
+    last_error      VARCHAR(1000)
+);
+
+-- WebhookOutboxRepository.claimDue: due rows, oldest first, claimed with FOR UPDATE SKIP LOCKED
+CREATE INDEX idx_webhook_outbox_due ON webhook_outbox (next_attempt_at, id);
+
+-- Events given up on after webhooks.max-attempts, or refused by their endpoint; kept for inspection and replay
+CREATE TABLE webhook_dead_letters (
+    id           BIGINT          PRIMARY KEY,
+    endpoint     VARCHAR(100)    NOT NULL,
+    event_type   VARCHAR(50)     NOT NULL,
+    project_id   BIGINT          NOT NULL,
+    payload      VARCHAR(16000)  NOT NULL,
+    created_at   TIMESTAMP(6)    NOT NULL,
+    attempts     INTEGER         NOT NULL,
+    last_error   VARCHAR(1000),
+    failed_at    TIMESTAMP(6)    NOT NULL
+);
+
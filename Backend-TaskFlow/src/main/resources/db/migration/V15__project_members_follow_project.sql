@@ -0,0 +1,4 @@
+-- Share rows live on the shard of their project. When the rebalancer moves a project's owner, the rows
+-- move with the project while the collaborators' user rows stay where they are, so the user foreign key
+-- is dropped. User ids are unique across shards; a share takes effect again once both users share a shard.
+ALTER TABLE project_members DROP CONSTRAINT fk_project_members_user;
@@ -0,0 +1,6 @@
+-- Delta sync reads a user's tasks by owner (V11) rather than through their projects, so a page is one
+-- ordered range of this index instead of a merge of per-project ranges followed by a sort.
+-- TaskRepository.findChangedSince
+CREATE INDEX idx_tasks_owner_change_seq ON tasks (owner_id, change_seq);
+
+DROP INDEX idx_tasks_project_change_seq;
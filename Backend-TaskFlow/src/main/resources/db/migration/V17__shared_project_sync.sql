@@ -0,0 +1,13 @@
+-- The agenda and delta sync also cover projects shared with the user, read through project_members.
+-- Task tombstones carry their project so collaborators find them; revoking a share or deleting a
+-- shared project leaves a tombstone per collaborator, which has no project_id.
+ALTER TABLE sync_tombstones ADD COLUMN project_id BIGINT;
+
+-- SyncTombstoneRepository.findSharedChangedSince
+CREATE INDEX idx_sync_tombstones_project_seq ON sync_tombstones (project_id, change_seq);
+
+-- TaskRepository.findSharedChangedSince
+CREATE INDEX idx_tasks_project_change_seq ON tasks (project_id, change_seq);
+
+-- TaskRepository.findSharedAgenda
+CREATE INDEX idx_tasks_project_completed_due ON tasks (project_id, completed, due_date, id);
@@ -0,0 +1,30 @@
+-- Per-user task aggregates (/api/me/stats) and background project deletion, added after the baseline
+-- schema: databases baselined at V1 get them here. IF NOT EXISTS covers databases on which
+-- ddl-auto=update already created them.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS completed_at TIMESTAMP(6);
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+
+CREATE TABLE IF NOT EXISTS project_deletions (
+    project_id   BIGINT       NOT NULL PRIMARY KEY,
+    user_id      BIGINT       NOT NULL,
+    total_tasks  BIGINT       NOT NULL,
+    purged_tasks BIGINT       NOT NULL,
+    requested_at TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS user_task_stats (
+    user_id         BIGINT NOT NULL PRIMARY KEY,
+    total_tasks     BIGINT NOT NULL,
+    completed_tasks BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_daily_stats (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id   BIGINT NOT NULL,
+    stat_date DATE   NOT NULL,
+    open_due  BIGINT NOT NULL,
+    completed BIGINT NOT NULL,
+    CONSTRAINT uk_user_daily_stats_user_date UNIQUE (user_id, stat_date)
+);
@@ -0,0 +1,31 @@
+-- Baseline: the tables spring.jpa.hibernate.ddl-auto=update produced before migrations were introduced,
+-- with the constraint names Hibernate generated. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and only receive the migrations that follow.
+
+CREATE TABLE users (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email     VARCHAR(255) NOT NULL,
+    password  VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255) NOT NULL,
+    CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE projects (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    user_id     BIGINT       NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT FKhswfwa3ga88vxv1pmboss6jhm FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(2000),
+    due_date    DATE          NOT NULL,
+    completed   BOOLEAN       NOT NULL,
+    project_id  BIGINT        NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT FKsfhn82y57i3k9uxww1s007acc FOREIGN KEY (project_id) REFERENCES projects (id)
+);
@@ -0,0 +1,19 @@
+-- Indexes backing the repository queries on the request path.
+-- PostgreSQL does not index foreign key columns on its own.
+
+-- TaskRepository.findByProjectId / countByProjectIdAndCompleted / countOpenByDueDateForProject
+CREATE INDEX idx_tasks_project_completed ON tasks (project_id, completed);
+
+-- ProjectRepository.findByUserIdAndDeletedAtIsNull
+CREATE INDEX idx_projects_user_created ON projects (user_id, created_at);
+
+-- UserRepository.findByEmail / existsByEmail; replaces the unique constraint from ddl-auto, named by
+-- Hibernate 6 (V1), Hibernate 5 or, for an inline UNIQUE, by PostgreSQL
+ALTER TABLE users DROP CONSTRAINT IF EXISTS UK6dotkott2kjsp8vw4d0m25fb7;
+ALTER TABLE users DROP CONSTRAINT IF EXISTS uk_6dotkott2kjsp8vw4d0m25fb7;
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_key;
+CREATE UNIQUE INDEX uk_users_email ON users (email);
+
+-- ProjectDeletionRepository.findByCompletedAtIsNullOrderByRequestedAt
+CREATE INDEX idx_project_deletions_pending ON project_deletions (completed_at, requested_at);
+
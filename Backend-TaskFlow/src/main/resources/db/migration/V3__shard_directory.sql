@@ -0,0 +1,9 @@
+-- Shard directory: which database holds each user's rows.
+-- Only shard 0 reads it, but every shard runs the same migrations so their schemas stay identical.
+
+CREATE TABLE user_shards (
+    email   VARCHAR(255) NOT NULL PRIMARY KEY,
+    user_id BIGINT       NOT NULL,
+    shard   INTEGER      NOT NULL,
+    moving  BOOLEAN      NOT NULL DEFAULT FALSE
+);
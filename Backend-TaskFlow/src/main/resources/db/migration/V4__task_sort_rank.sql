@@ -0,0 +1,10 @@
+-- Manual task ordering: lexicographic rank per task (see RankGenerator).
+-- Existing tasks keep their creation order: a zero-padded id sorts the same way, and the
+-- trailing 'i' keeps the "ranks never end in 0" invariant.
+
+ALTER TABLE tasks ADD COLUMN sort_rank VARCHAR(64);
+UPDATE tasks SET sort_rank = LPAD(CAST(id AS VARCHAR(20)), 19, '0') || 'i';
+ALTER TABLE tasks ALTER COLUMN sort_rank SET NOT NULL;
+
+-- TaskRepository.findByProjectIdOrderBySortRankAscIdAsc / findMaxSortRank / lockByProjectIdInRankOrder
+CREATE INDEX idx_tasks_project_rank ON tasks (project_id, sort_rank);
@@ -0,0 +1,23 @@
+-- Subtasks: parent_id for the direct parent, task_closure for every ancestor/descendant pair
+-- (including each task with itself at depth 0). Subtree reads, counts and deletes are then a
+-- single lookup on the closure primary key; moving a subtree rewrites its closure rows in bulk.
+
+ALTER TABLE tasks ADD COLUMN parent_id BIGINT;
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_parent FOREIGN KEY (parent_id) REFERENCES tasks (id) ON DELETE CASCADE;
+
+-- TaskRepository.existsByParentId, and the cascade above
+CREATE INDEX idx_tasks_parent ON tasks (parent_id);
+
+CREATE TABLE task_closure (
+    ancestor_id   BIGINT  NOT NULL,
+    descendant_id BIGINT  NOT NULL,
+    depth         INTEGER NOT NULL,
+    CONSTRAINT pk_task_closure PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT fk_task_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES tasks (id) ON DELETE CASCADE,
+    CONSTRAINT fk_task_closure_descendant FOREIGN KEY (descendant_id) REFERENCES tasks (id) ON DELETE CASCADE
+);
+
+-- Ancestors of a task (TaskClosureRepository.insertAncestorLinks / detachSubtree / attachSubtree)
+CREATE INDEX idx_task_closure_descendant ON task_closure (descendant_id, ancestor_id);
+
+INSERT INTO task_closure (ancestor_id, descendant_id, depth) SELECT id, id, 0 FROM tasks;
@@ -0,0 +1,28 @@
+-- Recurring tasks: one rule row per series. Occurrences are expanded in memory for the window a
+-- client asks for; only completed or edited occurrences become tasks rows, keyed by
+-- (recurrence_id, occurrence_date). Deleting a rule keeps those rows as plain tasks.
+
+CREATE TABLE task_recurrences (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id      BIGINT        NOT NULL,
+    title           VARCHAR(255)  NOT NULL,
+    description     VARCHAR(2000),
+    frequency       VARCHAR(16)   NOT NULL,
+    repeat_interval INTEGER       NOT NULL,
+    weekdays        INTEGER       NOT NULL,
+    start_date      DATE          NOT NULL,
+    end_date        DATE,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT fk_task_recurrences_project FOREIGN KEY (project_id) REFERENCES projects (id)
+);
+
+-- TaskRecurrenceRepository.findByProjectIdOrderById / deleteByProjectId
+CREATE INDEX idx_task_recurrences_project ON task_recurrences (project_id);
+
+ALTER TABLE tasks ADD COLUMN recurrence_id BIGINT;
+ALTER TABLE tasks ADD COLUMN occurrence_date DATE;
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_recurrence
+    FOREIGN KEY (recurrence_id) REFERENCES task_recurrences (id) ON DELETE SET NULL;
+
+-- One materialized row per occurrence; also serves TaskRepository.findByRecurrenceIdAndOccurrenceDate
+CREATE UNIQUE INDEX uk_tasks_recurrence_occurrence ON tasks (recurrence_id, occurrence_date);
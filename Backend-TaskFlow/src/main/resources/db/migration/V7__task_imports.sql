@@ -0,0 +1,29 @@
+-- Bulk task imports: one durable row per upload. rows_read is committed together with each
+-- inserted batch, so an interrupted import resumes after the last committed record.
+
+CREATE TABLE task_imports (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id    BIGINT        NOT NULL,
+    user_id       BIGINT        NOT NULL,
+    format        VARCHAR(16)   NOT NULL,
+    status        VARCHAR(16)   NOT NULL,
+    spool_file    VARCHAR(1000),
+    rows_read     BIGINT        NOT NULL,
+    rows_imported BIGINT        NOT NULL,
+    rows_failed   BIGINT        NOT NULL,
+    message       VARCHAR(1000),
+    created_at    TIMESTAMP(6)  NOT NULL,
+    completed_at  TIMESTAMP(6)
+);
+
+-- TaskImportRepository.findByStatusInOrderById (the resume poller)
+CREATE INDEX idx_task_imports_status ON task_imports (status);
+
+-- Per-record errors, capped per import (tasks.import.max-stored-errors)
+CREATE TABLE task_import_errors (
+    import_id     BIGINT       NOT NULL,
+    record_number BIGINT       NOT NULL,
+    message       VARCHAR(500) NOT NULL,
+    CONSTRAINT pk_task_import_errors PRIMARY KEY (import_id, record_number),
+    CONSTRAINT fk_task_import_errors_import FOREIGN KEY (import_id) REFERENCES task_imports (id) ON DELETE CASCADE
+);
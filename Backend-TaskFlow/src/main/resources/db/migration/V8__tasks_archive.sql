@@ -0,0 +1,28 @@
+-- Cold tier for old completed tasks. TaskArchiveJob moves top-level, non-recurring tasks completed
+-- longer than tasks.archive.after-days ago out of tasks, keeping their ids and ranks, so the hot
+-- table only holds what the default reads return. A separate table rather than a partition of
+-- tasks: task_closure and tasks.parent_id reference tasks(id), which a partitioned table cannot
+-- provide a unique key for unless the partition key is part of it.
+
+CREATE TABLE tasks_archive (
+    id           BIGINT        NOT NULL PRIMARY KEY,
+    title        VARCHAR(255)  NOT NULL,
+    description  VARCHAR(2000),
+    due_date     DATE          NOT NULL,
+    completed_at TIMESTAMP(6)  NOT NULL,
+    sort_rank    VARCHAR(64)   NOT NULL,
+    project_id   BIGINT        NOT NULL,
+    created_at   TIMESTAMP(6)  NOT NULL,
+    archived_at  TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT fk_tasks_archive_project FOREIGN KEY (project_id) REFERENCES projects (id)
+);
+
+-- ArchivedTaskRepository.findByProjectIdOrderBySortRankAscIdAsc / deleteChunkByProjectId
+CREATE INDEX idx_tasks_archive_project_rank ON tasks_archive (project_id, sort_rank);
+
+-- ArchivedTaskRepository.lockArchivable: oldest completions first
+CREATE INDEX idx_tasks_completed_at ON tasks (completed_at);
+
+-- Archived tasks per project, maintained by the mover in the same transaction, so progress
+-- stays exact without counting the archive
+ALTER TABLE projects ADD COLUMN archived_tasks BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,31 @@
+-- Delta sync (GET /api/sync). Every insert and update of a project or task takes the next value of
+-- change_seq, and deletes leave a tombstone holding one, so a client that remembers the highest value
+-- it has seen asks for exactly the rows written since. Column defaults stamp rows inserted outside
+-- JPA (bulk import) and number the existing rows.
+CREATE SEQUENCE change_seq;
+
+ALTER TABLE projects ADD COLUMN change_seq BIGINT NOT NULL DEFAULT nextval('change_seq');
+ALTER TABLE projects ADD COLUMN changed_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE tasks ADD COLUMN change_seq BIGINT NOT NULL DEFAULT nextval('change_seq');
+ALTER TABLE tasks ADD COLUMN changed_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- ProjectRepository.findChangedSince / TaskRepository.findChangedSince
+CREATE INDEX idx_projects_user_change_seq ON projects (user_id, change_seq);
+CREATE INDEX idx_tasks_project_change_seq ON tasks (project_id, change_seq);
+
+CREATE TABLE sync_tombstones (
+    change_seq  BIGINT       NOT NULL PRIMARY KEY,
+    user_id     BIGINT       NOT NULL,
+    entity_type VARCHAR(16)  NOT NULL,
+    entity_id   BIGINT       NOT NULL,
+    deleted_at  TIMESTAMP(6) NOT NULL
+);
+
+-- SyncTombstoneRepository.findChangedSince
+CREATE INDEX idx_sync_tombstones_user_seq ON sync_tombstones (user_id, change_seq);
+
+-- SyncTombstoneRepository.lockExpired: oldest tombstones first
+CREATE INDEX idx_sync_tombstones_deleted_at ON sync_tombstones (deleted_at);
+
+-- Highest tombstone compacted away per user; a sync from below it cannot be answered
+ALTER TABLE users ADD COLUMN sync_horizon BIGINT NOT NULL DEFAULT 0;
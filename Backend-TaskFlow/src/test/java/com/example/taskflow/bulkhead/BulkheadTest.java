@@ -0,0 +1,124 @@
+package com.example.taskflow.bulkhead;
+
+import com.example.taskflow.exception.BulkheadFullException;
+import com.example.taskflow.sharding.ShardContext;
+import com.example.taskflow.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Bulkhead bulkhead;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        bulkhead.shutdown();
+    }
+
+    @Test
+    void submit_RunsWorkWithCallersShard() throws Exception {
+        // Arrange
+        bulkhead = bulkhead(1, 1, Duration.ofSeconds(5));
+
+        // Act
+        CompletableFuture<Integer> shard;
+        try (ShardContext.Scope ignored = ShardContext.enter(3)) {
+            shard = bulkhead.submit(ShardContext::current);
+        }
+
+        // Assert
+        assertEquals(3, shard.get(5, TimeUnit.SECONDS));
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    void submit_QueueFull_RejectsImmediately() {
+        // Arrange: one thread busy, one request queued
+        bulkhead = bulkhead(1, 1, Duration.ofSeconds(5));
+        bulkhead.submit(this::block);
+        bulkhead.submit(this::block);
+
+        // Act & Assert
+        assertThrows(BulkheadFullException.class, () -> bulkhead.submit(() -> "rejected"));
+        assertEquals(1.0, registry.get("bulkhead.rejected").tag("bulkhead", "test").counter().count());
+    }
+
+    @Test
+    void submit_NotFinishedInTime_FailsWithTimeoutAndSkipsQueuedWork() throws Exception {
+        // Arrange
+        bulkhead = bulkhead(1, 2, Duration.ofMillis(50));
+        AtomicBoolean queuedWorkRan = new AtomicBoolean();
+        CompletableFuture<String> running = bulkhead.submit(this::block);
+        CompletableFuture<String> queued = bulkhead.submit(() -> {
+            queuedWorkRan.set(true);
+            return "late";
+        });
+
+        // Act
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        release.countDown();
+        // runs after the skipped work on the single thread
+        bulkhead.submit(() -> "next").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertInstanceOf(TimeoutException.class, ex.getCause());
+        assertFalse(queuedWorkRan.get());
+        assertEquals(2.0, registry.get("bulkhead.timeouts").tag("bulkhead", "test").counter().count());
+    }
+
+    @Test
+    void submit_WithoutTimeoutRunning_LetsStartedWorkFinishAndTimesOutQueuedWork() throws Exception {
+        // Arrange
+        bulkhead = new Bulkhead("test", new BulkheadProperties.Pool(1, 1, Duration.ofMillis(50), false),
+                new Tracer(0), registry);
+        AtomicBoolean queuedWorkRan = new AtomicBoolean();
+        CompletableFuture<String> running = bulkhead.submit(this::block);
+        CompletableFuture<String> queued = bulkhead.submit(() -> {
+            queuedWorkRan.set(true);
+            return "late";
+        });
+
+        // Act
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        TimeUnit.MILLISECONDS.sleep(100);
+        boolean runningDoneBeforeRelease = running.isDone();
+        release.countDown();
+
+        // Assert
+        assertInstanceOf(TimeoutException.class, ex.getCause());
+        assertFalse(runningDoneBeforeRelease);
+        assertEquals("done", running.get(5, TimeUnit.SECONDS));
+        assertEquals("next", bulkhead.submit(() -> "next").get(5, TimeUnit.SECONDS));
+        assertFalse(queuedWorkRan.get());
+        assertEquals(1.0, registry.get("bulkhead.timeouts").tag("bulkhead", "test").counter().count());
+    }
+
+    private Bulkhead bulkhead(int threads, int queueCapacity, Duration timeout) {
+        return new Bulkhead("test", new BulkheadProperties.Pool(threads, queueCapacity, timeout),
+                new Tracer(0), registry);
+    }
+
+    private String block() {
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
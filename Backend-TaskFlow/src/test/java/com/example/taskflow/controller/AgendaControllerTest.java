@@ -0,0 +1,210 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the agenda endpoint
+ * Uses H2 in-memory database with test profile
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AgendaControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectAccessCache projectAccess;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByEmail("taha@inpt.com").orElseThrow();
+    }
+
+    @Test
+    void getAgenda_SmallPages_ListOpenTasksOfAllProjectsByDueDate() throws Exception {
+        // Arrange: a window of its own, far from the tasks other tests create
+        LocalDate from = LocalDate.now().plusYears(3);
+        Project work = createProject("Work");
+        Project home = createProject("Home");
+        Project gone = createProject("Gone");
+        long late = createTask(work, "Late", from.plusDays(4));
+        long early = createTask(home, "Early", from.plusDays(1));
+        long sameDay = createTask(work, "Same day", from.plusDays(1));
+        long done = createTask(home, "Done", from.plusDays(2));
+        perform(patch("/api/projects/{projectId}/tasks/{taskId}/toggle", home.getId(), done).with(user(owner)))
+                .andExpect(status().isOk());
+        createTask(gone, "Deleted", from.plusDays(2));
+        perform(delete("/api/projects/{id}", gone.getId()).with(user(owner)))
+                .andExpect(status().isNoContent());
+        createTask(work, "Outside", from.plusDays(8));
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        List<Long> projectIds = new ArrayList<>();
+        String after = null;
+        JsonNode page;
+        do {
+            page = agenda(from, from.plusDays(7), after, 2);
+            for (JsonNode task : page.get("tasks")) {
+                ids.add(task.get("id").asLong());
+                projectIds.add(task.get("projectId").asLong());
+            }
+            after = page.get("next").asText();
+        } while (page.get("hasMore").asBoolean());
+
+        // Assert
+        assertEquals(List.of(early, sameDay, late), ids);
+        assertEquals(List.of(home.getId(), work.getId(), work.getId()), projectIds);
+    }
+
+    @Test
+    void getAgenda_MergesTasksOfProjectsSharedWithTheUser() throws Exception {
+        // Arrange
+        User collaborator = userRepository.findByEmail("test@helala.com").orElseThrow();
+        LocalDate from = LocalDate.now().plusYears(5);
+        Project shared = createProject("Shared", owner);
+        Project own = createProject("Own", collaborator);
+        long sharedFirst = createTask(shared, "Shared first", from.plusDays(1), owner);
+        long ownSecond = createTask(own, "Own second", from.plusDays(2), collaborator);
+        long sharedThird = createTask(shared, "Shared third", from.plusDays(3), owner);
+        perform(put("/api/projects/{projectId}/members", shared.getId())
+                        .with(user(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"test@helala.com\", \"role\": \"VIEWER\"}"))
+                .andExpect(status().isOk());
+
+        // Act
+        JsonNode first = agenda(from, from.plusDays(7), null, 2, collaborator);
+        JsonNode second = agenda(from, from.plusDays(7), first.get("next").asText(), 2, collaborator);
+
+        // Assert
+        assertTrue(first.get("hasMore").asBoolean());
+        assertEquals(List.of(sharedFirst, ownSecond), ids(first));
+        assertFalse(second.get("hasMore").asBoolean());
+        assertEquals(List.of(sharedThird), ids(second));
+    }
+
+    @Test
+    void getAgenda_InvalidRangeOrCursor_ReturnsBadRequest() throws Exception {
+        LocalDate from = LocalDate.now().plusYears(4);
+
+        perform(get("/api/tasks/agenda")
+                .param("from", from.toString())
+                .param("to", from.minusDays(1).toString())
+                .with(user(owner)))
+                .andExpect(status().isBadRequest());
+        perform(get("/api/tasks/agenda")
+                .param("after", "tomorrow")
+                .with(user(owner)))
+                .andExpect(status().isBadRequest());
+        perform(get("/api/tasks/agenda")
+                .param("limit", "0")
+                .with(user(owner)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Project createProject(String title) {
+        return createProject(title, owner);
+    }
+
+    private Project createProject(String title, User user) {
+        Project project = new Project();
+        project.setTitle(title);
+        project.setUser(user);
+        Project saved = projectRepository.save(project);
+        projectAccess.invalidate(List.of(user.getId()));
+        return saved;
+    }
+
+    private long createTask(Project project, String title, LocalDate dueDate) throws Exception {
+        return createTask(project, title, dueDate, owner);
+    }
+
+    private long createTask(Project project, String title, LocalDate dueDate, User user) throws Exception {
+        String body = perform(post("/api/projects/{projectId}/tasks", project.getId())
+                        .with(user(user))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"" + title + "\", \"dueDate\": \"" + dueDate + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private JsonNode agenda(LocalDate from, LocalDate to, String after, int limit) throws Exception {
+        return agenda(from, to, after, limit, owner);
+    }
+
+    private JsonNode agenda(LocalDate from, LocalDate to, String after, int limit, User user) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/tasks/agenda")
+                .param("from", from.toString())
+                .param("to", to.toString())
+                .param("limit", String.valueOf(limit))
+                .with(user(user));
+        if (after != null) {
+            request.param("after", after);
+        }
+        String body = perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("tasks").forEach(task -> ids.add(task.get("id").asLong()));
+        return ids;
+    }
+
+    /**
+     * Performs the request and, when the controller completed it asynchronously, its async dispatch.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+}
@@ -6,10 +6,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,7 +40,7 @@ class AuthControllerTest {
         request.setEmail("taha@inpt.com");
         request.setPassword("password123");
 
-        mockMvc.perform(post("/api/auth/login")
+        perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
@@ -48,7 +54,7 @@ class AuthControllerTest {
         request.setEmail("wrong@inpt.com");
         request.setPassword("wrongpassword");
 
-        mockMvc.perform(post("/api/auth/login")
+        perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isUnauthorized());
@@ -59,9 +65,66 @@ class AuthControllerTest {
         LoginRequest request = new LoginRequest();
         request.setPassword("password123");
 
-        mockMvc.perform(post("/api/auth/login")
+        perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void logout_RevokesOnlyThatToken() throws Exception {
+        // Arrange
+        String token = login();
+        String otherSession = login();
+
+        // Act
+        perform(post("/api/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, "Bearer " + otherSession))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void logoutAll_RevokesEveryTokenIssuedSoFar() throws Exception {
+        // Arrange
+        String token = login();
+        String otherSession = login();
+
+        // Act
+        perform(post("/api/auth/logout-all").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, "Bearer " + otherSession))
+                .andExpect(status().isForbidden());
+        perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, "Bearer " + login()))
+                .andExpect(status().isOk());
+    }
+
+    private String login() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("taha@inpt.com");
+        request.setPassword("password123");
+        String body = perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    /**
+     * Performs the request and, when the controller completed it asynchronously, its async dispatch.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.ProjectDailyStats;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ProjectDailyStatsRepository;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the burndown endpoint
+ * Uses H2 in-memory database with test profile
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BurndownControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectAccessCache projectAccess;
+
+    @Autowired
+    private ProjectDailyStatsRepository dailyStatsRepository;
+
+    private User owner;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByEmail("taha@inpt.com").orElseThrow();
+
+        project = new Project();
+        project.setTitle("Sprint");
+        project.setUser(owner);
+        project = projectRepository.save(project);
+        projectAccess.invalidate(List.of(owner.getId()));
+    }
+
+    @Test
+    void getBurndown_TracksTodaysWritesAndKeepsDeletedTasksInHistory() throws Exception {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        long first = createTask("First");
+        long second = createTask("Second");
+        long third = createTask("Third");
+        perform(patch("/api/projects/{projectId}/tasks/{taskId}/toggle", project.getId(), first).with(user(owner)))
+                .andExpect(status().isOk());
+        perform(patch("/api/projects/{projectId}/tasks/{taskId}/toggle", project.getId(), second).with(user(owner)))
+                .andExpect(status().isOk());
+        perform(patch("/api/projects/{projectId}/tasks/{taskId}/toggle", project.getId(), second).with(user(owner)))
+                .andExpect(status().isOk());
+        perform(delete("/api/projects/{projectId}/tasks/{taskId}", project.getId(), third).with(user(owner)))
+                .andExpect(status().isNoContent());
+
+        // Act & Assert
+        perform(get("/api/projects/{projectId}/burndown", project.getId())
+                .with(user(owner))
+                .param("from", today.minusDays(1).toString())
+                .param("to", today.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()").value(2))
+                .andExpect(jsonPath("$.days[0].totalTasks").value(0))
+                .andExpect(jsonPath("$.days[1].date").value(today.toString()))
+                .andExpect(jsonPath("$.days[1].totalTasks").value(2))
+                .andExpect(jsonPath("$.days[1].completedTasks").value(1))
+                .andExpect(jsonPath("$.days[1].remainingTasks").value(1))
+                .andExpect(jsonPath("$.days[1].created").value(3))
+                .andExpect(jsonPath("$.days[1].completed").value(1))
+                .andExpect(jsonPath("$.days[1].deleted").value(1));
+    }
+
+    @Test
+    void getBurndown_DaysWithoutActivityCarryTheTotalsBefore() throws Exception {
+        // Arrange: history from before the range, then one write today
+        LocalDate today = LocalDate.now();
+        dailyStatsRepository.save(new ProjectDailyStats(project.getId(), today.minusDays(10), 8, 3, 8, 3, 0));
+        dailyStatsRepository.save(new ProjectDailyStats(project.getId(), today.minusDays(2), 6, 4, 0, 1, 2));
+        createTask("Late addition");
+
+        // Act & Assert
+        perform(get("/api/projects/{projectId}/burndown", project.getId())
+                .with(user(owner))
+                .param("from", today.minusDays(4).toString())
+                .param("to", today.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()").value(5))
+                .andExpect(jsonPath("$.days[0].totalTasks").value(8))
+                .andExpect(jsonPath("$.days[0].created").value(0))
+                .andExpect(jsonPath("$.days[2].remainingTasks").value(2))
+                .andExpect(jsonPath("$.days[2].deleted").value(2))
+                .andExpect(jsonPath("$.days[3].totalTasks").value(6))
+                .andExpect(jsonPath("$.days[4].totalTasks").value(7))
+                .andExpect(jsonPath("$.days[4].completedTasks").value(4))
+                .andExpect(jsonPath("$.days[4].created").value(1));
+    }
+
+    @Test
+    void getBurndown_OtherUsersProjectOrBadRange_IsRejected() throws Exception {
+        // Arrange
+        User other = userRepository.findByEmail("test@helala.com").orElseThrow();
+
+        // Act & Assert
+        perform(get("/api/projects/{projectId}/burndown", project.getId()).with(user(other)))
+                .andExpect(status().isNotFound());
+        perform(get("/api/projects/{projectId}/burndown", project.getId())
+                .with(user(owner))
+                .param("from", "2024-05-10")
+                .param("to", "2024-05-01"))
+                .andExpect(status().isBadRequest());
+        perform(get("/api/projects/{projectId}/burndown", project.getId())
+                .with(user(owner))
+                .param("from", "2020-01-01")
+                .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createTask(String title) throws Exception {
+        return objectMapper.readTree(perform(post("/api/projects/{projectId}/tasks", project.getId())
+                .with(user(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"" + title + "\", \"dueDate\": \"" + LocalDate.now().plusDays(5) + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    /**
+     * Performs the request and, when the controller completed it asynchronously, its async dispatch.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+}
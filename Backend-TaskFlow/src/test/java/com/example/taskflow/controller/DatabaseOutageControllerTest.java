@@ -0,0 +1,261 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.resilience.CircuitBreaker;
+import com.example.taskflow.resilience.DatabaseCircuitBreaker;
+import com.example.taskflow.security.JwtUtil;
+import com.example.taskflow.security.ProjectAccessCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the behaviour during a database outage
+ * Uses H2 in-memory database with test profile; the DataSource refuses connections on demand,
+ * and the breaker stays open once the failed requests have tripped it
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "database.circuit-breaker.open-duration=1h")
+class DatabaseOutageControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectAccessCache projectAccess;
+
+    @Autowired
+    private DatabaseCircuitBreaker databaseCircuitBreaker;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OutageDataSource outageDataSource;
+
+    private User owner;
+    private Project project;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        owner = userRepository.findByEmail("taha@inpt.com").orElseThrow();
+
+        project = new Project();
+        project.setTitle("Outage");
+        project.setUser(owner);
+        project = projectRepository.save(project);
+        projectAccess.invalidate(List.of(owner.getId()));
+        perform(post("/api/projects/{projectId}/tasks", project.getId())
+                .with(user(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Served stale\",\"dueDate\":\"" + LocalDate.now().plusDays(3) + "\"}"))
+                .andExpect(status().isCreated());
+
+    }
+
+    @AfterEach
+    void tearDown() {
+        outageDataSource.setDown(false);
+        databaseCircuitBreaker.breaker().reset();
+    }
+
+    @Test
+    void openBreaker_ServesTheLastReadsStale() throws Exception {
+        // Arrange
+        perform(get("/api/projects/{id}", project.getId()).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.WARNING));
+        perform(get("/api/projects/{projectId}/tasks", project.getId()).with(user(owner)))
+                .andExpect(status().isOk());
+        double served = staleServed("project-tasks");
+
+        // Act
+        trip();
+
+        // Assert
+        perform(get("/api/projects/{id}", project.getId()).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.WARNING, "110 - \"Response is Stale\""))
+                .andExpect(header().exists(HttpHeaders.AGE))
+                .andExpect(jsonPath("$.title").value("Outage"));
+        perform(get("/api/projects/{projectId}/tasks", project.getId()).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.WARNING))
+                .andExpect(jsonPath("$[0].title").value("Served stale"));
+        assertEquals(served + 1, staleServed("project-tasks"));
+        assertEquals(2.0, meterRegistry.get("circuit.breaker.state").tag("breaker", "database").gauge().value());
+    }
+
+    @Test
+    void openBreaker_RefusesWritesAndUnknownReads() throws Exception {
+        // Arrange
+        Project unread = new Project();
+        unread.setTitle("Never read");
+        unread.setUser(owner);
+        unread = projectRepository.save(unread);
+        projectAccess.invalidate(List.of(owner.getId()));
+        trip();
+
+        // Act & Assert
+        perform(post("/api/projects/{projectId}/tasks", project.getId())
+                .with(user(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Lost\",\"dueDate\":\"" + LocalDate.now().plusDays(2) + "\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        perform(get("/api/projects/{id}", unread.getId()).with(user(owner)))
+                .andExpect(status().isServiceUnavailable());
+        perform(get("/api/projects/{projectId}/tasks", project.getId())
+                .with(user(owner))
+                .param("includeArchived", "true"))
+                .andExpect(status().isServiceUnavailable());
+        assertTrue(meterRegistry.get("circuit.breaker.transitions")
+                .tag("breaker", "database").tag("state", "OPEN").counter().count() >= 1);
+    }
+
+    @Test
+    void openBreaker_AuthenticatesOnlyUsersSeenBefore() throws Exception {
+        // Arrange
+        User other = userRepository.findByEmail("test@helala.com").orElseThrow();
+        String ownerToken = "Bearer " + jwtUtil.generateToken(owner);
+        String otherToken = "Bearer " + jwtUtil.generateToken(other);
+        perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, ownerToken))
+                .andExpect(status().isOk());
+
+        // Act
+        trip();
+
+        // Assert
+        perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, ownerToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.WARNING));
+        perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, otherToken))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    /**
+     * Takes the database down and sends writes until their failures open the breaker. Each write fails when
+     * its transaction cannot get a connection, before any repository call, and answers 503.
+     */
+    private void trip() throws Exception {
+        outageDataSource.setDown(true);
+        CircuitBreaker breaker = databaseCircuitBreaker.breaker();
+        for (int i = 0; i < 30 && breaker.state() != CircuitBreaker.State.OPEN; i++) {
+            perform(post("/api/projects/{projectId}/tasks", project.getId())
+                    .with(user(owner))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\":\"Refused\",\"dueDate\":\"" + LocalDate.now().plusDays(1) + "\"}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private double staleServed(String operation) {
+        var counter = meterRegistry.find("reads.stale.served").tag("operation", operation).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /**
+     * Performs the request and, when the controller completed it asynchronously, its async dispatch.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
+    @TestConfiguration
+    static class OutageConfig {
+
+        /**
+         * Replaces the auto-configured DataSource, which backs off when one is defined.
+         */
+        @Bean
+        @Primary
+        OutageDataSource outageDataSource(DataSourceProperties properties) {
+            return new OutageDataSource(properties.initializeDataSourceBuilder().build());
+        }
+    }
+
+    /**
+     * The application's DataSource, refusing new connections while down as an unreachable server would.
+     */
+    static class OutageDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        OutageDataSource(DataSource target) {
+            super(target);
+        }
+
+        void setDown(boolean down) {
+            this.down = down;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            refuseWhileDown();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            refuseWhileDown();
+            return super.getConnection(username, password);
+        }
+
+        private void refuseWhileDown() throws SQLException {
+            if (down) {
+                throw new SQLTransientConnectionException("Connection refused");
+            }
+        }
+    }
+}
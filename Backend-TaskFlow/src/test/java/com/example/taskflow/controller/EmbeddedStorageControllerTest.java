@@ -0,0 +1,145 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the project and task endpoints on the embedded storage engine
+ * Uses H2 in-memory database with test profile for users; projects and tasks go to the embedded store
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"embedded", "test"})
+class EmbeddedStorageControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User owner;
+
+    @DynamicPropertySource
+    static void embeddedDataDir(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("taskflow-embedded").toString();
+        registry.add("embedded.data-dir", () -> directory);
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByEmail("taha@inpt.com").orElseThrow();
+    }
+
+    @Test
+    void projectAndTasks_AreServedByTheEmbeddedStore() throws Exception {
+        // Arrange
+        long projects = projectRepository.count();
+        long tasks = taskRepository.count();
+
+        // Act
+        long projectId = read(perform(post("/api/projects")
+                .with(user(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Edge\"}"))
+                .andExpect(status().isCreated())).get("id").asLong();
+        long taskId = read(perform(post("/api/projects/{projectId}/tasks", projectId)
+                .with(user(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Offline\",\"dueDate\":\"" + LocalDate.now().plusDays(2) + "\"}"))
+                .andExpect(status().isCreated())).get("id").asLong();
+        perform(patch("/api/projects/{projectId}/tasks/{taskId}/toggle", projectId, taskId).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true));
+
+        // Assert
+        perform(get("/api/projects/{id}/progress", projectId).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTasks").value(1))
+                .andExpect(jsonPath("$.completedTasks").value(1));
+        perform(get("/api/projects/{projectId}/tasks", projectId).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Offline"));
+        assertEquals(projects, projectRepository.count());
+        assertEquals(tasks, taskRepository.count());
+    }
+
+    @Test
+    void otherUsersProject_ReturnsNotFound() throws Exception {
+        // Arrange
+        User other = userRepository.findByEmail("test@helala.com").orElseThrow();
+        long projectId = read(perform(post("/api/projects")
+                .with(user(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Private\"}"))
+                .andExpect(status().isCreated())).get("id").asLong();
+
+        // Act & Assert
+        perform(get("/api/projects/{id}", projectId).with(user(other)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void endpointsWithoutEmbeddedSupport_AreNotRegistered() {
+        assertFalse(context.containsBean("recurrenceController"));
+        assertFalse(context.containsBean("taskImportController"));
+        assertFalse(context.containsBean("syncController"));
+        assertFalse(context.containsBean("statsController"));
+        assertFalse(context.containsBean("agendaController"));
+        assertFalse(context.containsBean("projectMemberController"));
+        assertFalse(context.containsBean("burndownController"));
+    }
+
+    private JsonNode read(ResultActions actions) throws Exception {
+        return objectMapper.readTree(actions.andReturn().getResponse().getContentAsString());
+    }
+
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for project sharing
+ * Uses H2 in-memory database with test profile, with the access cache on so that sharing must invalidate it
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProjectMemberControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User collaborator;
+    private long projectId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        owner = userRepository.findByEmail("taha@inpt.com").orElseThrow();
+        collaborator = userRepository.findByEmail("test@helala.com").orElseThrow();
+
+        projectId = objectMapper.readTree(perform(post("/api/projects")
+                .with(user(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Shared\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    @Test
+    void share_RolesGrantReadThenWriteAndUnshareRevokes() throws Exception {
+        // Arrange: warm the collaborator's cached permissions before the share
+        perform(get("/api/projects/{id}", projectId).with(user(collaborator)))
+                .andExpect(status().isNotFound());
+
+        // Act & Assert: viewer reads, cannot write
+        share("VIEWER").andExpect(status().isOk()).andExpect(jsonPath("$.role").value("VIEWER"));
+        perform(get("/api/projects").with(user(collaborator)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) projectId)));
+        perform(get("/api/projects/{projectId}/tasks", projectId).with(user(collaborator)))
+                .andExpect(status().isOk());
+        createTask(collaborator).andExpect(status().isForbidden());
+
+        // Editor writes; the task belongs to the owner's project
+        share("EDITOR").andExpect(status().isOk()).andExpect(jsonPath("$.role").value("EDITOR"));
+        long taskId = objectMapper.readTree(createTask(collaborator)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("id").asLong();
+        perform(patch("/api/projects/{projectId}/tasks/{taskId}/toggle", projectId, taskId)
+                .with(user(collaborator)))
+                .andExpect(status().isOk());
+        perform(get("/api/projects/{id}/progress", projectId).with(user(owner)))
+                .andExpect(jsonPath("$.completedTasks").value(1));
+        perform(delete("/api/projects/{id}", projectId).with(user(collaborator)))
+                .andExpect(status().isForbidden());
+        perform(get("/api/projects/{projectId}/members", projectId).with(user(collaborator)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("test@helala.com"));
+
+        // Unshared: the project is gone for the collaborator
+        perform(delete("/api/projects/{projectId}/members/{userId}", projectId, collaborator.getId())
+                .with(user(owner)))
+                .andExpect(status().isNoContent());
+        perform(get("/api/projects/{projectId}/tasks", projectId).with(user(collaborator)))
+                .andExpect(status().isNotFound());
+        perform(get("/api/projects").with(user(collaborator)))
+                .andExpect(jsonPath("$[*].id", not(hasItem((int) projectId))));
+    }
+
+    @Test
+    void share_ByCollaboratorOrWithOwner_IsRejected() throws Exception {
+        // Arrange
+        share("EDITOR").andExpect(status().isOk());
+
+        // Act & Assert
+        perform(put("/api/projects/{projectId}/members", projectId)
+                .with(user(collaborator))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"test@helala.com\", \"role\": \"VIEWER\"}"))
+                .andExpect(status().isForbidden());
+        perform(put("/api/projects/{projectId}/members", projectId)
+                .with(user(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"taha@inpt.com\", \"role\": \"EDITOR\"}"))
+                .andExpect(status().isBadRequest());
+        perform(put("/api/projects/{projectId}/members", projectId)
+                .with(user(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"nobody@inpt.com\", \"role\": \"EDITOR\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteProject_RevokesCollaboratorAccess() throws Exception {
+        // Arrange
+        share("VIEWER").andExpect(status().isOk());
+        perform(get("/api/projects/{id}", projectId).with(user(collaborator)))
+                .andExpect(status().isOk());
+
+        // Act
+        perform(delete("/api/projects/{id}", projectId).with(user(owner)))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        perform(get("/api/projects/{id}", projectId).with(user(collaborator)))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions share(String role) throws Exception {
+        return perform(put("/api/projects/{projectId}/members", projectId)
+                .with(user(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"test@helala.com\", \"role\": \"" + role + "\"}"));
+    }
+
+    private ResultActions createTask(User user) throws Exception {
+        return perform(post("/api/projects/{projectId}/tasks", projectId)
+                .with(user(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Shared work\", \"dueDate\": \"" + LocalDate.now().plusDays(2) + "\"}"));
+    }
+
+    /**
+     * Performs the request and, when the controller completed it asynchronously, its async dispatch.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+}
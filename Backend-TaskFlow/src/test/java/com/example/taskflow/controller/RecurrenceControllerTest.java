@@ -0,0 +1,130 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for recurring task endpoints
+ * Uses H2 in-memory database with test profile
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RecurrenceControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectAccessCache projectAccess;
+
+    private User owner;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByEmail("taha@inpt.com").orElseThrow();
+
+        project = new Project();
+        project.setTitle("Routines");
+        project.setUser(owner);
+        project = projectRepository.save(project);
+        projectAccess.invalidate(List.of(owner.getId()));
+    }
+
+    @Test
+    void dailyRecurrence_ExpandsWindowAndMaterializesOnlyCompletedOccurrence() throws Exception {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        String body = perform(post("/api/projects/{projectId}/recurrences", project.getId())
+                        .with(user(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Standup\", \"frequency\": \"DAILY\", \"startDate\": \""
+                                + today.minusDays(2) + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long recurrenceId = new ObjectMapper().readTree(body).get("id").asLong();
+
+        // Act
+        perform(patch("/api/projects/{projectId}/recurrences/{recurrenceId}/occurrences/{date}/toggle",
+                        project.getId(), recurrenceId, today)
+                        .with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true));
+
+        // Assert: one row, six virtual occurrences in the window
+        perform(get("/api/projects/{projectId}/tasks", project.getId())
+                        .param("from", today.toString())
+                        .param("to", today.plusDays(6).toString())
+                        .with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(7))
+                .andExpect(jsonPath("$[0].occurrenceDate").value(today.toString()))
+                .andExpect(jsonPath("$[0].completed").value(true))
+                .andExpect(jsonPath("$[1].id").value(nullValue()))
+                .andExpect(jsonPath("$[1].dueDate").value(today.plusDays(1).toString()));
+
+        // Assert: three occurrences due so far, one of them completed
+        perform(get("/api/projects/{id}/progress", project.getId()).with(user(owner)))
+                .andExpect(jsonPath("$.totalTasks").value(3))
+                .andExpect(jsonPath("$.completedTasks").value(1));
+    }
+
+    @Test
+    void toggleOccurrence_DateOffSchedule_ReturnsNotFound() throws Exception {
+        String body = perform(post("/api/projects/{projectId}/recurrences", project.getId())
+                        .with(user(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Review\", \"frequency\": \"WEEKLY\", \"startDate\": \"2024-01-01\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.daysOfWeek").isEmpty())
+                .andReturn().getResponse().getContentAsString();
+        long recurrenceId = new ObjectMapper().readTree(body).get("id").asLong();
+
+        perform(patch("/api/projects/{projectId}/recurrences/{recurrenceId}/occurrences/{date}/toggle",
+                        project.getId(), recurrenceId, "2024-01-02")
+                        .with(user(owner)))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Performs the request and, when the controller completed it asynchronously, its async dispatch.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+}
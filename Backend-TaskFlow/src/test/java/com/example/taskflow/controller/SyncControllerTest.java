@@ -0,0 +1,211 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the delta sync endpoint
+ * Uses H2 in-memory database with test profile
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SyncControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectAccessCache projectAccess;
+
+    private User owner;
+    private User collaborator;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByEmail("taha@inpt.com").orElseThrow();
+        collaborator = userRepository.findByEmail("test@helala.com").orElseThrow();
+
+        project = new Project();
+        project.setTitle("Offline");
+        project.setUser(owner);
+        project = projectRepository.save(project);
+        projectAccess.invalidate(List.of(owner.getId()));
+    }
+
+    @Test
+    void getChanges_AfterCursor_ReturnsOnlyLaterWritesAndDeletions() throws Exception {
+        // Arrange: catch up, then write
+        long cursor = catchUp();
+        long kept = createTask("Keep");
+        long dropped = createTask("Drop");
+        perform(delete("/api/projects/{projectId}/tasks/{taskId}", project.getId(), dropped).with(user(owner)))
+                .andExpect(status().isNoContent());
+
+        // Act
+        JsonNode changes = sync(cursor);
+
+        // Assert
+        assertEquals(0, changes.get("projects").size());
+        assertEquals(1, changes.get("tasks").size());
+        assertEquals(kept, changes.get("tasks").get(0).get("id").asLong());
+        assertEquals(1, changes.get("deleted").size());
+        assertEquals("TASK", changes.get("deleted").get(0).get("type").asText());
+        assertEquals(dropped, changes.get("deleted").get(0).get("id").asLong());
+        assertFalse(changes.get("hasMore").asBoolean());
+
+        JsonNode none = sync(changes.get("next").asLong());
+        assertEquals(0, none.get("tasks").size());
+        assertEquals(changes.get("next").asLong(), none.get("next").asLong());
+    }
+
+    @Test
+    void getChanges_SmallPages_CoverEveryChangeOnce() throws Exception {
+        // Arrange
+        long cursor = catchUp();
+        perform(delete("/api/projects/{id}", project.getId()).with(user(owner)))
+                .andExpect(status().isNoContent());
+        project = new Project();
+        project.setTitle("Renamed later");
+        project.setUser(owner);
+        project = projectRepository.save(project);
+        projectAccess.invalidate(List.of(owner.getId()));
+        createTask("First");
+
+        // Act
+        JsonNode first = sync(cursor, 2);
+        JsonNode second = sync(first.get("next").asLong(), 2);
+
+        // Assert
+        assertTrue(first.get("hasMore").asBoolean());
+        assertEquals("PROJECT", first.get("deleted").get(0).get("type").asText());
+        assertEquals("Renamed later", first.get("projects").get(0).get("title").asText());
+        assertFalse(first.get("projects").get(0).has("totalTasks"));
+        assertFalse(second.get("hasMore").asBoolean());
+        assertEquals("First", second.get("tasks").get(0).get("title").asText());
+    }
+
+    @Test
+    void getChanges_SharedProject_ArrivesWithItsTasksAndLeavesWithATombstone() throws Exception {
+        // Arrange: the tasks were written before the collaborator's cursor
+        long kept = createTask("Older than the share");
+        long dropped = createTask("Deleted while shared");
+        long cursor = catchUp(collaborator);
+
+        // Act
+        perform(put("/api/projects/{projectId}/members", project.getId())
+                        .with(user(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"test@helala.com\", \"role\": \"VIEWER\"}"))
+                .andExpect(status().isOk());
+        JsonNode shared = sync(collaborator, cursor, 500);
+        perform(delete("/api/projects/{projectId}/tasks/{taskId}", project.getId(), dropped).with(user(owner)))
+                .andExpect(status().isNoContent());
+        JsonNode deleted = sync(collaborator, shared.get("next").asLong(), 500);
+        perform(delete("/api/projects/{projectId}/members/{userId}", project.getId(), collaborator.getId())
+                        .with(user(owner)))
+                .andExpect(status().isNoContent());
+        JsonNode revoked = sync(collaborator, deleted.get("next").asLong(), 500);
+
+        // Assert
+        assertEquals(List.of(project.getId()), ids(shared.get("projects")));
+        assertEquals(List.of(kept, dropped), ids(shared.get("tasks")).stream().sorted().toList());
+        assertEquals(List.of(dropped), ids(deleted.get("deleted")));
+        assertEquals("TASK", deleted.get("deleted").get(0).get("type").asText());
+        assertEquals(List.of(project.getId()), ids(revoked.get("deleted")));
+        assertEquals("PROJECT", revoked.get("deleted").get(0).get("type").asText());
+    }
+
+    private long createTask(String title) throws Exception {
+        String body = perform(post("/api/projects/{projectId}/tasks", project.getId())
+                        .with(user(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"" + title + "\", \"dueDate\": \"" + LocalDate.now().plusDays(1) + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private long catchUp() throws Exception {
+        return catchUp(owner);
+    }
+
+    private long catchUp(User user) throws Exception {
+        JsonNode page = sync(user, 0, 1000);
+        while (page.get("hasMore").asBoolean()) {
+            page = sync(user, page.get("next").asLong(), 1000);
+        }
+        return page.get("next").asLong();
+    }
+
+    private JsonNode sync(long since) throws Exception {
+        return sync(since, 500);
+    }
+
+    private JsonNode sync(long since, int limit) throws Exception {
+        return sync(owner, since, limit);
+    }
+
+    private JsonNode sync(User user, long since, int limit) throws Exception {
+        String body = perform(get("/api/sync")
+                        .param("since", String.valueOf(since))
+                        .param("limit", String.valueOf(limit))
+                        .with(user(user)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<Long> ids(JsonNode rows) {
+        List<Long> ids = new ArrayList<>();
+        rows.forEach(row -> ids.add(row.get("id").asLong()));
+        return ids;
+    }
+
+    /**
+     * Performs the request and, when the controller completed it asynchronously, its async dispatch.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.Task;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for Task endpoints
+ * Uses H2 in-memory database with test profile
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectAccessCache projectAccess;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User owner;
+    private Project project;
+    private Task first;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByEmail("taha@inpt.com").orElseThrow();
+
+        project = new Project();
+        project.setTitle("Wire formats");
+        project.setUser(owner);
+        project = projectRepository.save(project);
+        projectAccess.invalidate(List.of(owner.getId()));
+
+        Task task = new Task();
+        task.setTitle("Encode me");
+        task.setDescription("Binary payload");
+        task.setDueDate(LocalDate.now().plusDays(3));
+        task.setProject(project);
+        task.setOwnerId(owner.getId());
+        task.setSortRank("i");
+        first = taskRepository.save(task);
+    }
+
+    @Test
+    void unknownPath_ReturnsNotFound() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/projects/{projectId}/no-such-endpoint", project.getId()).with(user(owner)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("No endpoint at /api/projects/" + project.getId() + "/no-such-endpoint"));
+    }
+
+    @Test
+    void getProjectTasks_AcceptJson_ReturnsJson() throws Exception {
+        perform(get("/api/projects/{projectId}/tasks", project.getId())
+                        .with(user(owner))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].title").value("Encode me"));
+    }
+
+    @Test
+    void getProjectTasks_AcceptCbor_ReturnsDecodableCbor() throws Exception {
+        byte[] body = perform(get("/api/projects/{projectId}/tasks", project.getId())
+                        .with(user(owner))
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<Map<String, Object>> tasks = decode(new CBORFactory(), body);
+        assertEquals(1, tasks.size());
+        assertEquals("Encode me", tasks.get(0).get("title"));
+    }
+
+    @Test
+    void getProjectTasks_AcceptSmile_ReturnsDecodableSmile() throws Exception {
+        byte[] body = perform(get("/api/projects/{projectId}/tasks", project.getId())
+                        .with(user(owner))
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<Map<String, Object>> tasks = decode(new SmileFactory(), body);
+        assertEquals(1, tasks.size());
+        assertEquals("Binary payload", tasks.get(0).get("description"));
+    }
+
+    @Test
+    void getProjectTasks_WithFields_ReturnsOnlyThoseProperties() throws Exception {
+        perform(get("/api/projects/{projectId}/tasks", project.getId())
+                        .param("fields", "id,title,completed")
+                        .with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(first.getId()))
+                .andExpect(jsonPath("$[0].title").value("Encode me"))
+                .andExpect(jsonPath("$[0].completed").value(false))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].dueDate").doesNotExist());
+    }
+
+    @Test
+    void getProjectTasks_UnknownField_ReturnsBadRequest() throws Exception {
+        perform(get("/api/projects/{projectId}/tasks", project.getId())
+                        .param("fields", "id,secret")
+                        .with(user(owner)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUserProjects_WithFields_ReturnsOnlyThoseProperties() throws Exception {
+        perform(get("/api/projects").param("fields", "id,title").with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + project.getId() + ")].title").value("Wire formats"))
+                .andExpect(jsonPath("$[0].totalTasks").doesNotExist())
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    void getUserProjects_IncludeTasks_EmbedsFirstTasksOfEachProject() throws Exception {
+        // Arrange
+        Task second = new Task();
+        second.setTitle("Second");
+        second.setDueDate(LocalDate.now().plusDays(3));
+        second.setProject(project);
+        second.setOwnerId(owner.getId());
+        second.setSortRank("r");
+        taskRepository.save(second);
+
+        // Act & Assert
+        String projectPath = "$[?(@.id == " + project.getId() + ")]";
+        perform(get("/api/projects")
+                        .param("include", "tasks")
+                        .param("taskLimit", "1")
+                        .with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(projectPath + ".title").value("Wire formats"))
+                .andExpect(jsonPath(projectPath + ".totalTasks").value(2))
+                .andExpect(jsonPath(projectPath + ".tasks.length()").value(1))
+                .andExpect(jsonPath(projectPath + ".tasks[0].title").value("Encode me"));
+    }
+
+    @Test
+    void getUserProjects_IncludeTasksAcceptCbor_StreamsEveryBatch() throws Exception {
+        // Arrange: more projects than one batch
+        Project last = null;
+        for (int i = 0; i < ProjectController.TASKS_BATCH_PROJECTS; i++) {
+            last = new Project();
+            last.setTitle("Batch " + i);
+            last.setUser(owner);
+            last = projectRepository.save(last);
+            projectAccess.invalidate(List.of(owner.getId()));
+        }
+
+        // Act
+        byte[] body = perform(get("/api/projects")
+                        .param("include", "tasks")
+                        .param("fields", "id,title")
+                        .with(user(owner))
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        List<Map<String, Object>> projects = decode(new CBORFactory(), body);
+        assertTrue(projects.size() > ProjectController.TASKS_BATCH_PROJECTS);
+        assertEquals(projects.size(), projects.stream().map(p -> p.get("id")).distinct().count());
+        Map<String, Object> wireFormats = projects.stream()
+                .filter(p -> ((Number) p.get("id")).longValue() == project.getId())
+                .findFirst().orElseThrow();
+        assertEquals("Wire formats", wireFormats.get("title"));
+        assertFalse(wireFormats.containsKey("totalTasks"));
+        assertEquals("Encode me", ((List<Map<String, Object>>) wireFormats.get("tasks")).get(0).get("title"));
+        long lastId = last.getId();
+        assertTrue(projects.stream().anyMatch(p -> ((Number) p.get("id")).longValue() == lastId));
+    }
+
+    @Test
+    void getUserProjects_UnknownIncludeOrTaskLimitAlone_ReturnsBadRequest() throws Exception {
+        perform(get("/api/projects").param("include", "members").with(user(owner)))
+                .andExpect(status().isBadRequest());
+        perform(get("/api/projects").param("taskLimit", "1").with(user(owner)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void moveTask_ToTop_ChangesListOrder() throws Exception {
+        // Arrange
+        Task second = new Task();
+        second.setTitle("Move me");
+        second.setDueDate(LocalDate.now().plusDays(3));
+        second.setProject(project);
+        second.setOwnerId(owner.getId());
+        second.setSortRank("r");
+        second = taskRepository.save(second);
+
+        // Act
+        perform(patch("/api/projects/{projectId}/tasks/{taskId}/position", project.getId(), second.getId())
+                        .with(user(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"previousTaskId\": null, \"nextTaskId\": " + first.getId() + "}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        perform(get("/api/projects/{projectId}/tasks", project.getId()).with(user(owner)))
+                .andExpect(jsonPath("$[0].title").value("Move me"))
+                .andExpect(jsonPath("$[1].title").value("Encode me"));
+    }
+
+    @Test
+    void subtasks_ProgressMoveAndDelete_FollowTheSubtree() throws Exception {
+        // Arrange
+        long root = createTask("Release", null);
+        long child = createTask("Backend", root);
+        long grandchild = createTask("Migrations", child);
+        perform(patch("/api/projects/{projectId}/tasks/{taskId}/toggle", project.getId(), grandchild)
+                        .with(user(owner)))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        perform(get("/api/projects/{projectId}/tasks/{taskId}/subtree", project.getId(), root)
+                        .with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[2].parentId").value(child));
+        perform(get("/api/projects/{projectId}/tasks/{taskId}/progress", project.getId(), root)
+                        .with(user(owner)))
+                .andExpect(jsonPath("$.totalTasks").value(3))
+                .andExpect(jsonPath("$.completedTasks").value(1))
+                .andExpect(jsonPath("$.progressPercentage").value(33.33));
+
+        perform(patch("/api/projects/{projectId}/tasks/{taskId}/parent", project.getId(), root)
+                        .with(user(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"parentTaskId\": " + grandchild + "}"))
+                .andExpect(status().isBadRequest());
+        perform(patch("/api/projects/{projectId}/tasks/{taskId}/parent", project.getId(), child)
+                        .with(user(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"parentTaskId\": null}"))
+                .andExpect(status().isOk());
+        perform(get("/api/projects/{projectId}/tasks/{taskId}/progress", project.getId(), root)
+                        .with(user(owner)))
+                .andExpect(jsonPath("$.totalTasks").value(1));
+
+        perform(delete("/api/projects/{projectId}/tasks/{taskId}", project.getId(), child)
+                        .with(user(owner)))
+                .andExpect(status().isNoContent());
+        assertEquals(List.of(first.getId(), root),
+                taskRepository.findByProjectIdOrderBySortRankAscIdAsc(project.getId()).stream().map(Task::getId).toList());
+    }
+
+    private long createTask(String title, Long parentTaskId) throws Exception {
+        String body = perform(post("/api/projects/{projectId}/tasks", project.getId())
+                        .with(user(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"" + title + "\", \"dueDate\": \"" + LocalDate.now().plusDays(5)
+                                + "\", \"parentTaskId\": " + parentTaskId + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return new ObjectMapper().readTree(body).get("id").asLong();
+    }
+
+    private List<Map<String, Object>> decode(JsonFactory factory, byte[] body) throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+        return mapper.readValue(body, new TypeReference<>() {});
+    }
+
+    /**
+     * Performs the request and, while the controller continues it asynchronously (a future, then possibly
+     * a streamed body), its async dispatches.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        while (result.getRequest().isAsyncStarted()) {
+            actions = mockMvc.perform(asyncDispatch(result));
+            result = actions.andReturn();
+        }
+        return actions;
+    }
+}
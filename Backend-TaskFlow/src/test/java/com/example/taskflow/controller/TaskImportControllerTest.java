@@ -0,0 +1,197 @@
+package com.example.taskflow.controller;
+
+import com.example.taskflow.dto.TaskImportResponse;
+import com.example.taskflow.model.ImportFormat;
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.Task;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.TaskClosureRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.example.taskflow.service.TaskImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for bulk task import endpoints
+ * Uses H2 in-memory database with test profile
+ */
+@SpringBootTest(properties = "tasks.import.batch-size=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectAccessCache projectAccess;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskClosureRepository taskClosureRepository;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    private User owner;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByEmail("taha@inpt.com").orElseThrow();
+
+        project = new Project();
+        project.setTitle("Imported");
+        project.setUser(owner);
+        project = projectRepository.save(project);
+        projectAccess.invalidate(List.of(owner.getId()));
+
+        Task existing = new Task();
+        existing.setTitle("Already there");
+        existing.setDueDate(LocalDate.now().plusDays(1));
+        existing.setProject(project);
+        existing.setOwnerId(owner.getId());
+        existing.setSortRank("i");
+        taskRepository.save(existing);
+    }
+
+    @Test
+    void importCsv_SmallUpload_ReturnsReportWithRowErrors() throws Exception {
+        // Arrange
+        String csv = "Title,Description,DueDate,Completed,CompletedAt\n" +
+                "Plan release,\"Scope, dates\"," + LocalDate.now().plusDays(7) + ",false,\n" +
+                "Last year's audit,,2020-03-01,true,\n" +
+                ",missing title," + LocalDate.now().plusDays(2) + ",false,\n" +
+                "Bad date,,tomorrow,false,\n" +
+                "Write notes,,2021-01-15,true,2021-01-16T09:30:00\n";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/projects/{projectId}/imports", project.getId())
+                        .with(user(owner))
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsRead").value(5))
+                .andExpect(jsonPath("$.rowsImported").value(3))
+                .andExpect(jsonPath("$.rowsFailed").value(2))
+                .andExpect(jsonPath("$.errors[0].record").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Title is required"))
+                .andExpect(jsonPath("$.errors[1].record").value(4));
+
+        List<Task> tasks = taskRepository.findByProjectIdOrderBySortRankAscIdAsc(project.getId());
+        assertEquals(List.of("Already there", "Plan release", "Last year's audit", "Write notes"),
+                tasks.stream().map(Task::getTitle).toList());
+        assertEquals("Scope, dates", tasks.get(1).getDescription());
+        assertTrue(tasks.get(2).isCompleted());
+        assertEquals(LocalDate.of(2020, 3, 1).atStartOfDay(), tasks.get(2).getCompletedAt());
+        for (Task task : tasks.subList(1, tasks.size())) {
+            assertTrue(taskClosureRepository.existsByAncestorIdAndDescendantId(task.getId(), task.getId()));
+        }
+    }
+
+    @Test
+    void concurrentImports_IntoOneProject_GetDistinctRanksAndSelfLinks() throws Exception {
+        // Arrange: two batches each, started together
+        StringBuilder csv = new StringBuilder("Title,Description,DueDate,Completed,CompletedAt\n");
+        for (int i = 0; i < 6; i++) {
+            csv.append("Row ").append(i).append(",,").append(LocalDate.now().plusDays(i)).append(",false,\n");
+        }
+        byte[] upload = csv.toString().getBytes(StandardCharsets.UTF_8);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Callable<TaskImportResponse> startImport = () -> {
+            start.await();
+            return taskImportService.startImport(project.getId(), ImportFormat.CSV,
+                    new ByteArrayInputStream(upload), upload.length, owner.getId());
+        };
+
+        // Act
+        Future<TaskImportResponse> first = pool.submit(startImport);
+        Future<TaskImportResponse> second = pool.submit(startImport);
+        start.countDown();
+
+        // Assert
+        assertEquals("COMPLETED", first.get(30, TimeUnit.SECONDS).getStatus());
+        assertEquals("COMPLETED", second.get(30, TimeUnit.SECONDS).getStatus());
+        pool.shutdown();
+        List<Task> tasks = taskRepository.findByProjectIdOrderBySortRankAscIdAsc(project.getId());
+        assertEquals(13, tasks.size());
+        assertEquals(13, tasks.stream().map(Task::getSortRank).distinct().count());
+        for (Task task : tasks.subList(1, tasks.size())) {
+            assertTrue(taskClosureRepository.existsByAncestorIdAndDescendantId(task.getId(), task.getId()));
+        }
+    }
+
+    @Test
+    void importNdjson_LargeUpload_IsSpooledAndImportedInTheBackground() throws Exception {
+        // Arrange: larger than tasks.import.sync-max-bytes in the test profile
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            ndjson.append("{\"title\": \"Task ").append(i).append("\", \"dueDate\": \"2019-06-01\", ")
+                    .append("\"description\": \"").append("x".repeat(40)).append("\"}\n\n");
+        }
+        ndjson.append("{\"title\": \"Broken\", \"dueDate\": \n");
+
+        // Act
+        String body = mockMvc.perform(post("/api/projects/{projectId}/imports", project.getId())
+                        .with(user(owner))
+                        .contentType("application/x-ndjson")
+                        .content(ndjson.toString()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/projects/" + project.getId() + "/imports/")))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andReturn().getResponse().getContentAsString();
+        long importId = new ObjectMapper().readTree(body).get("id").asLong();
+
+        assertTrue(taskImportService.findResumable().contains(importId));
+        taskImportService.resume(importId);
+
+        // Assert
+        mockMvc.perform(get("/api/projects/{projectId}/imports/{importId}", project.getId(), importId)
+                        .with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsImported").value(100))
+                .andExpect(jsonPath("$.rowsFailed").value(1))
+                .andExpect(jsonPath("$.errors[0].record").value(101))
+                .andExpect(jsonPath("$.errors[0].message", startsWith("Invalid JSON")));
+        assertEquals(101, taskRepository.countByProjectId(project.getId()));
+        assertFalse(taskImportService.findResumable().contains(importId));
+    }
+}
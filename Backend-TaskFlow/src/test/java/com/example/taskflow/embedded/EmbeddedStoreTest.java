@@ -0,0 +1,189 @@
+package com.example.taskflow.embedded;
+
+import com.example.taskflow.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the embedded storage engine: every acknowledged write must survive a restart, from the log
+ * alone or from a snapshot plus the log written after it.
+ */
+class EmbeddedStoreTest {
+
+    private static final long USER = 7;
+    private static final LocalDate DUE = LocalDate.now().plusDays(3);
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.closeWithoutSnapshot();
+    }
+
+    @Test
+    void crash_RecoversEveryWriteFromTheLog() throws IOException {
+        // Arrange
+        long projectId = store.createProject(USER, "Launch", "Q3").id();
+        StoredTask parent = store.createTask(projectId, USER, "Parent", null, DUE, null);
+        StoredTask child = store.createTask(projectId, USER, "Child", "under parent", DUE, parent.id());
+        StoredTask last = store.createTask(projectId, USER, "Last", null, DUE, null);
+        store.toggle(child.id(), USER);
+        store.move(projectId, last.id(), null, parent.id(), USER);
+        long deletedProject = store.createProject(USER, "Scratch", null).id();
+        store.createTask(deletedProject, USER, "Gone", null, DUE, null);
+        store.deleteProject(deletedProject, USER);
+        List<StoredTask> before = store.tasks(projectId, USER);
+
+        // Act
+        store.closeWithoutSnapshot();
+        store = open();
+
+        // Assert
+        assertEquals(before, store.tasks(projectId, USER));
+        assertEquals("Last", store.tasks(projectId, USER).get(0).title());
+        assertEquals(new EmbeddedStore.SubtreeCounts(2, 1), store.subtreeCounts(projectId, parent.id(), USER));
+        assertEquals(1, store.projectsOf(USER).size());
+        assertEquals(1, store.deletion(deletedProject, USER).totalTasks());
+        // Ids are not handed out twice after recovery
+        assertTrue(store.createProject(USER, "Next", null).id() > deletedProject);
+    }
+
+    @Test
+    void snapshot_TruncatesTheLogAndRecoversWithTheLaterWrites() throws IOException {
+        // Arrange
+        long projectId = store.createProject(USER, "Launch", null).id();
+        StoredTask first = store.createTask(projectId, USER, "First", null, DUE, null);
+        store.snapshot();
+        StoredTask second = store.createTask(projectId, USER, "Second", null, DUE, first.id());
+        store.toggle(first.id(), USER);
+
+        // Act
+        store.closeWithoutSnapshot();
+        store = open();
+
+        // Assert: the segment before the snapshot is gone; the one after it and the new one are left
+        assertTrue(Files.exists(directory.resolve(String.format("snapshot-%016d.dat", 1))));
+        assertEquals(List.of(1L, 2L), WriteAheadLog.segments(directory));
+        assertEquals(List.of(first.id(), second.id()),
+                store.tasks(projectId, USER).stream().map(StoredTask::id).toList());
+        assertTrue(store.tasks(projectId, USER).get(0).completed());
+        assertEquals(2, store.project(projectId, USER).totalTasks());
+        assertEquals(1, store.project(projectId, USER).completedTasks());
+    }
+
+    @Test
+    void tornRecord_IsCutOffAndTheWritesBeforeItAreKept() throws IOException {
+        // Arrange: a crash in the middle of a write leaves part of a frame behind
+        long projectId = store.createProject(USER, "Launch", null).id();
+        store.createTask(projectId, USER, "Kept", null, DUE, null);
+        store.closeWithoutSnapshot();
+        List<Long> segments = WriteAheadLog.segments(directory);
+        Path last = directory.resolve(String.format("wal-%016d.log", segments.get(segments.size() - 1)));
+        long intact = Files.size(last);
+        Files.write(last, new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // Act
+        store = open();
+
+        // Assert
+        assertEquals(intact, Files.size(last));
+        assertEquals(List.of("Kept"), store.tasks(projectId, USER).stream().map(StoredTask::title).toList());
+    }
+
+    @Test
+    void concurrentWrites_AreAllDurable() throws Exception {
+        // Arrange: several users, so writes run on different stripes and share log flushes
+        int threads = 8;
+        int tasksPerThread = 200;
+        List<Long> projectIds = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            projectIds.add(store.createProject(USER + t, "Project " + t, null).id());
+        }
+
+        // Act
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long userId = USER + t;
+            long projectId = projectIds.get(t);
+            workers.add(pool.submit(() -> {
+                for (int i = 0; i < tasksPerThread; i++) {
+                    StoredTask task = store.createTask(projectId, userId, "Task " + i, null, DUE, null);
+                    if (i % 2 == 0) {
+                        store.toggle(task.id(), userId);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(1, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+        store.closeWithoutSnapshot();
+        store = open();
+
+        // Assert
+        for (int t = 0; t < threads; t++) {
+            EmbeddedStore.ProjectState project = store.project(projectIds.get(t), USER + t);
+            assertEquals(tasksPerThread, project.totalTasks());
+            assertEquals(tasksPerThread / 2, project.completedTasks());
+        }
+    }
+
+    @Test
+    void moveSubtree_UnderItsOwnSubtask_IsRejected() {
+        // Arrange
+        long projectId = store.createProject(USER, "Launch", null).id();
+        StoredTask parent = store.createTask(projectId, USER, "Parent", null, DUE, null);
+        StoredTask child = store.createTask(projectId, USER, "Child", null, DUE, parent.id());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> store.moveSubtree(projectId, parent.id(), child.id(), USER));
+        assertEquals(child.id(), store.moveSubtree(projectId, child.id(), null, USER).id());
+        assertEquals(1, store.subtree(projectId, parent.id(), USER).size());
+    }
+
+    @Test
+    void otherUsersTasks_AreNotFound() {
+        // Arrange
+        long projectId = store.createProject(USER, "Private", null).id();
+        StoredTask task = store.createTask(projectId, USER, "Mine", null, DUE, null);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> store.toggle(task.id(), USER + 1));
+        assertThrows(ResourceNotFoundException.class, () -> store.tasks(projectId, USER + 1));
+        assertThrows(ResourceNotFoundException.class, () -> store.deleteTask(task.id() + 1, USER));
+    }
+
+    private EmbeddedStore open() {
+        EmbeddedStore opened = new EmbeddedStore(directory.toString(), 32);
+        opened.start();
+        return opened;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.taskflow.embedded;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+
+    @Test
+    void randomOperations_MatchHashMap() {
+        // Arrange: a small key space, so removals hit long probe runs
+        LongObjectMap<String> map = new LongObjectMap<>(4);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(2_000) << EmbeddedStore.STRIPE_BITS;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 2_000L << EmbeddedStore.STRIPE_BITS; key += 1 << EmbeddedStore.STRIPE_BITS) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void copy_IsIndependentOfTheOriginal() {
+        // Arrange
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(1, "one");
+        map.put(2, "two");
+
+        // Act
+        LongObjectMap<String> copy = map.copy();
+        map.remove(1);
+        map.put(3, "three");
+
+        // Assert
+        assertEquals("one", copy.get(1));
+        assertNull(copy.get(3));
+        assertEquals(2, copy.size());
+        assertEquals(2, map.size());
+    }
+}
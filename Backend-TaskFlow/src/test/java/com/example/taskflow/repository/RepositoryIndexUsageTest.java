@@ -0,0 +1,478 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.model.ImportStatus;
+import com.example.taskflow.model.ProjectRole;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on the SQL generated by every hot repository query and fails on sequential scans.
+ * Statements are captured from Hibernate as they are issued, so the check follows the real queries.
+ * Runs on H2 (default test profile), and on PostgreSQL when the test datasource points at one.
+ */
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.example.taskflow.repository.RepositoryIndexUsageTest$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SparseColumnRepository.class)
+@ActiveProfiles("test")
+class RepositoryIndexUsageTest {
+
+    private static final int USERS = 200;
+    private static final int PROJECTS_PER_USER = 10;
+    private static final int TASKS_PER_PROJECT = 10;
+
+    /** Queries that are full scans by design (batch jobs iterating every row). */
+    private static final Set<String> ALLOWED_SCANS = Set.of("UserRepository.findAllIds");
+
+    private static final Pattern SORT_NODE = Pattern.compile("(^|->)\\s*(Incremental )?Sort\\b", Pattern.MULTILINE);
+
+    private static final Pattern IMPLICIT_FK_INDEX = Pattern.compile("PUBLIC\\.(FK_[A-Z_]+_INDEX_[A-Z0-9]+)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskClosureRepository taskClosureRepository;
+
+    @Autowired
+    private TaskRecurrenceRepository taskRecurrenceRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskImportRepository taskImportRepository;
+
+    @Autowired
+    private TaskImportErrorRepository taskImportErrorRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private ProjectDailyStatsRepository projectDailyStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SparseColumnRepository sparseColumnRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private WebhookOutboxRepository webhookOutboxRepository;
+
+    private long userId;
+    private long projectId;
+    private long taskId;
+
+    @BeforeEach
+    void loadFixtures() {
+        List<Object[]> users = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            users.add(new Object[]{"explain-" + u + "@inpt.com", "secret", "Explain " + u});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password, full_name) VALUES (?, ?, ?)", users);
+        userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users WHERE email LIKE 'explain-%'", Long.class);
+
+        List<Object[]> projects = new ArrayList<>();
+        for (long u = userId; u < userId + USERS; u++) {
+            for (int p = 0; p < PROJECTS_PER_USER; p++) {
+                projects.add(new Object[]{"Project " + p, u, Timestamp.valueOf(LocalDateTime.now())});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO projects (title, user_id, created_at) VALUES (?, ?, ?)", projects);
+        projectId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM projects WHERE user_id = ?", Long.class, userId);
+
+        List<Object[]> tasks = new ArrayList<>();
+        for (long p = projectId; p < projectId + (long) USERS * PROJECTS_PER_USER; p++) {
+            long ownerId = userId + (p - projectId) / PROJECTS_PER_USER;
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                tasks.add(new Object[]{"Task " + t, Date.valueOf(LocalDate.now().plusDays(t)), t % 3 == 0, p, ownerId,
+                        Timestamp.valueOf(LocalDateTime.now()), "a" + t});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tasks (title, due_date, completed, project_id, owner_id, created_at, sort_rank) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                tasks);
+        jdbcTemplate.update("INSERT INTO task_closure (ancestor_id, descendant_id, depth) " +
+                "SELECT id, id, 0 FROM tasks WHERE project_id >= ?", projectId);
+        List<Object[]> recurrences = new ArrayList<>();
+        for (long p = projectId; p < projectId + (long) USERS * PROJECTS_PER_USER; p++) {
+            recurrences.add(new Object[]{"Recurring", "DAILY", Date.valueOf(LocalDate.now()), p,
+                    Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO task_recurrences " +
+                "(title, frequency, repeat_interval, weekdays, start_date, project_id, created_at) " +
+                "VALUES (?, ?, 1, 0, ?, ?, ?)", recurrences);
+        taskId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tasks WHERE project_id = ?", Long.class, projectId);
+
+        // Every user's first project is shared with the next two users
+        List<Object[]> members = new ArrayList<>();
+        for (long u = userId; u < userId + USERS; u++) {
+            long sharedProject = projectId + (u - userId) * PROJECTS_PER_USER;
+            for (long m = u + 1; m <= u + 2 && m < userId + USERS; m++) {
+                members.add(new Object[]{sharedProject, m, "EDITOR", Timestamp.valueOf(LocalDateTime.now())});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO project_members (project_id, user_id, role, created_at) " +
+                "VALUES (?, ?, ?, ?)", members);
+
+        // A burndown row every third day of the last 90 for each project
+        List<Object[]> days = new ArrayList<>();
+        for (long p = projectId; p < projectId + (long) USERS * PROJECTS_PER_USER; p++) {
+            for (int d = 0; d < 90; d += 3) {
+                days.add(new Object[]{p, Date.valueOf(LocalDate.now().minusDays(d))});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO project_daily_stats " +
+                "(project_id, stat_date, total_tasks, completed_tasks, created, completed, deleted) " +
+                "VALUES (?, ?, 10, 4, 1, 1, 0)", days);
+
+        // A webhook backlog, mostly waiting out a retry backoff
+        List<Object[]> events = new ArrayList<>();
+        for (int e = 0; e < 2000; e++) {
+            events.add(new Object[]{projectId + e % PROJECTS_PER_USER,
+                    Timestamp.valueOf(LocalDateTime.now().plusMinutes(e % 10 == 0 ? -1 : 30))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO webhook_outbox " +
+                "(endpoint, event_type, project_id, payload, created_at, attempts, next_attempt_at) " +
+                "VALUES ('crm', 'task.created', ?, '{}', CURRENT_TIMESTAMP, 1, ?)", events);
+
+        if (isPostgres()) {
+            jdbcTemplate.execute("ANALYZE");
+        }
+    }
+
+    @Test
+    void taskRepositoryQueries_UseIndexes() {
+        assertIndexed("TaskRepository.findByProjectId", () -> taskRepository.findByProjectId(projectId));
+        assertIndexed("TaskRepository.findByProjectIdOrderBySortRankAscIdAsc",
+                () -> taskRepository.findByProjectIdOrderBySortRankAscIdAsc(projectId));
+        assertIndexed("TaskRepository.findByProjectIds",
+                () -> taskRepository.findByProjectIds(List.of(projectId, projectId + 1)));
+        assertIndexed("TaskRepository.findFirstByProjectIds",
+                () -> taskRepository.findFirstByProjectIds(List.of(projectId, projectId + 1), 3));
+        assertIndexed("TaskRepository.findMaxSortRank", () -> taskRepository.findMaxSortRank(projectId));
+        assertIndexed("TaskRepository.findAgenda", () -> taskRepository.findAgenda(userId, LocalDate.now(), 0,
+                LocalDate.now().plusDays(7), PageRequest.ofSize(100)));
+        assertIndexed("TaskRepository.findSharedAgenda", () -> taskRepository.findSharedAgenda(userId,
+                LocalDate.now(), 0, LocalDate.now().plusDays(7), PageRequest.ofSize(100)));
+        assertIndexed("TaskRepository.lockByProjectIdInRankOrder",
+                () -> taskRepository.lockByProjectIdInRankOrder(projectId));
+        assertIndexed("TaskRepository.countByProjectIdAndCompleted",
+                () -> taskRepository.countByProjectIdAndCompleted(projectId, true));
+        assertIndexed("TaskRepository.countByProjectId", () -> taskRepository.countByProjectId(projectId));
+        assertIndexed("TaskRepository.countProgress", () -> taskRepository.countProgress(projectId));
+        assertIndexed("TaskRepository.lockForWrite",
+                () -> taskRepository.lockForWrite(taskId, userId + 1, ProjectRole.EDITOR.memberRoles()));
+        assertIndexed("TaskRepository.findForWrite",
+                () -> taskRepository.findForWrite(taskId, projectId, userId + 1, ProjectRole.EDITOR.memberRoles()));
+        assertIndexed("TaskRepository.countActiveByUserId", () -> taskRepository.countActiveByUserId(userId));
+        assertIndexed("TaskRepository.countActiveByUserIdAndCompleted",
+                () -> taskRepository.countActiveByUserIdAndCompleted(userId, true));
+        assertIndexed("TaskRepository.countOpenByDueDateForProject",
+                () -> taskRepository.countOpenByDueDateForProject(projectId));
+        assertIndexed("TaskRepository.countOpenByDueDateForUser",
+                () -> taskRepository.countOpenByDueDateForUser(userId));
+        assertIndexed("TaskRepository.existsByParentId", () -> taskRepository.existsByParentId(taskId));
+        assertIndexed("TaskRepository.findSubtree", () -> taskRepository.findSubtree(taskId));
+        assertIndexed("TaskRepository.countSubtree", () -> taskRepository.countSubtree(taskId));
+        assertIndexed("TaskRepository.countOpenByDueDateForSubtree",
+                () -> taskRepository.countOpenByDueDateForSubtree(taskId));
+        assertIndexed("TaskRepository.deleteSubtree", () -> taskRepository.deleteSubtree(taskId + 1));
+        assertIndexed("TaskRepository.findByRecurrenceIdAndOccurrenceDate",
+                () -> taskRepository.findByRecurrenceIdAndOccurrenceDate(1L, LocalDate.now()));
+        assertIndexed("TaskRepository.countMaterializedThrough",
+                () -> taskRepository.countMaterializedThrough(projectId, LocalDate.now()));
+        assertIndexed("TaskRepository.deleteByIds", () -> taskRepository.deleteByIds(List.of(taskId + 3, taskId + 4)));
+        assertIndexed("TaskRepository.deleteChunkByProjectId",
+                () -> taskRepository.deleteChunkByProjectId(projectId, 5));
+    }
+
+    @Test
+    void taskClosureRepositoryQueries_UseIndexes() {
+        long childId = taskId + 1;
+        jdbcTemplate.update("DELETE FROM task_closure WHERE descendant_id = ?", childId);
+
+        assertIndexed("TaskClosureRepository.insertSelfLink", () -> taskClosureRepository.insertSelfLink(childId));
+        assertIndexed("TaskClosureRepository.insertAncestorLinks",
+                () -> taskClosureRepository.insertAncestorLinks(childId, taskId));
+        assertIndexed("TaskClosureRepository.existsByAncestorIdAndDescendantId",
+                () -> taskClosureRepository.existsByAncestorIdAndDescendantId(taskId, childId));
+        assertIndexed("TaskClosureRepository.detachSubtree", () -> taskClosureRepository.detachSubtree(childId));
+        assertIndexed("TaskClosureRepository.attachSubtree",
+                () -> taskClosureRepository.attachSubtree(childId, taskId + 2));
+        assertIndexed("TaskClosureRepository.insertSelfLinksInRankRange",
+                () -> taskClosureRepository.insertSelfLinksInRankRange(projectId, "a0", "a9"));
+    }
+
+    @Test
+    void taskRecurrenceRepositoryQueries_UseIndexes() {
+        assertIndexed("TaskRecurrenceRepository.findByProjectIdOrderById",
+                () -> taskRecurrenceRepository.findByProjectIdOrderById(projectId));
+        assertIndexed("TaskRecurrenceRepository.findForWrite", () -> taskRecurrenceRepository.findForWrite(1L,
+                projectId, userId, ProjectRole.EDITOR.memberRoles()));
+        assertIndexed("TaskRecurrenceRepository.lockForWrite", () -> taskRecurrenceRepository.lockForWrite(1L,
+                projectId, userId, ProjectRole.EDITOR.memberRoles()));
+        assertIndexed("TaskRecurrenceRepository.deleteByProjectId",
+                () -> taskRecurrenceRepository.deleteByProjectId(projectId));
+    }
+
+    @Test
+    void archivedTaskRepositoryQueries_UseIndexes() {
+        assertIndexed("ArchivedTaskRepository.findByProjectIdOrderBySortRankAscIdAsc",
+                () -> archivedTaskRepository.findByProjectIdOrderBySortRankAscIdAsc(projectId));
+        assertIndexed("ArchivedTaskRepository.lockArchivable",
+                () -> archivedTaskRepository.lockArchivable(LocalDateTime.now().minusDays(180), 100));
+        assertIndexed("ArchivedTaskRepository.copyFromTasks",
+                () -> archivedTaskRepository.copyFromTasks(List.of(-1L, -2L), LocalDateTime.now()));
+        assertIndexed("ArchivedTaskRepository.deleteChunkByProjectId",
+                () -> archivedTaskRepository.deleteChunkByProjectId(projectId, 5));
+    }
+
+    @Test
+    void sparseColumnRepositoryQueries_UseIndexes() {
+        assertIndexed("SparseColumnRepository.findTasks",
+                () -> sparseColumnRepository.findTasks(projectId, List.of("id", "sortRank", "title")));
+        assertIndexed("SparseColumnRepository.findArchivedTasks",
+                () -> sparseColumnRepository.findArchivedTasks(projectId, List.of("id", "sortRank", "title")));
+        assertIndexed("SparseColumnRepository.findProjects",
+                () -> sparseColumnRepository.findProjects(List.of(projectId, projectId + 1), List.of("id", "title")));
+    }
+
+    @Test
+    void syncQueries_UseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.ofSize(100);
+        assertIndexed("ProjectRepository.findChangedSince",
+                () -> projectRepository.findChangedSince(userId, 0, now, page));
+        assertReadInIndexOrder("TaskRepository.findChangedSince", "idx_tasks_owner_change_seq",
+                () -> taskRepository.findChangedSince(userId, 0, now, page));
+        assertIndexed("SyncTombstoneRepository.findChangedSince",
+                () -> syncTombstoneRepository.findChangedSince(userId, 0, now, page));
+        assertIndexed("ProjectRepository.findSharedChangedSince",
+                () -> projectRepository.findSharedChangedSince(userId, 0, now, page));
+        assertIndexed("TaskRepository.findSharedChangedSince",
+                () -> taskRepository.findSharedChangedSince(userId, 0, now, page));
+        assertIndexed("SyncTombstoneRepository.findSharedChangedSince",
+                () -> syncTombstoneRepository.findSharedChangedSince(userId, 0, now, page));
+        assertIndexed("ProjectRepository.restamp", () -> projectRepository.restamp(projectId, now));
+        assertIndexed("TaskRepository.restampByProjectId", () -> taskRepository.restampByProjectId(projectId, now));
+        assertIndexed("SyncTombstoneRepository.recordSubtree",
+                () -> syncTombstoneRepository.recordSubtree(userId, projectId, taskId, now));
+        assertIndexed("SyncTombstoneRepository.lockExpired",
+                () -> syncTombstoneRepository.lockExpired(now.minusDays(30), 100));
+        assertIndexed("SyncTombstoneRepository.deleteBySeqs",
+                () -> syncTombstoneRepository.deleteBySeqs(List.of(-1L, -2L)));
+        assertIndexed("UserRepository.findSyncHorizon", () -> userRepository.findSyncHorizon(userId));
+        assertIndexed("UserRepository.raiseSyncHorizon", () -> userRepository.raiseSyncHorizon(userId, 10));
+        assertIndexed("UserRepository.raiseSyncHorizonOfMembers",
+                () -> userRepository.raiseSyncHorizonOfMembers(projectId, 10));
+    }
+
+    @Test
+    void tokenRevocationQueries_UseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        assertIndexed("RevokedTokenRepository.findByExpiresAtAfter",
+                () -> revokedTokenRepository.findByExpiresAtAfter(now));
+        assertIndexed("RevokedTokenRepository.findByRevokedAtGreaterThanEqual",
+                () -> revokedTokenRepository.findByRevokedAtGreaterThanEqual(now));
+        assertIndexed("RevokedTokenRepository.deleteExpired", () -> revokedTokenRepository.deleteExpired(now));
+        assertIndexed("UserRepository.raiseTokenGeneration", () -> userRepository.raiseTokenGeneration(userId, now));
+        assertIndexed("UserRepository.findTokenGeneration", () -> userRepository.findTokenGeneration(userId));
+        assertIndexed("UserRepository.findTokenGenerationsRaisedSince",
+                () -> userRepository.findTokenGenerationsRaisedSince(now));
+    }
+
+    @Test
+    void taskImportRepositoryQueries_UseIndexes() {
+        assertIndexed("TaskImportRepository.findByStatusInOrderById",
+                () -> taskImportRepository.findByStatusInOrderById(List.of(ImportStatus.PENDING, ImportStatus.RUNNING)));
+        assertIndexed("TaskImportRepository.addProgress", () -> taskImportRepository.addProgress(1L, 10, 9, 1));
+        assertIndexed("TaskImportRepository.updateStatus",
+                () -> taskImportRepository.updateStatus(1L, ImportStatus.COMPLETED, null, LocalDateTime.now()));
+        assertIndexed("TaskImportErrorRepository.findTop100ByImportIdOrderByRecordNumber",
+                () -> taskImportErrorRepository.findTop100ByImportIdOrderByRecordNumber(1L));
+    }
+
+    @Test
+    void projectRepositoryQueries_UseIndexes() {
+        assertIndexed("ProjectRepository.findLiveByIds",
+                () -> projectRepository.findLiveByIds(List.of(projectId, projectId + 1)));
+        assertIndexed("ProjectRepository.lockById", () -> projectRepository.lockById(projectId));
+        assertIndexed("ProjectRepository.findForWrite",
+                () -> projectRepository.findForWrite(projectId, userId, ProjectRole.OWNER.memberRoles()));
+        assertIndexed("ProjectRepository.addArchivedTasks", () -> projectRepository.addArchivedTasks(projectId, 3));
+        assertIndexed("ProjectRepository.sumArchivedTasksByUserId",
+                () -> projectRepository.sumArchivedTasksByUserId(userId));
+        assertIndexed("ProjectRepository.deleteTombstoned", () -> projectRepository.deleteTombstoned(projectId));
+    }
+
+    @Test
+    void projectMemberRepositoryQueries_UseIndexes() {
+        assertIndexed("ProjectMemberRepository.findGrants", () -> projectMemberRepository.findGrants(userId + 1));
+        assertIndexed("ProjectMemberRepository.findMembers", () -> projectMemberRepository.findMembers(projectId));
+        assertIndexed("ProjectMemberRepository.findUserIds", () -> projectMemberRepository.findUserIds(projectId));
+        assertIndexed("ProjectMemberRepository.findForWrite", () -> projectMemberRepository.findForWrite(projectId,
+                userId + 1, userId + 1, ProjectRole.VIEWER.memberRoles()));
+    }
+
+    @Test
+    void projectDailyStatsRepositoryQueries_UseIndexes() {
+        assertIndexed("ProjectDailyStatsRepository.findRange", () -> projectDailyStatsRepository.findRange(projectId,
+                LocalDate.now().minusDays(30), LocalDate.now()));
+    }
+
+    @Test
+    void webhookOutboxRepositoryQueries_UseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        long eventId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM webhook_outbox", Long.class);
+        assertIndexed("WebhookOutboxRepository.claimDue", () -> webhookOutboxRepository.claimDue(now, 50));
+        assertIndexed("WebhookOutboxRepository.lease",
+                () -> webhookOutboxRepository.lease(List.of(eventId, eventId + 1), now.plusMinutes(2)));
+        assertIndexed("WebhookOutboxRepository.scheduleRetry",
+                () -> webhookOutboxRepository.scheduleRetry(eventId, 2, now.plusMinutes(1), "HTTP 503"));
+        assertIndexed("WebhookOutboxRepository.deleteByIds",
+                () -> webhookOutboxRepository.deleteByIds(List.of(eventId + 2, eventId + 3)));
+    }
+
+    @Test
+    void userRepositoryQueries_UseIndexes() {
+        assertIndexed("UserRepository.findByEmail", () -> userRepository.findByEmail("explain-7@inpt.com"));
+        assertIndexed("UserRepository.existsByEmail", () -> userRepository.existsByEmail("explain-7@inpt.com"));
+        assertIndexed("UserRepository.findAllIds", () -> userRepository.findAllIds());
+    }
+
+    private void assertIndexed(String name, Runnable query) {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        List<String> statements = List.copyOf(SqlCapture.STATEMENTS);
+        assertFalse(statements.isEmpty(), name + " issued no SQL");
+
+        for (String sql : statements) {
+            // H2 marks a subquery it proved empty (an empty IN list) as a scan that reads no row
+            String plan = explain(sql).replace(".tableScan: FALSE */", " */");
+            boolean scans = plan.contains("tableScan") || plan.contains("Seq Scan") || usesImplicitForeignKeyIndex(plan);
+            if (scans && !ALLOWED_SCANS.contains(name)) {
+                fail(name + " performs a sequential scan:\n" + sql + "\n" + plan);
+            }
+        }
+    }
+
+    /**
+     * Stricter than {@link #assertIndexed}: the rows must come from one range of {@code index}, already in
+     * the requested order, with no sort step (H2 reports "index sorted", PostgreSQL has no Sort node).
+     */
+    private void assertReadInIndexOrder(String name, String index, Runnable query) {
+        assertIndexed(name, query);
+        for (String sql : SqlCapture.STATEMENTS) {
+            String plan = explain(sql);
+            assertTrue(plan.toLowerCase().contains(index), name + " does not read " + index + ":\n" + sql + "\n" + plan);
+            boolean sorted = isPostgres() ? !SORT_NODE.matcher(plan).find() : plan.contains("index sorted");
+            assertTrue(sorted, name + " sorts its rows instead of reading " + index + " in order:\n" + sql + "\n" + plan);
+        }
+    }
+
+    /**
+     * H2 creates an index for every foreign key, PostgreSQL does not. A plan using such an index
+     * only holds on PostgreSQL if a migration also created an index leading with the same column.
+     */
+    private boolean usesImplicitForeignKeyIndex(String plan) {
+        Matcher matcher = IMPLICIT_FK_INDEX.matcher(plan);
+        while (matcher.find()) {
+            Integer explicit = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEX_COLUMNS fk " +
+                    "JOIN INFORMATION_SCHEMA.INDEX_COLUMNS ix " +
+                    "ON ix.TABLE_NAME = fk.TABLE_NAME AND ix.COLUMN_NAME = fk.COLUMN_NAME AND ix.ORDINAL_POSITION = 1 " +
+                    "WHERE fk.INDEX_NAME = ? AND fk.ORDINAL_POSITION = 1 AND ix.INDEX_NAME NOT LIKE 'FK\\_%\\_INDEX\\_%'",
+                    Integer.class, matcher.group(1));
+            if (explicit == null || explicit == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData metaData = statement.getParameterMetaData();
+                for (int i = 1; i <= metaData.getParameterCount(); i++) {
+                    statement.setObject(i, sampleValue(metaData.getParameterType(i)));
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private Object sampleValue(int sqlType) {
+        return switch (sqlType) {
+            case Types.BOOLEAN, Types.BIT -> true;
+            case Types.DATE -> Date.valueOf(LocalDate.now());
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> Timestamp.valueOf(LocalDateTime.now());
+            case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR -> "explain-7@inpt.com";
+            default -> 1L;
+        };
+    }
+
+    private boolean isPostgres() {
+        return jdbcTemplate.execute((java.sql.Connection connection) ->
+                connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres"));
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
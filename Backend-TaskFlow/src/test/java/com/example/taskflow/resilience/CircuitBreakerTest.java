@@ -0,0 +1,104 @@
+package com.example.taskflow.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private long now;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        properties.setHalfOpenCalls(2);
+        breaker = new CircuitBreaker("test", properties, registry, () -> now);
+    }
+
+    @Test
+    void failureRateAtTheThreshold_OpensAndRejects() {
+        // Act
+        call(true);
+        call(false);
+        call(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        call(false);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(Duration.ofSeconds(10), breaker.retryAfter());
+        assertEquals(1.0, registry.get("circuit.breaker.rejected").counter().count());
+        assertEquals(1.0, registry.get("circuit.breaker.transitions").tag("state", "OPEN").counter().count());
+    }
+
+    @Test
+    void fewerCallsThanTheMinimum_DoNotOpen() {
+        // Act
+        call(false);
+        call(false);
+        call(false);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void successfulTrialCalls_CloseTheBreaker() {
+        // Arrange
+        trip();
+        now += Duration.ofSeconds(10).toNanos();
+
+        // Act
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        breaker.onResult(true);
+        breaker.onResult(true);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        assertEquals(0.0, registry.get("circuit.breaker.state").gauge().value());
+        assertEquals(1.0, registry.get("circuit.breaker.transitions").tag("state", "CLOSED").counter().count());
+    }
+
+    @Test
+    void failedTrialCall_OpensTheBreakerAgain() {
+        // Arrange
+        trip();
+        now += Duration.ofSeconds(10).toNanos();
+
+        // Act
+        assertTrue(breaker.tryAcquire());
+        breaker.onResult(false);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(Duration.ofSeconds(10), breaker.retryAfter());
+        assertEquals(2.0, registry.get("circuit.breaker.transitions").tag("state", "OPEN").counter().count());
+    }
+
+    private void trip() {
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private void call(boolean success) {
+        assertTrue(breaker.tryAcquire());
+        breaker.onResult(success);
+    }
+}
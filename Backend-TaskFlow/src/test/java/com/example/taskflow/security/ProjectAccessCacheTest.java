@@ -0,0 +1,140 @@
+package com.example.taskflow.security;
+
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.model.ProjectRole;
+import com.example.taskflow.repository.ProjectMemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ProjectAccessCacheTest {
+
+    private final ProjectMemberRepository repository = mock(ProjectMemberRepository.class);
+    private final ProjectAccessCache cache = new ProjectAccessCache(repository, 3, Duration.ofMinutes(1));
+
+    @Test
+    void require_ChecksRolesFromOneLoad() {
+        // Arrange
+        when(repository.findGrants(1L)).thenReturn(List.of(
+                new Object[]{10L, 1L, "OWNER"}, new Object[]{20L, 2L, "VIEWER"}, new Object[]{30L, 3L, "EDITOR"}));
+
+        // Act & Assert
+        assertEquals(new ProjectPermissions.Grant(1L, ProjectRole.OWNER),
+                cache.require(1L, 10L, ProjectRole.OWNER, "Project not found"));
+        assertEquals(2L, cache.require(1L, 20L, ProjectRole.VIEWER, "Project not found").ownerId());
+        assertThrows(AccessDeniedException.class, () -> cache.require(1L, 20L, ProjectRole.EDITOR, "Project not found"));
+        assertEquals(ProjectRole.EDITOR, cache.require(1L, 30L, ProjectRole.EDITOR, "Project not found").role());
+        assertThrows(ResourceNotFoundException.class, () -> cache.require(1L, 40L, ProjectRole.VIEWER, "Project not found"));
+        verify(repository, times(1)).findGrants(1L);
+    }
+
+    @Test
+    void requireCurrent_EmptyLookup_RefusesACachedGrantTheDatabaseNoLongerHas() {
+        // Arrange: cached while shared; the project is then deleted on another node
+        when(repository.findGrants(1L)).thenReturn(List.<Object[]>of(new Object[]{10L, 2L, "EDITOR"}))
+                .thenReturn(List.of());
+        cache.require(1L, 10L, ProjectRole.VIEWER, "Project not found");
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> cache.requireCurrent(1L, 10L, ProjectRole.EDITOR, "Project not found", Optional::empty));
+        assertThrows(ResourceNotFoundException.class,
+                () -> cache.require(1L, 10L, ProjectRole.VIEWER, "Project not found"));
+        verify(repository, times(2)).findGrants(1L);
+    }
+
+    @Test
+    void requireCurrent_EmptyLookupWithTheGrantStanding_ReportsTheRowMissing() {
+        // Arrange
+        when(repository.findGrants(1L)).thenReturn(List.<Object[]>of(new Object[]{10L, 2L, "EDITOR"}));
+
+        // Act
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> cache.requireCurrent(1L, 10L, ProjectRole.EDITOR, "Task not found", Optional::empty));
+
+        // Assert
+        assertEquals("Task not found", ex.getMessage());
+        assertEquals(ProjectRole.EDITOR, cache.require(1L, 10L, ProjectRole.VIEWER, "Project not found").role());
+    }
+
+    @Test
+    void requireCurrent_FoundRow_CostsNoQueryOfItsOwn() {
+        // Arrange
+        when(repository.findGrants(1L)).thenReturn(List.<Object[]>of(new Object[]{10L, 2L, "EDITOR"}));
+        cache.require(1L, 10L, ProjectRole.VIEWER, "Project not found");
+
+        // Act
+        String row = cache.requireCurrent(1L, 10L, ProjectRole.EDITOR, "Task not found", () -> Optional.of("task"));
+
+        // Assert
+        assertEquals("task", row);
+        verify(repository, times(1)).findGrants(1L);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void invalidate_ReloadsThatUserOnly() {
+        // Arrange
+        when(repository.findGrants(anyLong())).thenReturn(List.<Object[]>of(new Object[]{10L, 1L, "OWNER"}));
+        cache.permissionsOf(1L);
+        cache.permissionsOf(2L);
+
+        // Act
+        cache.invalidate(List.of(1L));
+        cache.permissionsOf(1L);
+        cache.permissionsOf(2L);
+
+        // Assert
+        verify(repository, times(2)).findGrants(1L);
+        verify(repository, times(1)).findGrants(2L);
+    }
+
+    @Test
+    void loadOverlappingAnInvalidation_IsServedButNotKept() {
+        // Arrange: the share commits while the old permissions are being read
+        when(repository.findGrants(1L)).thenAnswer(invocation -> {
+            cache.invalidate(List.of(1L));
+            return List.of();
+        }).thenReturn(List.<Object[]>of(new Object[]{10L, 2L, "VIEWER"}));
+
+        // Act
+        ProjectPermissions stale = cache.permissionsOf(1L);
+        ProjectPermissions fresh = cache.permissionsOf(1L);
+
+        // Assert
+        assertNull(stale.find(10L));
+        assertEquals(ProjectRole.VIEWER, fresh.find(10L).role());
+    }
+
+    @Test
+    void fullCache_EvictsToStayBounded() {
+        // Arrange
+        when(repository.findGrants(anyLong())).thenReturn(List.of());
+
+        // Act
+        for (long user = 1; user <= 10; user++) {
+            cache.permissionsOf(user);
+        }
+
+        // Assert
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void permissions_KeepTheHighestRoleOfAProject() {
+        // Act
+        ProjectPermissions permissions = ProjectPermissions.of(List.of(
+                new Object[]{5L, 1L, "VIEWER"}, new Object[]{3L, 1L, "OWNER"}, new Object[]{5L, 1L, "EDITOR"}));
+
+        // Assert
+        assertEquals(List.of(3L, 5L), permissions.projectIds());
+        assertEquals(ProjectRole.EDITOR, permissions.find(5L).role());
+    }
+}
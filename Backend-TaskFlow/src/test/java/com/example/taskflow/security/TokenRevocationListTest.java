@@ -0,0 +1,56 @@
+package com.example.taskflow.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    private final TokenRevocationList revocations = new TokenRevocationList(1000, 0.01);
+
+    @Test
+    void revoke_OnlyThatTokenIsRevoked() {
+        // Arrange
+        String revoked = UUID.randomUUID().toString();
+
+        // Act
+        revocations.revoke(revoked, Long.MAX_VALUE);
+
+        // Assert: filter false positives are settled by the exact set
+        assertTrue(revocations.isRevoked(revoked, 1, 0));
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(revocations.isRevoked(UUID.randomUUID().toString(), 1, 0));
+        }
+    }
+
+    @Test
+    void revokeBelow_RevokesLowerGenerationsOfThatUser() {
+        // Act
+        revocations.revokeBelow(1, 2, Long.MAX_VALUE);
+        revocations.revokeBelow(1, 1, Long.MAX_VALUE);
+
+        // Assert
+        assertTrue(revocations.isRevoked("a", 1, 0));
+        assertTrue(revocations.isRevoked("b", 1, 1));
+        assertFalse(revocations.isRevoked("c", 1, 2));
+        assertFalse(revocations.isRevoked("d", 2, 0));
+    }
+
+    @Test
+    void evictExpired_DropsExpiredEntriesAndKeepsTheRest() {
+        // Arrange
+        revocations.revoke("expired", 1_000);
+        revocations.revoke("active", 3_000);
+        revocations.revokeBelow(1, 1, 1_000);
+
+        // Act
+        revocations.evictExpired(2_000);
+
+        // Assert
+        assertFalse(revocations.isRevoked("expired", 1, 0));
+        assertTrue(revocations.isRevoked("active", 2, 0));
+        assertEquals(1, revocations.size());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.ProjectDeletionResponse;
+import com.example.taskflow.dto.ProjectRequest;
+import com.example.taskflow.dto.ProjectResponse;
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.model.Project;
+import com.example.taskflow.model.RecurrenceFrequency;
+import com.example.taskflow.model.Task;
+import com.example.taskflow.model.TaskRecurrence;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ArchivedTaskRepository;
+import com.example.taskflow.repository.ProjectDeletionRepository;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.TaskRecurrenceRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for tombstoned project deletion and chunked purging
+ * Uses H2 in-memory database with test profile
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectPurgeJobTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskRecurrenceRepository recurrenceRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private ProjectDeletionRepository projectDeletionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("purge-" + System.nanoTime() + "@inpt.com");
+        user.setPassword("secret");
+        user.setFullName("Purge User");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void deleteProject_HidesProjectAndPurgesTasksInChunks() {
+        // Arrange
+        ProjectRequest request = new ProjectRequest();
+        request.setTitle("Big project");
+        ProjectResponse created = projectService.createProject(request, user);
+        Project project = projectRepository.findById(created.getId()).orElseThrow();
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDueDate(LocalDate.now().plusDays(1));
+            task.setProject(project);
+            task.setOwnerId(user.getId());
+            task.setSortRank(RankGenerator.spread(25)[i]);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+
+        TaskRecurrence recurrence = new TaskRecurrence();
+        recurrence.setTitle("Standup");
+        recurrence.setFrequency(RecurrenceFrequency.DAILY);
+        recurrence.setStartDate(LocalDate.now());
+        recurrence.setProject(project);
+        recurrenceRepository.save(recurrence);
+
+        // Act
+        projectService.deleteProject(project.getId(), user.getId());
+
+        // Assert: tombstoned immediately, tasks still present
+        assertThrows(ResourceNotFoundException.class, () -> projectService.getProjectById(project.getId(), user.getId()));
+        assertTrue(projectService.getUserProjects(user.getId(), null).isEmpty());
+        ProjectDeletionResponse pending = projectService.getDeletionStatus(project.getId(), user.getId());
+        assertEquals(25, pending.getTotalTasks());
+
+        // Act: purge with a small chunk size
+        new ProjectPurgeJob(projectDeletionRepository, projectRepository, taskRepository, recurrenceRepository,
+                archivedTaskRepository, transactionManager, shardRouter, 10)
+                .purge(project.getId());
+
+        // Assert
+        ProjectDeletionResponse done = projectService.getDeletionStatus(project.getId(), user.getId());
+        assertEquals("COMPLETED", done.getStatus());
+        assertEquals(25, done.getPurgedTasks());
+        assertEquals(0, taskRepository.countByProjectId(project.getId()));
+        assertFalse(projectRepository.existsById(project.getId()));
+        assertTrue(recurrenceRepository.findByProjectIdOrderById(project.getId()).isEmpty());
+    }
+}
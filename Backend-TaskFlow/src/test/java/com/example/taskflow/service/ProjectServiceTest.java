@@ -4,22 +4,39 @@ import com.example.taskflow.dto.ProjectRequest;
 import com.example.taskflow.dto.ProjectResponse;
 import com.example.taskflow.exception.ResourceNotFoundException;
 import com.example.taskflow.model.Project;
+import com.example.taskflow.model.ProjectRole;
 import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ProjectDeletionRepository;
+import com.example.taskflow.repository.ProjectMemberRepository;
 import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.SparseColumnRepository;
+import com.example.taskflow.repository.SyncTombstoneRepository;
 import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.example.taskflow.security.ProjectPermissions;
+import com.example.taskflow.sync.ChangeSequence;
+import com.example.taskflow.webhook.WebhookOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +48,40 @@ class ProjectServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ProjectDeletionRepository projectDeletionRepository;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private RecurrenceService recurrenceService;
+
+    @Mock
+    private SparseColumnRepository sparseColumnRepository;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Mock
+    private ChangeSequence changeSequence;
+
+    @Mock
+    private ProjectAccessCache projectAccess;
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Mock
+    private WebhookOutbox webhookOutbox;
+
+    @Spy
+    private ReadCoalescer readCoalescer = new ReadCoalescer(mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry());
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -60,7 +111,7 @@ class ProjectServiceTest {
         request.setDescription("New Description");
 
         when(projectRepository.save(any(Project.class))).thenReturn(testProject);
-        when(taskRepository.findByProjectId(anyLong())).thenReturn(new ArrayList<>());
+        when(taskRepository.countProgress(anyLong())).thenReturn(counts(0, 0, 0));
 
         // Act
         ProjectResponse response = projectService.createProject(request, testUser);
@@ -69,28 +120,53 @@ class ProjectServiceTest {
         assertNotNull(response);
         assertEquals("Test Project", response.getTitle());
         verify(projectRepository, times(1)).save(any(Project.class));
+        verify(projectAccess).invalidateAfterCommit(List.of(1L));
     }
 
     @Test
-    void getUserProjects_ReturnsProjects() {
-        // Arrange
-        when(projectRepository.findByUserId(1L)).thenReturn(List.of(testProject));
-        when(taskRepository.findByProjectId(anyLong())).thenReturn(new ArrayList<>());
+    void getUserProjects_ReturnsOwnedAndSharedProjects() {
+        // Arrange: project 1 is the user's own, project 2 is shared with them
+        Project shared = new Project();
+        shared.setId(2L);
+        shared.setTitle("Shared Project");
+        when(projectAccess.permissionsOf(1L)).thenReturn(ProjectPermissions.of(List.of(
+                new Object[]{2L, 9L, "VIEWER"}, new Object[]{1L, 1L, "OWNER"})));
+        when(projectRepository.findLiveByIds(List.of(1L, 2L))).thenReturn(List.of(testProject, shared));
+        when(taskRepository.countProgress(anyLong())).thenReturn(counts(0, 0, 0));
 
         // Act
-        List<ProjectResponse> projects = projectService.getUserProjects(1L);
+        List<ProjectResponse> projects = projectService.getUserProjects(1L, null);
 
         // Assert
         assertNotNull(projects);
+        assertEquals(List.of("Test Project", "Shared Project"), projects.stream().map(ProjectResponse::getTitle).toList());
+    }
+
+    @Test
+    void getUserProjects_WithoutProgressFields_ReadsOnlyRequestedColumns() {
+        // Arrange
+        Project sparse = new Project();
+        sparse.setId(1L);
+        sparse.setTitle("Test Project");
+        when(projectAccess.permissionsOf(1L)).thenReturn(ProjectPermissions.of(List.<Object[]>of(
+                new Object[]{1L, 1L, "OWNER"})));
+        when(sparseColumnRepository.findProjects(List.of(1L), Set.of("id", "title"))).thenReturn(List.of(sparse));
+
+        // Act
+        List<ProjectResponse> projects = projectService.getUserProjects(1L, Set.of("title"));
+
+        // Assert
         assertEquals(1, projects.size());
         assertEquals("Test Project", projects.get(0).getTitle());
+        verifyNoInteractions(taskRepository, recurrenceService);
+        verify(projectRepository, never()).findLiveByIds(any());
     }
 
     @Test
     void getProjectById_Success() {
         // Arrange
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.findByProjectId(1L)).thenReturn(new ArrayList<>());
+        when(taskRepository.countProgress(1L)).thenReturn(counts(0, 0, 0));
 
         // Act
         ProjectResponse response = projectService.getProjectById(1L, 1L);
@@ -114,7 +190,8 @@ class ProjectServiceTest {
     @Test
     void getProjectById_WrongUser_ThrowsException() {
         // Arrange
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(projectAccess.require(999L, 1L, ProjectRole.VIEWER, "Project not found"))
+                .thenThrow(new ResourceNotFoundException("Project not found"));
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -126,8 +203,7 @@ class ProjectServiceTest {
     void calculateProgress_NoTasks_ReturnsZero() {
         // Arrange
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.findByProjectId(1L)).thenReturn(new ArrayList<>());
-        when(taskRepository.countByProjectIdAndCompleted(1L, true)).thenReturn(0);
+        when(taskRepository.countProgress(1L)).thenReturn(counts(0, 0, 0));
 
         // Act
         ProjectResponse response = projectService.calculateProgress(1L);
@@ -139,14 +215,95 @@ class ProjectServiceTest {
     }
 
     @Test
-    void deleteProject_Success() {
+    void calculateProgress_WithRecurringTasks_CountsVirtualOccurrencesDueSoFar() {
+        // Arrange
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(taskRepository.countProgress(1L)).thenReturn(counts(2, 2, 0));
+        when(recurrenceService.countVirtualDue(eq(1L), any())).thenReturn(2L);
+
+        // Act
+        ProjectResponse response = projectService.calculateProgress(1L);
+
+        // Assert
+        assertEquals(4, response.getTotalTasks());
+        assertEquals(50.0, response.getProgressPercentage());
+    }
+
+    @Test
+    void calculateProgress_WithArchivedTasks_CountsThemAsCompleted() {
         // Arrange
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(taskRepository.countProgress(1L)).thenReturn(counts(4, 1, 6));
+
+        // Act
+        ProjectResponse response = projectService.calculateProgress(1L);
+
+        // Assert
+        assertEquals(10, response.getTotalTasks());
+        assertEquals(7, response.getCompletedTasks());
+        assertEquals(70.0, response.getProgressPercentage());
+    }
+
+    @Test
+    void deleteProject_Success() {
+        // Arrange
+        when(projectAccess.requireCurrent(eq(1L), eq(1L), eq(ProjectRole.OWNER), eq("Project not found"), any()))
+                .thenReturn(testProject);
+
+        when(taskRepository.countByProjectId(1L)).thenReturn(3L);
 
         // Act
         projectService.deleteProject(1L, 1L);
 
         // Assert
-        verify(projectRepository, times(1)).delete(testProject);
+        assertNotNull(testProject.getDeletedAt());
+        verify(projectRepository, never()).delete(any(Project.class));
+        verify(projectDeletionRepository).save(argThat(deletion ->
+                deletion.getProjectId().equals(1L) && deletion.getTotalTasks() == 3L));
+        verify(userStatsService).onProjectDeleted(1L, 1L);
+        verify(projectAccess).invalidateAfterCommit(List.of(1L));
+    }
+
+    @Test
+    void deleteProject_ByCollaborator_IsForbidden() {
+        // Arrange
+        when(projectAccess.requireCurrent(eq(2L), eq(1L), eq(ProjectRole.OWNER), eq("Project not found"), any()))
+                .thenThrow(new AccessDeniedException("This project requires the OWNER role"));
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> projectService.deleteProject(1L, 2L));
+        verify(projectRepository, never()).save(any(Project.class));
+        verifyNoInteractions(userStatsService, projectDeletionRepository);
+    }
+
+    @Test
+    void getProjectById_Tombstoned_ThrowsException() {
+        // Arrange
+        testProject.setDeletedAt(LocalDateTime.now());
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> {
+            projectService.getProjectById(1L, 1L);
+        });
+    }
+
+    private static TaskRepository.ProgressCounts counts(long total, long completed, long archived) {
+        return new TaskRepository.ProgressCounts() {
+            @Override
+            public long getTotal() {
+                return total;
+            }
+
+            @Override
+            public long getCompleted() {
+                return completed;
+            }
+
+            @Override
+            public Long getArchived() {
+                return archived;
+            }
+        };
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.example.taskflow.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankGeneratorTest {
+
+    @Test
+    void between_ReturnsRankStrictlyBetweenBounds() {
+        assertBetween("a", "b", RankGenerator.between("a", "b"));
+        assertBetween("a", "a1", RankGenerator.between("a", "a1"));
+        assertBetween("", "1", RankGenerator.between(null, "1"));
+        assertBetween("zz", null, RankGenerator.between("zz", null));
+    }
+
+    @Test
+    void between_RepeatedInsertsAtSameSpot_StayOrderedAndNeverEndInZero() {
+        // Arrange
+        String lower = "a";
+        String upper = "b";
+
+        // Act: always insert right after the lower bound
+        for (int i = 0; i < 200; i++) {
+            String rank = RankGenerator.between(lower, upper);
+
+            // Assert
+            assertBetween(lower, upper, rank);
+            assertNotEquals('0', rank.charAt(rank.length() - 1));
+            upper = rank;
+        }
+    }
+
+    @Test
+    void between_InvalidBounds_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> RankGenerator.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> RankGenerator.between("a", "a"));
+    }
+
+    @Test
+    void after_AppendsGrowSlowly() {
+        // Arrange
+        List<String> ranks = new ArrayList<>();
+        String last = null;
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            last = RankGenerator.after(last);
+            ranks.add(last);
+        }
+
+        // Assert
+        List<String> sorted = new ArrayList<>(ranks);
+        sorted.sort(null);
+        assertEquals(ranks, sorted);
+        assertTrue(last.length() <= 32, "1000 appends produced a rank of length " + last.length());
+    }
+
+    @Test
+    void spread_ReturnsShortAscendingRanks() {
+        // Act
+        String[] ranks = RankGenerator.spread(1000);
+
+        // Assert
+        for (int i = 1; i < ranks.length; i++) {
+            assertTrue(ranks[i - 1].compareTo(ranks[i]) < 0);
+            assertEquals(3, ranks[i].length());
+        }
+        assertBetween("", null, RankGenerator.between(null, ranks[0]));
+    }
+
+    @Test
+    void afterCount_ReturnsAscendingRanksAboveLower() {
+        // Act
+        String[] ranks = RankGenerator.after("i5", 500);
+
+        // Assert
+        assertBetween("i5", null, ranks[0]);
+        for (int i = 1; i < ranks.length; i++) {
+            assertTrue(ranks[i - 1].compareTo(ranks[i]) < 0);
+            assertEquals(ranks[0].length(), ranks[i].length());
+        }
+        assertBetween(ranks[ranks.length - 1], null, RankGenerator.after(ranks[ranks.length - 1]));
+    }
+
+    private static void assertBetween(String lower, String upper, String rank) {
+        assertTrue(rank.compareTo(lower) > 0, rank + " is not after " + lower);
+        if (upper != null) {
+            assertTrue(rank.compareTo(upper) < 0, rank + " is not before " + upper);
+        }
+    }
+}
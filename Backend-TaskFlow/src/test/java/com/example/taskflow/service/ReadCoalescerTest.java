@@ -0,0 +1,134 @@
+package com.example.taskflow.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReadCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReadCoalescer coalescer = new ReadCoalescer(mock(PlatformTransactionManager.class), registry);
+    private final ExecutorService pool = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void identicalConcurrentReads_ShareOneExecution() throws Exception {
+        // Arrange: the first call blocks until every other caller has arrived
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        int callers = 8;
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(pool.submit(() -> coalescer.read("project", 1L, () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "tasks";
+            }, "2024-05-01")));
+        }
+        waitFor(() -> registry.find("reads.coalescing.calls").tag("result", "shared").counter() != null
+                && registry.find("reads.coalescing.calls").tag("result", "shared").counter().count() == callers - 1);
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("tasks", result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals((callers - 1) / (double) callers, coalescer.hitRatio(), 1e-9);
+    }
+
+    @Test
+    void differentParameters_AreNotShared() {
+        // Act
+        String first = coalescer.read("project", 1L, () -> "May", "2024-05-01");
+        String second = coalescer.read("project", 1L, () -> "June", "2024-06-01");
+
+        // Assert
+        assertEquals("May", first);
+        assertEquals("June", second);
+        assertEquals(0.0, coalescer.hitRatio());
+    }
+
+    @Test
+    void writeToTheProject_DetachesTheReadInFlight() throws Exception {
+        // Arrange: a read started before the write commits
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> before = pool.submit(() -> coalescer.read("project", 1L, () -> {
+            started.countDown();
+            await(release);
+            return "before";
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // Act
+        coalescer.invalidateAfterCommit(1L);
+        String after = coalescer.read("project", 1L, () -> "after");
+        release.countDown();
+
+        // Assert
+        assertEquals("after", after);
+        assertEquals("before", before.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failedExecution_IsThrownToEveryCaller() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = pool.submit(() -> coalescer.read("project", 1L, () -> {
+            await(release);
+            throw new IllegalStateException("database down");
+        }));
+        waitFor(() -> coalescer.hitRatio() == 0.0
+                && registry.find("reads.coalescing.calls").tag("result", "executed").counter() != null);
+
+        // Act
+        Future<String> follower = pool.submit(() -> coalescer.read("project", 1L, () -> "unused"));
+        waitFor(() -> coalescer.hitRatio() > 0.0);
+        release.countDown();
+
+        // Assert
+        Exception ex = assertThrows(Exception.class, () -> follower.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertThrows(Exception.class, () -> leader.get(10, TimeUnit.SECONDS));
+        // Nothing is kept once the execution is over
+        assertEquals("fresh", coalescer.read("project", 1L, () -> "fresh"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting");
+            Thread.sleep(5);
+        }
+    }
+}
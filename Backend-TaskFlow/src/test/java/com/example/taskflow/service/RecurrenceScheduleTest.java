@@ -0,0 +1,79 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.model.RecurrenceFrequency;
+import com.example.taskflow.model.TaskRecurrence;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceScheduleTest {
+
+    @Test
+    void occurrences_DailyEveryThirdDay_StartsAtFirstOccurrenceInWindow() {
+        // Arrange
+        TaskRecurrence rule = rule(RecurrenceFrequency.DAILY, 3, LocalDate.of(2024, 1, 1));
+
+        // Act
+        List<LocalDate> dates = RecurrenceSchedule.occurrences(rule, LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 12));
+
+        // Assert
+        assertEquals(List.of(LocalDate.of(2024, 1, 7), LocalDate.of(2024, 1, 10)), dates);
+    }
+
+    @Test
+    void occurrences_EveryOtherWeekOnMondayAndFriday_SkipsOffWeeks() {
+        // Arrange: 2024-01-01 is a Monday
+        TaskRecurrence rule = rule(RecurrenceFrequency.WEEKLY, 2, LocalDate.of(2024, 1, 1));
+        rule.setWeekdays(RecurrenceSchedule.toMask(Set.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY)));
+
+        // Act
+        List<LocalDate> dates = RecurrenceSchedule.occurrences(rule, LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 31));
+
+        // Assert
+        assertEquals(List.of(
+                LocalDate.of(2024, 1, 5),
+                LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 19),
+                LocalDate.of(2024, 1, 29)), dates);
+    }
+
+    @Test
+    void occurrences_MonthlyOnThe31st_FallsOnLastDayOfShortMonths() {
+        // Arrange
+        TaskRecurrence rule = rule(RecurrenceFrequency.MONTHLY, 1, LocalDate.of(2024, 1, 31));
+
+        // Act
+        List<LocalDate> dates = RecurrenceSchedule.occurrences(rule, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 30));
+
+        // Assert
+        assertEquals(List.of(
+                LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 29),
+                LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 30)), dates);
+    }
+
+    @Test
+    void count_RespectsEndDateAndMatchesOccurrences() {
+        // Arrange
+        TaskRecurrence rule = rule(RecurrenceFrequency.DAILY, 1, LocalDate.of(2020, 1, 1));
+        rule.setEndDate(LocalDate.of(2020, 12, 31));
+
+        // Act & Assert
+        assertEquals(366, RecurrenceSchedule.count(rule, LocalDate.of(2000, 1, 1), LocalDate.of(2030, 1, 1)));
+        assertTrue(RecurrenceSchedule.occursOn(rule, LocalDate.of(2020, 6, 1)));
+        assertFalse(RecurrenceSchedule.occursOn(rule, LocalDate.of(2021, 1, 1)));
+        assertFalse(RecurrenceSchedule.occursOn(rule, LocalDate.of(2019, 12, 31)));
+    }
+
+    private TaskRecurrence rule(RecurrenceFrequency frequency, int interval, LocalDate start) {
+        TaskRecurrence rule = new TaskRecurrence();
+        rule.setId(1L);
+        rule.setFrequency(frequency);
+        rule.setInterval(interval);
+        rule.setStartDate(start);
+        return rule;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.ProjectRequest;
+import com.example.taskflow.dto.ProjectResponse;
+import com.example.taskflow.dto.ProjectShareRequest;
+import com.example.taskflow.dto.SyncResponse;
+import com.example.taskflow.dto.TaskRequest;
+import com.example.taskflow.exception.SyncExpiredException;
+import com.example.taskflow.model.ProjectRole;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.SyncTombstoneRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for compacting sync tombstones
+ * Uses H2 in-memory database with test profile
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SyncTombstoneCompactionJobTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectMemberService projectMemberService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("sync-" + System.nanoTime() + "@inpt.com");
+        user.setPassword("secret");
+        user.setFullName("Sync User");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void compact_RemovesOldTombstonesAndRejectsCursorsBeforeThem() {
+        // Arrange
+        ProjectRequest request = new ProjectRequest();
+        request.setTitle("Short lived");
+        ProjectResponse first = projectService.createProject(request, user);
+        long cursor = syncService.getChanges(user.getId(), 0, 100).getNext();
+        projectService.deleteProject(first.getId(), user.getId());
+        request.setTitle("Survivor");
+        projectService.createProject(request, user);
+
+        // Act: batches of one
+        long removed = newJob(1).compact(LocalDateTime.now().plusMinutes(1));
+
+        // Assert: other tests' tombstones may go too
+        assertTrue(removed >= 1);
+        assertTrue(syncTombstoneRepository.findAll().stream().noneMatch(t -> t.getUserId().equals(user.getId())));
+        assertThrows(SyncExpiredException.class, () -> syncService.getChanges(user.getId(), cursor, 100));
+
+        SyncResponse fromScratch = syncService.getChanges(user.getId(), 0, 100);
+        assertEquals(1, fromScratch.getProjects().size());
+        assertEquals("Survivor", fromScratch.getProjects().get(0).getTitle());
+        assertTrue(fromScratch.getDeleted().isEmpty());
+    }
+
+    @Test
+    void compact_TaskTombstone_RaisesTheHorizonOfTheProjectsCollaborators() {
+        // Arrange
+        User collaborator = new User();
+        collaborator.setEmail("sync-collaborator-" + System.nanoTime() + "@inpt.com");
+        collaborator.setPassword("secret");
+        collaborator.setFullName("Sync Collaborator");
+        collaborator = userRepository.save(collaborator);
+        ProjectRequest request = new ProjectRequest();
+        request.setTitle("Shared");
+        long projectId = projectService.createProject(request, user).getId();
+        ProjectShareRequest share = new ProjectShareRequest();
+        share.setEmail(collaborator.getEmail());
+        share.setRole(ProjectRole.VIEWER);
+        projectMemberService.share(projectId, share, user);
+        TaskRequest task = new TaskRequest();
+        task.setTitle("Short lived");
+        task.setDueDate(LocalDate.now().plusDays(1));
+        long taskId = taskService.createTask(projectId, task, user.getId()).getId();
+        long cursor = syncService.getChanges(collaborator.getId(), 0, 100).getNext();
+        taskService.deleteTask(taskId, user.getId());
+
+        // Act
+        newJob(100).compact(LocalDateTime.now().plusMinutes(1));
+
+        // Assert
+        long collaboratorId = collaborator.getId();
+        assertThrows(SyncExpiredException.class, () -> syncService.getChanges(collaboratorId, cursor, 100));
+    }
+
+    private SyncTombstoneCompactionJob newJob(int batchSize) {
+        return new SyncTombstoneCompactionJob(syncTombstoneRepository, userRepository, transactionManager,
+                shardRouter, 30, batchSize);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.ProjectRequest;
+import com.example.taskflow.dto.ProjectResponse;
+import com.example.taskflow.dto.TaskRequest;
+import com.example.taskflow.dto.TaskResponse;
+import com.example.taskflow.dto.UserStatsResponse;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ArchivedTaskRepository;
+import com.example.taskflow.repository.ProjectDeletionRepository;
+import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.TaskRecurrenceRepository;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for moving old completed tasks to the archive tier
+ * Uses H2 in-memory database with test profile
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskArchiveJobTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.of(2000, 1, 1, 12, 0);
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskRecurrenceRepository recurrenceRepository;
+
+    @Autowired
+    private ProjectDeletionRepository projectDeletionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("archive-" + System.nanoTime() + "@inpt.com");
+        user.setPassword("secret");
+        user.setFullName("Archive User");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void archive_MovesOldCompletedTasksAndKeepsProgressExact() {
+        // Arrange
+        ProjectRequest request = new ProjectRequest();
+        request.setTitle("Long running");
+        ProjectResponse project = projectService.createProject(request, user);
+        TaskResponse done = createTask(project.getId(), "Done long ago", null);
+        TaskResponse open = createTask(project.getId(), "Still open", null);
+        TaskResponse parent = createTask(project.getId(), "Done parent", null);
+        TaskResponse doneAgain = createTask(project.getId(), "Also done", null);
+        createTask(project.getId(), "Open subtask", parent.getId());
+        for (TaskResponse task : List.of(done, parent, doneAgain)) {
+            taskService.toggleTaskCompletion(task.getId(), user.getId());
+            jdbcTemplate.update("UPDATE tasks SET completed_at = ? WHERE id = ?", LONG_AGO, task.getId());
+        }
+        ProjectResponse before = projectService.getProjectById(project.getId(), user.getId());
+
+        // Act: batches of one
+        long archived = newJob(1).archive(LONG_AGO.plusDays(1));
+
+        // Assert: tasks with subtasks stay hot
+        assertEquals(2, archived);
+        assertEquals(List.of("Still open", "Done parent", "Open subtask"),
+                taskService.getProjectTasks(project.getId(), null, null, false, null, user.getId())
+                        .stream().map(TaskResponse::getTitle).toList());
+        List<TaskResponse> all = taskService.getProjectTasks(project.getId(), null, null, true, null, user.getId());
+        assertEquals(List.of("Done long ago", "Still open", "Done parent", "Also done", "Open subtask"),
+                all.stream().map(TaskResponse::getTitle).toList());
+        assertTrue(all.get(0).isArchived());
+        assertEquals(done.getId(), all.get(0).getId());
+
+        ProjectResponse after = projectService.getProjectById(project.getId(), user.getId());
+        assertEquals(before.getTotalTasks(), after.getTotalTasks());
+        assertEquals(before.getCompletedTasks(), after.getCompletedTasks());
+        assertEquals(5, after.getTotalTasks());
+        assertEquals(3, after.getCompletedTasks());
+
+        userStatsService.reconcile(user.getId());
+        UserStatsResponse stats = userStatsService.getStats(user.getId());
+        assertEquals(5, stats.getTotalTasks());
+        assertEquals(3, stats.getCompletedTasks());
+    }
+
+    @Test
+    void deleteProject_RemovesArchivedTasksToo() {
+        // Arrange
+        ProjectRequest request = new ProjectRequest();
+        request.setTitle("Retired");
+        ProjectResponse project = projectService.createProject(request, user);
+        TaskResponse done = createTask(project.getId(), "Archived soon", null);
+        createTask(project.getId(), "Hot", null);
+        taskService.toggleTaskCompletion(done.getId(), user.getId());
+        jdbcTemplate.update("UPDATE tasks SET completed_at = ? WHERE id = ?", LONG_AGO, done.getId());
+        newJob(10).archive(LONG_AGO.plusDays(1));
+
+        // Act
+        projectService.deleteProject(project.getId(), user.getId());
+        new ProjectPurgeJob(projectDeletionRepository, projectRepository, taskRepository, recurrenceRepository,
+                archivedTaskRepository, transactionManager, shardRouter, 10)
+                .purge(project.getId());
+
+        // Assert
+        assertEquals(2, projectService.getDeletionStatus(project.getId(), user.getId()).getPurgedTasks());
+        assertFalse(archivedTaskRepository.existsById(done.getId()));
+        assertFalse(projectRepository.existsById(project.getId()));
+        assertEquals(0, userStatsService.getStats(user.getId()).getTotalTasks());
+    }
+
+    private TaskArchiveJob newJob(int batchSize) {
+        return new TaskArchiveJob(archivedTaskRepository, taskRepository, projectRepository,
+                transactionManager, shardRouter, 180, batchSize);
+    }
+
+    private TaskResponse createTask(Long projectId, String title, Long parentTaskId) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDueDate(LocalDate.now().plusDays(1));
+        request.setParentTaskId(parentTaskId);
+        return taskService.createTask(projectId, request, user.getId());
+    }
+}
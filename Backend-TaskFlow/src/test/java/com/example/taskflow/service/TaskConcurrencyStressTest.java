@@ -0,0 +1,285 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.ProjectRequest;
+import com.example.taskflow.dto.ProjectResponse;
+import com.example.taskflow.dto.TaskRequest;
+import com.example.taskflow.dto.TaskResponse;
+import com.example.taskflow.dto.UserStatsResponse;
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.model.Task;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency stress tests for task and project consistency
+ * Uses H2 in-memory database with test profile; hundreds of operations race on a few shared projects.
+ * Sizes come from the stress.operations and stress.threads system properties ({@code mvn -Pstress test}
+ * raises them). Throughput and contention are logged per run.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskConcurrencyStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskConcurrencyStressTest.class);
+
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 600);
+    private static final int THREADS = Integer.getInteger("stress.threads", 16);
+    private static final int PROJECTS = 3;
+    private static final int TASKS_PER_PROJECT = 10;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private final List<Long> projectIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("stress-" + System.nanoTime() + "@inpt.com");
+        user.setPassword("secret");
+        user.setFullName("Stress User");
+        user = userRepository.save(user);
+
+        for (int p = 0; p < PROJECTS; p++) {
+            ProjectRequest request = new ProjectRequest();
+            request.setTitle("Shared " + p);
+            projectIds.add(projectService.createProject(request, user).getId());
+        }
+    }
+
+    @Test
+    void concurrentToggles_ApplyEveryFlip() throws Exception {
+        // Arrange: every operation toggles a random task; a task toggled an odd number of times ends completed
+        List<Long> taskIds = new ArrayList<>();
+        for (Long projectId : projectIds) {
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                taskIds.add(createTask(projectId).getId());
+            }
+        }
+        Random random = new Random(42);
+        Map<Long, Integer> toggles = new HashMap<>();
+        List<Long> targets = new ArrayList<>(OPERATIONS);
+        for (int i = 0; i < OPERATIONS; i++) {
+            Long taskId = taskIds.get(random.nextInt(taskIds.size()));
+            toggles.merge(taskId, 1, Integer::sum);
+            targets.add(taskId);
+        }
+        AtomicInteger next = new AtomicInteger();
+
+        // Act
+        LoadReport report = run("toggles", () -> {
+            taskService.toggleTaskCompletion(targets.get(next.getAndIncrement()), user.getId());
+            return "toggle";
+        });
+
+        // Assert
+        assertEquals(List.of(), report.failures());
+        long expectedCompleted = 0;
+        for (Long taskId : taskIds) {
+            boolean odd = toggles.getOrDefault(taskId, 0) % 2 == 1;
+            assertEquals(odd, taskRepository.findById(taskId).orElseThrow().isCompleted(), "task " + taskId);
+            expectedCompleted += odd ? 1 : 0;
+        }
+        assertEquals(expectedCompleted, projectIds.stream()
+                .mapToLong(id -> projectService.calculateProgress(id).getCompletedTasks()).sum());
+        UserStatsResponse stats = userStatsService.getStats(user.getId());
+        assertEquals(taskIds.size(), stats.getTotalTasks());
+        assertEquals(expectedCompleted, stats.getCompletedTasks());
+    }
+
+    @Test
+    void concurrentCreateToggleDelete_KeepProgressAndStatsConsistent() throws Exception {
+        // Arrange
+        List<Long> knownTasks = new CopyOnWriteArrayList<>();
+        for (Long projectId : projectIds) {
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                knownTasks.add(createTask(projectId).getId());
+            }
+        }
+        // Progress read mid-run comes from one snapshot, so it never counts more completed than total tasks
+        List<String> inconsistentReads = new CopyOnWriteArrayList<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                for (Long projectId : projectIds) {
+                    ProjectResponse progress = projectService.calculateProgress(projectId);
+                    if (progress.getCompletedTasks() > progress.getTotalTasks()) {
+                        inconsistentReads.add(progress.toString());
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        // Act: 40% creates, 45% toggles, 15% deletes; toggles and deletes of deleted tasks lose the race
+        LoadReport report;
+        try {
+            report = run("create/toggle/delete", () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int roll = random.nextInt(100);
+                if (roll < 40) {
+                    knownTasks.add(createTask(projectIds.get(random.nextInt(PROJECTS))).getId());
+                    return "create";
+                }
+                Long taskId = knownTasks.get(random.nextInt(knownTasks.size()));
+                try {
+                    if (roll < 85) {
+                        taskService.toggleTaskCompletion(taskId, user.getId());
+                        return "toggle";
+                    }
+                    taskService.deleteTask(taskId, user.getId());
+                    return "delete";
+                } catch (ResourceNotFoundException ex) {
+                    return "lost race";
+                }
+            });
+        } finally {
+            running.set(false);
+            reader.join();
+        }
+
+        // Assert
+        assertEquals(List.of(), report.failures());
+        assertEquals(List.of(), inconsistentReads);
+        long total = 0;
+        long completed = 0;
+        for (Long projectId : projectIds) {
+            List<Task> tasks = taskRepository.findByProjectId(projectId);
+            long done = tasks.stream().filter(Task::isCompleted).count();
+            ProjectResponse progress = projectService.calculateProgress(projectId);
+            assertEquals(tasks.size(), progress.getTotalTasks());
+            assertEquals(done, progress.getCompletedTasks());
+            total += tasks.size();
+            completed += done;
+        }
+        UserStatsResponse stats = userStatsService.getStats(user.getId());
+        assertEquals(total, stats.getTotalTasks());
+        assertEquals(completed, stats.getCompletedTasks());
+    }
+
+    private TaskResponse createTask(Long projectId) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Task");
+        request.setDueDate(LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(1, 8)));
+        return taskService.createTask(projectId, request, user.getId());
+    }
+
+    /**
+     * Runs {@link #OPERATIONS} operations on {@link #THREADS} threads released at once, and logs
+     * throughput, latency per operation kind and the time spent waiting for a pooled connection.
+     */
+    private LoadReport run(String name, Operation operation) throws Exception {
+        Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger remaining = new AtomicInteger(OPERATIONS);
+        CountDownLatch start = new CountDownLatch(1);
+        double acquireBefore = connectionAcquireMillis();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                while (remaining.getAndDecrement() > 0) {
+                    long began = System.nanoTime();
+                    try {
+                        String kind = operation.run();
+                        latencies.computeIfAbsent(kind, k -> new ConcurrentLinkedQueue<>()).add(System.nanoTime() - began);
+                    } catch (RuntimeException ex) {
+                        failures.add(ex.toString());
+                    }
+                }
+                return null;
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - began;
+        pool.shutdown();
+
+        StringBuilder summary = new StringBuilder();
+        latencies.forEach((kind, samples) -> {
+            List<Long> sorted = new ArrayList<>(samples);
+            Collections.sort(sorted);
+            summary.append(String.format("%n  %-10s n=%-5d p50=%.1fms p99=%.1fms max=%.1fms", kind, sorted.size(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0)));
+        });
+        log.info("Stress run '{}': {} operations on {} threads in {} ms ({} ops/s), {} failures, "
+                        + "{} ms waiting for connections{}",
+                name, OPERATIONS, THREADS, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                Math.round(OPERATIONS / (elapsed / 1e9)), failures.size(),
+                Math.round(connectionAcquireMillis() - acquireBefore), summary);
+        return new LoadReport(List.copyOf(failures));
+    }
+
+    private double connectionAcquireMillis() {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        return acquire == null ? 0 : acquire.totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    private static double percentile(List<Long> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        /**
+         * Performs one operation and returns its kind, for the latency report.
+         */
+        String run();
+    }
+
+    private record LoadReport(List<String> failures) {
+    }
+}
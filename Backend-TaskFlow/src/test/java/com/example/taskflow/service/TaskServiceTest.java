@@ -1,38 +1,95 @@
 package com.example.taskflow.service;
 
+import com.example.taskflow.dto.TaskParentRequest;
+import com.example.taskflow.dto.TaskPositionRequest;
 import com.example.taskflow.dto.TaskRequest;
 import com.example.taskflow.dto.TaskResponse;
 import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.model.ArchivedTask;
 import com.example.taskflow.model.Project;
+import com.example.taskflow.model.ProjectRole;
+import com.example.taskflow.model.RecurrenceFrequency;
 import com.example.taskflow.model.Task;
+import com.example.taskflow.model.TaskRecurrence;
 import com.example.taskflow.model.User;
+import com.example.taskflow.repository.ArchivedTaskRepository;
 import com.example.taskflow.repository.ProjectRepository;
+import com.example.taskflow.repository.SparseColumnRepository;
+import com.example.taskflow.repository.SyncTombstoneRepository;
+import com.example.taskflow.repository.TaskClosureRepository;
 import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.security.ProjectAccessCache;
+import com.example.taskflow.security.ProjectPermissions;
+import com.example.taskflow.webhook.WebhookOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TaskServiceTest {
 
+    private static final List<ProjectRole> EDITOR_ROLES = List.of(ProjectRole.EDITOR);
+
     @Mock
     private TaskRepository taskRepository;
 
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private BurndownService burndownService;
+
+    @Mock
+    private TaskRankRebalancer taskRankRebalancer;
+
+    @Mock
+    private TaskClosureRepository taskClosureRepository;
+
+    @Mock
+    private RecurrenceService recurrenceService;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private SparseColumnRepository sparseColumnRepository;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Mock
+    private ProjectAccessCache projectAccess;
+
+    @Mock
+    private WebhookOutbox webhookOutbox;
+
+    @Spy
+    private ReadCoalescer readCoalescer = new ReadCoalescer(mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry());
+
     @InjectMocks
     private TaskService taskService;
 
@@ -58,6 +115,15 @@ class TaskServiceTest {
         testTask.setDueDate(LocalDate.now().plusDays(7));
         testTask.setCompleted(false);
         testTask.setProject(testProject);
+        testTask.setOwnerId(1L);
+        testTask.setSortRank("m");
+
+        // User 1 owns project 1; writes return what their lookup finds
+        lenient().when(projectAccess.require(eq(1L), eq(1L), any(), anyString()))
+                .thenReturn(new ProjectPermissions.Grant(1L, ProjectRole.OWNER));
+        lenient().when(projectAccess.requireCurrent(eq(1L), eq(1L), any(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Optional<?>>>getArgument(4).get()
+                        .orElseThrow(() -> new ResourceNotFoundException(invocation.getArgument(3))));
     }
 
     @Test
@@ -68,7 +134,7 @@ class TaskServiceTest {
         request.setDescription("New Description");
         request.setDueDate(LocalDate.now().plusDays(7));
 
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(projectRepository.findForWrite(1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testProject));
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
         // Act
@@ -78,13 +144,15 @@ class TaskServiceTest {
         assertNotNull(response);
         assertEquals("Test Task", response.getTitle());
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(webhookOutbox).publish(WebhookOutbox.TASK_CREATED, 1L, response);
     }
 
     @Test
     void createTask_ProjectNotFound_ThrowsException() {
         // Arrange
         TaskRequest request = new TaskRequest();
-        when(projectRepository.findById(999L)).thenReturn(Optional.empty());
+        when(projectAccess.requireCurrent(eq(1L), eq(999L), eq(ProjectRole.EDITOR), eq("Project not found"), any()))
+                .thenThrow(new ResourceNotFoundException("Project not found"));
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -92,25 +160,160 @@ class TaskServiceTest {
         });
     }
 
+    @Test
+    void createTask_AppendsAfterLastRank() {
+        // Arrange
+        TaskRequest request = new TaskRequest();
+        request.setTitle("New Task");
+        request.setDueDate(LocalDate.now().plusDays(7));
+        when(projectRepository.findForWrite(1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testProject));
+        when(taskRepository.findMaxSortRank(1L)).thenReturn("m");
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        taskService.createTask(1L, request, 1L);
+
+        // Assert
+        verify(taskRepository).save(argThat(task -> task.getSortRank().compareTo("m") > 0));
+    }
+
+    @Test
+    void moveTask_BetweenNeighbours_UpdatesOnlyMovedTask() {
+        // Arrange
+        Task previous = taskWithRank(2L, "a");
+        Task next = taskWithRank(3L, "b");
+        TaskPositionRequest request = new TaskPositionRequest();
+        request.setPreviousTaskId(2L);
+        request.setNextTaskId(3L);
+        when(taskRepository.findForWrite(1L, 1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findById(2L)).thenReturn(Optional.of(previous));
+        when(taskRepository.findById(3L)).thenReturn(Optional.of(next));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        taskService.moveTask(1L, 1L, request, 1L);
+
+        // Assert
+        assertTrue(testTask.getSortRank().compareTo("a") > 0);
+        assertTrue(testTask.getSortRank().compareTo("b") < 0);
+        assertEquals("a", previous.getSortRank());
+        assertEquals("b", next.getSortRank());
+        verify(taskRepository, times(1)).save(testTask);
+        verify(webhookOutbox).publish(eq(WebhookOutbox.TASK_UPDATED), eq(1L), any(TaskResponse.class));
+    }
+
+    @Test
+    void moveTask_TiedNeighbours_RebalancesFirst() {
+        // Arrange
+        Task previous = taskWithRank(2L, "k");
+        Task next = taskWithRank(3L, "k");
+        TaskPositionRequest request = new TaskPositionRequest();
+        request.setPreviousTaskId(2L);
+        request.setNextTaskId(3L);
+        when(taskRepository.findForWrite(1L, 1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findById(2L)).thenReturn(Optional.of(previous));
+        when(taskRepository.findById(3L)).thenReturn(Optional.of(next));
+        doAnswer(invocation -> {
+            previous.setSortRank("ci");
+            next.setSortRank("ri");
+            return null;
+        }).when(taskRankRebalancer).rebalance(1L);
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        taskService.moveTask(1L, 1L, request, 1L);
+
+        // Assert
+        assertTrue(testTask.getSortRank().compareTo("ci") > 0);
+        assertTrue(testTask.getSortRank().compareTo("ri") < 0);
+    }
+
+    @Test
+    void moveTask_RankTooLongForTheColumn_RebalancesFirst() {
+        // Arrange: neighbours whose only ranks between are longer than the column
+        String low = "k" + "0".repeat(RankGenerator.MAX_LENGTH - 2) + "1";
+        Task previous = taskWithRank(2L, low);
+        Task next = taskWithRank(3L, low + "1");
+        TaskPositionRequest request = new TaskPositionRequest();
+        request.setPreviousTaskId(2L);
+        request.setNextTaskId(3L);
+        when(taskRepository.findForWrite(1L, 1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findById(2L)).thenReturn(Optional.of(previous));
+        when(taskRepository.findById(3L)).thenReturn(Optional.of(next));
+        doAnswer(invocation -> {
+            previous.setSortRank("ci");
+            next.setSortRank("ri");
+            return null;
+        }).when(taskRankRebalancer).rebalance(1L);
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        taskService.moveTask(1L, 1L, request, 1L);
+
+        // Assert
+        verify(taskRankRebalancer).rebalance(1L);
+        assertTrue(testTask.getSortRank().compareTo("ci") > 0);
+        assertTrue(testTask.getSortRank().compareTo("ri") < 0);
+    }
+
+    @Test
+    void moveTask_NeighbourInOtherProject_ThrowsException() {
+        // Arrange
+        Project otherProject = new Project();
+        otherProject.setId(2L);
+        otherProject.setUser(testUser);
+        Task foreign = taskWithRank(2L, "a");
+        foreign.setProject(otherProject);
+        TaskPositionRequest request = new TaskPositionRequest();
+        request.setPreviousTaskId(2L);
+        when(taskRepository.findForWrite(1L, 1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findById(2L)).thenReturn(Optional.of(foreign));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> taskService.moveTask(1L, 1L, request, 1L));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
     @Test
     void getProjectTasks_Success() {
         // Arrange
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
-        when(taskRepository.findByProjectId(1L)).thenReturn(List.of(testTask));
+        when(taskRepository.findByProjectIdOrderBySortRankAscIdAsc(1L)).thenReturn(List.of(testTask));
 
         // Act
-        List<TaskResponse> tasks = taskService.getProjectTasks(1L, 1L);
+        List<TaskResponse> tasks = taskService.getProjectTasks(1L, null, null, false, null, 1L);
 
         // Assert
         assertNotNull(tasks);
         assertEquals(1, tasks.size());
         assertEquals("Test Task", tasks.get(0).getTitle());
+        verifyNoInteractions(archivedTaskRepository);
+    }
+
+    @Test
+    void getProjectTasks_IncludeArchived_MergesTiersInRankOrder() {
+        // Arrange
+        testTask.setSortRank("m");
+        ArchivedTask before = new ArchivedTask(5L, "Old", null, LocalDate.now().minusYears(1),
+                LocalDateTime.now().minusYears(1), "c", 1L, LocalDateTime.now().minusYears(1), LocalDateTime.now());
+        ArchivedTask after = new ArchivedTask(6L, "Older", null, LocalDate.now().minusYears(2),
+                LocalDateTime.now().minusYears(2), "t", 1L, LocalDateTime.now().minusYears(2), LocalDateTime.now());
+        when(taskRepository.findByProjectIdOrderBySortRankAscIdAsc(1L)).thenReturn(List.of(testTask));
+        when(archivedTaskRepository.findByProjectIdOrderBySortRankAscIdAsc(1L)).thenReturn(List.of(before, after));
+
+        // Act
+        List<TaskResponse> tasks = taskService.getProjectTasks(1L, null, null, true, null, 1L);
+
+        // Assert
+        assertEquals(List.of("Old", "Test Task", "Older"), tasks.stream().map(TaskResponse::getTitle).toList());
+        assertTrue(tasks.get(0).isArchived());
+        assertTrue(tasks.get(0).isCompleted());
+        assertFalse(tasks.get(1).isArchived());
     }
 
     @Test
     void toggleTaskCompletion_Success() {
         // Arrange
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.lockForWrite(1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testTask));
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
         // Act
@@ -119,17 +322,198 @@ class TaskServiceTest {
         // Assert
         assertNotNull(response);
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(userStatsService).onTaskCompleted(eq(1L), eq(testTask.getDueDate()), any());
+        verify(burndownService).onTaskCompleted(1L);
+        verify(webhookOutbox).publish(eq(WebhookOutbox.TASK_COMPLETED), eq(1L), any(TaskResponse.class));
     }
 
     @Test
-    void deleteTask_Success() {
+    void toggleTaskCompletion_Reopen_UpdatesStats() {
+        // Arrange
+        testTask.setCompleted(true);
+        testTask.setCompletedAt(LocalDateTime.now().minusDays(1));
+        LocalDateTime completedAt = testTask.getCompletedAt();
+        when(taskRepository.lockForWrite(1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testTask));
+        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+
+        // Act
+        TaskResponse response = taskService.toggleTaskCompletion(1L, 1L);
+
+        // Assert
+        assertFalse(response.isCompleted());
+        assertNull(testTask.getCompletedAt());
+        verify(userStatsService).onTaskReopened(1L, testTask.getDueDate(), completedAt);
+        verify(burndownService).onTaskReopened(1L);
+        verify(webhookOutbox).publish(eq(WebhookOutbox.TASK_REOPENED), eq(1L), any(TaskResponse.class));
+    }
+
+    @Test
+    void toggleTaskCompletion_ByEditor_CountsForOwner() {
         // Arrange
+        when(taskRepository.lockForWrite(1L, 2L, EDITOR_ROLES)).thenReturn(Optional.of(testTask));
+        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+
+        // Act
+        taskService.toggleTaskCompletion(1L, 2L);
+
+        // Assert
+        verify(userStatsService).onTaskCompleted(eq(1L), eq(testTask.getDueDate()), any());
+    }
+
+    @Test
+    void deleteTask_ByViewer_IsForbidden() {
+        // Arrange
+        when(taskRepository.lockForWrite(1L, 2L, EDITOR_ROLES)).thenReturn(Optional.empty());
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        doThrow(new AccessDeniedException("This project requires the EDITOR role"))
+                .when(projectAccess).recheck(2L, 1L, ProjectRole.EDITOR, "Task not found");
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> taskService.deleteTask(1L, 2L));
+        verify(taskRepository, never()).delete(any(Task.class));
+        verifyNoInteractions(userStatsService, syncTombstoneRepository);
+    }
+
+    @Test
+    void deleteTask_Success() {
+        // Arrange
+        when(taskRepository.lockForWrite(1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testTask));
 
         // Act
         taskService.deleteTask(1L, 1L);
 
         // Assert
         verify(taskRepository, times(1)).delete(testTask);
+        verify(userStatsService).onTaskDeleted(1L, testTask.getDueDate(), false);
+    }
+
+    @Test
+    void createTask_WithParent_LinksTaskUnderParent() {
+        // Arrange
+        Task parent = taskWithRank(2L, "a");
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Subtask");
+        request.setDueDate(LocalDate.now().plusDays(7));
+        request.setParentTaskId(2L);
+        when(projectRepository.findForWrite(1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testProject));
+        when(taskRepository.findById(2L)).thenReturn(Optional.of(parent));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task saved = invocation.getArgument(0);
+            saved.setId(5L);
+            return saved;
+        });
+
+        // Act
+        TaskResponse response = taskService.createTask(1L, request, 1L);
+
+        // Assert
+        assertEquals(2L, response.getParentId());
+        verify(taskClosureRepository).insertSelfLink(5L);
+        verify(taskClosureRepository).insertAncestorLinks(5L, 2L);
+    }
+
+    @Test
+    void moveSubtree_UnderOwnSubtask_ThrowsException() {
+        // Arrange
+        Task subtask = taskWithRank(2L, "n");
+        subtask.setParentId(1L);
+        TaskParentRequest request = new TaskParentRequest();
+        request.setParentTaskId(2L);
+        when(taskRepository.findForWrite(1L, 1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findById(2L)).thenReturn(Optional.of(subtask));
+        when(taskClosureRepository.existsByAncestorIdAndDescendantId(1L, 2L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.moveSubtree(1L, 1L, request, 1L));
+        verify(taskClosureRepository, never()).detachSubtree(any());
+    }
+
+    @Test
+    void moveSubtree_ToNewParent_RewritesClosureOnce() {
+        // Arrange
+        Task parent = taskWithRank(2L, "n");
+        TaskParentRequest request = new TaskParentRequest();
+        request.setParentTaskId(2L);
+        when(taskRepository.findForWrite(1L, 1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findById(2L)).thenReturn(Optional.of(parent));
+        when(taskRepository.save(testTask)).thenReturn(testTask);
+
+        // Act
+        TaskResponse response = taskService.moveSubtree(1L, 1L, request, 1L);
+
+        // Assert
+        assertEquals(2L, response.getParentId());
+        verify(projectRepository).lockById(1L);
+        verify(taskClosureRepository).detachSubtree(1L);
+        verify(taskClosureRepository).attachSubtree(1L, 2L);
+    }
+
+    @Test
+    void deleteTask_WithSubtasks_DeletesSubtreeInOneStatement() {
+        // Arrange
+        when(taskRepository.lockForWrite(1L, 1L, EDITOR_ROLES)).thenReturn(Optional.of(testTask));
+        when(taskRepository.existsByParentId(1L)).thenReturn(true);
+        TaskRepository.SubtreeCounts counts = mock(TaskRepository.SubtreeCounts.class);
+        when(counts.getTotal()).thenReturn(3L);
+        when(counts.getCompleted()).thenReturn(1L);
+        when(userStatsService.onSubtreeDeleted(1L, 1L)).thenReturn(counts);
+
+        // Act
+        taskService.deleteTask(1L, 1L);
+
+        // Assert
+        verify(taskRepository).deleteSubtree(1L);
+        verify(taskRepository, never()).delete(any(Task.class));
+        verify(burndownService).onTasksDeleted(1L, 3L, 1L);
+    }
+
+    @Test
+    void toggleOccurrence_Virtual_MaterializesCompletedRow() {
+        // Arrange
+        LocalDate date = LocalDate.now().plusDays(1);
+        TaskRecurrence recurrence = new TaskRecurrence();
+        recurrence.setId(7L);
+        recurrence.setTitle("Standup");
+        recurrence.setFrequency(RecurrenceFrequency.DAILY);
+        recurrence.setStartDate(LocalDate.now());
+        recurrence.setProject(testProject);
+        when(recurrenceService.findOwnedRecurrence(1L, 7L, 1L, true)).thenReturn(recurrence);
+        when(taskRepository.findByRecurrenceIdAndOccurrenceDate(7L, date)).thenReturn(Optional.empty());
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TaskResponse response = taskService.toggleOccurrence(1L, 7L, date, 1L);
+
+        // Assert
+        assertTrue(response.isCompleted());
+        assertEquals(7L, response.getRecurrenceId());
+        assertEquals(date, response.getOccurrenceDate());
+        verify(userStatsService).onTaskCreated(1L, date);
+        verify(userStatsService).onTaskCompleted(eq(1L), eq(date), any());
+    }
+
+    @Test
+    void toggleOccurrence_NotAnOccurrence_ThrowsException() {
+        // Arrange
+        TaskRecurrence recurrence = new TaskRecurrence();
+        recurrence.setId(7L);
+        recurrence.setFrequency(RecurrenceFrequency.WEEKLY);
+        recurrence.setStartDate(LocalDate.of(2024, 1, 1));
+        when(recurrenceService.findOwnedRecurrence(1L, 7L, 1L, true)).thenReturn(recurrence);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.toggleOccurrence(1L, 7L, LocalDate.of(2024, 1, 2), 1L));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    private Task taskWithRank(Long id, String rank) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setDueDate(LocalDate.now().plusDays(7));
+        task.setProject(testProject);
+        task.setSortRank(rank);
+        return task;
     }
 }
\ No newline at end of file
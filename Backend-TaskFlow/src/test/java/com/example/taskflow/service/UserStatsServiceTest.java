@@ -0,0 +1,120 @@
+package com.example.taskflow.service;
+
+import com.example.taskflow.dto.ProjectRequest;
+import com.example.taskflow.dto.ProjectResponse;
+import com.example.taskflow.dto.TaskRequest;
+import com.example.taskflow.dto.TaskResponse;
+import com.example.taskflow.dto.UserStatsResponse;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the incremental dashboard aggregates
+ * Uses H2 in-memory database with test profile
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserStatsServiceTest {
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("stats-" + System.nanoTime() + "@inpt.com");
+        user.setPassword("secret");
+        user.setFullName("Stats User");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void mutations_KeepAggregatesInSync() {
+        // Arrange
+        ProjectResponse project = projectService.createProject(projectRequest("Dashboard"), user);
+        TaskResponse first = taskService.createTask(project.getId(), taskRequest(LocalDate.now().plusDays(1)), user.getId());
+        taskService.createTask(project.getId(), taskRequest(LocalDate.now().plusDays(30)), user.getId());
+        TaskResponse third = taskService.createTask(project.getId(), taskRequest(LocalDate.now().plusDays(2)), user.getId());
+
+        // Act
+        taskService.toggleTaskCompletion(first.getId(), user.getId());
+        taskService.deleteTask(third.getId(), user.getId());
+        UserStatsResponse stats = userStatsService.getStats(user.getId());
+
+        // Assert
+        assertEquals(2, stats.getTotalTasks());
+        assertEquals(1, stats.getCompletedTasks());
+        assertEquals(50.0, stats.getCompletionRate());
+        assertEquals(0, stats.getOverdueTasks());
+        assertEquals(UserStatsService.HISTORY_DAYS, stats.getCompletionsPerDay().size());
+        assertEquals(1, stats.getCompletionsPerDay().get(UserStatsService.HISTORY_DAYS - 1).getCompleted());
+    }
+
+    @Test
+    void reopenAndProjectDelete_RollBackCounters() {
+        // Arrange
+        ProjectResponse project = projectService.createProject(projectRequest("Temporary"), user);
+        TaskResponse task = taskService.createTask(project.getId(), taskRequest(LocalDate.now().plusDays(3)), user.getId());
+        taskService.toggleTaskCompletion(task.getId(), user.getId());
+        taskService.toggleTaskCompletion(task.getId(), user.getId());
+
+        // Act
+        projectService.deleteProject(project.getId(), user.getId());
+        UserStatsResponse stats = userStatsService.getStats(user.getId());
+
+        // Assert
+        assertEquals(0, stats.getTotalTasks());
+        assertEquals(0, stats.getCompletedTasks());
+        assertEquals(0, stats.getDueThisWeek());
+        assertTrue(stats.getCompletionsPerDay().stream().allMatch(day -> day.getCompleted() == 0));
+    }
+
+    @Test
+    void reconcile_RebuildsDriftedTotals() {
+        // Arrange
+        ProjectResponse project = projectService.createProject(projectRequest("Drift"), user);
+        taskService.createTask(project.getId(), taskRequest(LocalDate.now().plusDays(5)), user.getId());
+        userStatsService.onTaskCreated(user.getId(), LocalDate.now().minusDays(4));
+
+        // Act
+        userStatsService.reconcile(user.getId());
+        UserStatsResponse stats = userStatsService.getStats(user.getId());
+
+        // Assert
+        assertEquals(1, stats.getTotalTasks());
+        assertEquals(0, stats.getOverdueTasks());
+    }
+
+    private ProjectRequest projectRequest(String title) {
+        ProjectRequest request = new ProjectRequest();
+        request.setTitle(title);
+        return request;
+    }
+
+    private TaskRequest taskRequest(LocalDate dueDate) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Task due " + dueDate);
+        request.setDueDate(dueDate);
+        return request;
+    }
+}
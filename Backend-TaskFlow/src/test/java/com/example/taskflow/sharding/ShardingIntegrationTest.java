@@ -0,0 +1,322 @@
+package com.example.taskflow.sharding;
+
+import com.example.taskflow.dto.LoginRequest;
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for user sharding over three embedded H2 databases
+ * Uses the test profile; the directory cache is disabled so moves are visible immediately
+ */
+@SpringBootTest(properties = {
+        "sharding.enabled=true",
+        "sharding.directory-cache-ttl=0s",
+        "sharding.shards[0].url=jdbc:h2:mem:shard0;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "sharding.shards[0].username=sa",
+        "sharding.shards[1].url=jdbc:h2:mem:shard1;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "sharding.shards[1].username=sa",
+        "sharding.shards[2].url=jdbc:h2:mem:shard2;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "sharding.shards[2].username=sa"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ShardsEndpoint shardsEndpoint;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void createUser_PlacesUserOnRingShardWithinItsIdRange() {
+        // Arrange
+        for (int i = 0; i < 12; i++) {
+            String email = "ring-" + i + "@inpt.com";
+
+            // Act
+            User user = createUser(email);
+
+            // Assert
+            int shard = shardDirectory.placementFor(email);
+            assertEquals(shard, shardRouter.shardOf(email));
+            assertEquals(1, countOn(shard, "users", "id", user.getId()));
+            assertTrue(user.getId() > shard * ShardDataSources.ID_RANGE);
+            assertTrue(user.getId() <= (shard + 1) * ShardDataSources.ID_RANGE);
+        }
+        assertEquals(3, shardDirectory.countByShard().size());
+    }
+
+    @Test
+    void authenticatedRequest_WritesToUsersShard() throws Exception {
+        // Arrange
+        String email = "route@inpt.com";
+        createUser(email);
+        String token = login(email);
+        int shard = shardRouter.shardOf(email);
+
+        // Act
+        long projectId = createProject(token, "Routed");
+
+        // Assert
+        for (int other = 0; other < shardDataSources.size(); other++) {
+            assertEquals(other == shard ? 1 : 0, countOn(other, "projects", "id", projectId));
+        }
+    }
+
+    @Test
+    void moveUser_CopiesRowsWithSameIdsAndServesFromTarget() throws Exception {
+        // Arrange
+        String email = "mover@inpt.com";
+        User user = createUser(email);
+        String token = login(email);
+        long projectId = createProject(token, "Moving house");
+        perform(post("/api/projects/{projectId}/tasks", projectId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "title", "Pack", "dueDate", LocalDate.now().plusDays(2).toString()))))
+                .andExpect(status().isCreated());
+        int source = shardRouter.shardOf(email);
+        int target = (source + 1) % shardDataSources.size();
+        shardDataSources.jdbc(source).update("insert into webhook_outbox (endpoint, event_type, project_id, "
+                + "payload, created_at, attempts, next_attempt_at) values ('crm', 'task.created', ?, '{}', "
+                + "current_timestamp, 0, current_timestamp)", projectId);
+        long eventId = shardDataSources.jdbc(source).queryForObject(
+                "select max(id) from webhook_outbox where project_id = ?", Long.class, projectId);
+
+        // Act
+        shardRebalancer.moveUser(email, target);
+
+        // Assert
+        assertEquals(target, shardRouter.shardOf(email));
+        assertEquals(0, countOn(source, "users", "id", user.getId()));
+        assertEquals(0, countOn(source, "projects", "user_id", user.getId()));
+        assertEquals(1, countOn(target, "projects", "id", projectId));
+        assertEquals(1, countOn(target, "tasks", "project_id", projectId));
+        assertEquals(0, countOn(source, "project_daily_stats", "project_id", projectId));
+        assertEquals(1, countOn(target, "project_daily_stats", "project_id", projectId));
+        assertTrue(eventId > source * ShardDataSources.ID_RANGE);
+        assertTrue(eventId <= (source + 1) * ShardDataSources.ID_RANGE);
+        assertEquals(0, countOn(source, "webhook_outbox", "id", eventId));
+        assertEquals(1, countOn(target, "webhook_outbox", "id", eventId));
+        perform(get("/api/projects/{id}/progress", projectId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTasks").value(1));
+        perform(get("/api/projects/{projectId}/burndown", projectId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .param("from", LocalDate.now().toString())
+                        .param("to", LocalDate.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days[0].totalTasks").value(1))
+                .andExpect(jsonPath("$.days[0].created").value(1));
+    }
+
+    @Test
+    void moveUser_WithSharedProject_MovesCollaboratorsAlong() throws Exception {
+        // Arrange
+        String ownerEmail = "sharing-owner@inpt.com";
+        int source = shardDirectory.placementFor(ownerEmail);
+        int target = (source + 1) % shardDataSources.size();
+        String collaboratorEmail = emailPlacedOn(source, "sharing-collaborator");
+        createUser(ownerEmail);
+        User collaborator = createUser(collaboratorEmail);
+        String ownerToken = login(ownerEmail);
+        String collaboratorToken = login(collaboratorEmail);
+        long projectId = createProject(ownerToken, "Shared before the move");
+        share(ownerToken, projectId, collaboratorEmail).andExpect(status().isOk());
+
+        // Act
+        shardRebalancer.moveUser(ownerEmail, target);
+
+        // Assert
+        assertEquals(target, shardRouter.shardOf(collaboratorEmail));
+        assertEquals(0, countOn(source, "users", "id", collaborator.getId()));
+        assertEquals(0, countOn(source, "project_members", "project_id", projectId));
+        assertEquals(1, countOn(target, "project_members", "user_id", collaborator.getId()));
+        perform(get("/api/projects/{id}", projectId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + collaboratorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Shared before the move"));
+    }
+
+    @Test
+    void share_WithUserOnAnotherShard_MovesThemToTheOwnersShard() throws Exception {
+        // Arrange
+        String ownerEmail = "far-owner@inpt.com";
+        int shard = shardDirectory.placementFor(ownerEmail);
+        String collaboratorEmail = emailPlacedOn((shard + 1) % shardDataSources.size(), "far-collaborator");
+        createUser(ownerEmail);
+        User collaborator = createUser(collaboratorEmail);
+        String ownerToken = login(ownerEmail);
+        String collaboratorToken = login(collaboratorEmail);
+        long projectId = createProject(ownerToken, "Within reach");
+        long ownProjectId = createProject(collaboratorToken, "Comes along");
+
+        // Act
+        share(ownerToken, projectId, collaboratorEmail)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(collaborator.getId()));
+
+        // Assert
+        awaitShard(collaboratorEmail, shard);
+        assertEquals(1, countOn(shard, "users", "id", collaborator.getId()));
+        assertEquals(1, countOn(shard, "projects", "id", ownProjectId));
+        perform(get("/api/projects/{id}", projectId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + collaboratorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Within reach"));
+    }
+
+    @Test
+    void requestDuringMove_ReturnsServiceUnavailable() throws Exception {
+        // Arrange
+        String email = "blocked@inpt.com";
+        createUser(email);
+        String token = login(email);
+        shardDirectory.setMoving(email, true);
+
+        // Act & Assert
+        try {
+            perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            shardDirectory.setMoving(email, false);
+        }
+    }
+
+    @Test
+    void shardsEndpoint_IsNotServedOverHttp() throws Exception {
+        // Arrange
+        String email = "curious@inpt.com";
+        createUser(email);
+        String token = login(email);
+
+        // Act & Assert
+        perform(post("/actuator/shards")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "target", 0))))
+                .andExpect(status().isNotFound());
+        assertNotNull(shardsEndpoint.usersPerShard());
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setFullName("Shard User");
+        return shardRouter.createUser(email, () -> userRepository.save(user));
+    }
+
+    private String login(String email) throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword("password123");
+        String body = perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    private long createProject(String token, String title) throws Exception {
+        String body = perform(post("/api/projects")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", title))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode project = objectMapper.readTree(body);
+        return project.get("id").asLong();
+    }
+
+    private ResultActions share(String token, long projectId, String email) throws Exception {
+        return perform(put("/api/projects/{projectId}/members", projectId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("email", email, "role", "VIEWER"))));
+    }
+
+    private String emailPlacedOn(int shard, String prefix) {
+        for (int i = 0; ; i++) {
+            String email = prefix + "-" + i + "@inpt.com";
+            if (shardDirectory.placementFor(email) == shard) {
+                return email;
+            }
+        }
+    }
+
+    private void awaitShard(String email, int shard) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (shardDirectory.find(email).map(ShardDirectory.Entry::shard).orElse(-1) != shard
+                || shardDirectory.find(email).map(ShardDirectory.Entry::moving).orElse(true)) {
+            assertTrue(System.nanoTime() < deadline, email + " was not moved to shard " + shard);
+            Thread.sleep(50);
+        }
+    }
+
+    private int countOn(int shard, String table, String column, long value) {
+        Integer count = shardDataSources.jdbc(shard)
+                .queryForObject("select count(*) from " + table + " where " + column + " = ?", Integer.class, value);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Performs the request and, when the controller completed it asynchronously, its async dispatch.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.taskflow.sync;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ChangeSequenceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void next_InATransaction_ReservesDoublingBlocks() {
+        // Arrange
+        ChangeSequence changeSequence = changeSequence(Duration.ofSeconds(5));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            values.add(changeSequence.next());
+        }
+        complete();
+
+        // Assert: blocks of 1, 1, 2, 4 and 8 values
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), values);
+        verify(jdbcTemplate, times(5)).queryForList(anyString(), eq(Long.class), anyInt());
+        assertEquals(0.0, registry.get("sync.late-commits").counter().count());
+    }
+
+    @Test
+    void next_NextTransaction_StartsAFreshBlockAfterTheUnusedValues() {
+        // Arrange
+        ChangeSequence changeSequence = changeSequence(Duration.ofSeconds(5));
+        TransactionSynchronizationManager.initSynchronization();
+        for (int i = 0; i < 3; i++) {
+            changeSequence.next();
+        }
+        complete();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        long next = changeSequence.next();
+
+        // Assert: the second block held 2 and 3; 4 was reserved but never used
+        assertEquals(5L, next);
+    }
+
+    @Test
+    void commitPastTheSettleWindow_IsCounted() throws Exception {
+        // Arrange
+        ChangeSequence changeSequence = changeSequence(Duration.ofMillis(1));
+        TransactionSynchronizationManager.initSynchronization();
+        changeSequence.next();
+        TimeUnit.MILLISECONDS.sleep(20);
+
+        // Act
+        complete();
+
+        // Assert
+        assertEquals(1.0, registry.get("sync.late-commits").counter().count());
+    }
+
+    private ChangeSequence changeSequence(Duration settleWindow) {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(2);
+            List<Long> values = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                values.add(sequence.incrementAndGet());
+            }
+            return values;
+        });
+        return new ChangeSequence(jdbcTemplate, settleWindow, registry);
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.taskflow.tracing;
+
+import com.example.taskflow.model.User;
+import com.example.taskflow.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for sampled request tracing and the slow-request log
+ * Uses H2 in-memory database with test profile; every request is sampled and counts as slow
+ */
+@SpringBootTest(properties = {"tracing.sample-rate=1.0", "tracing.slow.threshold-ms=0"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestTracingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Autowired
+    private SlowRequestsEndpoint slowRequestsEndpoint;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByEmail("taha@inpt.com").orElseThrow();
+    }
+
+    @Test
+    void sampledRequest_HasServerTimingPerLayer() throws Exception {
+        perform(get("/api/projects").with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TracingFilter.SERVER_TIMING, allOf(
+                        containsString("web;dur="),
+                        containsString("svc;dur="),
+                        containsString("db;dur="),
+                        containsString("total;dur="))));
+    }
+
+    @Test
+    void slowRequest_IsRecordedWithNestedSpans() throws Exception {
+        // Act
+        perform(get("/api/me/stats").with(user(owner)))
+                .andExpect(status().isOk());
+
+        // Assert
+        SlowRequestLog.SlowRequest recorded = slowRequestLog.slowest().stream()
+                .filter(entry -> entry.path().equals("/api/me/stats"))
+                .findFirst()
+                .orElseThrow();
+        List<String> spans = recorded.spans().stream().map(RequestTrace.Span::name).toList();
+        assertTrue(spans.contains("StatsController.getStats"));
+        assertTrue(spans.contains("UserStatsService.getStats"));
+        assertTrue(spans.stream().anyMatch(name -> name.startsWith("UserDailyStatsRepository.")));
+        assertEquals(0, recorded.spans().get(0).depth());
+        assertNotNull(recorded.serverTiming());
+    }
+
+    @Test
+    void slowRequestsEndpoint_ListsSlowestOverJmxOnly() throws Exception {
+        // Act
+        perform(get("/api/projects").with(user(owner)));
+
+        // Assert
+        assertFalse(slowRequestsEndpoint.slowRequests().isEmpty());
+        mockMvc.perform(get("/actuator/slowrequests").with(user(owner)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void log_KeepsTheSlowestRequestsSlowestFirst() {
+        // Arrange
+        SlowRequestLog log = new SlowRequestLog(2, 10, Duration.ofHours(1));
+
+        // Act: later requests over the threshold but faster than those kept do not push them out
+        log.record("GET", "/fast", 200, 5_000_000, null);
+        log.record("GET", "/a", 200, 20_000_000, null);
+        log.record("GET", "/b", 200, 30_000_000, null);
+        log.record("GET", "/c", 200, 15_000_000, null);
+        log.record("GET", "/d", 200, 12_000_000, null);
+        log.record("GET", "/e", 200, 25_000_000, null);
+
+        // Assert
+        List<String> paths = log.slowest().stream().map(SlowRequestLog.SlowRequest::path).toList();
+        assertEquals(List.of("/b", "/e"), paths);
+    }
+
+    @Test
+    void log_ConcurrentRecords_KeepTheSlowest() {
+        // Arrange
+        SlowRequestLog log = new SlowRequestLog(8, 1, Duration.ofHours(1));
+
+        // Act: requests of 1..400 ms, recorded from several threads
+        CompletableFuture.allOf(IntStream.rangeClosed(1, 400)
+                .mapToObj(ms -> CompletableFuture.runAsync(
+                        () -> log.record("GET", "/" + ms, 200, ms * 1_000_000L, null)))
+                .toArray(CompletableFuture[]::new)).join();
+
+        // Assert
+        List<Double> durations = log.slowest().stream().map(SlowRequestLog.SlowRequest::durationMs).toList();
+        assertEquals(List.of(400.0, 399.0, 398.0, 397.0, 396.0, 395.0, 394.0, 393.0), durations);
+    }
+
+    @Test
+    void log_ExpiredRequests_MakeRoomForFasterOnes() throws Exception {
+        // Arrange: a warm-up outlier fills the only slot
+        SlowRequestLog log = new SlowRequestLog(1, 10, Duration.ofMillis(50));
+        log.record("GET", "/warm-up", 200, 900_000_000, null);
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        // Act
+        List<SlowRequestLog.SlowRequest> afterExpiry = log.slowest();
+        log.record("GET", "/now", 200, 20_000_000, null);
+
+        // Assert
+        assertTrue(afterExpiry.isEmpty());
+        assertEquals(List.of("/now"), log.slowest().stream().map(SlowRequestLog.SlowRequest::path).toList());
+    }
+
+    @Test
+    void slowRequestsEndpoint_Reset_EmptiesTheLog() throws Exception {
+        // Arrange
+        perform(get("/api/projects").with(user(owner)));
+
+        // Act
+        slowRequestsEndpoint.reset();
+
+        // Assert
+        assertTrue(slowRequestsEndpoint.slowRequests().isEmpty());
+    }
+
+    /**
+     * Performs the request and, when the controller completed it asynchronously, its async dispatch.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+}
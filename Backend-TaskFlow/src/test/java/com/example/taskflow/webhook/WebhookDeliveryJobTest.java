@@ -0,0 +1,330 @@
+package com.example.taskflow.webhook;
+
+import com.example.taskflow.dto.ProjectRequest;
+import com.example.taskflow.dto.TaskPositionRequest;
+import com.example.taskflow.dto.TaskRequest;
+import com.example.taskflow.dto.TaskResponse;
+import com.example.taskflow.exception.ResourceNotFoundException;
+import com.example.taskflow.model.User;
+import com.example.taskflow.model.WebhookDeadLetter;
+import com.example.taskflow.model.WebhookOutboxEvent;
+import com.example.taskflow.repository.UserRepository;
+import com.example.taskflow.repository.WebhookDeadLetterRepository;
+import com.example.taskflow.repository.WebhookOutboxRepository;
+import com.example.taskflow.service.ProjectService;
+import com.example.taskflow.service.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the webhook outbox and its delivery, against a stub endpoint server on localhost
+ * Uses H2 in-memory database with test profile; the job is run by the tests
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class WebhookDeliveryJobTest {
+
+    private static final StubEndpoints endpoints = StubEndpoints.start();
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private WebhookDeliveryJob deliveryJob;
+
+    @Autowired
+    private WebhookOutboxRepository outboxRepository;
+
+    @Autowired
+    private WebhookDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+
+    @DynamicPropertySource
+    static void webhookEndpoints(DynamicPropertyRegistry registry) {
+        registry.add("webhooks.endpoints.crm.url", () -> endpoints.url("/crm"));
+        registry.add("webhooks.endpoints.chat.url", () -> endpoints.url("/chat"));
+        registry.add("webhooks.endpoints.chat.events", () -> "task.completed");
+        registry.add("webhooks.batch-size", () -> "3");
+        registry.add("webhooks.max-attempts", () -> "2");
+        registry.add("webhooks.initial-backoff", () -> "0s");
+        registry.add("webhooks.poll-interval-ms", () -> "3600000");
+    }
+
+    @AfterAll
+    static void stopEndpoints() {
+        endpoints.server.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByEmail("taha@inpt.com").orElseThrow();
+        outboxRepository.deleteAll();
+        deadLetterRepository.deleteAll();
+        endpoints.reset();
+    }
+
+    @Test
+    void deliverShard_SendsEachEndpointItsEventsInBatches() throws Exception {
+        // Arrange
+        long projectId = createProject("Integrations");
+        TaskResponse first = createTask(projectId, "First");
+        createTask(projectId, "Second");
+        taskService.toggleTaskCompletion(first.getId(), owner.getId());
+
+        // Act
+        int delivered = deliveryJob.deliverShard();
+
+        // Assert: crm gets all four events in batches of three, sent concurrently; chat only the completion
+        assertEquals(5, delivered);
+        assertEquals(0, outboxRepository.count());
+        List<JsonNode> crm = endpoints.received("/crm").stream()
+                .sorted(Comparator.comparingLong(body -> body.get("events").get(0).get("id").asLong()))
+                .toList();
+        assertEquals(2, crm.size());
+        assertEquals(List.of("project.created", "task.created", "task.created", "task.completed"),
+                crm.stream().flatMap(body -> types(body).stream()).toList());
+        List<JsonNode> chat = endpoints.received("/chat");
+        assertEquals(1, chat.size());
+        JsonNode completed = chat.get(0).get("events").get(0);
+        assertEquals("task.completed", completed.get("type").asText());
+        assertEquals(projectId, completed.get("projectId").asLong());
+        assertEquals("First", completed.get("data").get("title").asText());
+        assertTrue(completed.get("data").get("completed").asBoolean());
+    }
+
+    @Test
+    void moveTask_QueuesAnUpdate() {
+        // Arrange
+        long projectId = createProject("Backlog");
+        TaskResponse first = createTask(projectId, "First");
+        TaskResponse second = createTask(projectId, "Second");
+        TaskPositionRequest request = new TaskPositionRequest();
+        request.setNextTaskId(first.getId());
+
+        // Act
+        taskService.moveTask(projectId, second.getId(), request, owner.getId());
+        int delivered = deliveryJob.deliverShard();
+
+        // Assert
+        assertEquals(4, delivered);
+        List<JsonNode> events = new ArrayList<>();
+        endpoints.received("/crm").forEach(body -> body.get("events").forEach(events::add));
+        events.sort(Comparator.comparingLong(event -> event.get("id").asLong()));
+        JsonNode updated = events.get(events.size() - 1);
+        assertEquals("task.updated", updated.get("type").asText());
+        assertEquals(projectId, updated.get("projectId").asLong());
+        assertEquals(second.getId(), updated.get("data").get("id").asLong());
+        assertEquals("Second", updated.get("data").get("title").asText());
+    }
+
+    @Test
+    void failingEndpoint_IsRetriedThenDeadLettered() {
+        // Arrange
+        endpoints.respond("/crm", 503);
+        long projectId = createProject("Down");
+
+        // Act: first attempt
+        deliveryJob.deliverShard();
+
+        // Assert
+        WebhookOutboxEvent pending = outboxRepository.findAll().get(0);
+        assertEquals(1, pending.getAttempts());
+        assertEquals("HTTP 503", pending.getLastError());
+
+        // Act: second and last attempt
+        deliveryJob.deliverShard();
+
+        // Assert
+        assertEquals(0, outboxRepository.count());
+        WebhookDeadLetter dead = deadLetterRepository.findById(pending.getId()).orElseThrow();
+        assertEquals("project.created", dead.getEventType());
+        assertEquals(projectId, dead.getProjectId());
+        assertEquals(2, dead.getAttempts());
+        assertEquals(2, endpoints.received("/crm").size());
+        assertTrue(meterRegistry.get("webhooks.dead-lettered").tag("endpoint", "crm").counter().count() >= 1);
+    }
+
+    @Test
+    void rejectedBatch_IsDeadLetteredWithoutRetry() {
+        // Arrange
+        endpoints.respond("/crm", 400);
+        createProject("Malformed");
+
+        // Act
+        deliveryJob.deliverShard();
+
+        // Assert
+        assertEquals(0, outboxRepository.count());
+        assertEquals("HTTP 400", deadLetterRepository.findAll().get(0).getLastError());
+        assertEquals(1, deadLetterRepository.findAll().get(0).getAttempts());
+    }
+
+    @Test
+    void rolledBackWrite_QueuesNoEvent() {
+        // Arrange
+        User other = userRepository.findByEmail("test@helala.com").orElseThrow();
+        long projectId = createProject("Private");
+        long queued = outboxRepository.count();
+
+        // Act
+        assertThrows(ResourceNotFoundException.class, () -> taskService.createTask(projectId,
+                taskRequest("Intruder"), other.getId()));
+
+        // Assert
+        assertEquals(queued, outboxRepository.count());
+    }
+
+    @Test
+    void claimedEvents_AreSkippedByConcurrentPollers() throws Exception {
+        // Arrange
+        createProject("Contended");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        // Act: one poller holds its claim while another polls
+        Future<Integer> first = pool.submit(() -> transaction.execute(status -> {
+            int size = outboxRepository.claimDue(LocalDateTime.now(), 10).size();
+            claimed.countDown();
+            await(release);
+            return size;
+        }));
+        assertTrue(claimed.await(10, TimeUnit.SECONDS));
+        int second = transaction.execute(status -> outboxRepository.claimDue(LocalDateTime.now(), 10).size());
+        release.countDown();
+
+        // Assert
+        assertEquals(1, first.get(10, TimeUnit.SECONDS));
+        assertEquals(0, second);
+        pool.shutdown();
+    }
+
+    private long createProject(String title) {
+        ProjectRequest request = new ProjectRequest();
+        request.setTitle(title);
+        return projectService.createProject(request, owner).getId();
+    }
+
+    private TaskResponse createTask(long projectId, String title) {
+        return taskService.createTask(projectId, taskRequest(title), owner.getId());
+    }
+
+    private static TaskRequest taskRequest(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDueDate(LocalDate.now().plusDays(3));
+        return request;
+    }
+
+    private static List<String> types(JsonNode body) {
+        List<String> types = new ArrayList<>();
+        body.get("events").forEach(event -> types.add(event.get("type").asText()));
+        return types;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Webhook receivers on an ephemeral local port: each path records the bodies it receives and answers
+     * with its configured status, 200 unless told otherwise.
+     */
+    private static final class StubEndpoints {
+
+        private final HttpServer server;
+        private final Map<String, List<JsonNode>> received = new ConcurrentHashMap<>();
+        private final Map<String, Integer> statuses = new ConcurrentHashMap<>();
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        private StubEndpoints(HttpServer server) {
+            this.server = server;
+        }
+
+        static StubEndpoints start() {
+            try {
+                StubEndpoints stub = new StubEndpoints(HttpServer.create(new InetSocketAddress("localhost", 0), 0));
+                stub.server.createContext("/", exchange -> {
+                    String path = exchange.getRequestURI().getPath();
+                    try (InputStream body = exchange.getRequestBody()) {
+                        stub.received.computeIfAbsent(path, p -> new CopyOnWriteArrayList<>())
+                                .add(stub.objectMapper.readTree(body));
+                    }
+                    exchange.sendResponseHeaders(stub.statuses.getOrDefault(path, 200), -1);
+                    exchange.close();
+                });
+                stub.server.start();
+                return stub;
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        String url(String path) {
+            return "http://localhost:" + server.getAddress().getPort() + path;
+        }
+
+        void respond(String path, int status) {
+            statuses.put(path, status);
+        }
+
+        List<JsonNode> received(String path) {
+            return received.getOrDefault(path, List.of());
+        }
+
+        void reset() {
+            received.clear();
+            statuses.clear();
+        }
+    }
+}